@@ -0,0 +1,97 @@
+package com.jhipster.demo.store.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.enumeration.Size;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.openjdk.jmh.annotations.*;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Replays a Zipfian catalog-read workload against the Product region of each JCache provider supported by
+ * {@link CacheConfiguration}. A miss simulates the database load and populates the region.
+ * <p>
+ * Throughput is the benchmark score, the hit ratio is reported through the {@code hits}/{@code misses}
+ * auxiliary counters and GC pressure through the {@code gc} profiler configured in {@code gradle/jmh.gradle}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+public class CacheProviderBenchmark {
+
+    private static final int CATALOG_SIZE = 100_000;
+
+    @Param({ "EHCACHE", "CAFFEINE" })
+    public ApplicationProperties.Cache.Provider provider;
+
+    @Param({ "5000" })
+    public long regionSize;
+
+    @Param({ "0.9", "1.1" })
+    public double skew;
+
+    private CacheManager cacheManager;
+
+    private Cache<Object, Object> products;
+
+    private ZipfianGenerator generator;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HitRatio {
+
+        public long hits;
+
+        public long misses;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().setProvider(provider);
+        applicationProperties.getCache().setStatisticsEnabled(false);
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setMaxEntries(regionSize);
+        applicationProperties.getCache().getRegions().put(Product.class.getName(), region);
+
+        String providerClassName = provider == ApplicationProperties.Cache.Provider.CAFFEINE
+            ? CaffeineCachingProvider.class.getName()
+            : EhcacheCachingProvider.class.getName();
+        CachingProvider cachingProvider = Caching.getCachingProvider(providerClassName);
+        cacheManager = cachingProvider.getCacheManager();
+        new CacheConfiguration(jHipsterProperties, applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+        products = cacheManager.getCache(Product.class.getName());
+        generator = new ZipfianGenerator(CATALOG_SIZE, skew);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Benchmark
+    public Object readProduct(HitRatio hitRatio) {
+        Long id = (long) generator.next();
+        Object product = products.get(id);
+        if (product != null) {
+            hitRatio.hits++;
+            return product;
+        }
+        hitRatio.misses++;
+        product = load(id);
+        products.put(id, product);
+        return product;
+    }
+
+    private static Product load(Long id) {
+        return new Product().id(id).name("product-" + id).price(BigDecimal.TEN).productSize(Size.M);
+    }
+}
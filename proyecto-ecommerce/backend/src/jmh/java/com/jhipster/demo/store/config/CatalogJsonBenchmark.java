@@ -0,0 +1,81 @@
+package com.jhipster.demo.store.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.enumeration.Size;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Serializes a page of products with the {@link JacksonConfiguration} modules, with and without the
+ * {@link CatalogJsonCache}, the way the message converter does: to UTF-8 bytes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CatalogJsonBenchmark {
+
+    @Param({ "20", "100" })
+    public int pageSize;
+
+    @Param({ "0", "4096" })
+    public int imageBytes;
+
+    private ObjectMapper standardMapper;
+
+    private ObjectMapper cachingMapper;
+
+    private List<Product> page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        standardMapper = new ObjectMapper().registerModules(
+            jacksonConfiguration.javaTimeModule(),
+            jacksonConfiguration.jdk8TimeModule(),
+            jacksonConfiguration.hibernate6Module()
+        );
+        cachingMapper = new ObjectMapper().registerModules(
+            jacksonConfiguration.javaTimeModule(),
+            jacksonConfiguration.jdk8TimeModule(),
+            jacksonConfiguration.hibernate6Module(),
+            JacksonConfiguration.createCatalogJsonModule(new CatalogJsonCache(DataSize.ofMegabytes(64)))
+        );
+
+        ProductCategory category = new ProductCategory().name("Shoes").description("Running and trail shoes");
+        category.setId(1L);
+        category.setVersion(3L);
+        page = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            Product product = new Product()
+                .id(id)
+                .name("Product " + id)
+                .description("A fairly long description of product " + id + " as shown on the catalog page")
+                .price(BigDecimal.valueOf(id * 100, 2))
+                .productSize(Size.M)
+                .image(new byte[imageBytes])
+                .imageContentType(imageBytes > 0 ? "image/png" : null)
+                .productCategory(category);
+            product.setVersion(1L);
+            page.add(product);
+        }
+        // Steady state: every product of the page is already cached
+        cachingMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] standardObjectMapper() throws IOException {
+        return standardMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] cachedEntityJson() throws IOException {
+        return cachingMapper.writeValueAsBytes(page);
+    }
+}
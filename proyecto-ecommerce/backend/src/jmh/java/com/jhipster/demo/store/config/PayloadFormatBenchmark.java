@@ -0,0 +1,172 @@
+package com.jhipster.demo.store.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.jhipster.demo.store.domain.CustomerDetails;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.domain.ShoppingCart;
+import com.jhipster.demo.store.domain.enumeration.Gender;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.domain.enumeration.PaymentMethod;
+import com.jhipster.demo.store.domain.enumeration.Size;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Encodes and decodes the two largest payloads of the PWA, a page of products and the cart history of a customer, in
+ * each format negotiated by the REST resources.
+ * <p>
+ * The encode or decode time is the benchmark score, the payload size is reported through the
+ * {@code payloads}/{@code payloadBytes} auxiliary counters: the size of a payload is their ratio.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PayloadFormatBenchmark {
+
+    private static final TypeReference<List<Product>> PRODUCT_PAGE = new TypeReference<>() {};
+
+    private static final TypeReference<List<ShoppingCart>> CART_HISTORY = new TypeReference<>() {};
+
+    public enum Format {
+        JSON,
+        CBOR,
+        SMILE;
+
+        JsonFactory factory() {
+            return switch (this) {
+                case JSON -> new JsonFactory();
+                case CBOR -> new CBORFactory();
+                case SMILE -> new SmileFactory();
+            };
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long payloads;
+
+        public long payloadBytes;
+
+        byte[] add(byte[] payload) {
+            payloads++;
+            payloadBytes += payload.length;
+            return payload;
+        }
+    }
+
+    @Param({ "JSON", "CBOR", "SMILE" })
+    public Format format;
+
+    @Param({ "0", "4096" })
+    public int imageBytes;
+
+    private ObjectMapper mapper;
+
+    private List<Product> productPage;
+
+    private List<ShoppingCart> cartHistory;
+
+    private byte[] encodedProductPage;
+
+    private byte[] encodedCartHistory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        mapper = new ObjectMapper(format.factory()).registerModules(
+            jacksonConfiguration.javaTimeModule(),
+            jacksonConfiguration.jdk8TimeModule(),
+            jacksonConfiguration.hibernate6Module()
+        );
+
+        ProductCategory category = new ProductCategory().name("Shoes").description("Running and trail shoes");
+        category.setId(1L);
+        category.setVersion(3L);
+        productPage = new ArrayList<>(20);
+        for (long id = 1; id <= 20; id++) {
+            productPage.add(product(id, category));
+        }
+
+        CustomerDetails customerDetails = new CustomerDetails()
+            .id(1L)
+            .gender(Gender.OTHER)
+            .phone("+34 600 000 000")
+            .addressLine1("Calle Mayor 1")
+            .city("Madrid")
+            .country("Spain");
+        Instant placedDate = Instant.parse("2026-01-01T10:00:00Z");
+        cartHistory = new ArrayList<>(20);
+        for (long cartId = 1; cartId <= 20; cartId++) {
+            ShoppingCart cart = new ShoppingCart()
+                .id(cartId)
+                .placedDate(placedDate.plus(cartId, ChronoUnit.DAYS))
+                .status(OrderStatus.COMPLETED)
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .paymentReference("pay_" + cartId)
+                .customerDetails(customerDetails);
+            BigDecimal total = BigDecimal.ZERO;
+            for (long line = 1; line <= 5; line++) {
+                Product product = productPage.get((int) ((cartId + line) % productPage.size()));
+                ProductOrder order = new ProductOrder()
+                    .id(cartId * 10 + line)
+                    .quantity((int) line)
+                    .totalPrice(product.getPrice().multiply(BigDecimal.valueOf(line)))
+                    .product(product);
+                cart.addOrder(order);
+                total = total.add(order.getTotalPrice());
+            }
+            cartHistory.add(cart.totalPrice(total));
+        }
+
+        encodedProductPage = mapper.writeValueAsBytes(productPage);
+        encodedCartHistory = mapper.writeValueAsBytes(cartHistory);
+    }
+
+    private Product product(long id, ProductCategory category) {
+        Product product = new Product()
+            .id(id)
+            .name("Product " + id)
+            .description("A fairly long description of product " + id + " as shown on the catalog page")
+            .price(BigDecimal.valueOf(id * 100, 2))
+            .productSize(Size.M)
+            .image(new byte[imageBytes])
+            .imageContentType(imageBytes > 0 ? "image/png" : null)
+            .productCategory(category);
+        product.setVersion(1L);
+        return product;
+    }
+
+    @Benchmark
+    public byte[] encodeProductPage(PayloadSize payloadSize) throws IOException {
+        return payloadSize.add(mapper.writeValueAsBytes(productPage));
+    }
+
+    @Benchmark
+    public List<Product> decodeProductPage(PayloadSize payloadSize) throws IOException {
+        return mapper.readValue(payloadSize.add(encodedProductPage), PRODUCT_PAGE);
+    }
+
+    @Benchmark
+    public byte[] encodeCartHistory(PayloadSize payloadSize) throws IOException {
+        return payloadSize.add(mapper.writeValueAsBytes(cartHistory));
+    }
+
+    @Benchmark
+    public List<ShoppingCart> decodeCartHistory(PayloadSize payloadSize) throws IOException {
+        return mapper.readValue(payloadSize.add(encodedCartHistory), CART_HISTORY);
+    }
+}
@@ -0,0 +1,29 @@
+package com.jhipster.demo.store.config;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws item ranks in {@code [0, items)} following a Zipf distribution, rank 0 being the most popular.
+ */
+public final class ZipfianGenerator {
+
+    private final double[] cumulativeProbabilities;
+
+    public ZipfianGenerator(int items, double exponent) {
+        cumulativeProbabilities = new double[items];
+        double sum = 0;
+        for (int rank = 0; rank < items; rank++) {
+            sum += 1.0 / Math.pow(rank + 1.0, exponent);
+            cumulativeProbabilities[rank] = sum;
+        }
+        for (int rank = 0; rank < items; rank++) {
+            cumulativeProbabilities[rank] /= sum;
+        }
+    }
+
+    public int next() {
+        int index = Arrays.binarySearch(cumulativeProbabilities, ThreadLocalRandom.current().nextDouble());
+        return index >= 0 ? index : Math.min(-index - 1, cumulativeProbabilities.length - 1);
+    }
+}
@@ -0,0 +1,102 @@
+package com.jhipster.demo.store.service;
+
+import ch.qos.logback.classic.Level;
+import com.jhipster.demo.store.aop.logging.LoggingAspect;
+import com.jhipster.demo.store.aop.metrics.MethodMetricsInterceptor;
+import com.jhipster.demo.store.aop.metrics.MethodMetricsPointcut;
+import com.jhipster.demo.store.aop.metrics.MethodSampling;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per call overhead of a cheap service method: called directly, through the {@link LoggingAspect} with its debug logs
+ * off, and through the {@link MethodMetricsInterceptor} timing every call, a tenth of the calls, or excluded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MethodMetricsBenchmark {
+
+    private static final String PRICE_METHOD = PricingService.class.getName() + ".price";
+
+    private PricingService direct;
+
+    private PricingService logged;
+
+    private PricingService timed;
+
+    private PricingService sampled;
+
+    private PricingService excluded;
+
+    private long quantity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(PricingService.class)).setLevel(Level.INFO);
+        direct = new PricingService();
+
+        AspectJProxyFactory aspectProxyFactory = new AspectJProxyFactory(new PricingService());
+        aspectProxyFactory.setProxyTargetClass(true);
+        aspectProxyFactory.addAspect(new LoggingAspect(new StandardEnvironment()));
+        logged = aspectProxyFactory.getProxy();
+
+        timed = metricsProxy(new MethodSampling(Map.of(), List.of()));
+        sampled = metricsProxy(new MethodSampling(Map.of(PRICE_METHOD, 0.1), List.of()));
+        excluded = metricsProxy(new MethodSampling(Map.of(), List.of(PRICE_METHOD)));
+    }
+
+    private static PricingService metricsProxy(MethodSampling sampling) {
+        ProxyFactory proxyFactory = new ProxyFactory(new PricingService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(
+            new DefaultPointcutAdvisor(
+                new MethodMetricsPointcut(MethodMetricsPointcut.APPLICATION_BEANS, sampling),
+                new MethodMetricsInterceptor(new SimpleMeterRegistry(), sampling)
+            )
+        );
+        return (PricingService) proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public long directCall() {
+        return direct.price(++quantity);
+    }
+
+    @Benchmark
+    public long loggingAspect() {
+        return logged.price(++quantity);
+    }
+
+    @Benchmark
+    public long timedEveryCall() {
+        return timed.price(++quantity);
+    }
+
+    @Benchmark
+    public long timedOneCallInTen() {
+        return sampled.price(++quantity);
+    }
+
+    @Benchmark
+    public long excludedFromTiming() {
+        return excluded.price(++quantity);
+    }
+
+    @Service
+    public static class PricingService {
+
+        public long price(long quantity) {
+            return quantity * 1999;
+        }
+    }
+}
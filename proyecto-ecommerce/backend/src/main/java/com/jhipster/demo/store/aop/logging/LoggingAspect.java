@@ -21,6 +21,13 @@ import tech.jhipster.config.JHipsterConstants;
 @Aspect
 public class LoggingAspect {
 
+    private static final ClassValue<Logger> LOGGERS = new ClassValue<>() {
+        @Override
+        protected Logger computeValue(Class<?> type) {
+            return LoggerFactory.getLogger(type.getName());
+        }
+    };
+
     private final Environment env;
 
     public LoggingAspect(Environment env) {
@@ -52,13 +59,13 @@ public class LoggingAspect {
     }
 
     /**
-     * Retrieves the {@link Logger} associated to the given {@link JoinPoint}.
+     * Retrieves the {@link Logger} associated to the given {@link JoinPoint}, looked up once per declaring type.
      *
      * @param joinPoint join point we want the logger for.
      * @return {@link Logger} associated to the given {@link JoinPoint}.
      */
     private Logger logger(JoinPoint joinPoint) {
-        return LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+        return LOGGERS.get(joinPoint.getSignature().getDeclaringType());
     }
 
     /**
@@ -0,0 +1,105 @@
+package com.jhipster.demo.store.aop.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.MethodClassKey;
+
+/**
+ * Times the intercepted methods into {@value #METER_NAME} timers, tagged with the class and method like the ones of
+ * Micrometer's {@code @Timed}, and with the simple name of the exception thrown, if any.
+ * <p>
+ * The timers publish a percentile histogram. They are looked up once per class and method, along with the
+ * {@link MethodSampling sample rate} of the method: the calls of a method sampled at 0.1 are timed one time in ten, at
+ * random, and the count of its timers is a tenth of its calls.
+ */
+public class MethodMetricsInterceptor implements MethodInterceptor {
+
+    public static final String METER_NAME = "method.timed";
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    private final MethodSampling sampling;
+
+    private final Map<MethodClassKey, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public MethodMetricsInterceptor(MeterRegistry meterRegistry, MethodSampling sampling) {
+        this.meterRegistry = meterRegistry;
+        this.sampling = sampling;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? target.getClass() : invocation.getMethod().getDeclaringClass();
+        MethodTimers methodTimers = timers.computeIfAbsent(new MethodClassKey(invocation.getMethod(), targetClass), this::createTimers);
+        if (!methodTimers.sampled()) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            methodTimers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            methodTimers.failure(e.getClass()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private MethodTimers createTimers(MethodClassKey key) {
+        Method method = key.getMethod();
+        Class<?> targetClass = key.getTargetClass();
+        double sampleRate = sampling.sampleRate(MethodSampling.nameOf(method, targetClass));
+        return new MethodTimers(MethodSampling.typeOf(targetClass).getName(), method.getName(), sampleRate);
+    }
+
+    private final class MethodTimers {
+
+        private final String className;
+
+        private final String methodName;
+
+        private final double sampleRate;
+
+        private final Timer success;
+
+        private final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+        private MethodTimers(String className, String methodName, double sampleRate) {
+            this.className = className;
+            this.methodName = methodName;
+            this.sampleRate = sampleRate;
+            this.success = timer(NO_EXCEPTION);
+        }
+
+        private boolean sampled() {
+            return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+        }
+
+        private Timer failure(Class<?> exceptionType) {
+            return failures.computeIfAbsent(exceptionType, type -> timer(type.getSimpleName()));
+        }
+
+        private Timer timer(String exception) {
+            return Timer.builder(METER_NAME)
+                .description("Time of the calls of the method, sampled at " + sampleRate)
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.jhipster.demo.store.aop.metrics;
+
+import java.lang.reflect.Method;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+
+/**
+ * Pointcut of the methods to time: the ones the expression matches, except the methods the {@link MethodSampling} does
+ * not time at all.
+ * <p>
+ * Matched once per method when the beans are proxied: the calls of the excluded methods go straight to the target.
+ */
+public class MethodMetricsPointcut extends StaticMethodMatcherPointcut {
+
+    /**
+     * The repositories, services and REST controllers of the application, like the {@code LoggingAspect}.
+     */
+    public static final String APPLICATION_BEANS =
+        "(within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *))" +
+        " && (within(com.jhipster.demo.store.repository..*)" +
+        " || within(com.jhipster.demo.store.service..*)" +
+        " || within(com.jhipster.demo.store.web.rest..*))";
+
+    private final AspectJExpressionPointcut expressionPointcut = new AspectJExpressionPointcut();
+
+    private final MethodSampling sampling;
+
+    public MethodMetricsPointcut(String expression, MethodSampling sampling) {
+        this.expressionPointcut.setExpression(expression);
+        this.sampling = sampling;
+    }
+
+    @Override
+    public ClassFilter getClassFilter() {
+        return expressionPointcut.getClassFilter();
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        return (
+            expressionPointcut.getMethodMatcher().matches(method, targetClass) &&
+            sampling.sampleRate(MethodSampling.nameOf(method, targetClass)) > 0
+        );
+    }
+}
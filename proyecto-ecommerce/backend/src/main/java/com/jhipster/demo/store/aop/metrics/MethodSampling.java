@@ -0,0 +1,66 @@
+package com.jhipster.demo.store.aop.metrics;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Which calls of the methods to time, by name: {@code com.jhipster.demo.store.service.ProductService.findOne} for the
+ * method {@code findOne} of {@code ProductService}.
+ * <p>
+ * A method is sampled at the rate of the longest prefix of its name, of a package, class or method, at 1 when none
+ * matches; the methods with a name starting with an excluded prefix, or sampled at 0, are not timed at all.
+ */
+public class MethodSampling {
+
+    private final Map<String, Double> sampleRates;
+
+    private final List<String> exclude;
+
+    public MethodSampling(Map<String, Double> sampleRates, List<String> exclude) {
+        this.sampleRates = Map.copyOf(sampleRates);
+        this.exclude = List.copyOf(exclude);
+    }
+
+    /**
+     * @param name the name of a method.
+     * @return the sample rate of the method, between 0 and 1.
+     */
+    public double sampleRate(String name) {
+        if (exclude.stream().anyMatch(name::startsWith)) {
+            return 0;
+        }
+        String longestPrefix = null;
+        for (String prefix : sampleRates.keySet()) {
+            if (name.startsWith(prefix) && (longestPrefix == null || prefix.length() > longestPrefix.length())) {
+                longestPrefix = prefix;
+            }
+        }
+        return longestPrefix != null ? Math.max(0, Math.min(1, sampleRates.get(longestPrefix))) : 1;
+    }
+
+    /**
+     * @return the name of the method, as called on an instance of the class.
+     */
+    public static String nameOf(Method method, Class<?> targetClass) {
+        return typeOf(targetClass).getName() + "." + method.getName();
+    }
+
+    /**
+     * The type the calls are made on: the class behind the CGLIB proxies, and the interface of the application
+     * implemented by the JDK proxies of Spring Data repositories.
+     */
+    static Class<?> typeOf(Class<?> targetClass) {
+        if (Proxy.isProxyClass(targetClass)) {
+            String applicationPackage = MethodSampling.class.getPackageName().replace(".aop.metrics", ".");
+            for (Class<?> type : targetClass.getInterfaces()) {
+                if (type.getName().startsWith(applicationPackage)) {
+                    return type;
+                }
+            }
+        }
+        return ClassUtils.getUserClass(targetClass);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Method timing metrics.
+ */
+package com.jhipster.demo.store.aop.metrics;
@@ -1,6 +1,12 @@
 package com.jhipster.demo.store.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Store.
@@ -13,12 +19,78 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Cache cache = new Cache();
+
+    private final ResponseCache responseCache = new ResponseCache();
+
+    private final Database database = new Database();
+
+    private final JsonCache jsonCache = new JsonCache();
+
+    private final Compression compression = new Compression();
+
+    private final ChangeFeed changeFeed = new ChangeFeed();
+
+    private final Sync sync = new Sync();
+
+    private final Startup startup = new Startup();
+
+    private final OrderSummary orderSummary = new OrderSummary();
+
+    private final MethodMetrics methodMetrics = new MethodMetrics();
+
+    private final Logstash logstash = new Logstash();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Cache getCache() {
+        return cache;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public Database getDatabase() {
+        return database;
+    }
+
+    public JsonCache getJsonCache() {
+        return jsonCache;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public ChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
+
+    public Sync getSync() {
+        return sync;
+    }
+
+    public Startup getStartup() {
+        return startup;
+    }
+
+    public OrderSummary getOrderSummary() {
+        return orderSummary;
+    }
+
+    public MethodMetrics getMethodMetrics() {
+        return methodMetrics;
+    }
+
+    public Logstash getLogstash() {
+        return logstash;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +105,961 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Cache {
+
+        public enum Provider {
+            EHCACHE,
+            CAFFEINE,
+        }
+
+        /**
+         * JCache implementation backing the Hibernate second level cache and the Spring caches.
+         */
+        private Provider provider = Provider.EHCACHE;
+
+        /**
+         * Root directory of the Ehcache persistence service, required as soon as one region declares a disk tier.
+         */
+        private String diskPath;
+
+        private Boolean statisticsEnabled = true;
+
+        /**
+         * Per-region overrides keyed by cache name, e.g. {@code '[com.jhipster.demo.store.domain.Product]'}.
+         * Regions without an entry fall back to the {@code jhipster.cache.ehcache} defaults.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        private final WarmUp warmUp = new WarmUp();
+
+        public Provider getProvider() {
+            return provider;
+        }
+
+        public void setProvider(Provider provider) {
+            this.provider = provider;
+        }
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Boolean getStatisticsEnabled() {
+            return statisticsEnabled;
+        }
+
+        public void setStatisticsEnabled(Boolean statisticsEnabled) {
+            this.statisticsEnabled = statisticsEnabled;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public static class Region {
+
+            /**
+             * Heap tier sized by number of entries. Ignored when {@link #heapSize} is set.
+             */
+            private Long maxEntries;
+
+            /**
+             * Heap tier sized in bytes. Ehcache only.
+             */
+            private DataSize heapSize;
+
+            /**
+             * Ehcache only.
+             */
+            private DataSize offHeapSize;
+
+            /**
+             * Ehcache only.
+             */
+            private DataSize diskSize;
+
+            private Boolean diskPersistent = true;
+
+            private Long timeToLiveSeconds;
+
+            private Long timeToIdleSeconds;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public DataSize getHeapSize() {
+                return heapSize;
+            }
+
+            public void setHeapSize(DataSize heapSize) {
+                this.heapSize = heapSize;
+            }
+
+            public DataSize getOffHeapSize() {
+                return offHeapSize;
+            }
+
+            public void setOffHeapSize(DataSize offHeapSize) {
+                this.offHeapSize = offHeapSize;
+            }
+
+            public DataSize getDiskSize() {
+                return diskSize;
+            }
+
+            public void setDiskSize(DataSize diskSize) {
+                this.diskSize = diskSize;
+            }
+
+            public Boolean getDiskPersistent() {
+                return diskPersistent;
+            }
+
+            public void setDiskPersistent(Boolean diskPersistent) {
+                this.diskPersistent = diskPersistent;
+            }
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Long getTimeToIdleSeconds() {
+                return timeToIdleSeconds;
+            }
+
+            public void setTimeToIdleSeconds(Long timeToIdleSeconds) {
+                this.timeToIdleSeconds = timeToIdleSeconds;
+            }
+        }
+
+        /**
+         * Startup warm-up of the catalog and user caches, run once Liquibase has finished.
+         */
+        public static class WarmUp {
+
+            private Boolean enabled = false;
+
+            private Integer pageSize = 200;
+
+            private Integer maxProducts = 5000;
+
+            private Integer maxCategories = 500;
+
+            private Integer maxUsers = 1000;
+
+            /**
+             * Overall time budget; loaders stop at the first page boundary past it.
+             */
+            private Duration timeout = Duration.ofMinutes(2);
+
+            public Boolean getEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(Boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Integer getPageSize() {
+                return pageSize;
+            }
+
+            public void setPageSize(Integer pageSize) {
+                this.pageSize = pageSize;
+            }
+
+            public Integer getMaxProducts() {
+                return maxProducts;
+            }
+
+            public void setMaxProducts(Integer maxProducts) {
+                this.maxProducts = maxProducts;
+            }
+
+            public Integer getMaxCategories() {
+                return maxCategories;
+            }
+
+            public void setMaxCategories(Integer maxCategories) {
+                this.maxCategories = maxCategories;
+            }
+
+            public Integer getMaxUsers() {
+                return maxUsers;
+            }
+
+            public void setMaxUsers(Integer maxUsers) {
+                this.maxUsers = maxUsers;
+            }
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+        }
+    }
+
+    /**
+     * HTTP response cache in front of the catalog GET endpoints, purged by surrogate key on catalog writes.
+     */
+    public static class ResponseCache {
+
+        private Boolean enabled = false;
+
+        private Long maxEntries = 10_000L;
+
+        /**
+         * Entries are purged as soon as a product or category they depend on changes on this instance; the changes made
+         * on the other instances are only picked up once the entries expire.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        /**
+         * Adds an {@code X-Cache: HIT|MISS} header to cacheable responses.
+         */
+        private Boolean debugHeaders = false;
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(Long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public Boolean getDebugHeaders() {
+            return debugHeaders;
+        }
+
+        public void setDebugHeaders(Boolean debugHeaders) {
+            this.debugHeaders = debugHeaders;
+        }
+    }
+
+    /**
+     * Serialized JSON of catalog entities, reused across responses until the entity version changes.
+     */
+    public static class JsonCache {
+
+        private Boolean enabled = true;
+
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    /**
+     * gzip and brotli compression of dynamic responses, replacing {@code server.compression}.
+     */
+    public static class Compression {
+
+        private Boolean enabled = false;
+
+        /**
+         * Servlet URL patterns of the compressed responses. Static assets are served precompressed instead.
+         */
+        private List<String> urlPatterns = new ArrayList<>(List.of("/api/*"));
+
+        private DataSize minResponseSize = DataSize.ofKilobytes(1);
+
+        private List<String> mimeTypes = new ArrayList<>(List.of("application/json", "application/problem+json"));
+
+        /**
+         * From 0 to 11; the default trades ratio for CPU time, as dynamic responses are compressed on every request.
+         */
+        private Integer brotliQuality = 5;
+
+        /**
+         * From 1 to 9, or -1 for the zlib default.
+         */
+        private Integer gzipLevel = -1;
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getUrlPatterns() {
+            return urlPatterns;
+        }
+
+        public void setUrlPatterns(List<String> urlPatterns) {
+            this.urlPatterns = urlPatterns;
+        }
+
+        public DataSize getMinResponseSize() {
+            return minResponseSize;
+        }
+
+        public void setMinResponseSize(DataSize minResponseSize) {
+            this.minResponseSize = minResponseSize;
+        }
+
+        public List<String> getMimeTypes() {
+            return mimeTypes;
+        }
+
+        public void setMimeTypes(List<String> mimeTypes) {
+            this.mimeTypes = mimeTypes;
+        }
+
+        public Integer getBrotliQuality() {
+            return brotliQuality;
+        }
+
+        public void setBrotliQuality(Integer brotliQuality) {
+            this.brotliQuality = brotliQuality;
+        }
+
+        public Integer getGzipLevel() {
+            return gzipLevel;
+        }
+
+        public void setGzipLevel(Integer gzipLevel) {
+            this.gzipLevel = gzipLevel;
+        }
+    }
+
+    /**
+     * Server-Sent Events feed of the committed changes, {@code GET /api/changes}.
+     */
+    public static class ChangeFeed {
+
+        /**
+         * Changes buffered per subscriber; a slow subscriber loses the oldest ones and is told to resync.
+         */
+        private Integer bufferSize = 256;
+
+        /**
+         * Last changes kept for the subscribers reconnecting with a {@code Last-Event-ID}.
+         */
+        private Integer replaySize = 1024;
+
+        /**
+         * Threads writing the buffered changes to the subscribers' connections.
+         */
+        private Integer dispatcherThreads = 2;
+
+        /**
+         * Interval of the comments keeping idle connections open through proxies.
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+        /**
+         * Lifetime of a connection, after which the browser reconnects with its {@code Last-Event-ID}.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        public Integer getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(Integer bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public Integer getReplaySize() {
+            return replaySize;
+        }
+
+        public void setReplaySize(Integer replaySize) {
+            this.replaySize = replaySize;
+        }
+
+        public Integer getDispatcherThreads() {
+            return dispatcherThreads;
+        }
+
+        public void setDispatcherThreads(Integer dispatcherThreads) {
+            this.dispatcherThreads = dispatcherThreads;
+        }
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Sync {
+
+        /**
+         * Subtracted from the returned watermark, so that the changes of the transactions still committing when the
+         * sync ran are returned by the next one.
+         */
+        private Duration safetyWindow = Duration.ofSeconds(10);
+
+        /**
+         * How long the deletions are kept; clients which did not sync for longer receive a full snapshot.
+         */
+        private Duration tombstoneRetention = Duration.ofDays(30);
+
+        /**
+         * How long the ids of the replayed offline actions are kept; an action sent again within it is not applied twice.
+         */
+        private Duration replayRetention = Duration.ofDays(7);
+
+        public Duration getSafetyWindow() {
+            return safetyWindow;
+        }
+
+        public void setSafetyWindow(Duration safetyWindow) {
+            this.safetyWindow = safetyWindow;
+        }
+
+        public Duration getTombstoneRetention() {
+            return tombstoneRetention;
+        }
+
+        public void setTombstoneRetention(Duration tombstoneRetention) {
+            this.tombstoneRetention = tombstoneRetention;
+        }
+
+        public Duration getReplayRetention() {
+            return replayRetention;
+        }
+
+        public void setReplayRetention(Duration replayRetention) {
+            this.replayRetention = replayRetention;
+        }
+    }
+
+    public static class Database {
+
+        private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+        private final Replica replica = new Replica();
+
+        private final StatementRecording statementRecording = new StatementRecording();
+
+        private final Pool pool = new Pool();
+
+        public ConcurrencyLimit getConcurrencyLimit() {
+            return concurrencyLimit;
+        }
+
+        public Replica getReplica() {
+            return replica;
+        }
+
+        public StatementRecording getStatementRecording() {
+            return statementRecording;
+        }
+
+        public Pool getPool() {
+            return pool;
+        }
+
+        /**
+         * Bounds the threads allowed to hold or wait for a pooled connection, installed when virtual threads are enabled
+         * with {@code spring.threads.virtual.enabled}.
+         */
+        public static class ConcurrencyLimit {
+
+            /**
+             * Defaults to the maximum size of the connection pool.
+             */
+            private Integer maxConcurrency;
+
+            /**
+             * Defaults to the connection timeout of the pool.
+             */
+            private Duration acquireTimeout;
+
+            public Integer getMaxConcurrency() {
+                return maxConcurrency;
+            }
+
+            public void setMaxConcurrency(Integer maxConcurrency) {
+                this.maxConcurrency = maxConcurrency;
+            }
+
+            public Duration getAcquireTimeout() {
+                return acquireTimeout;
+            }
+
+            public void setAcquireTimeout(Duration acquireTimeout) {
+                this.acquireTimeout = acquireTimeout;
+            }
+        }
+
+        /**
+         * Read replica serving the read-only transactions, enabled by setting its {@code url}. Its pool has the settings
+         * of {@code spring.datasource.hikari}, overridden under {@code application.database.replica.hikari}.
+         */
+        public static class Replica {
+
+            private String url;
+
+            /**
+             * Defaults to the username of the primary.
+             */
+            private String username;
+
+            /**
+             * Defaults to the password of the primary.
+             */
+            private String password;
+
+            /**
+             * Replication lag above which the read-only transactions go back to the primary; reads from the replica
+             * can be as much behind the writes.
+             */
+            private Duration maxLag = Duration.ofSeconds(5);
+
+            private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+            /**
+             * Query returning the lag in seconds, in its {@code Seconds_Behind_Source} column or else its first one;
+             * the MySQL user of the replica needs the {@code REPLICATION CLIENT} privilege to run the default.
+             */
+            private String lagQuery = "SHOW REPLICA STATUS";
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+
+            public Duration getMaxLag() {
+                return maxLag;
+            }
+
+            public void setMaxLag(Duration maxLag) {
+                this.maxLag = maxLag;
+            }
+
+            public Duration getLagCheckInterval() {
+                return lagCheckInterval;
+            }
+
+            public void setLagCheckInterval(Duration lagCheckInterval) {
+                this.lagCheckInterval = lagCheckInterval;
+            }
+
+            public String getLagQuery() {
+                return lagQuery;
+            }
+
+            public void setLagQuery(String lagQuery) {
+                this.lagQuery = lagQuery;
+            }
+        }
+
+        /**
+         * Counts the statements of each request, and logs a warning for the statements it repeats; meant for the dev
+         * profile and the tests, which assert on the counts.
+         */
+        public static class StatementRecording {
+
+            private Boolean enabled = false;
+
+            /**
+             * Executions of the same statement shape within one request from which it is reported as a possible N+1.
+             */
+            private Integer repeatThreshold = 5;
+
+            public Boolean getEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(Boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Integer getRepeatThreshold() {
+                return repeatThreshold;
+            }
+
+            public void setRepeatThreshold(Integer repeatThreshold) {
+                this.repeatThreshold = repeatThreshold;
+            }
+        }
+
+        /**
+         * Instrumentation and sizing of the Hikari pools.
+         */
+        public static class Pool {
+
+            /**
+             * Records the connection wait and hold times, and the threads waiting, per endpoint.
+             */
+            private Boolean endpointMetrics = true;
+
+            private final Adaptive adaptive = new Adaptive();
+
+            public Boolean getEndpointMetrics() {
+                return endpointMetrics;
+            }
+
+            public void setEndpointMetrics(Boolean endpointMetrics) {
+                this.endpointMetrics = endpointMetrics;
+            }
+
+            public Adaptive getAdaptive() {
+                return adaptive;
+            }
+
+            /**
+             * Adjusts the {@code maximumPoolSize} of every pool to its load, see {@code AdaptivePoolSizer}; the size can
+             * be read and fixed through {@code /management/connectionpool}.
+             */
+            public static class Adaptive {
+
+                private Boolean enabled = false;
+
+                /**
+                 * Smallest {@code maximumPoolSize} the sizing may set.
+                 */
+                private Integer minSize = 2;
+
+                /**
+                 * Defaults to the configured {@code maximumPoolSize} of the pool.
+                 */
+                private Integer maxSize;
+
+                private Duration interval = Duration.ofSeconds(10);
+
+                /**
+                 * Connections kept above the average demand, as a factor.
+                 */
+                private Double headroom = 1.2;
+
+                /**
+                 * Average wait for a connection, as a fraction of the average time it is held, above which the pool
+                 * grows.
+                 */
+                private Double waitRatio = 0.1;
+
+                /**
+                 * Growth of the average time a connection is held, over its baseline, from which the database is
+                 * considered saturated and the pool no longer grows.
+                 */
+                private Double latencyTolerance = 2.0;
+
+                /**
+                 * Connections added when callers wait, and removed at most per adjustment.
+                 */
+                private Integer step = 2;
+
+                public Boolean getEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(Boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public Integer getMinSize() {
+                    return minSize;
+                }
+
+                public void setMinSize(Integer minSize) {
+                    this.minSize = minSize;
+                }
+
+                public Integer getMaxSize() {
+                    return maxSize;
+                }
+
+                public void setMaxSize(Integer maxSize) {
+                    this.maxSize = maxSize;
+                }
+
+                public Duration getInterval() {
+                    return interval;
+                }
+
+                public void setInterval(Duration interval) {
+                    this.interval = interval;
+                }
+
+                public Double getHeadroom() {
+                    return headroom;
+                }
+
+                public void setHeadroom(Double headroom) {
+                    this.headroom = headroom;
+                }
+
+                public Double getWaitRatio() {
+                    return waitRatio;
+                }
+
+                public void setWaitRatio(Double waitRatio) {
+                    this.waitRatio = waitRatio;
+                }
+
+                public Double getLatencyTolerance() {
+                    return latencyTolerance;
+                }
+
+                public void setLatencyTolerance(Double latencyTolerance) {
+                    this.latencyTolerance = latencyTolerance;
+                }
+
+                public Integer getStep() {
+                    return step;
+                }
+
+                public void setStep(Integer step) {
+                    this.step = step;
+                }
+            }
+        }
+    }
+
+    public static class Startup {
+
+        /**
+         * Beans created on first use rather than at startup, by bean class name or package prefix; for the beans declared
+         * by {@code @Bean} methods, the class declaring the method.
+         */
+        private List<String> lazyBeans = new ArrayList<>();
+
+        public List<String> getLazyBeans() {
+            return lazyBeans;
+        }
+
+        public void setLazyBeans(List<String> lazyBeans) {
+            this.lazyBeans = lazyBeans;
+        }
+    }
+
+    public static class OrderSummary {
+
+        /**
+         * How many ranges of carts a rebuild summarizes at once, each on its own connection.
+         */
+        private Integer rebuildParallelism = 4;
+
+        /**
+         * How many cart ids a range of a rebuild spans, summarized in one statement and transaction.
+         */
+        private Integer rebuildBatchSize = 1000;
+
+        public Integer getRebuildParallelism() {
+            return rebuildParallelism;
+        }
+
+        public void setRebuildParallelism(Integer rebuildParallelism) {
+            this.rebuildParallelism = rebuildParallelism;
+        }
+
+        public Integer getRebuildBatchSize() {
+            return rebuildBatchSize;
+        }
+
+        public void setRebuildBatchSize(Integer rebuildBatchSize) {
+            this.rebuildBatchSize = rebuildBatchSize;
+        }
+    }
+
+    public static class MethodMetrics {
+
+        /**
+         * Whether to time the calls of the repositories, services and REST controllers into {@code method.timed} timers.
+         */
+        private Boolean enabled = false;
+
+        /**
+         * Share of the calls timed, between 0 and 1, by package, class or method name prefix; the longest prefix
+         * applies, and the methods matching none are all timed.
+         */
+        private Map<String, Double> sampleRates = new LinkedHashMap<>();
+
+        /**
+         * Package, class or method name prefixes of the methods not timed at all, e.g. hot methods too cheap for the
+         * timing to be worth it.
+         */
+        private List<String> exclude = new ArrayList<>();
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Map<String, Double> getSampleRates() {
+            return sampleRates;
+        }
+
+        public void setSampleRates(Map<String, Double> sampleRates) {
+            this.sampleRates = sampleRates;
+        }
+
+        public List<String> getExclude() {
+            return exclude;
+        }
+
+        public void setExclude(List<String> exclude) {
+            this.exclude = exclude;
+        }
+    }
+
+    /**
+     * Shipping of the logs to Logstash, enabled with {@code jhipster.logging.logstash.enabled}; the host, port and
+     * ring buffer size are the {@code jhipster.logging.logstash} ones.
+     */
+    public static class Logstash {
+
+        /**
+         * Maximum number of log events sent in one write.
+         */
+        private Integer batchSize = 100;
+
+        /**
+         * Level at or below which the log events are dropped first, once the ring buffer is {@code discardingThreshold}
+         * full.
+         */
+        private String discardableLevel = "DEBUG";
+
+        /**
+         * Share of the ring buffer, between 0 and 1, above which the discardable log events are dropped; the rest is
+         * kept for the more severe ones.
+         */
+        private Double discardingThreshold = 0.8;
+
+        private Duration connectTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Delay before reconnecting after a failed connection, doubled at each failure up to the maximum delay.
+         */
+        private Duration reconnectionMinDelay = Duration.ofSeconds(1);
+
+        private Duration reconnectionMaxDelay = Duration.ofSeconds(30);
+
+        public Integer getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(Integer batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public String getDiscardableLevel() {
+            return discardableLevel;
+        }
+
+        public void setDiscardableLevel(String discardableLevel) {
+            this.discardableLevel = discardableLevel;
+        }
+
+        public Double getDiscardingThreshold() {
+            return discardingThreshold;
+        }
+
+        public void setDiscardingThreshold(Double discardingThreshold) {
+            this.discardingThreshold = discardingThreshold;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getReconnectionMinDelay() {
+            return reconnectionMinDelay;
+        }
+
+        public void setReconnectionMinDelay(Duration reconnectionMinDelay) {
+            this.reconnectionMinDelay = reconnectionMinDelay;
+        }
+
+        public Duration getReconnectionMaxDelay() {
+            return reconnectionMaxDelay;
+        }
+
+        public void setReconnectionMaxDelay(Duration reconnectionMaxDelay) {
+            this.reconnectionMaxDelay = reconnectionMaxDelay;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
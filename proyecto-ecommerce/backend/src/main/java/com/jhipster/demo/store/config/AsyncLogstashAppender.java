@@ -0,0 +1,298 @@
+package com.jhipster.demo.store.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ships the log events to Logstash over TCP without ever blocking the logging threads.
+ * <p>
+ * The events are queued in a {@link LogEventRingBuffer}, and a writer thread sends them in batches of up to
+ * {@code batchSize} events, one write per batch. While Logstash is unreachable the writer reconnects with an
+ * exponential backoff, from {@code reconnectionMinDelay} to {@code reconnectionMaxDelay}, and the buffer fills up: once
+ * it is {@code discardingThreshold} full, the events at the {@code discardableLevel} or below (DEBUG and TRACE by
+ * default) are dropped, keeping the rest of the buffer for the more severe ones, which are only dropped when it is full.
+ */
+public class AsyncLogstashAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements MeterBinder {
+
+    private static final Duration IDLE_WAIT = Duration.ofMillis(100);
+
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(1);
+
+    private final LogEventRingBuffer<ILoggingEvent> ringBuffer;
+
+    private final Map<Level, LongAdder> dropped = new LinkedHashMap<>();
+
+    private final LongAdder sent = new LongAdder();
+
+    private final LongAdder connections = new LongAdder();
+
+    private Encoder<ILoggingEvent> encoder;
+
+    private String host;
+
+    private int port;
+
+    private int batchSize = 100;
+
+    private Level discardableLevel = Level.DEBUG;
+
+    private double discardingThreshold = 0.8;
+
+    private int discardingSize;
+
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    private Duration reconnectionMinDelay = Duration.ofSeconds(1);
+
+    private Duration reconnectionMaxDelay = Duration.ofSeconds(30);
+
+    private volatile boolean running;
+
+    private volatile boolean writerWaiting;
+
+    private volatile Thread writer;
+
+    private Socket socket;
+
+    private OutputStream output;
+
+    public AsyncLogstashAppender(int ringBufferSize) {
+        this.ringBuffer = new LogEventRingBuffer<>(ringBufferSize);
+        for (Level level : List.of(Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR)) {
+            dropped.put(level, new LongAdder());
+        }
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (encoder == null || host == null) {
+            addError("No encoder or host set for the appender named [" + name + "].");
+            return;
+        }
+        discardingSize = (int) (ringBuffer.capacity() * discardingThreshold);
+        running = true;
+        writer = new Thread(this::writeEvents, "logstash-appender-" + name);
+        writer.setDaemon(true);
+        writer.start();
+        super.start();
+    }
+
+    /**
+     * Stops taking events, and gives the writer a second to send the queued ones if connected.
+     */
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(STOP_TIMEOUT.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (event.getLevel().toInt() <= discardableLevel.toInt() && ringBuffer.size() >= discardingSize) {
+            drop(event);
+            return;
+        }
+        // Formatted now, the writer encodes the event on another thread
+        event.prepareForDeferredProcessing();
+        if (!ringBuffer.offer(event)) {
+            drop(event);
+            return;
+        }
+        if (writerWaiting) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void drop(ILoggingEvent event) {
+        LongAdder counter = dropped.get(event.getLevel());
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private void writeEvents() {
+        List<ILoggingEvent> batch = new ArrayList<>(batchSize);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long reconnectionDelay = reconnectionMinDelay.toNanos();
+        while (running) {
+            if (output == null && !connect()) {
+                LockSupport.parkNanos(this, reconnectionDelay);
+                reconnectionDelay = Math.min(reconnectionDelay * 2, reconnectionMaxDelay.toNanos());
+                continue;
+            }
+            if (batch.isEmpty() && ringBuffer.drainTo(batch, batchSize) == 0) {
+                awaitEvents();
+                continue;
+            }
+            try {
+                send(batch, bytes);
+                reconnectionDelay = reconnectionMinDelay.toNanos();
+            } catch (IOException e) {
+                // The batch is sent again once reconnected
+                addWarn("Lost the connection to Logstash at " + host + ":" + port + ", reconnecting", e);
+                disconnect();
+            }
+        }
+        flushQueuedEvents(batch, bytes);
+        disconnect();
+    }
+
+    private void awaitEvents() {
+        writerWaiting = true;
+        if (ringBuffer.isEmpty() && running) {
+            LockSupport.parkNanos(this, IDLE_WAIT.toNanos());
+        }
+        writerWaiting = false;
+    }
+
+    private void flushQueuedEvents(List<ILoggingEvent> batch, ByteArrayOutputStream bytes) {
+        if (output == null) {
+            return;
+        }
+        try {
+            do {
+                send(batch, bytes);
+            } while (ringBuffer.drainTo(batch, batchSize) > 0);
+        } catch (IOException e) {
+            addWarn("Could not send the queued events to Logstash at " + host + ":" + port, e);
+        }
+    }
+
+    private void send(List<ILoggingEvent> batch, ByteArrayOutputStream bytes) throws IOException {
+        bytes.reset();
+        for (ILoggingEvent event : batch) {
+            bytes.write(encoder.encode(event));
+        }
+        bytes.writeTo(output);
+        output.flush();
+        sent.add(batch.size());
+        batch.clear();
+    }
+
+    private boolean connect() {
+        Socket newSocket = new Socket();
+        try {
+            newSocket.connect(new InetSocketAddress(host, port), (int) connectTimeout.toMillis());
+            socket = newSocket;
+            output = newSocket.getOutputStream();
+            connections.increment();
+            return true;
+        } catch (IOException e) {
+            addWarn("Could not connect to Logstash at " + host + ":" + port + ": " + e.getMessage());
+            closeQuietly(newSocket);
+            return false;
+        }
+    }
+
+    private void disconnect() {
+        closeQuietly(socket);
+        socket = null;
+        output = null;
+    }
+
+    private static void closeQuietly(Socket socket) {
+        if (socket == null) {
+            return;
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("logstash.appender.queue.size", ringBuffer, LogEventRingBuffer::size)
+            .description("Number of log events waiting to be sent to Logstash")
+            .baseUnit("events")
+            .register(registry);
+        Gauge.builder("logstash.appender.queue.capacity", ringBuffer, LogEventRingBuffer::capacity)
+            .description("Number of log events the queue holds")
+            .baseUnit("events")
+            .register(registry);
+        dropped.forEach((level, counter) ->
+            FunctionCounter.builder("logstash.appender.dropped", counter, LongAdder::sum)
+                .description("Number of log events dropped because the queue was full, or nearly for the discardable ones")
+                .baseUnit("events")
+                .tag("level", level.toString())
+                .register(registry)
+        );
+        FunctionCounter.builder("logstash.appender.sent", sent, LongAdder::sum)
+            .description("Number of log events sent to Logstash")
+            .baseUnit("events")
+            .register(registry);
+        FunctionCounter.builder("logstash.appender.connections", connections, LongAdder::sum)
+            .description("Number of connections opened to Logstash")
+            .register(registry);
+    }
+
+    public void setEncoder(Encoder<ILoggingEvent> encoder) {
+        this.encoder = encoder;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setDiscardableLevel(Level discardableLevel) {
+        this.discardableLevel = discardableLevel;
+    }
+
+    public void setDiscardingThreshold(double discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public void setReconnectionMinDelay(Duration reconnectionMinDelay) {
+        this.reconnectionMinDelay = reconnectionMinDelay;
+    }
+
+    public void setReconnectionMaxDelay(Duration reconnectionMaxDelay) {
+        this.reconnectionMaxDelay = reconnectionMaxDelay;
+    }
+}
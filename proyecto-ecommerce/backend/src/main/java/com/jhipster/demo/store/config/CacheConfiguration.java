@@ -1,9 +1,26 @@
 package com.jhipster.demo.store.config;
 
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import java.io.File;
 import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import org.ehcache.config.ResourcePools;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.spi.service.ServiceCreationConfiguration;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -12,6 +29,8 @@ import org.springframework.boot.info.GitProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.*;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
@@ -19,22 +38,46 @@ import tech.jhipster.config.cache.PrefixedKeyGenerator;
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final Logger LOG = LoggerFactory.getLogger(CacheConfiguration.class);
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
-
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
-
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build()
-        );
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cacheProperties;
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
+    }
+
+    /**
+     * JCache manager of the provider selected by {@code application.cache.provider}. Declared here rather than left to
+     * Spring Boot so that both providers can sit on the classpath and the Ehcache persistence service is available when
+     * a region declares a disk tier.
+     */
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> cacheManagerCustomizers) {
+        javax.cache.CacheManager cm = isCaffeine() ? createCaffeineCacheManager() : createEhcacheCacheManager();
+        LOG.debug("Using {} JCache provider", cacheProperties.getProvider());
+        cacheManagerCustomizers.orderedStream().forEach(customizer -> customizer.customize(cm));
+        return cm;
+    }
+
+    private javax.cache.CacheManager createEhcacheCacheManager() {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        ServiceCreationConfiguration<?, ?>[] services = StringUtils.hasText(cacheProperties.getDiskPath())
+            ? new ServiceCreationConfiguration<?, ?>[] { CacheManagerBuilder.persistence(new File(cacheProperties.getDiskPath())) }
+            : new ServiceCreationConfiguration<?, ?>[0];
+        return provider.getCacheManager(provider.getDefaultURI(), new DefaultConfiguration(provider.getDefaultClassLoader(), services));
+    }
+
+    private javax.cache.CacheManager createCaffeineCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        return provider.getCacheManager(provider.getDefaultURI(), provider.getDefaultClassLoader());
+    }
+
+    private boolean isCaffeine() {
+        return cacheProperties.getProvider() == ApplicationProperties.Cache.Provider.CAFFEINE;
     }
 
     @Bean
@@ -67,8 +110,104 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, jcacheConfiguration(cacheName));
+        }
+        // Exposes per-region hits/misses to the cache.gets meters on /management/prometheus
+        cm.enableStatistics(cacheName, Boolean.TRUE.equals(cacheProperties.getStatisticsEnabled()));
+    }
+
+    private javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(String cacheName) {
+        ApplicationProperties.Cache.Region region = cacheProperties.getRegions().get(cacheName);
+        if (region == null) {
+            region = new ApplicationProperties.Cache.Region();
         }
+        return isCaffeine() ? caffeineConfiguration(cacheName, region) : ehcacheConfiguration(cacheName, region);
+    }
+
+    private javax.cache.configuration.Configuration<Object, Object> ehcacheConfiguration(
+        String cacheName,
+        ApplicationProperties.Cache.Region region
+    ) {
+        ResourcePools resourcePools = resourcePools(cacheName, region);
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+            Object.class,
+            Object.class,
+            resourcePools
+        ).withExpiry(expiryPolicy(region));
+        if (region.getOffHeapSize() != null || region.getDiskSize() != null) {
+            // Tiers below the heap store serialized copies; Hibernate cache entries and Spring cache values are Serializable
+            ClassLoader classLoader = getClass().getClassLoader();
+            builder = builder
+                .withKeySerializer(new PlainJavaSerializer<>(classLoader))
+                .withValueSerializer(new PlainJavaSerializer<>(classLoader));
+        }
+        LOG.debug("Configuring cache region {} with {}", cacheName, resourcePools);
+        return Eh107Configuration.fromEhcacheCacheConfiguration(builder.build());
+    }
+
+    /**
+     * Caffeine keeps everything on heap and bounds regions by entry count, letting W-TinyLFU decide admission.
+     */
+    private javax.cache.configuration.Configuration<Object, Object> caffeineConfiguration(
+        String cacheName,
+        ApplicationProperties.Cache.Region region
+    ) {
+        if (region.getHeapSize() != null || region.getOffHeapSize() != null || region.getDiskSize() != null) {
+            LOG.warn("Cache region {} declares byte-sized, off-heap or disk tiers which the Caffeine provider ignores", cacheName);
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getMaxEntries() != null ? region.getMaxEntries() : ehcache.getMaxEntries()));
+        long timeToLiveSeconds = region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : ehcache.getTimeToLiveSeconds();
+        if (region.getTimeToIdleSeconds() == null || region.getTimeToLiveSeconds() != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(timeToLiveSeconds)));
+        }
+        if (region.getTimeToIdleSeconds() != null) {
+            configuration.setExpireAfterAccess(OptionalLong.of(TimeUnit.SECONDS.toNanos(region.getTimeToIdleSeconds())));
+        }
+        // Same by-reference semantics as the Ehcache regions; JCache defaults to store-by-value copies
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+
+    private ResourcePools resourcePools(String cacheName, ApplicationProperties.Cache.Region region) {
+        ResourcePoolsBuilder pools;
+        if (region.getHeapSize() != null) {
+            pools = ResourcePoolsBuilder.newResourcePoolsBuilder().heap(toKilobytes(region.getHeapSize()), MemoryUnit.KB);
+        } else {
+            pools = ResourcePoolsBuilder.heap(region.getMaxEntries() != null ? region.getMaxEntries() : ehcache.getMaxEntries());
+        }
+        if (region.getOffHeapSize() != null) {
+            pools = pools.offheap(toKilobytes(region.getOffHeapSize()), MemoryUnit.KB);
+        }
+        if (region.getDiskSize() != null) {
+            if (!StringUtils.hasText(cacheProperties.getDiskPath())) {
+                throw new IllegalStateException("Cache region " + cacheName + " declares a disk tier but application.cache.disk-path is not set");
+            }
+            pools = pools.disk(toKilobytes(region.getDiskSize()), MemoryUnit.KB, Boolean.TRUE.equals(region.getDiskPersistent()));
+        }
+        return pools.build();
+    }
+
+    /**
+     * Time-to-live applies from creation and update, time-to-idle from the last access; when both are set an
+     * accessed entry is kept for the idle duration from that access.
+     */
+    private ExpiryPolicy<Object, Object> expiryPolicy(ApplicationProperties.Cache.Region region) {
+        Duration timeToLive = Duration.ofSeconds(
+            region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : ehcache.getTimeToLiveSeconds()
+        );
+        if (region.getTimeToIdleSeconds() == null) {
+            return ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive);
+        }
+        Duration timeToIdle = Duration.ofSeconds(region.getTimeToIdleSeconds());
+        if (region.getTimeToLiveSeconds() == null) {
+            return ExpiryPolicyBuilder.timeToIdleExpiration(timeToIdle);
+        }
+        return ExpiryPolicyBuilder.expiry().create(timeToLive).update(timeToLive).access(timeToIdle).build();
+    }
+
+    private static long toKilobytes(DataSize size) {
+        return Math.max(1, size.toKilobytes());
     }
 
     @Autowired(required = false)
@@ -0,0 +1,52 @@
+package com.jhipster.demo.store.config;
+
+import com.jhipster.demo.store.service.CacheWarmUpService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Starts the cache warm-up once the application is ready and Liquibase, possibly running asynchronously, is done.
+ * <p>
+ * The {@code cacheWarmUp} health indicator belongs to the readiness group and reports {@code WARMING} until the
+ * warm-up completes, keeping the node out of the load balancer rotation meanwhile.
+ */
+@Configuration
+public class CacheWarmUpConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheWarmUpConfiguration.class);
+
+    public static final Status WARMING = new Status("WARMING", "Cache warm-up in progress");
+
+    private final LiquibaseConfiguration liquibaseConfiguration;
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    public CacheWarmUpConfiguration(LiquibaseConfiguration liquibaseConfiguration, CacheWarmUpService cacheWarmUpService) {
+        this.liquibaseConfiguration = liquibaseConfiguration;
+        this.cacheWarmUpService = cacheWarmUpService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpCaches() {
+        if (cacheWarmUpService.getState() != CacheWarmUpService.State.PENDING) {
+            return;
+        }
+        LOG.debug("Cache warm-up waiting for the Liquibase migration");
+        liquibaseConfiguration.migrationCompletion().thenRun(cacheWarmUpService::warmUp);
+    }
+
+    @Bean
+    public HealthIndicator cacheWarmUpHealthIndicator() {
+        return () -> {
+            Health.Builder builder = cacheWarmUpService.isWarming() ? Health.status(WARMING) : Health.up();
+            return builder.withDetail("state", cacheWarmUpService.getState()).build();
+        };
+    }
+}
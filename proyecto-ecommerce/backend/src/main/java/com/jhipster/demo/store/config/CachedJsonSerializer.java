@@ -0,0 +1,103 @@
+package com.jhipster.demo.store.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Writes catalog entities from {@link CatalogJsonCache}: the cached UTF-8 bytes of each element are copied into the
+ * output, so a page of products is spliced together rather than serialized property by property.
+ * <p>
+ * Falls back to the standard bean serializer for non UTF-8 or pretty printed output, and for properties customizing
+ * the serialization, e.g. with {@code @JsonIgnoreProperties}. Entities are cached as serialized by a generator of the
+ * mapper's own factory, so with the generator features of the mapper.
+ */
+public class CachedJsonSerializer extends JsonSerializer<Object> implements ContextualSerializer, ResolvableSerializer {
+
+    private final JsonSerializer<Object> delegate;
+
+    private final CatalogJsonCache cache;
+
+    public CachedJsonSerializer(JsonSerializer<Object> delegate, CatalogJsonCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        String revision = CatalogJsonCache.revisionOf(value);
+        ObjectCodec mapper = gen.getCodec();
+        if (revision == null || mapper == null || !(gen instanceof UTF8JsonGenerator) || gen.getPrettyPrinter() != null) {
+            delegate.serialize(value, gen, serializers);
+            return;
+        }
+        SerializedString json = cache.get(value, revision);
+        if (json == null) {
+            json = cache.put(value, revision, serializeStandalone(value, mapper, serializers));
+        }
+        gen.writeRawValue(json);
+    }
+
+    private String serializeStandalone(Object value, ObjectCodec mapper, SerializerProvider serializers) throws IOException {
+        StringWriter json = new StringWriter();
+        try (JsonGenerator standalone = mapper.getFactory().createGenerator(json)) {
+            serializers.getConfig().initialize(standalone);
+            delegate.serialize(value, standalone, serializers);
+        }
+        return json.toString();
+    }
+
+    @Override
+    public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+        throws IOException {
+        delegate.serializeWithType(value, gen, serializers, typeSer);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) throws JsonMappingException {
+        if (!(delegate instanceof ContextualSerializer contextualSerializer)) {
+            return this;
+        }
+        JsonSerializer<?> contextual = contextualSerializer.createContextual(prov, property);
+        // A property-specific serializer may write something else than the cached representation
+        return contextual == delegate ? this : contextual;
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (delegate instanceof ResolvableSerializer resolvableSerializer) {
+            resolvableSerializer.resolve(provider);
+        }
+    }
+
+    @Override
+    public JsonSerializer<Object> unwrappingSerializer(NameTransformer unwrapper) {
+        return delegate.unwrappingSerializer(unwrapper);
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, Object value) {
+        return delegate.isEmpty(provider, value);
+    }
+
+    @Override
+    public boolean usesObjectId() {
+        return delegate.usesObjectId();
+    }
+
+    @Override
+    public Class<Object> handledType() {
+        return delegate.handledType();
+    }
+}
@@ -0,0 +1,116 @@
+package com.jhipster.demo.store.config;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.service.event.EntityChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.Hibernate;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Compact JSON of catalog entities, keyed by type and id and valid for one revision: the entity version, plus the
+ * version of the embedded category for a product.
+ * <p>
+ * Entities which cannot be fingerprinted by versions, because they are not persisted yet or carry an initialized
+ * collection, are not cached.
+ */
+public class CatalogJsonCache {
+
+    private record EntityKey(Class<?> type, Long id) {}
+
+    private record Entry(String revision, SerializedString json) {}
+
+    private final Cache<EntityKey, Entry> entries;
+
+    public CatalogJsonCache(DataSize maxSize) {
+        this.entries = Caffeine.newBuilder()
+            .maximumWeight(maxSize.toBytes())
+            // Characters and their UTF-8 encoding are both retained
+            .<EntityKey, Entry>weigher((key, entry) -> 3 * entry.json().charLength())
+            .recordStats()
+            .build();
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, entries, "catalogJson");
+    }
+
+    static boolean supports(Class<?> type) {
+        return type == Product.class || type == ProductCategory.class;
+    }
+
+    /**
+     * @return the cached JSON of {@code entity} at {@code revision}, or {@code null}.
+     */
+    SerializedString get(Object entity, String revision) {
+        Entry entry = entries.getIfPresent(new EntityKey(entity.getClass(), idOf(entity)));
+        return entry != null && entry.revision().equals(revision) ? entry.json() : null;
+    }
+
+    SerializedString put(Object entity, String revision, String json) {
+        SerializedString serialized = new SerializedString(json);
+        // Encodes once, later writes copy the cached UTF-8 bytes
+        serialized.asUnquotedUTF8();
+        entries.put(new EntityKey(entity.getClass(), idOf(entity)), new Entry(revision, serialized));
+        return serialized;
+    }
+
+    /**
+     * @return the revision of the JSON representation of {@code entity}, or {@code null} if it must not be cached.
+     */
+    static String revisionOf(Object entity) {
+        if (entity instanceof Product product) {
+            if (product.getId() == null || product.getVersion() == null) {
+                return null;
+            }
+            ProductCategory category = product.getProductCategory();
+            if (category == null) {
+                return product.getVersion().toString();
+            }
+            if (!Hibernate.isInitialized(category)) {
+                // Written as its identifier only
+                return product.getVersion() + "/" + category.getId();
+            }
+            return category.getVersion() == null ? null : product.getVersion() + "/" + category.getId() + "@" + category.getVersion();
+        }
+        if (entity instanceof ProductCategory category) {
+            if (category.getId() == null || category.getVersion() == null || Hibernate.isInitialized(category.getProducts())) {
+                return null;
+            }
+            return category.getVersion().toString();
+        }
+        return null;
+    }
+
+    /**
+     * Drops the entry as soon as the entity is written, so the transaction writing it never reads it back.
+     */
+    @EventListener
+    public void onEntityChanging(EntityChangedEvent event) {
+        invalidate(event);
+    }
+
+    /**
+     * Drops the entry again once the write is visible, in case a concurrent reader re-cached the previous revision.
+     */
+    @TransactionalEventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        invalidate(event);
+    }
+
+    private void invalidate(EntityChangedEvent event) {
+        if (supports(event.getEntityType())) {
+            entries.invalidate(new EntityKey(event.getEntityType(), event.getId()));
+        }
+    }
+
+    private static Long idOf(Object entity) {
+        return entity instanceof Product product ? product.getId() : ((ProductCategory) entity).getId();
+    }
+}
@@ -0,0 +1,26 @@
+package com.jhipster.demo.store.config;
+
+import com.jhipster.demo.store.web.feed.ChangeFeed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Server-Sent Events feed of the committed changes, see {@link ChangeFeed}.
+ */
+@Configuration
+public class ChangeFeedConfiguration {
+
+    @Bean
+    public ChangeFeed changeFeed(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.ChangeFeed properties = applicationProperties.getChangeFeed();
+        ChangeFeed changeFeed = new ChangeFeed(
+            properties.getBufferSize(),
+            properties.getReplaySize(),
+            properties.getDispatcherThreads(),
+            properties.getHeartbeatInterval()
+        );
+        changeFeed.bindTo(meterRegistry);
+        return changeFeed;
+    }
+}
@@ -0,0 +1,49 @@
+package com.jhipster.demo.store.config;
+
+import com.jhipster.demo.store.web.filter.CompressionFilter;
+import com.jhipster.demo.store.web.filter.ResponseCompressor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+
+/**
+ * gzip and brotli compression of dynamic responses, enabled with {@code application.compression.enabled}. It replaces
+ * the web server compression ({@code server.compression}), which cannot encode with brotli nor reuse encoded bytes.
+ * <p>
+ * The filter wraps the {@link ResponseCacheConfiguration catalog response cache} filter, which writes its hits already
+ * encoded. Static assets are served precompressed by {@link StaticResourcesWebConfiguration}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.compression", name = "enabled", havingValue = "true")
+public class CompressionConfiguration {
+
+    private final ApplicationProperties.Compression properties;
+
+    public CompressionConfiguration(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getCompression();
+    }
+
+    @Bean
+    public ResponseCompressor responseCompressor(MeterRegistry meterRegistry) {
+        return new ResponseCompressor(
+            (int) properties.getMinResponseSize().toBytes(),
+            MediaType.parseMediaTypes(properties.getMimeTypes()),
+            properties.getBrotliQuality(),
+            properties.getGzipLevel(),
+            meterRegistry
+        );
+    }
+
+    @Bean
+    public FilterRegistrationBean<CompressionFilter> compressionFilter(ResponseCompressor responseCompressor) {
+        FilterRegistrationBean<CompressionFilter> registration = new FilterRegistrationBean<>(new CompressionFilter(responseCompressor));
+        registration.setUrlPatterns(properties.getUrlPatterns());
+        // After the Spring Security filter chain, before the response cache filter
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 10);
+        return registration;
+    }
+}
@@ -0,0 +1,117 @@
+package com.jhipster.demo.store.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Lets at most {@code maxConcurrency} threads hold or wait for a connection of the target pool, the others queue
+ * fairly in front of it.
+ * <p>
+ * With virtual threads the number of concurrent requests is no longer bounded by the worker pool: without this limit
+ * thousands of them would pile up inside the connection pool and fail together on its connection timeout.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    private final String name;
+
+    private final int maxConcurrency;
+
+    private final Duration acquireTimeout;
+
+    private final Semaphore permits;
+
+    public ConcurrencyLimitedDataSource(DataSource targetDataSource, String name, int maxConcurrency, Duration acquireTimeout) {
+        super(targetDataSource);
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jdbc.connections.limiter.active", permits, semaphore -> maxConcurrency - semaphore.availablePermits())
+            .description("Threads holding a connection permit")
+            .tag("name", name)
+            .register(registry);
+        Gauge.builder("jdbc.connections.limiter.waiting", permits, Semaphore::getQueueLength)
+            .description("Threads queued for a connection permit")
+            .tag("name", name)
+            .register(registry);
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                    name + " - Connection is not available, " + permits.getQueueLength() + " threads waiting after " + acquireTimeout
+                );
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException(name + " - Interrupted while waiting for a connection", e);
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+            ConcurrencyLimitedDataSource.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "close" -> {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        yield null;
+                    }
+                    default -> {
+                        try {
+                            yield method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    }
+                }
+        );
+    }
+}
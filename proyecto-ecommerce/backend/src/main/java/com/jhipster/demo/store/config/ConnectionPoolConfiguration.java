@@ -0,0 +1,110 @@
+package com.jhipster.demo.store.config;
+
+import com.jhipster.demo.store.management.AdaptivePoolSizer;
+import com.jhipster.demo.store.management.ConnectionPoolEndpoint;
+import com.jhipster.demo.store.management.ConnectionPoolMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Hikari pool instrumentation, and the optional adaptive sizing of the pools.
+ * <p>
+ * Every Hikari pool gets a {@link ConnectionPoolMetrics} tracker before it starts, which keeps the standard
+ * {@code hikaricp.*} meters Spring Boot would otherwise bind and adds the per endpoint ones. With
+ * {@code application.database.pool.adaptive.enabled}, an {@link AdaptivePoolSizer} adjusts each pool on the task
+ * scheduler, and {@link ConnectionPoolEndpoint} shows and overrides the sizes.
+ */
+@Configuration
+public class ConnectionPoolConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectionPoolConfiguration.class);
+
+    @Bean
+    public static ConnectionPoolMetrics connectionPoolMetrics(
+        ObjectProvider<MeterRegistry> meterRegistry,
+        ObjectProvider<ApplicationProperties> applicationProperties
+    ) {
+        return new ConnectionPoolMetrics(
+            meterRegistry::getObject,
+            applicationProperties.getObject().getDatabase().getPool().getEndpointMetrics()
+        );
+    }
+
+    /**
+     * Before initialization, so that the pools are seen before any post-processor wraps them.
+     */
+    @Bean
+    public static BeanPostProcessor connectionPoolMetricsInstaller(ObjectProvider<ConnectionPoolMetrics> connectionPoolMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikariDataSource && hikariDataSource.getMetricRegistry() == null) {
+                    if (hikariDataSource.getPoolName() == null) {
+                        // Hikari only names the pool when it starts, the sizer needs its name before
+                        hikariDataSource.setPoolName(beanName);
+                    }
+                    hikariDataSource.setMetricsTrackerFactory(connectionPoolMetrics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "application.database.pool.adaptive", name = "enabled", havingValue = "true")
+    public static class AdaptivePoolSizingConfiguration {
+
+        @Bean
+        public ConnectionPoolEndpoint connectionPoolEndpoint(
+            ObjectProvider<DataSource> dataSources,
+            ConnectionPoolMetrics connectionPoolMetrics,
+            ApplicationProperties applicationProperties,
+            TaskScheduler taskScheduler
+        ) {
+            ApplicationProperties.Database.Pool.Adaptive adaptive = applicationProperties.getDatabase().getPool().getAdaptive();
+            List<AdaptivePoolSizer> sizers = dataSources
+                .orderedStream()
+                .map(dataSource -> DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class))
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(hikariDataSource -> createSizer(hikariDataSource, connectionPoolMetrics, adaptive))
+                .toList();
+            sizers.forEach(sizer -> taskScheduler.scheduleWithFixedDelay(sizer::adjust, adaptive.getInterval()));
+            return new ConnectionPoolEndpoint(sizers);
+        }
+
+        private static AdaptivePoolSizer createSizer(
+            HikariDataSource hikariDataSource,
+            ConnectionPoolMetrics connectionPoolMetrics,
+            ApplicationProperties.Database.Pool.Adaptive adaptive
+        ) {
+            int maxSize = adaptive.getMaxSize() != null ? adaptive.getMaxSize() : hikariDataSource.getMaximumPoolSize();
+            int minSize = Math.min(adaptive.getMinSize(), maxSize);
+            LOG.info("Sizing {} adaptively between {} and {} connections", hikariDataSource.getPoolName(), minSize, maxSize);
+            return new AdaptivePoolSizer(
+                hikariDataSource.getPoolName(),
+                hikariDataSource,
+                hikariDataSource::getHikariPoolMXBean,
+                connectionPoolMetrics.load(hikariDataSource.getPoolName()),
+                minSize,
+                maxSize,
+                adaptive.getHeadroom(),
+                adaptive.getWaitRatio(),
+                adaptive.getLatencyTolerance(),
+                adaptive.getStep()
+            );
+        }
+    }
+}
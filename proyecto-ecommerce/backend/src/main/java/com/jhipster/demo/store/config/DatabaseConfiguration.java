@@ -1,5 +1,8 @@
 package com.jhipster.demo.store.config;
 
+import com.jhipster.demo.store.management.HibernateStatisticsMetrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
@@ -9,4 +12,13 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableJpaRepositories({ "com.jhipster.demo.store.repository" })
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
-public class DatabaseConfiguration {}
+public class DatabaseConfiguration {
+
+    /**
+     * Caps the number of queries tagged on the per-query Hibernate meters, applied by Spring Boot to the meter registry.
+     */
+    @Bean
+    public MeterFilter hibernateQueryTagsFilter() {
+        return HibernateStatisticsMetrics.queryTagsFilter();
+    }
+}
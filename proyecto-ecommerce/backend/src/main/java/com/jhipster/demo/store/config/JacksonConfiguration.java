@@ -1,16 +1,27 @@
 package com.jhipster.demo.store.config;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
 import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module.Feature;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.io.IOException;
 import java.time.LocalTime;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
 @Configuration
 public class JacksonConfiguration {
@@ -46,4 +57,58 @@ public class JacksonConfiguration {
     public Hibernate6Module hibernate6Module() {
         return new Hibernate6Module().configure(Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true);
     }
+
+    /**
+     * {@code application/cbor} alternative to JSON for the REST resources, negotiated on the Accept and Content-Type
+     * headers. Built from the same builder as the JSON mapper, so it shares the modules declared here and the
+     * {@code spring.jackson} settings.
+     * @return the CBOR message converter.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * {@code application/x-jackson-smile} alternative to JSON, see {@link #cborHttpMessageConverter}.
+     * @return the Smile message converter.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.json-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CatalogJsonCache catalogJsonCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        CatalogJsonCache cache = new CatalogJsonCache(applicationProperties.getJsonCache().getMaxSize());
+        cache.bindTo(meterRegistry);
+        return cache;
+    }
+
+    /*
+     * Serializes catalog entities once per version, see CachedJsonSerializer.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.json-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public SimpleModule catalogJsonModule(CatalogJsonCache catalogJsonCache) {
+        return createCatalogJsonModule(catalogJsonCache);
+    }
+
+    static SimpleModule createCatalogJsonModule(CatalogJsonCache catalogJsonCache) {
+        SimpleModule module = new SimpleModule("catalogJson");
+        module.setSerializerModifier(
+            new BeanSerializerModifier() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+                    if (!CatalogJsonCache.supports(beanDesc.getBeanClass())) {
+                        return serializer;
+                    }
+                    return new CachedJsonSerializer((JsonSerializer<Object>) serializer, catalogJsonCache);
+                }
+            }
+        );
+        return module;
+    }
 }
@@ -1,6 +1,8 @@
 package com.jhipster.demo.store.config;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.sql.DataSource;
 import liquibase.integration.spring.SpringLiquibase;
 import org.slf4j.Logger;
@@ -25,6 +27,10 @@ public class LiquibaseConfiguration {
 
     private final Environment env;
 
+    private final AtomicBoolean asyncMigrationScheduled = new AtomicBoolean();
+
+    private final CompletableFuture<Void> asyncMigration = new CompletableFuture<>();
+
     public LiquibaseConfiguration(Environment env) {
         this.env = env;
     }
@@ -42,7 +48,7 @@ public class LiquibaseConfiguration {
         if (Boolean.TRUE.equals(applicationProperties.getLiquibase().getAsyncStart())) {
             liquibase = SpringLiquibaseUtil.createAsyncSpringLiquibase(
                 this.env,
-                executor,
+                trackingExecutor(executor),
                 liquibaseDataSource.getIfAvailable(),
                 liquibaseProperties,
                 dataSource.getIfUnique(),
@@ -80,4 +86,32 @@ public class LiquibaseConfiguration {
         }
         return liquibase;
     }
+
+    /**
+     * Completes once the schema is migrated. When Liquibase ran synchronously it is already done by the time the
+     * context is refreshed; otherwise this follows the migration task submitted to the task executor.
+     *
+     * @return the migration completion, to be queried once the application context is refreshed.
+     */
+    public CompletableFuture<Void> migrationCompletion() {
+        return asyncMigrationScheduled.get() ? asyncMigration : CompletableFuture.completedFuture(null);
+    }
+
+    private Executor trackingExecutor(Executor executor) {
+        return command -> {
+            asyncMigrationScheduled.set(true);
+            try {
+                executor.execute(() -> {
+                    try {
+                        command.run();
+                    } finally {
+                        asyncMigration.complete(null);
+                    }
+                });
+            } catch (RuntimeException e) {
+                asyncMigration.complete(null);
+                throw e;
+            }
+        };
+    }
 }
@@ -0,0 +1,109 @@
+package com.jhipster.demo.store.config;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue of the {@link AsyncLogstashAppender}: any number of threads offer, a single one drains.
+ * <p>
+ * Each slot carries a sequence number telling whether it is free for the producer at a position or filled for the
+ * consumer, so the producers only contend on the tail counter and never wait for one another: a full buffer rejects the
+ * element right away.
+ */
+class LogEventRingBuffer<E> {
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> elements;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param requestedCapacity the minimum capacity, rounded up to a power of two.
+     */
+    LogEventRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 1 || requestedCapacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid ring buffer capacity: " + requestedCapacity);
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity) == requestedCapacity
+            ? requestedCapacity
+            : Integer.highestOneBit(requestedCapacity) << 1;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return {@code false} if the buffer is full.
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    // Publishes the element to the consumer
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The slot still holds the element of the previous lap
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code maxElements} elements to the collection; to be called by a single thread.
+     *
+     * @return the number of elements moved.
+     */
+    int drainTo(Collection<? super E> collection, int maxElements) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            collection.add(elements.get(index));
+            elements.lazySet(index, null);
+            // Frees the slot for the producers of the next lap
+            sequences.set(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head.set(position);
+        return drained;
+    }
+
+    int size() {
+        long consumed = head.get();
+        long produced = tail.get();
+        return (int) Math.max(0, Math.min(capacity, produced - consumed));
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
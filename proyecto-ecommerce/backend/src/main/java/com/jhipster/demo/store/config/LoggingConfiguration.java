@@ -1,11 +1,125 @@
 package com.jhipster.demo.store.config;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import tech.jhipster.config.JHipsterProperties;
 
 /*
  * Configures the console and Logstash log appenders from the app properties
  */
 @Configuration
 public class LoggingConfiguration {
-    // Configuración de logging deshabilitada para evitar dependencias faltantes
-} 
\ No newline at end of file
+
+    private static final String LOGSTASH_APPENDER_NAME = "ASYNC_LOGSTASH";
+
+    private final AsyncLogstashAppender logstashAppender;
+
+    public LoggingConfiguration(
+        @Value("${spring.application.name}") String appName,
+        @Value("${server.port:8080}") String serverPort,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        ObjectMapper mapper
+    ) throws JsonProcessingException {
+        JHipsterProperties.Logging.Logstash logstashProperties = jHipsterProperties.getLogging().getLogstash();
+        if (!logstashProperties.isEnabled()) {
+            this.logstashAppender = null;
+            return;
+        }
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        String customFields = mapper.writeValueAsString(Map.of("app_name", appName, "app_port", serverPort));
+        this.logstashAppender = createLogstashAppender(context, customFields, logstashProperties, applicationProperties.getLogstash());
+        addLogstashAppender(context, logstashAppender);
+        // Adds the appender back whenever the configuration is reloaded
+        context.addListener(new LogstashAppenderContextListener(logstashAppender));
+    }
+
+    /**
+     * Queue depth, dropped events by level, sent events and connections of the Logstash appender.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "jhipster.logging.logstash", name = "enabled", havingValue = "true")
+    public MeterBinder logstashAppenderMetrics() {
+        return logstashAppender;
+    }
+
+    private static AsyncLogstashAppender createLogstashAppender(
+        LoggerContext context,
+        String customFields,
+        JHipsterProperties.Logging.Logstash logstashProperties,
+        ApplicationProperties.Logstash properties
+    ) {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.setCustomFields(customFields);
+        encoder.start();
+
+        AsyncLogstashAppender appender = new AsyncLogstashAppender(logstashProperties.getRingBufferSize());
+        appender.setName(LOGSTASH_APPENDER_NAME);
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setHost(logstashProperties.getHost());
+        appender.setPort(logstashProperties.getPort());
+        appender.setBatchSize(properties.getBatchSize());
+        appender.setDiscardableLevel(Level.toLevel(properties.getDiscardableLevel(), Level.DEBUG));
+        appender.setDiscardingThreshold(properties.getDiscardingThreshold());
+        appender.setConnectTimeout(properties.getConnectTimeout());
+        appender.setReconnectionMinDelay(properties.getReconnectionMinDelay());
+        appender.setReconnectionMaxDelay(properties.getReconnectionMaxDelay());
+        return appender;
+    }
+
+    private static void addLogstashAppender(LoggerContext context, AsyncLogstashAppender appender) {
+        appender.start();
+        context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).addAppender(appender);
+    }
+
+    /**
+     * Restarts the Logstash appender when the logging configuration is reset, which stops and detaches every appender.
+     */
+    private static class LogstashAppenderContextListener implements LoggerContextListener {
+
+        private final AsyncLogstashAppender appender;
+
+        LogstashAppenderContextListener(AsyncLogstashAppender appender) {
+            this.appender = appender;
+        }
+
+        @Override
+        public boolean isResetResistant() {
+            return true;
+        }
+
+        @Override
+        public void onStart(LoggerContext context) {
+            addLogstashAppender(context, appender);
+        }
+
+        @Override
+        public void onReset(LoggerContext context) {
+            addLogstashAppender(context, appender);
+        }
+
+        @Override
+        public void onStop(LoggerContext context) {
+            appender.stop();
+        }
+
+        @Override
+        public void onLevelChange(Logger logger, Level level) {
+            // The appender does not depend on the levels
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.jhipster.demo.store.config;
+
+import com.jhipster.demo.store.aop.metrics.MethodMetricsInterceptor;
+import com.jhipster.demo.store.aop.metrics.MethodMetricsPointcut;
+import com.jhipster.demo.store.aop.metrics.MethodSampling;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+
+/**
+ * Timing of the repositories, services and REST controllers into {@code method.timed} timers, enabled with
+ * {@code application.method-metrics.enabled}.
+ * <p>
+ * An advisor rather than an aspect: the excluded methods are left out of the proxies when they are created, and the
+ * timed ones go through a single interceptor which looks their timer up once, instead of an {@code @Around} advice
+ * building its join point on every call. Unlike the {@link LoggingAspectConfiguration logging aspect}, it runs in
+ * production.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.method-metrics", name = "enabled", havingValue = "true")
+public class MethodMetricsConfiguration {
+
+    @Bean
+    public static Advisor methodMetricsAdvisor(ApplicationProperties applicationProperties, @Lazy MeterRegistry meterRegistry) {
+        ApplicationProperties.MethodMetrics properties = applicationProperties.getMethodMetrics();
+        MethodSampling sampling = new MethodSampling(properties.getSampleRates(), properties.getExclude());
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            new MethodMetricsPointcut(MethodMetricsPointcut.APPLICATION_BEANS, sampling),
+            new MethodMetricsInterceptor(meterRegistry, sampling)
+        );
+        // Outermost, so the time includes the transactions and the other advices
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,100 @@
+package com.jhipster.demo.store.config;
+
+import com.jhipster.demo.store.web.filter.CatalogResponseCacheFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+/**
+ * Sends the read-only transactions, {@code @Transactional(readOnly = true)}, to a read replica, enabled by setting
+ * {@code application.database.replica.url}.
+ * <p>
+ * The primary pool keeps its {@code spring.datasource} settings. The replica pool starts from the
+ * {@code spring.datasource.hikari} settings of the primary, auto-commit included, overridden by
+ * {@code application.database.replica.hikari}: with {@code hibernate.connection.provider_disables_autocommit}, Hibernate
+ * relies on the connections of both pools having auto-commit disabled, and the proxy below assumes both pools hand out
+ * connections with the same defaults. Both pools are behind a
+ * {@link LazyConnectionDataSourceProxy}, which only takes a connection at the first statement of a transaction, once
+ * it is known to be read-only; {@link ReadReplicaDataSource} then picks the pool. Each pool has its own
+ * {@code hikaricp.*} metrics, tagged with its {@code poolName}.
+ * <p>
+ * Reads from the replica can be up to {@code application.database.replica.max-lag} behind the writes, e.g. a product
+ * updated by an administrator can show its former price for as long on the pages read from the replica. They do not
+ * fill the Hibernate second level cache, and the catalog responses stored in the
+ * {@link ResponseCacheConfiguration response cache} are computed on the primary, so that no cache keeps stale data after
+ * the writes updated or purged it. The users cached by login and email are not covered: they are evicted on update, and
+ * a read from the replica may cache the former user again until the cache expires.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.database.replica", name = "url")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("application.database.replica.hikari")
+    public HikariDataSource replicaDataSource(
+        ApplicationProperties applicationProperties,
+        DataSourceProperties dataSourceProperties,
+        Environment environment
+    ) {
+        ApplicationProperties.Database.Replica replica = applicationProperties.getDatabase().getReplica();
+        HikariDataSource dataSource = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("Hikari-replica");
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(
+            StringUtils.hasText(replica.getUsername()) ? replica.getUsername() : dataSourceProperties.determineUsername()
+        );
+        dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicaDataSource readReplicaDataSource(
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.Database.Replica replica = applicationProperties.getDatabase().getReplica();
+        ReadReplicaDataSource dataSource = new ReadReplicaDataSource(
+            replicaDataSource,
+            primaryDataSource,
+            replica.getMaxLag(),
+            replica.getLagQuery()
+        );
+        dataSource.setPrimaryRequired(CatalogResponseCacheFilter::isFillingCache);
+        dataSource.bindTo(meterRegistry);
+        dataSource.scheduleLagChecks(replica.getLagCheckInterval());
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        ReadReplicaDataSource readReplicaDataSource
+    ) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readReplicaDataSource);
+        return dataSource;
+    }
+}
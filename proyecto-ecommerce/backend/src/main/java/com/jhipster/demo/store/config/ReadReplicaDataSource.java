@@ -0,0 +1,204 @@
+package com.jhipster.demo.store.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import javax.sql.DataSource;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The connections of the read-only transactions: taken from the replica pool while the replica is at most
+ * {@code maxLag} behind, and from the primary pool otherwise, or when the replica pool fails to give one.
+ * <p>
+ * The lag is read every {@code lagCheckInterval} with {@code lagQuery}, from its {@code Seconds_Behind_Source} column
+ * as returned by MySQL's {@code SHOW REPLICA STATUS}, or else its first column. A replica whose lag is unknown, e.g.
+ * before the first check or with replication stopped, is considered too far behind.
+ * <p>
+ * What is read from the replica can be up to {@code maxLag} older than what the primary committed, so it must not feed
+ * the caches, which the writes update or purge only once: the Hibernate sessions of a transaction reading from the
+ * replica only get from the second level cache, without putting what they load into it, and the reads for which
+ * {@code primaryRequired} holds, such as the ones computing a response to cache, are sent to the primary.
+ */
+public class ReadReplicaDataSource extends DelegatingDataSource implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final DataSource primaryDataSource;
+
+    private final Duration maxLag;
+
+    private final String lagQuery;
+
+    private final ScheduledExecutorService lagChecks;
+
+    private final AtomicLong replicaConnections = new AtomicLong();
+
+    private final AtomicLong primaryConnections = new AtomicLong();
+
+    private BooleanSupplier primaryRequired = () -> false;
+
+    /**
+     * {@code null} when unknown.
+     */
+    private volatile Duration lag;
+
+    public ReadReplicaDataSource(DataSource replicaDataSource, DataSource primaryDataSource, Duration maxLag, String lagQuery) {
+        super(replicaDataSource);
+        this.primaryDataSource = primaryDataSource;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.lagChecks = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param primaryRequired whether the current read must be sent to the primary whatever the lag of the replica.
+     */
+    public void setPrimaryRequired(BooleanSupplier primaryRequired) {
+        this.primaryRequired = primaryRequired;
+    }
+
+    /**
+     * Checks the lag now, then every {@code interval}; until the first check completes, the replica is not used.
+     */
+    public void scheduleLagChecks(Duration interval) {
+        lagChecks.scheduleWithFixedDelay(this::checkLag, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jdbc.replica.lag", this, dataSource -> {
+            Duration current = dataSource.lag;
+            return current != null ? current.toMillis() / 1000.0 : Double.NaN;
+        })
+            .description("Replication lag of the read replica, NaN when unknown")
+            .baseUnit("seconds")
+            .register(registry);
+        FunctionCounter.builder("jdbc.replica.connections", replicaConnections, AtomicLong::get)
+            .description("Connections of read-only transactions, by pool they were taken from")
+            .tag("pool", "replica")
+            .register(registry);
+        FunctionCounter.builder("jdbc.replica.connections", primaryConnections, AtomicLong::get)
+            .description("Connections of read-only transactions, by pool they were taken from")
+            .tag("pool", "primary")
+            .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (isReplicaUsable() && !primaryRequired.getAsBoolean()) {
+            try {
+                Connection connection = obtainTargetDataSource().getConnection();
+                replicaConnections.incrementAndGet();
+                disableCachePuts();
+                return connection;
+            } catch (SQLException e) {
+                replicaFailed(e);
+            }
+        }
+        primaryConnections.incrementAndGet();
+        return primaryDataSource.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (isReplicaUsable() && !primaryRequired.getAsBoolean()) {
+            try {
+                Connection connection = obtainTargetDataSource().getConnection(username, password);
+                replicaConnections.incrementAndGet();
+                disableCachePuts();
+                return connection;
+            } catch (SQLException e) {
+                replicaFailed(e);
+            }
+        }
+        primaryConnections.incrementAndGet();
+        return primaryDataSource.getConnection(username, password);
+    }
+
+    public boolean isReplicaUsable() {
+        Duration current = lag;
+        return current != null && current.compareTo(maxLag) <= 0;
+    }
+
+    /**
+     * Reads the current lag of the replica.
+     */
+    public void checkLag() {
+        boolean wasUsable = isReplicaUsable();
+        try (
+            Connection connection = obtainTargetDataSource().getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery(lagQuery)
+        ) {
+            lag = resultSet.next() ? readLag(resultSet) : null;
+        } catch (SQLException | RuntimeException e) {
+            LOG.debug("Could not check the replica lag: {}", e.getMessage());
+            lag = null;
+        }
+        if (wasUsable != isReplicaUsable()) {
+            if (wasUsable) {
+                LOG.warn("Read replica lag is {}, not within {}: read-only transactions go to the primary", lag, maxLag);
+            } else {
+                LOG.info("Read replica lag is {}: read-only transactions go to the replica", lag);
+            }
+        }
+    }
+
+    private static Duration readLag(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int column = 1;
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (LAG_COLUMN.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                column = i;
+            }
+        }
+        long seconds = resultSet.getLong(column);
+        return resultSet.wasNull() ? null : Duration.ofSeconds(seconds);
+    }
+
+    /**
+     * Stops the Hibernate sessions of the current transaction from putting the entities they read into the second
+     * level cache, which they still read from.
+     */
+    private static void disableCachePuts() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder entityManagerHolder) {
+                entityManagerHolder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+
+    private void replicaFailed(SQLException e) {
+        LOG.warn("Read replica failed to give a connection, read-only transactions go to the primary: {}", e.getMessage());
+        // Until the next lag check finds it back
+        lag = null;
+    }
+
+    @Override
+    public void destroy() {
+        lagChecks.shutdownNow();
+    }
+}
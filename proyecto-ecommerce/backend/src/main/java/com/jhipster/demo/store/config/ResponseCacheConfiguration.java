@@ -0,0 +1,51 @@
+package com.jhipster.demo.store.config;
+
+import com.jhipster.demo.store.web.filter.CatalogResponseCache;
+import com.jhipster.demo.store.web.filter.CatalogResponseCacheFilter;
+import com.jhipster.demo.store.web.filter.ResponseCompressor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * HTTP response cache of the catalog GET endpoints, enabled with {@code application.response-cache.enabled}.
+ * <p>
+ * The filter keeps the default lowest order, after the Spring Security filter chain, so hits are only served to
+ * authenticated callers and still carry the security headers.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.response-cache", name = "enabled", havingValue = "true")
+public class ResponseCacheConfiguration {
+
+    private final ApplicationProperties.ResponseCache properties;
+
+    public ResponseCacheConfiguration(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getResponseCache();
+    }
+
+    @Bean
+    public CatalogResponseCache catalogResponseCache(MeterRegistry meterRegistry) {
+        CatalogResponseCache cache = new CatalogResponseCache(properties.getMaxEntries(), properties.getTimeToLive());
+        cache.bindTo(meterRegistry);
+        return cache;
+    }
+
+    @Bean
+    public FilterRegistrationBean<CatalogResponseCacheFilter> catalogResponseCacheFilter(
+        CatalogResponseCache catalogResponseCache,
+        ObjectProvider<ResponseCompressor> responseCompressor
+    ) {
+        FilterRegistrationBean<CatalogResponseCacheFilter> registration = new FilterRegistrationBean<>(
+            new CatalogResponseCacheFilter(
+                catalogResponseCache,
+                Boolean.TRUE.equals(properties.getDebugHeaders()),
+                responseCompressor.getIfAvailable()
+            )
+        );
+        registration.addUrlPatterns("/api/products", "/api/products/*", "/api/product-categories", "/api/product-categories/*");
+        return registration;
+    }
+}
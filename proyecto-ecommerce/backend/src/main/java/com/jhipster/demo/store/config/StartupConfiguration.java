@@ -0,0 +1,67 @@
+package com.jhipster.demo.store.config;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Defers the creation of the beans listed in {@code application.startup.lazy-beans} to their first use, which the
+ * {@code startup} profile sets to the beans a request seldom needs (mail, the logging controller, the API docs).
+ * <p>
+ * Unlike {@code spring.main.lazy-initialization}, the rest of the context, the security and persistence layers among
+ * others, still starts eagerly, so that a wrong configuration fails the startup rather than the first request.
+ */
+@Configuration
+public class StartupConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StartupConfiguration.class);
+
+    /**
+     * Bound from the environment, the {@link ApplicationProperties} bean does not exist yet when the bean factory is
+     * post-processed.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyBeansPostProcessor(Environment environment) {
+        List<String> lazyBeans = Binder.get(environment)
+            .bind("application.startup.lazy-beans", Bindable.listOf(String.class))
+            .orElse(List.of());
+        return beanFactory -> {
+            if (lazyBeans.isEmpty()) {
+                return;
+            }
+            int count = 0;
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+                if (beanDefinition.getRole() == BeanDefinition.ROLE_APPLICATION && !beanDefinition.isLazyInit()) {
+                    String className = declaringClassName(beanFactory, beanDefinition);
+                    if (className != null && lazyBeans.stream().anyMatch(className::startsWith)) {
+                        beanDefinition.setLazyInit(true);
+                        count++;
+                    }
+                }
+            }
+            LOG.debug("Deferred the creation of {} beans", count);
+        };
+    }
+
+    /**
+     * The class of the bean, or for a {@code @Bean} method the class declaring it.
+     */
+    private static String declaringClassName(ConfigurableListableBeanFactory beanFactory, BeanDefinition beanDefinition) {
+        if (beanDefinition.getFactoryMethodName() != null && beanDefinition.getFactoryBeanName() != null) {
+            String factoryBeanName = beanDefinition.getFactoryBeanName();
+            return beanFactory.containsBeanDefinition(factoryBeanName)
+                ? beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName()
+                : null;
+        }
+        return beanDefinition.getBeanClassName();
+    }
+}
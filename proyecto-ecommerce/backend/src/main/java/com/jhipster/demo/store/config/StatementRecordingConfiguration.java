@@ -0,0 +1,48 @@
+package com.jhipster.demo.store.config;
+
+import com.jhipster.demo.store.management.StatementRecordingDataSource;
+import com.jhipster.demo.store.web.filter.RepeatedStatementsFilter;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Statement counts per request, enabled with {@code application.database.statement-recording.enabled} in the dev
+ * profile and the tests.
+ * <p>
+ * The {@code dataSource} bean is wrapped in a {@link StatementRecordingDataSource}, which counts the statements of every
+ * thread inside a {@link com.jhipster.demo.store.management.StatementRecording}. Each request is recorded by a
+ * {@link RepeatedStatementsFilter}, which logs the statements it repeats; the tests record their own calls to assert
+ * on the counts.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.database.statement-recording", name = "enabled", havingValue = "true")
+public class StatementRecordingConfiguration {
+
+    @Bean
+    public static BeanPostProcessor statementRecordingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new StatementRecordingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RepeatedStatementsFilter> repeatedStatementsFilter(ApplicationProperties applicationProperties) {
+        FilterRegistrationBean<RepeatedStatementsFilter> registration = new FilterRegistrationBean<>(
+            new RepeatedStatementsFilter(applicationProperties.getDatabase().getStatementRecording().getRepeatThreshold())
+        );
+        // Before the Spring Security filter chain, whose authentication may read the user
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
 import tech.jhipster.config.JHipsterConstants;
 import tech.jhipster.config.JHipsterProperties;
 
@@ -33,8 +34,16 @@ public class StaticResourcesWebConfiguration implements WebMvcConfigurer {
         return registry.addResourceHandler(RESOURCE_PATHS);
     }
 
+    /**
+     * The {@code .br} and {@code .gz} variants generated by the webpack production build are served in place of the
+     * asset when the request accepts their encoding.
+     */
     protected void initializeResourceHandler(ResourceHandlerRegistration resourceHandlerRegistration) {
-        resourceHandlerRegistration.addResourceLocations(RESOURCE_LOCATIONS).setCacheControl(getCacheControl());
+        resourceHandlerRegistration
+            .addResourceLocations(RESOURCE_LOCATIONS)
+            .setCacheControl(getCacheControl())
+            .resourceChain(true)
+            .addResolver(new EncodedResourceResolver());
     }
 
     protected CacheControl getCacheControl() {
@@ -0,0 +1,101 @@
+package com.jhipster.demo.store.config;
+
+import com.jhipster.demo.store.management.VirtualThreadPinningMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.web.embedded.undertow.UndertowDeploymentInfoCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Virtual thread mode, enabled with {@code spring.threads.virtual.enabled=true} on Java 21 and later.
+ * <p>
+ * Spring Boot only switches Tomcat and Jetty to virtual threads: here servlet requests are dispatched from the
+ * Undertow IO threads to one virtual thread each instead of the worker pool. The {@code taskExecutor} is switched in
+ * {@link AsyncConfiguration}. Since concurrency is no longer bounded by a pool size, every connection pool gets a
+ * {@link ConcurrencyLimitedDataSource} in front of it.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadsConfiguration.class);
+
+    private static final Duration PINNING_THRESHOLD = Duration.ofMillis(20);
+
+    @Bean
+    public UndertowDeploymentInfoCustomizer virtualThreadsDeploymentInfoCustomizer() {
+        return deploymentInfo -> {
+            LOG.info("Dispatching servlet requests to virtual threads");
+            deploymentInfo.setExecutor(new VirtualThreadTaskExecutor("undertow-"));
+        };
+    }
+
+    @Bean
+    public static ConnectionPoolConcurrencyLimiter connectionPoolConcurrencyLimiter(
+        ObjectProvider<ApplicationProperties> applicationProperties
+    ) {
+        return new ConnectionPoolConcurrencyLimiter(applicationProperties);
+    }
+
+    @Bean
+    public MeterBinder connectionPoolConcurrencyLimiterMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry ->
+            dataSources
+                .orderedStream()
+                .map(dataSource -> DataSourceUnwrapper.unwrap(dataSource, ConcurrencyLimitedDataSource.class))
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(dataSource -> dataSource.bindTo(registry));
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(meterRegistry, PINNING_THRESHOLD);
+    }
+
+    /**
+     * Ordered, so that it sees the pools before the post-processors wrapping the {@code dataSource} bean whatever its
+     * type, such as the one of {@link StatementRecordingConfiguration}.
+     */
+    static class ConnectionPoolConcurrencyLimiter implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ApplicationProperties> applicationProperties;
+
+        ConnectionPoolConcurrencyLimiter(ObjectProvider<ApplicationProperties> applicationProperties) {
+            this.applicationProperties = applicationProperties;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource hikariDataSource)) {
+                return bean;
+            }
+            ApplicationProperties.Database.ConcurrencyLimit limit = applicationProperties.getObject().getDatabase().getConcurrencyLimit();
+            int maxConcurrency = limit.getMaxConcurrency() != null ? limit.getMaxConcurrency() : hikariDataSource.getMaximumPoolSize();
+            Duration acquireTimeout = limit.getAcquireTimeout() != null
+                ? limit.getAcquireTimeout()
+                : Duration.ofMillis(hikariDataSource.getConnectionTimeout());
+            LOG.info("Limiting {} to {} concurrent connection holders", beanName, maxConcurrency);
+            return new ConcurrencyLimitedDataSource(hikariDataSource, beanName, maxConcurrency, acquireTimeout);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.jhipster.demo.store.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The deletion log of the delta sync: a tombstone per deleted entity, kept for
+ * {@code application.sync.tombstone-retention}.
+ */
+@Entity
+@Table(name = "entity_deletion")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class EntityDeletion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Size(max = 50)
+    @Column(name = "entity_name", length = 50, nullable = false)
+    private String entityName;
+
+    @NotNull
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    /**
+     * The login of the customer the entity belonged to, {@code null} for shared entities.
+     */
+    @Size(max = 50)
+    @Column(name = "owner_login", length = 50)
+    private String ownerLogin;
+
+    @NotNull
+    @Column(name = "deleted_date", nullable = false)
+    private Instant deletedDate;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEntityName() {
+        return this.entityName;
+    }
+
+    public EntityDeletion entityName(String entityName) {
+        this.setEntityName(entityName);
+        return this;
+    }
+
+    public void setEntityName(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public Long getEntityId() {
+        return this.entityId;
+    }
+
+    public EntityDeletion entityId(Long entityId) {
+        this.setEntityId(entityId);
+        return this;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getOwnerLogin() {
+        return this.ownerLogin;
+    }
+
+    public EntityDeletion ownerLogin(String ownerLogin) {
+        this.setOwnerLogin(ownerLogin);
+        return this;
+    }
+
+    public void setOwnerLogin(String ownerLogin) {
+        this.ownerLogin = ownerLogin;
+    }
+
+    public Instant getDeletedDate() {
+        return this.deletedDate;
+    }
+
+    public EntityDeletion deletedDate(Instant deletedDate) {
+        this.setDeletedDate(deletedDate);
+        return this;
+    }
+
+    public void setDeletedDate(Instant deletedDate) {
+        this.deletedDate = deletedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EntityDeletion)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((EntityDeletion) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityDeletion{" +
+            "id=" + getId() +
+            ", entityName='" + getEntityName() + "'" +
+            ", entityId=" + getEntityId() +
+            ", ownerLogin='" + getOwnerLogin() + "'" +
+            ", deletedDate='" + getDeletedDate() + "'" +
+            "}";
+    }
+}
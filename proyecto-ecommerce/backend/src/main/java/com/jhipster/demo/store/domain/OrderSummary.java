@@ -0,0 +1,121 @@
+package com.jhipster.demo.store.domain;
+
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * The read model of the order screens: a row per {@link ShoppingCart}, with its customer and the count and total of its
+ * orders, so that they are listed without joining and aggregating the carts, orders and customers.
+ * <p>
+ * Written by {@link com.jhipster.demo.store.repository.OrderSummaryRepository} only, after the changes of the carts
+ * commit, hence immutable and not cached.
+ */
+@Entity
+@Immutable
+@Table(name = "order_summary")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class OrderSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "cart_id")
+    private Long cartId;
+
+    @Column(name = "customer_details_id", nullable = false)
+    private Long customerDetailsId;
+
+    @Column(name = "customer_login", length = 50, nullable = false)
+    private String customerLogin;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "placed_date", nullable = false)
+    private Instant placedDate;
+
+    /**
+     * The sum of the quantities of the orders of the cart.
+     */
+    @Column(name = "item_count", nullable = false)
+    private Integer itemCount;
+
+    /**
+     * The sum of the total prices of the orders of the cart.
+     */
+    @Column(name = "total_price", precision = 21, scale = 2, nullable = false)
+    private BigDecimal totalPrice;
+
+    /**
+     * The last change of the cart or of one of its orders.
+     */
+    @Column(name = "last_modified_date", nullable = false)
+    private Instant lastModifiedDate;
+
+    public Long getCartId() {
+        return this.cartId;
+    }
+
+    public Long getCustomerDetailsId() {
+        return this.customerDetailsId;
+    }
+
+    public String getCustomerLogin() {
+        return this.customerLogin;
+    }
+
+    public OrderStatus getStatus() {
+        return this.status;
+    }
+
+    public Instant getPlacedDate() {
+        return this.placedDate;
+    }
+
+    public Integer getItemCount() {
+        return this.itemCount;
+    }
+
+    public BigDecimal getTotalPrice() {
+        return this.totalPrice;
+    }
+
+    public Instant getLastModifiedDate() {
+        return this.lastModifiedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderSummary)) {
+            return false;
+        }
+        return getCartId() != null && getCartId().equals(((OrderSummary) o).getCartId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderSummary{" +
+            "cartId=" + getCartId() +
+            ", customerLogin='" + getCustomerLogin() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", itemCount=" + getItemCount() +
+            ", totalPrice=" + getTotalPrice() +
+            ", lastModifiedDate='" + getLastModifiedDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,169 @@
+package com.jhipster.demo.store.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * An offline action applied by the replay endpoint, keyed by the login of its user and its client id, with the outcome
+ * returned when it is sent again. Kept for {@code application.sync.replay-retention}.
+ */
+@Entity
+@Table(name = "replayed_action")
+@IdClass(ReplayedActionId.class)
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ReplayedAction implements Serializable, Persistable<ReplayedActionId> {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    @Size(max = 50)
+    @Id
+    @Column(name = "login", length = 50, nullable = false)
+    private String login;
+
+    @NotNull
+    @Size(max = 100)
+    @Id
+    @Column(name = "action_id", length = 100, nullable = false)
+    private String actionId;
+
+    @NotNull
+    @Column(name = "status", nullable = false)
+    private Integer status;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @NotNull
+    @Column(name = "replayed_date", nullable = false)
+    private Instant replayedDate;
+
+    @org.springframework.data.annotation.Transient
+    @Transient
+    private boolean isPersisted;
+
+    public String getActionId() {
+        return this.actionId;
+    }
+
+    public ReplayedAction actionId(String actionId) {
+        this.setActionId(actionId);
+        return this;
+    }
+
+    public void setActionId(String actionId) {
+        this.actionId = actionId;
+    }
+
+    public String getLogin() {
+        return this.login;
+    }
+
+    public ReplayedAction login(String login) {
+        this.setLogin(login);
+        return this;
+    }
+
+    public void setLogin(String login) {
+        this.login = login;
+    }
+
+    public Integer getStatus() {
+        return this.status;
+    }
+
+    public ReplayedAction status(Integer status) {
+        this.setStatus(status);
+        return this;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public Long getEntityId() {
+        return this.entityId;
+    }
+
+    public ReplayedAction entityId(Long entityId) {
+        this.setEntityId(entityId);
+        return this;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Instant getReplayedDate() {
+        return this.replayedDate;
+    }
+
+    public ReplayedAction replayedDate(Instant replayedDate) {
+        this.setReplayedDate(replayedDate);
+        return this;
+    }
+
+    public void setReplayedDate(Instant replayedDate) {
+        this.replayedDate = replayedDate;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void updateEntityState() {
+        this.setIsPersisted();
+    }
+
+    @Override
+    public ReplayedActionId getId() {
+        return new ReplayedActionId(this.login, this.actionId);
+    }
+
+    /**
+     * Always inserted, never merged: an action replayed concurrently by another request of its user violates the primary
+     * key.
+     */
+    @org.springframework.data.annotation.Transient
+    @Transient
+    @Override
+    public boolean isNew() {
+        return !this.isPersisted;
+    }
+
+    public ReplayedAction setIsPersisted() {
+        this.isPersisted = true;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReplayedAction)) {
+            return false;
+        }
+        ReplayedAction other = (ReplayedAction) o;
+        return getLogin() != null && getActionId() != null && getId().equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getLogin(), getActionId());
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReplayedAction{" +
+            "login='" + getLogin() + "'" +
+            ", actionId='" + getActionId() + "'" +
+            ", status=" + getStatus() +
+            ", entityId=" + getEntityId() +
+            ", replayedDate='" + getReplayedDate() + "'" +
+            "}";
+    }
+}
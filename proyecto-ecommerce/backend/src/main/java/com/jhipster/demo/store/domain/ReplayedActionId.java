@@ -0,0 +1,57 @@
+package com.jhipster.demo.store.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The id of a {@link ReplayedAction}: the action ids are chosen by the clients, so they are only unique per user.
+ */
+public class ReplayedActionId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String login;
+
+    private String actionId;
+
+    public ReplayedActionId() {}
+
+    public ReplayedActionId(String login, String actionId) {
+        this.login = login;
+        this.actionId = actionId;
+    }
+
+    public String getLogin() {
+        return this.login;
+    }
+
+    public String getActionId() {
+        return this.actionId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReplayedActionId)) {
+            return false;
+        }
+        ReplayedActionId other = (ReplayedActionId) o;
+        return Objects.equals(login, other.login) && Objects.equals(actionId, other.actionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(login, actionId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReplayedActionId{" +
+            "login='" + getLogin() + "'" +
+            ", actionId='" + getActionId() + "'" +
+            "}";
+    }
+}
@@ -1,6 +1,7 @@
 package com.jhipster.demo.store.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.jhipster.demo.store.domain.enumeration.OrderStatus;
 import com.jhipster.demo.store.domain.enumeration.PaymentMethod;
 import jakarta.persistence.*;
@@ -12,13 +13,18 @@ import java.util.HashSet;
 import java.util.Set;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 /**
  * A ShoppingCart.
  */
 @Entity
+@EntityListeners(AuditingEntityListener.class)
 @Table(name = "shopping_cart")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class ShoppingCart implements Serializable {
 
@@ -61,6 +67,21 @@ public class ShoppingCart implements Serializable {
     @JsonIgnoreProperties(value = { "user", "carts" }, allowSetters = true)
     private CustomerDetails customerDetails;
 
+    /**
+     * Incremented on every update; used for optimistic locking.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Set on every write; the delta sync reads the changes since a date from its index.
+     */
+    @LastModifiedDate
+    @Column(name = "last_modified_date", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant lastModifiedDate;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -185,6 +206,22 @@ public class ShoppingCart implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getLastModifiedDate() {
+        return this.lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
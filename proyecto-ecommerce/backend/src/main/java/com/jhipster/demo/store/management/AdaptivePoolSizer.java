@@ -0,0 +1,218 @@
+package com.jhipster.demo.store.management;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.time.Instant;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adjusts the {@code maximumPoolSize} of a Hikari pool, within bounds, to the load observed since the previous
+ * adjustment.
+ * <p>
+ * By Little's law the pool needs, on average, as many connections as acquisitions per second times the seconds each
+ * is held; the target is that demand plus some {@code headroom}. The pool grows beyond it while the callers wait for
+ * connections longer than a fraction, {@code waitRatio}, of the time they hold them, unless the hold time itself has
+ * grown to {@code latencyTolerance} times its baseline: the database is then the bottleneck, and more connections
+ * would only queue on it, so the pool may shrink but does not grow. It shrinks by at most {@code step} connections per
+ * adjustment.
+ * <p>
+ * Hikari only closes the idle connections above {@code minimumIdle}, and only while it is below
+ * {@code maximumPoolSize}, so a pool is shrunk with its {@code minimumIdle} lowered to {@code minSize}: the
+ * connections above the new size are then closed once idle for {@code idleTimeout}, and the pool opens them again
+ * as it grows. A pool shrunk down to {@code minSize} is of fixed size again, its surplus connections are closed at
+ * their {@code maxLifetime}. Otherwise the configured {@code minimumIdle} is kept, within the size.
+ * <p>
+ * A size set with {@link #override(Integer)} is kept until the override is cleared.
+ */
+public class AdaptivePoolSizer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    /**
+     * Weight of a new, higher, hold time in the baseline; a lower one replaces it.
+     */
+    private static final double BASELINE_WEIGHT = 0.05;
+
+    private final String poolName;
+
+    private final HikariConfigMXBean config;
+
+    private final Supplier<HikariPoolMXBean> pool;
+
+    private final ConnectionPoolMetrics.Load load;
+
+    private final int minSize;
+
+    private final int maxSize;
+
+    private final double headroom;
+
+    private final double waitRatio;
+
+    private final double latencyTolerance;
+
+    private final int step;
+
+    private final int minimumIdle;
+
+    private double baselineUsageMillis = Double.NaN;
+
+    private long lastAdjustmentNanos = System.nanoTime();
+
+    private volatile Integer override;
+
+    private volatile Adjustment lastAdjustment;
+
+    /**
+     * The outcome of an adjustment, with the load it was based on.
+     */
+    public record Adjustment(
+        Instant at,
+        ConnectionPoolMetrics.Load.Sample load,
+        double baselineUsageMillis,
+        double demand,
+        int previousSize,
+        int size,
+        String reason
+    ) {}
+
+    /**
+     * @param pool supplies the pool statistics, {@code null} until the pool has started.
+     */
+    public AdaptivePoolSizer(
+        String poolName,
+        HikariConfigMXBean config,
+        Supplier<HikariPoolMXBean> pool,
+        ConnectionPoolMetrics.Load load,
+        int minSize,
+        int maxSize,
+        double headroom,
+        double waitRatio,
+        double latencyTolerance,
+        int step
+    ) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Invalid pool size bounds for " + poolName + ": " + minSize + ".." + maxSize);
+        }
+        this.poolName = poolName;
+        this.config = config;
+        this.pool = pool;
+        this.load = load;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.headroom = headroom;
+        this.waitRatio = waitRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.step = step;
+        // Hikari sizes a pool without minimumIdle, -1 until it starts, to maximumPoolSize
+        this.minimumIdle = config.getMinimumIdle() < 0 ? config.getMaximumPoolSize() : config.getMinimumIdle();
+    }
+
+    public synchronized void adjust() {
+        long now = System.nanoTime();
+        double seconds = (now - lastAdjustmentNanos) / 1e9;
+        lastAdjustmentNanos = now;
+        adjust(seconds);
+    }
+
+    /**
+     * @param seconds the time elapsed since the previous adjustment, over which the load was observed.
+     */
+    synchronized void adjust(double seconds) {
+        ConnectionPoolMetrics.Load.Sample sample = load.sample();
+        int current = config.getMaximumPoolSize();
+
+        Integer fixedSize = override;
+        if (fixedSize != null) {
+            apply(sample, Double.NaN, current, fixedSize, "override");
+            return;
+        }
+        if (pool.get() == null || seconds <= 0) {
+            return;
+        }
+
+        double usageMillis = sample.averageUsageMillis();
+        if (sample.acquisitions() > 0 && usageMillis > 0) {
+            baselineUsageMillis = Double.isNaN(baselineUsageMillis) || usageMillis < baselineUsageMillis
+                ? usageMillis
+                : baselineUsageMillis + BASELINE_WEIGHT * (usageMillis - baselineUsageMillis);
+        }
+        double demand = (sample.acquisitions() / seconds) * (usageMillis / 1000);
+        int target = (int) Math.ceil(demand * headroom);
+        String reason = "demand";
+
+        boolean waiting = sample.timeouts() > 0 || sample.averageWaitMillis() > waitRatio * usageMillis;
+        boolean databaseSaturated = !Double.isNaN(baselineUsageMillis) && usageMillis > latencyTolerance * baselineUsageMillis;
+        if (databaseSaturated) {
+            target = Math.min(target, current);
+            reason = "database latency";
+        } else if (waiting && sample.acquisitions() > 0 && target <= current) {
+            target = current + step;
+            reason = "waiting";
+        }
+        target = Math.max(target, current - step);
+        apply(sample, demand, current, Math.max(minSize, Math.min(maxSize, target)), reason);
+    }
+
+    private void apply(ConnectionPoolMetrics.Load.Sample sample, double demand, int current, int size, String reason) {
+        if (size != current) {
+            LOG.info("Resizing {} from {} to {} connections ({}): {}", poolName, current, size, reason, sample);
+            resize(current, size);
+        }
+        lastAdjustment = new Adjustment(Instant.now(), sample, baselineUsageMillis, demand, current, size, reason);
+    }
+
+    private void resize(int current, int size) {
+        config.setMinimumIdle(Math.min(minimumIdle, size < current ? minSize : size));
+        config.setMaximumPoolSize(size);
+    }
+
+    /**
+     * Fixes the size of the pool, right away and until cleared with {@code null}, which resumes the adaptive sizing.
+     */
+    public void override(Integer size) {
+        if (size != null && size < 1) {
+            throw new IllegalArgumentException("Invalid pool size: " + size);
+        }
+        override = size;
+        if (size != null) {
+            synchronized (this) {
+                int current = config.getMaximumPoolSize();
+                if (current != size) {
+                    LOG.info("Resizing {} from {} to {} connections (override)", poolName, current, size);
+                    resize(current, size);
+                }
+            }
+        }
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public int getMaximumPoolSize() {
+        return config.getMaximumPoolSize();
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public Integer getOverride() {
+        return override;
+    }
+
+    public HikariPoolMXBean getPool() {
+        return pool.get();
+    }
+
+    public Adjustment getLastAdjustment() {
+        return lastAdjustment;
+    }
+}
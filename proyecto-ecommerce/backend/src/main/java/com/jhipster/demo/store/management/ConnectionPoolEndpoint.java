@@ -0,0 +1,78 @@
+package com.jhipster.demo.store.management;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code /management/connectionpool}: the size of each adaptively sized pool, its bounds, its connections and the last
+ * adjustment. {@code POST /management/connectionpool/{pool}} with a {@code maximumPoolSize} fixes the size of the pool,
+ * without one resumes the adaptive sizing.
+ */
+@Endpoint(id = "connectionpool")
+public class ConnectionPoolEndpoint {
+
+    private final Map<String, AdaptivePoolSizer> sizers = new LinkedHashMap<>();
+
+    public ConnectionPoolEndpoint(List<AdaptivePoolSizer> sizers) {
+        sizers.forEach(sizer -> this.sizers.put(sizer.getPoolName(), sizer));
+    }
+
+    public record PoolDescriptor(
+        int maximumPoolSize,
+        int minSize,
+        int maxSize,
+        Integer override,
+        Integer activeConnections,
+        Integer idleConnections,
+        Integer threadsAwaitingConnection,
+        AdaptivePoolSizer.Adjustment lastAdjustment
+    ) {}
+
+    @ReadOperation
+    public Map<String, PoolDescriptor> pools() {
+        Map<String, PoolDescriptor> pools = new LinkedHashMap<>();
+        sizers.forEach((name, sizer) -> pools.put(name, describe(sizer)));
+        return pools;
+    }
+
+    @ReadOperation
+    public PoolDescriptor pool(@Selector String name) {
+        AdaptivePoolSizer sizer = sizers.get(name);
+        return sizer != null ? describe(sizer) : null;
+    }
+
+    @WriteOperation
+    public PoolDescriptor override(@Selector String name, @Nullable Integer maximumPoolSize) {
+        AdaptivePoolSizer sizer = sizers.get(name);
+        if (sizer == null) {
+            return null;
+        }
+        if (maximumPoolSize != null && maximumPoolSize < 1) {
+            throw new InvalidEndpointRequestException("Invalid maximumPoolSize: " + maximumPoolSize, "maximumPoolSize must be positive");
+        }
+        sizer.override(maximumPoolSize);
+        return describe(sizer);
+    }
+
+    private static PoolDescriptor describe(AdaptivePoolSizer sizer) {
+        HikariPoolMXBean pool = sizer.getPool();
+        return new PoolDescriptor(
+            sizer.getMaximumPoolSize(),
+            sizer.getMinSize(),
+            sizer.getMaxSize(),
+            sizer.getOverride(),
+            pool != null ? pool.getActiveConnections() : null,
+            pool != null ? pool.getIdleConnections() : null,
+            pool != null ? pool.getThreadsAwaitingConnection() : null,
+            sizer.getLastAdjustment()
+        );
+    }
+}
@@ -0,0 +1,204 @@
+package com.jhipster.demo.store.management;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Hikari metrics tracker adding, to the standard {@code hikaricp.*} meters, the wait for a connection, the time it is
+ * held and the threads found waiting, per endpoint, and the load of each pool for {@link AdaptivePoolSizer}.
+ * <p>
+ * Hikari calls the tracker on the thread borrowing or returning the connection, so the endpoint is the route pattern of
+ * the request bound to that thread, tagged as {@code http.server.requests} does; {@code none} outside of a request.
+ * Each endpoint meter is a percentile histogram, so that the latency percentiles can be aggregated across instances.
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    public static final String ACQUIRE_METER_NAME = "hikaricp.endpoint.acquire";
+    public static final String USAGE_METER_NAME = "hikaricp.endpoint.usage";
+    public static final String PENDING_METER_NAME = "hikaricp.endpoint.pending";
+
+    private static final String NONE = "none";
+
+    private final Supplier<MeterRegistry> registry;
+
+    private final boolean endpointMetrics;
+
+    private final Map<String, Load> loads = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry supplies the registry once the pool starts, which may be before the registry could be injected.
+     * @param endpointMetrics whether to record the per endpoint meters, the pool load is always tracked.
+     */
+    public ConnectionPoolMetrics(Supplier<MeterRegistry> registry, boolean endpointMetrics) {
+        this.registry = registry;
+        this.endpointMetrics = endpointMetrics;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        MeterRegistry meterRegistry = registry.get();
+        return new Tracker(
+            new MicrometerMetricsTrackerFactory(meterRegistry).create(poolName, poolStats),
+            poolName,
+            poolStats,
+            endpointMetrics ? meterRegistry : null,
+            load(poolName)
+        );
+    }
+
+    /**
+     * The connections borrowed and returned to a pool since the previous {@link Load#sample()}.
+     */
+    public Load load(String poolName) {
+        return loads.computeIfAbsent(poolName, name -> new Load());
+    }
+
+    public static final class Load {
+
+        private final LongAdder acquisitions = new LongAdder();
+
+        private final LongAdder acquireNanos = new LongAdder();
+
+        private final LongAdder usages = new LongAdder();
+
+        private final LongAdder usageMillis = new LongAdder();
+
+        private final LongAdder timeouts = new LongAdder();
+
+        /**
+         * Connections borrowed, average wait and hold times in milliseconds, and acquisitions timed out.
+         */
+        public record Sample(long acquisitions, double averageWaitMillis, double averageUsageMillis, long timeouts) {}
+
+        public Sample sample() {
+            long acquired = acquisitions.sumThenReset();
+            long waited = acquireNanos.sumThenReset();
+            long used = usages.sumThenReset();
+            long usedMillis = usageMillis.sumThenReset();
+            return new Sample(
+                acquired,
+                acquired > 0 ? waited / 1_000_000.0 / acquired : 0,
+                used > 0 ? (double) usedMillis / used : 0,
+                timeouts.sumThenReset()
+            );
+        }
+    }
+
+    private record EndpointMeters(Timer acquire, Timer usage, DistributionSummary pending) {}
+
+    private static final class Tracker implements IMetricsTracker {
+
+        private final IMetricsTracker delegate;
+
+        private final String poolName;
+
+        private final PoolStats poolStats;
+
+        private final MeterRegistry registry;
+
+        private final Load load;
+
+        private final Map<String, EndpointMeters> endpoints = new ConcurrentHashMap<>();
+
+        private Tracker(IMetricsTracker delegate, String poolName, PoolStats poolStats, MeterRegistry registry, Load load) {
+            this.delegate = delegate;
+            this.poolName = poolName;
+            this.poolStats = poolStats;
+            this.registry = registry;
+            this.load = load;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            load.acquisitions.increment();
+            load.acquireNanos.add(elapsedAcquiredNanos);
+            EndpointMeters meters = currentEndpoint();
+            if (meters != null) {
+                meters.acquire().record(elapsedAcquiredNanos, TimeUnit.NANOSECONDS);
+                meters.pending().record(poolStats.getPendingThreads());
+            }
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            load.usages.increment();
+            load.usageMillis.add(elapsedBorrowedMillis);
+            EndpointMeters meters = currentEndpoint();
+            if (meters != null) {
+                meters.usage().record(elapsedBorrowedMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            delegate.recordConnectionTimeout();
+            load.timeouts.increment();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+
+        private EndpointMeters currentEndpoint() {
+            if (registry == null) {
+                return null;
+            }
+            String method = NONE;
+            String uri = NONE;
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes instanceof ServletRequestAttributes servletAttributes) {
+                HttpServletRequest request = servletAttributes.getRequest();
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                method = request.getMethod();
+                uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            }
+            String finalMethod = method;
+            String finalUri = uri;
+            return endpoints.computeIfAbsent(method + ' ' + uri, key -> register(finalMethod, finalUri));
+        }
+
+        private EndpointMeters register(String method, String uri) {
+            return new EndpointMeters(
+                Timer.builder(ACQUIRE_METER_NAME)
+                    .description("Time waited for a connection by an endpoint")
+                    .tags("pool", poolName, "method", method, "uri", uri)
+                    .publishPercentileHistogram()
+                    .register(registry),
+                Timer.builder(USAGE_METER_NAME)
+                    .description("Time a connection was held by an endpoint")
+                    .tags("pool", poolName, "method", method, "uri", uri)
+                    .publishPercentileHistogram()
+                    .register(registry),
+                DistributionSummary.builder(PENDING_METER_NAME)
+                    .description("Threads waiting for a connection when an endpoint got one")
+                    .baseUnit("threads")
+                    .tags("pool", poolName, "method", method, "uri", uri)
+                    .publishPercentileHistogram()
+                    .register(registry)
+            );
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.jhipster.demo.store.management;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.config.MeterFilter;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Publishes per-query Hibernate statistics as Micrometer meters.
+ * <p>
+ * Session, statement and second level cache region counters ({@code hibernate.second.level.cache.requests},
+ * {@code hibernate.second.level.cache.puts}) are bound by Spring Boot from {@code hibernate-micrometer}; region
+ * evictions come from the JCache {@code cache.evictions} meters. Every meter here is a function meter reading the
+ * {@link Statistics} Hibernate already maintains, so the cost is paid at scrape time rather than per statement.
+ * <p>
+ * The queries are tagged once {@link #normalize(String) normalized}, so the ones differing only by their literals share
+ * their meters, and the number of distinct tags is capped by the {@link #queryTagsFilter()}. The queries tracked here
+ * are capped too, to {@value #MAX_TRACKED_QUERIES} queries under {@value #MAX_QUERY_TAGS} normalized ones: Hibernate
+ * evicts the queries beyond {@code hibernate.statistics.query_max_size}, so the ones it reports keep changing with
+ * dynamically built queries, and would otherwise be kept here forever.
+ */
+@Service
+public class HibernateStatisticsMetrics {
+
+    public static final String QUERY_EXECUTIONS_METER_NAME = "hibernate.query.executions";
+    public static final String QUERY_EXECUTIONS_METER_DESCRIPTION = "Executions and cumulated execution time of a query.";
+    public static final String QUERY_MAX_TIME_METER_NAME = "hibernate.query.executions.max";
+    public static final String QUERY_MAX_TIME_METER_DESCRIPTION = "Slowest execution of a query.";
+    public static final String QUERY_DIMENSION = "query";
+    public static final int MAX_QUERY_TAGS = 100;
+    public static final int MAX_TRACKED_QUERIES = 1000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w?:.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LITERAL_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final MeterRegistry registry;
+
+    private final Statistics statistics;
+
+    private final Set<String> registeredQueries = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Set<String>> queriesByNormalizedQuery = new ConcurrentHashMap<>();
+
+    public HibernateStatisticsMetrics(MeterRegistry registry, EntityManagerFactory entityManagerFactory) {
+        this.registry = registry;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        SessionStatementsListener.bindTo(registry);
+    }
+
+    /**
+     * Registers meters for the queries Hibernate started tracking since the last run, in step with the Prometheus
+     * export interval. Once the caps are reached, the queries of new normalized queries are not tracked, and no query
+     * at all once {@value #MAX_TRACKED_QUERIES} are.
+     */
+    @Scheduled(initialDelay = 60, fixedDelay = 60, timeUnit = TimeUnit.SECONDS)
+    public void registerNewQueries() {
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        for (String query : statistics.getQueries()) {
+            if (registeredQueries.size() >= MAX_TRACKED_QUERIES) {
+                return;
+            }
+            if (!registeredQueries.contains(query)) {
+                Set<String> queries = queriesOf(normalize(query));
+                if (queries != null) {
+                    queries.add(query);
+                    registeredQueries.add(query);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the queries normalized to {@code normalizedQuery}, registering its meters first if new, or {@code null} if
+     * new and {@value #MAX_QUERY_TAGS} normalized queries are already tracked.
+     */
+    private Set<String> queriesOf(String normalizedQuery) {
+        Set<String> queries = queriesByNormalizedQuery.get(normalizedQuery);
+        if (queries == null && queriesByNormalizedQuery.size() < MAX_QUERY_TAGS) {
+            queries = ConcurrentHashMap.newKeySet();
+            registerQuery(normalizedQuery, queries);
+            queriesByNormalizedQuery.put(normalizedQuery, queries);
+        }
+        return queries;
+    }
+
+    private void registerQuery(String normalizedQuery, Set<String> queries) {
+        FunctionTimer.builder(
+            QUERY_EXECUTIONS_METER_NAME,
+            statistics,
+            s -> queries.stream().mapToLong(query -> s.getQueryStatistics(query).getExecutionCount()).sum(),
+            s -> queries.stream().mapToLong(query -> s.getQueryStatistics(query).getExecutionTotalTime()).sum(),
+            TimeUnit.MILLISECONDS
+        )
+            .description(QUERY_EXECUTIONS_METER_DESCRIPTION)
+            .tag(QUERY_DIMENSION, normalizedQuery)
+            .register(registry);
+        TimeGauge.builder(QUERY_MAX_TIME_METER_NAME, statistics, TimeUnit.MILLISECONDS, s ->
+            queries.stream().mapToLong(query -> s.getQueryStatistics(query).getExecutionMaxTime()).max().orElse(0)
+        )
+            .description(QUERY_MAX_TIME_METER_DESCRIPTION)
+            .tag(QUERY_DIMENSION, normalizedQuery)
+            .register(registry);
+    }
+
+    /**
+     * Replaces the string and numeric literals of a query, and the lists of them, by {@code ?}; the parameters are kept.
+     *
+     * @param query the HQL or SQL query.
+     * @return the query, without its literals and with its whitespace collapsed.
+     */
+    public static String normalize(String query) {
+        String normalized = STRING_LITERAL.matcher(query).replaceAll("?");
+        normalized = NUMERIC_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = LITERAL_LIST.matcher(normalized).replaceAll("(?)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    /**
+     * Caps the distinct queries tagged on the query meters to {@value #MAX_QUERY_TAGS}, the further ones are not
+     * published: dynamically built queries would otherwise grow the registry and the scrapes without bound.
+     */
+    public static MeterFilter queryTagsFilter() {
+        return MeterFilter.maximumAllowableTags(QUERY_EXECUTIONS_METER_NAME, QUERY_DIMENSION, MAX_QUERY_TAGS, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,46 @@
+package com.jhipster.demo.store.management;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Counts the JDBC statements executed by each Hibernate session and records the total when the session ends.
+ * <p>
+ * Hibernate instantiates one listener per session from the {@code hibernate.session.events.auto} property, so the
+ * hot path is a plain field increment; nothing is recorded until {@link #bindTo(MeterRegistry)} has been called.
+ */
+public class SessionStatementsListener implements SessionEventListener {
+
+    public static final String STATEMENTS_PER_SESSION_METER_NAME = "hibernate.session.statements";
+    public static final String STATEMENTS_PER_SESSION_METER_DESCRIPTION = "Number of JDBC statements and batches executed per session.";
+
+    private static volatile DistributionSummary statementsPerSession;
+
+    private int statements;
+
+    static void bindTo(MeterRegistry registry) {
+        statementsPerSession = DistributionSummary.builder(STATEMENTS_PER_SESSION_METER_NAME)
+            .description(STATEMENTS_PER_SESSION_METER_DESCRIPTION)
+            .baseUnit("statements")
+            .register(registry);
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statements++;
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        statements++;
+    }
+
+    @Override
+    public void end() {
+        DistributionSummary summary = statementsPerSession;
+        if (summary != null) {
+            summary.record(statements);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.jhipster.demo.store.management;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The JDBC statements executed by the current thread between {@link #start()} and {@link #close()}, counted by kind and
+ * by shape, as seen by {@link StatementRecordingDataSource}.
+ * <p>
+ * The shape of a statement is its SQL with the literals and the lists of {@code IN} parameters collapsed, so that
+ * loading the same association once per parent, an N+1, shows as one shape executed N times. Recordings nest: a
+ * statement counts in the current recording and in the ones it was started within, e.g. a test recording around a
+ * request which the dev profile records too.
+ */
+public final class StatementRecording implements AutoCloseable {
+
+    public enum Kind {
+        SELECT,
+        INSERT,
+        UPDATE,
+        DELETE,
+        OTHER,
+    }
+
+    private static final ThreadLocal<StatementRecording> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    private static final Pattern IN_LIST = Pattern.compile("\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final StatementRecording parent;
+
+    private final Map<Kind, Integer> counts = new EnumMap<>(Kind.class);
+
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+
+    private boolean closed;
+
+    private StatementRecording(StatementRecording parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Starts recording the statements of the current thread, until the returned recording is closed.
+     */
+    public static StatementRecording start() {
+        StatementRecording recording = new StatementRecording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    /**
+     * Counts a statement, or one entry of a batch, in the recordings of the current thread.
+     */
+    static void record(String sql) {
+        StatementRecording recording = CURRENT.get();
+        if (recording == null || sql == null) {
+            return;
+        }
+        Kind kind = kindOf(sql);
+        String shape = shapeOf(sql);
+        for (; recording != null; recording = recording.parent) {
+            recording.counts.merge(kind, 1, Integer::sum);
+            recording.shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    static Kind kindOf(String sql) {
+        String statement = sql.stripLeading();
+        int end = 0;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        return switch (statement.substring(0, end).toLowerCase(Locale.ROOT)) {
+            case "select", "with" -> Kind.SELECT;
+            case "insert" -> Kind.INSERT;
+            case "update" -> Kind.UPDATE;
+            case "delete" -> Kind.DELETE;
+            default -> Kind.OTHER;
+        };
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").strip();
+    }
+
+    public int count(Kind kind) {
+        return counts.getOrDefault(kind, 0);
+    }
+
+    public int selects() {
+        return count(Kind.SELECT);
+    }
+
+    public int inserts() {
+        return count(Kind.INSERT);
+    }
+
+    public int updates() {
+        return count(Kind.UPDATE);
+    }
+
+    public int deletes() {
+        return count(Kind.DELETE);
+    }
+
+    public int total() {
+        return counts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * @return the number of executions of each statement shape, in order of first execution.
+     */
+    public Map<String, Integer> getShapes() {
+        return Collections.unmodifiableMap(shapes);
+    }
+
+    /**
+     * @return the statement shapes executed at least {@code threshold} times.
+     */
+    public Map<String, Integer> getRepeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.forEach((shape, count) -> {
+            if (count >= threshold) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+
+    /**
+     * Stops recording; the recording it was started within becomes the current one again.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (parent != null) {
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%d selects, %d inserts, %d updates, %d deletes, %d other: %s",
+            selects(),
+            inserts(),
+            updates(),
+            deletes(),
+            count(Kind.OTHER),
+            shapes
+        );
+    }
+}
@@ -0,0 +1,82 @@
+package com.jhipster.demo.store.management;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Counts the statements executed through its connections in the {@link StatementRecording} of the executing thread.
+ * <p>
+ * A prepared statement counts once per execution, or once per entry of a batch, so that the inserts of a batched flush
+ * are counted row by row. Without a recording in progress a statement costs a thread-local lookup.
+ */
+public class StatementRecordingDataSource extends DelegatingDataSource {
+
+    public StatementRecordingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recording(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return recording(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection recording(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            StatementRecordingDataSource.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (result instanceof CallableStatement statement) {
+                    return recording(statement, CallableStatement.class, (String) args[0]);
+                }
+                if (result instanceof PreparedStatement statement) {
+                    return recording(statement, PreparedStatement.class, (String) args[0]);
+                }
+                if (result instanceof Statement statement) {
+                    return recording(statement, Statement.class, null);
+                }
+                return result;
+            }
+        );
+    }
+
+    /**
+     * @param preparedSql the SQL of a prepared statement, {@code null} for a plain statement, given its SQL on execution.
+     */
+    private static <T extends Statement> T recording(T statement, Class<T> type, String preparedSql) {
+        return type.cast(
+            Proxy.newProxyInstance(StatementRecordingDataSource.class.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.equals("addBatch") || (name.startsWith("execute") && !name.endsWith("Batch"))) {
+                    if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                        StatementRecording.record(sql);
+                    } else {
+                        StatementRecording.record(preparedSql);
+                    }
+                }
+                return invoke(statement, method, args);
+            })
+        );
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
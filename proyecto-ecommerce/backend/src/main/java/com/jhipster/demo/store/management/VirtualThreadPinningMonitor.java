@@ -0,0 +1,93 @@
+package com.jhipster.demo.store.management;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Reports virtual threads pinned to their carrier, i.e. blocking inside a {@code synchronized} block or a native
+ * frame, from the JDK Flight Recorder {@code jdk.VirtualThreadPinned} event.
+ * <p>
+ * Each pinning site is timed under {@code jvm.threads.virtual.pinned}, tagged with the first application frame of the
+ * stack, and logged with its full stack the first time it is seen. For an ad hoc investigation, running with
+ * {@code -Djdk.tracePinnedThreads=full} prints every pinning to the console instead.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String APPLICATION_PACKAGE = "com.jhipster.demo.store.";
+
+    private final MeterRegistry registry;
+
+    private final Duration threshold;
+
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private volatile RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry, Duration threshold) {
+        this.registry = registry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        recordingStream = stream;
+        LOG.info("Monitoring virtual threads pinned for more than {}", threshold);
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream stream = recordingStream;
+        if (stream != null) {
+            stream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String site = pinningSite(event);
+        Timer.builder("jvm.threads.virtual.pinned")
+            .description("Time virtual threads spent pinned to their carrier thread")
+            .tag("site", site)
+            .register(registry)
+            .record(event.getDuration());
+        if (reportedSites.add(site)) {
+            LOG.warn("Virtual thread pinned for {} at {}\n{}", event.getDuration(), site, event.getStackTrace());
+        }
+    }
+
+    private static String pinningSite(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        RecordedFrame site = frames
+            .stream()
+            .filter(frame -> frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+            .findFirst()
+            .orElse(frames.isEmpty() ? null : frames.get(0));
+        return site == null ? "unknown" : site.getMethod().getType().getName() + "." + site.getMethod().getName();
+    }
+}
@@ -0,0 +1,27 @@
+package com.jhipster.demo.store.repository;
+
+import com.jhipster.demo.store.domain.EntityDeletion;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the EntityDeletion entity.
+ */
+@Repository
+public interface EntityDeletionRepository extends JpaRepository<EntityDeletion, Long> {
+    /**
+     * @return the deletions after {@code since} of the shared entities and of the entities of the customer.
+     */
+    @Query(
+        "select entityDeletion from EntityDeletion entityDeletion" +
+        " where entityDeletion.deletedDate > :since and (entityDeletion.ownerLogin is null or entityDeletion.ownerLogin = :login)"
+    )
+    List<EntityDeletion> findVisibleDeletedSince(@Param("login") String login, @Param("since") Instant since);
+
+    @Modifying
+    @Query("delete from EntityDeletion entityDeletion where entityDeletion.deletedDate < :before")
+    int deleteByDeletedDateBefore(@Param("before") Instant before);
+}
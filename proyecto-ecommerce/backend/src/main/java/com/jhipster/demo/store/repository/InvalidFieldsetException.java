@@ -0,0 +1,13 @@
+package com.jhipster.demo.store.repository;
+
+/**
+ * Thrown when a sparse fieldset names an attribute which does not exist or cannot be selected.
+ */
+public class InvalidFieldsetException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidFieldsetException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,71 @@
+package com.jhipster.demo.store.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Loads several entities of a type by id in one go: entities already in the session or in the second level cache are
+ * taken from there, and the misses are fetched with a single {@code IN} query, padded by
+ * {@code hibernate.query.in_clause_parameter_padding} so that the statement shapes stay few.
+ */
+@Repository
+public class MultiGetRepository {
+
+    private final EntityManager entityManager;
+
+    public MultiGetRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Hibernate only looks the ids up in the second level cache when given a cache mode, and in the session when asked
+     * to: the cache mode of the session is passed on, so that a session which must not fill the cache, e.g. one reading
+     * from the replica, still only reads from it.
+     *
+     * @return the entities in the order of {@code ids}, with {@code null} for the ids which do not exist.
+     */
+    public <T> List<T> findAllById(Class<T> type, List<?> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Session session = entityManager.unwrap(Session.class);
+        return session
+            .byMultipleIds(type)
+            .with(session.getCacheMode())
+            .enableSessionCheck(true)
+            .enableOrderedReturn(true)
+            .withBatchSize(ids.size())
+            .multiLoad(ids);
+    }
+
+    /**
+     * Initializes a to-one relationship of the {@code entities}, loading its targets the same way as
+     * {@link #findAllById}, rather than one by one when each proxy is first accessed.
+     */
+    public <T, R> void initialize(Collection<T> entities, Function<T, R> relationship, Class<R> relationshipType) {
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        List<R> targets = entities.stream().filter(Objects::nonNull).map(relationship).filter(Objects::nonNull).toList();
+        Set<Object> uninitializedIds = new LinkedHashSet<>();
+        for (R target : targets) {
+            if (!Hibernate.isInitialized(target)) {
+                uninitializedIds.add(persistenceUnitUtil.getIdentifier(target));
+            }
+        }
+        if (uninitializedIds.isEmpty()) {
+            return;
+        }
+        // Puts the targets in the session, where the proxies then find them
+        findAllById(relationshipType, new ArrayList<>(uninitializedIds));
+        targets.forEach(Hibernate::initialize);
+    }
+}
@@ -0,0 +1,102 @@
+package com.jhipster.demo.store.repository;
+
+import com.jhipster.demo.store.domain.OrderSummary;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the OrderSummary entity.
+ * <p>
+ * The pages are read from the {@code last_modified_date} indexes. The summaries are written in SQL, each from a single
+ * statement aggregating the cart, its customer and its orders: the writes declare {@code order_summary} as the only
+ * table they change, otherwise Hibernate would evict every second-level cache region after each of them.
+ */
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+    String SUMMARIES =
+        "select shopping_cart.id as cart_id, shopping_cart.customer_details_id, jhi_user.login as customer_login," +
+        " shopping_cart.status, shopping_cart.placed_date, coalesce(sum(product_order.quantity), 0) as item_count," +
+        " coalesce(sum(product_order.total_price), 0) as total_price, greatest(shopping_cart.last_modified_date," +
+        " coalesce(max(product_order.last_modified_date), shopping_cart.last_modified_date)) as last_modified_date" +
+        " from shopping_cart" +
+        " join customer_details on customer_details.id = shopping_cart.customer_details_id" +
+        " join jhi_user on jhi_user.id = customer_details.user_id" +
+        " left join product_order on product_order.cart_id = shopping_cart.id";
+
+    String GROUP_BY_CART = " group by shopping_cart.id, jhi_user.login";
+
+    String INSERT_SUMMARIES =
+        "insert into order_summary" +
+        " (cart_id, customer_details_id, customer_login, status, placed_date, item_count, total_price, last_modified_date)" +
+        " select * from (";
+
+    /**
+     * Closes the derived table of {@link #INSERT_SUMMARIES}, which lets the update refer to the aggregated columns.
+     */
+    String ON_DUPLICATE_CART_UPDATE =
+        ") as summary on duplicate key update customer_details_id = summary.customer_details_id," +
+        " customer_login = summary.customer_login, status = summary.status, placed_date = summary.placed_date," +
+        " item_count = summary.item_count, total_price = summary.total_price, last_modified_date = summary.last_modified_date";
+
+    String WITHOUT_CART = "not exists (select 1 from shopping_cart where shopping_cart.id = order_summary.cart_id)";
+
+    Page<OrderSummary> findAllByCustomerLogin(String customerLogin, Pageable pageable);
+
+    Page<OrderSummary> findAllByStatus(OrderStatus status, Pageable pageable);
+
+    Page<OrderSummary> findAllByCustomerLoginAndStatus(String customerLogin, OrderStatus status, Pageable pageable);
+
+    /**
+     * Creates or updates the summaries of the existing carts among {@code cartIds}.
+     */
+    @Modifying
+    @Query(
+        value = INSERT_SUMMARIES +
+        SUMMARIES +
+        " where shopping_cart.id in (:cartIds)" +
+        GROUP_BY_CART +
+        ON_DUPLICATE_CART_UPDATE,
+        nativeQuery = true
+    )
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_summary"))
+    int upsertByCartIdIn(@Param("cartIds") Collection<Long> cartIds);
+
+    /**
+     * Creates or updates the summaries of the carts with an id between {@code fromCartId} and {@code toCartId},
+     * inclusive.
+     */
+    @Modifying
+    @Query(
+        value = INSERT_SUMMARIES +
+        SUMMARIES +
+        " where shopping_cart.id between :fromCartId and :toCartId" +
+        GROUP_BY_CART +
+        ON_DUPLICATE_CART_UPDATE,
+        nativeQuery = true
+    )
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_summary"))
+    int upsertByCartIdBetween(@Param("fromCartId") long fromCartId, @Param("toCartId") long toCartId);
+
+    /**
+     * Deletes the summaries among {@code cartIds} whose cart was deleted.
+     */
+    @Modifying
+    @Query(value = "delete from order_summary where cart_id in (:cartIds) and " + WITHOUT_CART, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_summary"))
+    int deleteByCartIdInWithoutCart(@Param("cartIds") Collection<Long> cartIds);
+
+    /**
+     * Deletes the summaries whose cart was deleted.
+     */
+    @Modifying
+    @Query(value = "delete from order_summary where " + WITHOUT_CART, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_summary"))
+    int deleteAllWithoutCart();
+}
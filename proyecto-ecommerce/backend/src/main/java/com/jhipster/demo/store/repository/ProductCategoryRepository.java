@@ -1,7 +1,10 @@
 package com.jhipster.demo.store.repository;
 
 import com.jhipster.demo.store.domain.ProductCategory;
+import java.time.Instant;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +12,12 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ProductCategoryRepository extends JpaRepository<ProductCategory, Long> {}
+public interface ProductCategoryRepository extends JpaRepository<ProductCategory, Long> {
+    /**
+     * Read from the {@code last_modified_date} index alone.
+     *
+     * @return the ids of the categories created or updated after {@code since}.
+     */
+    @Query("select productCategory.id from ProductCategory productCategory where productCategory.lastModifiedDate > :since")
+    List<Long> findIdsModifiedSince(@Param("since") Instant since);
+}
@@ -1,8 +1,11 @@
 package com.jhipster.demo.store.repository;
 
 import com.jhipster.demo.store.domain.ProductOrder;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -37,4 +40,34 @@ public interface ProductOrderRepository extends JpaRepository<ProductOrder, Long
 
     @Query("select productOrder from ProductOrder productOrder left join fetch productOrder.product where productOrder.id =:id")
     Optional<ProductOrder> findOneWithToOneRelationships(@Param("id") Long id);
+
+    /**
+     * Does not flush the pending changes of the persistence context, so that the writes of a transaction can still be
+     * batched; a change of customer is seen once flushed.
+     *
+     * @return the login of the customer the order belongs to, through its cart.
+     */
+    @Query("select productOrder.cart.customerDetails.user.login from ProductOrder productOrder where productOrder.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    Optional<String> findOwnerLoginById(@Param("id") Long id);
+
+    /**
+     * Does not flush the pending changes of the persistence context, like {@link #findOwnerLoginById(Long)}.
+     *
+     * @return the id of the cart of the order.
+     */
+    @Query("select productOrder.cart.id from ProductOrder productOrder where productOrder.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    Optional<Long> findCartIdById(@Param("id") Long id);
+
+    /**
+     * Read from the {@code (cart_id, last_modified_date)} index, once the carts of the customer are resolved.
+     *
+     * @return the ids of the orders of the customer created or updated after {@code since}.
+     */
+    @Query(
+        "select productOrder.id from ProductOrder productOrder" +
+        " where productOrder.cart.customerDetails.user.login = :login and productOrder.lastModifiedDate > :since"
+    )
+    List<Long> findIdsModifiedSince(@Param("login") String login, @Param("since") Instant since);
 }
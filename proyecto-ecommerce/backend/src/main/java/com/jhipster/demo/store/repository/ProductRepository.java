@@ -1,6 +1,7 @@
 package com.jhipster.demo.store.repository;
 
 import com.jhipster.demo.store.domain.Product;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -37,4 +38,12 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     @Query("select product from Product product left join fetch product.productCategory where product.id =:id")
     Optional<Product> findOneWithToOneRelationships(@Param("id") Long id);
+
+    /**
+     * Read from the {@code last_modified_date} index alone.
+     *
+     * @return the ids of the products created or updated after {@code since}.
+     */
+    @Query("select product.id from Product product where product.lastModifiedDate > :since")
+    List<Long> findIdsModifiedSince(@Param("since") Instant since);
 }
@@ -0,0 +1,22 @@
+package com.jhipster.demo.store.repository;
+
+import com.jhipster.demo.store.domain.ReplayedAction;
+import com.jhipster.demo.store.domain.ReplayedActionId;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the ReplayedAction entity.
+ */
+@Repository
+public interface ReplayedActionRepository extends JpaRepository<ReplayedAction, ReplayedActionId> {
+    List<ReplayedAction> findAllByLoginAndActionIdIn(String login, Collection<String> actionIds);
+
+    @Modifying
+    @Query("delete from ReplayedAction replayedAction where replayedAction.replayedDate < :before")
+    int deleteByReplayedDateBefore(@Param("before") Instant before);
+}
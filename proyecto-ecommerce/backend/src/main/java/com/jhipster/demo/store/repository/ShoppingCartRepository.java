@@ -1,7 +1,13 @@
 package com.jhipster.demo.store.repository;
 
 import com.jhipster.demo.store.domain.ShoppingCart;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +15,45 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {}
+public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {
+    /**
+     * Fetches the customer of each cart with it: the association is eager, and would otherwise be read with one more
+     * select per customer.
+     */
+    @Override
+    @Query("select shoppingCart from ShoppingCart shoppingCart join fetch shoppingCart.customerDetails")
+    List<ShoppingCart> findAll();
+
+    /**
+     * Does not flush the pending changes of the persistence context, so that the writes of a transaction can still be
+     * batched; a change of customer is seen once flushed.
+     *
+     * @return the login of the customer the cart belongs to.
+     */
+    @Query("select shoppingCart.customerDetails.user.login from ShoppingCart shoppingCart where shoppingCart.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    Optional<String> findOwnerLoginById(@Param("id") Long id);
+
+    /**
+     * Read from the {@code (customer_details_id, last_modified_date)} index, once the customer is resolved.
+     *
+     * @return the ids of the carts of the customer created or updated after {@code since}.
+     */
+    @Query(
+        "select shoppingCart.id from ShoppingCart shoppingCart" +
+        " where shoppingCart.customerDetails.user.login = :login and shoppingCart.lastModifiedDate > :since"
+    )
+    List<Long> findIdsModifiedSince(@Param("login") String login, @Param("since") Instant since);
+
+    /**
+     * @return the lowest cart id, {@code null} without carts.
+     */
+    @Query("select min(shoppingCart.id) from ShoppingCart shoppingCart")
+    Long findMinId();
+
+    /**
+     * @return the highest cart id, {@code null} without carts.
+     */
+    @Query("select max(shoppingCart.id) from ShoppingCart shoppingCart")
+    Long findMaxId();
+}
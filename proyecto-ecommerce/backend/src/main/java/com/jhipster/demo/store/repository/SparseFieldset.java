@@ -0,0 +1,136 @@
+package com.jhipster.demo.store.repository;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Attributes of an entity selected with a {@code fields} request parameter, e.g. {@code name,price,productCategory.name}.
+ * <p>
+ * A field is a basic attribute of the entity, a to-one relationship, written as its identifier, or a basic attribute of
+ * a to-one relationship. The identifier is always selected. Collections cannot be selected, nor attributes that the
+ * entity JSON never exposes ({@link JsonIgnore}, {@link JsonIgnoreProperties}).
+ */
+final class SparseFieldset {
+
+    private final List<String> attributes;
+
+    private final Map<String, List<String>> associations;
+
+    private SparseFieldset(List<String> attributes, Map<String, List<String>> associations) {
+        this.attributes = attributes;
+        this.associations = associations;
+    }
+
+    static SparseFieldset parse(Metamodel metamodel, Class<?> type, String fields) {
+        EntityType<?> entityType = metamodel.entity(type);
+        String idName = idName(entityType);
+        Set<String> attributes = new LinkedHashSet<>();
+        attributes.add(idName);
+        Map<String, Set<String>> associations = new LinkedHashMap<>();
+        for (String field : fields.split(",")) {
+            String path = field.trim();
+            if (path.isEmpty()) {
+                continue;
+            }
+            String[] segments = path.split("\\.");
+            if (segments.length > 2) {
+                throw new InvalidFieldsetException("Field " + path + " is nested more than one level deep");
+            }
+            SingularAttribute<?, ?> attribute = singularAttribute(entityType, segments[0], path);
+            if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                if (segments.length > 1) {
+                    throw new InvalidFieldsetException("Field " + segments[0] + " has no attribute " + segments[1]);
+                }
+                attributes.add(attribute.getName());
+                continue;
+            }
+            if (!attribute.isAssociation()) {
+                throw new InvalidFieldsetException("Field " + path + " cannot be selected");
+            }
+            Set<String> associationAttributes = associations.computeIfAbsent(attribute.getName(), name -> new LinkedHashSet<>());
+            ManagedType<?> target = metamodel.managedType(attribute.getJavaType());
+            if (target instanceof EntityType<?> targetEntity) {
+                associationAttributes.add(idName(targetEntity));
+            }
+            if (segments.length > 1) {
+                SingularAttribute<?, ?> nested = singularAttribute(target, segments[1], path);
+                if (nested.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC || isIgnoredBy(attribute, nested)) {
+                    throw new InvalidFieldsetException("Field " + path + " cannot be selected");
+                }
+                associationAttributes.add(nested.getName());
+            }
+        }
+        Map<String, List<String>> resolvedAssociations = new LinkedHashMap<>();
+        associations.forEach((name, nested) -> resolvedAssociations.put(name, List.copyOf(nested)));
+        return new SparseFieldset(List.copyOf(attributes), resolvedAssociations);
+    }
+
+    private static String idName(EntityType<?> entityType) {
+        return entityType.getId(entityType.getIdType().getJavaType()).getName();
+    }
+
+    private static SingularAttribute<?, ?> singularAttribute(ManagedType<?> type, String name, String path) {
+        Attribute<?, ?> attribute = type
+            .getAttributes()
+            .stream()
+            .filter(candidate -> candidate.getName().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new InvalidFieldsetException("Unknown field " + path));
+        if (
+            !(attribute instanceof SingularAttribute<?, ?> singularAttribute) ||
+            (attribute.getJavaMember() instanceof AnnotatedElement member && member.isAnnotationPresent(JsonIgnore.class))
+        ) {
+            throw new InvalidFieldsetException("Field " + path + " cannot be selected");
+        }
+        return singularAttribute;
+    }
+
+    private static boolean isIgnoredBy(SingularAttribute<?, ?> association, SingularAttribute<?, ?> nested) {
+        return (
+            association.getJavaMember() instanceof AnnotatedElement member &&
+            member.isAnnotationPresent(JsonIgnoreProperties.class) &&
+            Arrays.asList(member.getAnnotation(JsonIgnoreProperties.class).value()).contains(nested.getName())
+        );
+    }
+
+    /**
+     * Basic attributes of the entity, identifier first.
+     */
+    List<String> attributes() {
+        return attributes;
+    }
+
+    /**
+     * Selected to-one relationships, with the basic attributes of their target, identifier first.
+     */
+    Map<String, List<String>> associations() {
+        return associations;
+    }
+
+    /**
+     * @return the number of selected columns.
+     */
+    int size() {
+        return attributes.size() + associations.values().stream().mapToInt(List::size).sum();
+    }
+
+    @Override
+    public String toString() {
+        List<String> fields = new ArrayList<>(attributes);
+        associations.forEach((name, nested) -> nested.forEach(attribute -> fields.add(name + "." + attribute)));
+        return String.join(",", fields);
+    }
+}
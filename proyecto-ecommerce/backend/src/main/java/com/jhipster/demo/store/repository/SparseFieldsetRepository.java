@@ -0,0 +1,125 @@
+package com.jhipster.demo.store.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads entities restricted to a {@link SparseFieldset}: only the selected columns are fetched, and a relationship is
+ * joined only when one of its attributes besides the identifier is selected.
+ * <p>
+ * Rows are returned as maps mirroring the entity JSON, with the selected relationships as nested maps, or {@code null}
+ * when not set.
+ */
+@Repository
+public class SparseFieldsetRepository {
+
+    private final EntityManager entityManager;
+
+    public SparseFieldsetRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * @throws InvalidFieldsetException if {@code fields} cannot be selected from {@code type}.
+     */
+    public Page<Map<String, Object>> findAll(Class<?> type, String fields, Pageable pageable) {
+        SparseFieldset fieldset = SparseFieldset.parse(entityManager.getMetamodel(), type, fields);
+        TypedQuery<Tuple> query = entityManager.createQuery(selectQuery(type, fieldset, pageable.getSort(), null));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> content = toMaps(query.getResultList(), fieldset);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(type));
+    }
+
+    /**
+     * @throws InvalidFieldsetException if {@code fields} cannot be selected from {@code type}.
+     */
+    public List<Map<String, Object>> findAll(Class<?> type, String fields, Sort sort) {
+        SparseFieldset fieldset = SparseFieldset.parse(entityManager.getMetamodel(), type, fields);
+        return toMaps(entityManager.createQuery(selectQuery(type, fieldset, sort, null)).getResultList(), fieldset);
+    }
+
+    /**
+     * @throws InvalidFieldsetException if {@code fields} cannot be selected from {@code type}.
+     */
+    public Optional<Map<String, Object>> findById(Class<?> type, Object id, String fields) {
+        SparseFieldset fieldset = SparseFieldset.parse(entityManager.getMetamodel(), type, fields);
+        List<Tuple> rows = entityManager.createQuery(selectQuery(type, fieldset, Sort.unsorted(), id)).getResultList();
+        return toMaps(rows, fieldset).stream().findFirst();
+    }
+
+    private <T> CriteriaQuery<Tuple> selectQuery(Class<T> type, SparseFieldset fieldset, Sort sort, Object id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        List<Selection<?>> selections = new ArrayList<>(fieldset.size());
+        for (String attribute : fieldset.attributes()) {
+            selections.add(root.get(attribute));
+        }
+        fieldset
+            .associations()
+            .forEach((association, attributes) -> {
+                // The foreign key alone is read from the root table
+                Path<?> target = attributes.size() > 1 ? root.join(association, JoinType.LEFT) : root.get(association);
+                for (String attribute : attributes) {
+                    selections.add(target.get(attribute));
+                }
+            });
+        query.multiselect(selections);
+        if (id != null) {
+            query.where(cb.equal(root.get(fieldset.attributes().get(0)), id));
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return query;
+    }
+
+    private <T> long count(Class<T> type) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        query.select(cb.count(query.from(type)));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<Map<String, Object>> toMaps(List<Tuple> rows, SparseFieldset fieldset) {
+        List<Map<String, Object>> maps = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            int column = 0;
+            for (String attribute : fieldset.attributes()) {
+                map.put(attribute, row.get(column++));
+            }
+            for (Map.Entry<String, List<String>> association : fieldset.associations().entrySet()) {
+                Map<String, Object> nested = new LinkedHashMap<>();
+                for (String attribute : association.getValue()) {
+                    nested.put(attribute, row.get(column++));
+                }
+                // The identifier comes first: without it, the relationship is not set
+                map.put(association.getKey(), nested.values().iterator().next() == null ? null : nested);
+            }
+            maps.add(map);
+        }
+        return maps;
+    }
+}
@@ -0,0 +1,493 @@
+package com.jhipster.demo.store.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.domain.ShoppingCart;
+import com.jhipster.demo.store.repository.MultiGetRepository;
+import com.jhipster.demo.store.service.dto.BatchOperationDTO;
+import com.jhipster.demo.store.service.dto.BatchResultDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Applies batches of writes to categories, products, carts and orders through their services, so that a batch has the same
+ * effects as the equivalent REST calls (validation, cache purges, change events), in one transaction.
+ * <p>
+ * Operations are grouped by entity and kind rather than applied in request order: creations parent first (categories,
+ * products, carts, then orders), then updates, then deletions children first. The entities targeted by updates and deletions
+ * are loaded up front with one query per entity instead of one {@code existsById} check per call, and the updates and
+ * deletions of an entity are flushed together at the end, where Hibernate sends them as JDBC batches. An entity can be
+ * the target of one operation per batch only. An update or partial update carrying a version other than the current one
+ * is rejected with the current entity, rather than failing the whole transaction on its optimistic lock.
+ * <p>
+ * In {@link Mode#ATOMIC} mode, either every operation is applied or none is. In {@link Mode#BEST_EFFORT} mode, the
+ * operations which are invalid or target missing entities are reported and the others applied; when the database
+ * rejects the batch, its operations are retried one transaction each so that only the faulty ones fail.
+ */
+@Service
+public class BatchWriteService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchWriteService.class);
+
+    public static final int MAX_OPERATIONS = 500;
+
+    public enum Mode {
+        ATOMIC,
+        BEST_EFFORT,
+    }
+
+    /**
+     * Entities accepted in a batch, by their REST entity name, in dependency order.
+     */
+    private enum Target {
+        PRODUCT_CATEGORY("productCategory", ProductCategory.class),
+        PRODUCT("product", Product.class),
+        SHOPPING_CART("shoppingCart", ShoppingCart.class),
+        PRODUCT_ORDER("productOrder", ProductOrder.class);
+
+        private static final Map<String, Target> BY_NAME = Arrays.stream(values()).collect(
+            Collectors.toMap(target -> target.entityName, Function.identity())
+        );
+
+        private final String entityName;
+
+        private final Class<?> type;
+
+        Target(String entityName, Class<?> type) {
+            this.entityName = entityName;
+            this.type = type;
+        }
+    }
+
+    private enum Kind {
+        CREATE("POST"),
+        UPDATE("PUT"),
+        PATCH("PATCH"),
+        DELETE("DELETE");
+
+        private final String method;
+
+        Kind(String method) {
+            this.method = method;
+        }
+
+        static Optional<Kind> of(String method) {
+            return Arrays.stream(values()).filter(kind -> kind.method.equalsIgnoreCase(method)).findFirst();
+        }
+    }
+
+    private record Operation(int index, Target target, Kind kind, Long id, JsonNode body, Object entity) {}
+
+    private static final Comparator<Operation> EXECUTION_ORDER = Comparator.comparing(Operation::kind)
+        .thenComparingInt(operation -> operation.kind() == Kind.DELETE ? -operation.target().ordinal() : operation.target().ordinal())
+        .thenComparing(Operation::index);
+
+    /**
+     * Thrown when an operation is rejected before the batch is applied.
+     */
+    private static final class RejectedOperationException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient BatchResultDTO result;
+
+        RejectedOperationException(BatchResultDTO result) {
+            super(result.getError(), null, false, false);
+            this.result = result;
+        }
+    }
+
+    /**
+     * Thrown when an operation fails while the batch is applied, rolling the transaction back.
+     */
+    private static final class FailedOperationException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+
+        FailedOperationException(int index, RuntimeException cause) {
+            super(cause);
+            this.index = index;
+        }
+    }
+
+    private final ProductCategoryService productCategoryService;
+
+    private final ProductService productService;
+
+    private final ShoppingCartService shoppingCartService;
+
+    private final ProductOrderService productOrderService;
+
+    private final MultiGetRepository multiGetRepository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public BatchWriteService(
+        ProductCategoryService productCategoryService,
+        ProductService productService,
+        ShoppingCartService shoppingCartService,
+        ProductOrderService productOrderService,
+        MultiGetRepository multiGetRepository,
+        EntityManager entityManager,
+        ObjectMapper objectMapper,
+        Validator validator,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.productCategoryService = productCategoryService;
+        this.productService = productService;
+        this.shoppingCartService = shoppingCartService;
+        this.productOrderService = productOrderService;
+        this.multiGetRepository = multiGetRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Apply a batch of writes.
+     *
+     * @param operations the operations, at most {@link #MAX_OPERATIONS}.
+     * @param mode whether the batch is applied as a whole or operation by operation.
+     * @return the outcome of each operation, in request order.
+     */
+    public List<BatchResultDTO> execute(List<BatchOperationDTO> operations, Mode mode) {
+        return execute(operations, mode, result -> {});
+    }
+
+    /**
+     * Apply a batch of writes, calling back with each applied operation in the transaction which applies it.
+     *
+     * @param operations the operations, at most {@link #MAX_OPERATIONS}.
+     * @param mode whether the batch is applied as a whole or operation by operation.
+     * @param onApplied called with the result of each successful operation before the commit, so that what it writes
+     * commits or rolls back with the operation.
+     * @return the outcome of each operation, in request order.
+     */
+    public List<BatchResultDTO> execute(List<BatchOperationDTO> operations, Mode mode, Consumer<BatchResultDTO> onApplied) {
+        LOG.debug("Request to apply a batch of {} operations in {} mode", operations.size(), mode);
+        BatchResultDTO[] results = new BatchResultDTO[operations.size()];
+        List<Operation> accepted = new ArrayList<>(operations.size());
+        Set<String> targets = new HashSet<>();
+        for (int index = 0; index < operations.size(); index++) {
+            try {
+                Operation operation = parse(index, operations.get(index));
+                if (operation.id() != null && !targets.add(operation.target() + ":" + operation.id())) {
+                    throw rejected(operation, HttpStatus.BAD_REQUEST, "Entity already targeted by another operation of the batch");
+                }
+                accepted.add(operation);
+            } catch (RejectedOperationException e) {
+                results[index] = e.result;
+            }
+        }
+        accepted.sort(EXECUTION_ORDER);
+        if (mode == Mode.ATOMIC) {
+            executeAtomically(accepted, results, onApplied);
+        } else {
+            executeBestEffort(accepted, results, onApplied);
+        }
+        return Arrays.asList(results);
+    }
+
+    private void executeAtomically(List<Operation> operations, BatchResultDTO[] results, Consumer<BatchResultDTO> onApplied) {
+        if (operations.size() == results.length) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(operations, results, true, onApplied));
+                return;
+            } catch (RejectedOperationException e) {
+                results[e.result.getIndex()] = e.result;
+            } catch (FailedOperationException e) {
+                results[e.index] = failure(operation(operations, e.index), (RuntimeException) e.getCause());
+            } catch (RuntimeException e) {
+                LOG.debug("Batch rolled back on flush: {}", e.getMessage());
+                for (Operation operation : operations) {
+                    results[operation.index()] = failure(operation, e);
+                }
+                return;
+            }
+        }
+        // Nothing was applied: the operations which did not fail themselves fail with the batch
+        for (int index = 0; index < results.length; index++) {
+            if (results[index] == null || results[index].isSuccessful()) {
+                Long id = results[index] != null ? results[index].getId() : null;
+                results[index] = BatchResultDTO.failure(index, HttpStatus.FAILED_DEPENDENCY.value(), id, "Batch rolled back");
+            }
+        }
+    }
+
+    private void executeBestEffort(List<Operation> operations, BatchResultDTO[] results, Consumer<BatchResultDTO> onApplied) {
+        if (operations.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(operations, results, false, onApplied));
+        } catch (RuntimeException e) {
+            LOG.debug("Batch rolled back, retrying its {} operations one by one: {}", operations.size(), e.getMessage());
+            for (Operation operation : operations) {
+                try {
+                    // The rolled back attempt left ids and versions on the entities it wrote
+                    Operation retry = operation.entity() != null
+                        ? new Operation(
+                            operation.index(),
+                            operation.target(),
+                            operation.kind(),
+                            operation.id(),
+                            operation.body(),
+                            readEntity(operation, operation.body())
+                        )
+                        : operation;
+                    transactionTemplate.executeWithoutResult(status -> apply(List.of(retry), results, false, onApplied));
+                } catch (FailedOperationException failed) {
+                    results[operation.index()] = failure(operation, (RuntimeException) failed.getCause());
+                } catch (RuntimeException failed) {
+                    results[operation.index()] = failure(operation, failed);
+                }
+            }
+        }
+    }
+
+    private void apply(List<Operation> operations, BatchResultDTO[] results, boolean atomic, Consumer<BatchResultDTO> onApplied) {
+        Map<Target, Map<Long, Object>> existing = loadTargets(operations);
+        for (Operation operation : operations) {
+            if (operation.kind() != Kind.CREATE && !existing.get(operation.target()).containsKey(operation.id())) {
+                BatchResultDTO notFound = BatchResultDTO.failure(
+                    operation.index(),
+                    HttpStatus.NOT_FOUND.value(),
+                    operation.id(),
+                    "Entity not found"
+                );
+                if (atomic) {
+                    throw new RejectedOperationException(notFound);
+                }
+                results[operation.index()] = notFound;
+                continue;
+            }
+            if (operation.kind() == Kind.UPDATE || operation.kind() == Kind.PATCH) {
+                Object current = existing.get(operation.target()).get(operation.id());
+                Long version = versionOf(operation.entity());
+                if (version != null && !version.equals(versionOf(current))) {
+                    BatchResultDTO conflict = BatchResultDTO.conflict(operation.index(), operation.id(), current);
+                    if (atomic) {
+                        throw new RejectedOperationException(conflict);
+                    }
+                    results[operation.index()] = conflict;
+                    continue;
+                }
+            }
+            try {
+                results[operation.index()] = apply(operation);
+            } catch (RuntimeException e) {
+                throw new FailedOperationException(operation.index(), e);
+            }
+        }
+        // Sends the grouped updates and deletions as JDBC batches, before the commit so that a failure is reported here
+        entityManager.flush();
+        for (Operation operation : operations) {
+            BatchResultDTO result = results[operation.index()];
+            if (result.isSuccessful()) {
+                onApplied.accept(result);
+            }
+        }
+    }
+
+    /**
+     * Loads the entities targeted by updates and deletions, one query per entity, into the persistence context where
+     * the services then find them.
+     */
+    private Map<Target, Map<Long, Object>> loadTargets(List<Operation> operations) {
+        Map<Target, List<Long>> ids = new HashMap<>();
+        for (Operation operation : operations) {
+            if (operation.kind() != Kind.CREATE) {
+                ids.computeIfAbsent(operation.target(), target -> new ArrayList<>()).add(operation.id());
+            }
+        }
+        Map<Target, Map<Long, Object>> existing = new HashMap<>();
+        ids.forEach((target, targetIds) -> {
+            List<?> entities = multiGetRepository.findAllById(target.type, targetIds);
+            Map<Long, Object> byId = new HashMap<>();
+            for (int i = 0; i < targetIds.size(); i++) {
+                if (entities.get(i) != null) {
+                    byId.put(targetIds.get(i), entities.get(i));
+                }
+            }
+            existing.put(target, byId);
+        });
+        return existing;
+    }
+
+    private BatchResultDTO apply(Operation operation) {
+        Object entity = operation.entity();
+        return switch (operation.kind()) {
+            case CREATE -> {
+                Object created = switch (operation.target()) {
+                    case PRODUCT_CATEGORY -> productCategoryService.save((ProductCategory) entity);
+                    case PRODUCT -> productService.save((Product) entity);
+                    case SHOPPING_CART -> shoppingCartService.save((ShoppingCart) entity);
+                    case PRODUCT_ORDER -> productOrderService.save((ProductOrder) entity);
+                };
+                yield BatchResultDTO.success(operation.index(), HttpStatus.CREATED.value(), idOf(created), created);
+            }
+            case UPDATE -> {
+                Optional<?> updated = switch (operation.target()) {
+                    case PRODUCT_CATEGORY -> productCategoryService.update((ProductCategory) entity);
+                    case PRODUCT -> productService.update((Product) entity);
+                    case SHOPPING_CART -> shoppingCartService.update((ShoppingCart) entity);
+                    case PRODUCT_ORDER -> productOrderService.update((ProductOrder) entity);
+                };
+                yield BatchResultDTO.success(operation.index(), HttpStatus.OK.value(), operation.id(), updated.orElseThrow());
+            }
+            case PATCH -> {
+                Optional<?> updated = switch (operation.target()) {
+                    case PRODUCT_CATEGORY -> productCategoryService.partialUpdate((ProductCategory) entity);
+                    case PRODUCT -> productService.partialUpdate((Product) entity);
+                    case SHOPPING_CART -> shoppingCartService.partialUpdate((ShoppingCart) entity);
+                    case PRODUCT_ORDER -> productOrderService.partialUpdate((ProductOrder) entity);
+                };
+                yield BatchResultDTO.success(operation.index(), HttpStatus.OK.value(), operation.id(), updated.orElseThrow());
+            }
+            case DELETE -> {
+                switch (operation.target()) {
+                    case PRODUCT_CATEGORY -> productCategoryService.delete(operation.id());
+                    case PRODUCT -> productService.delete(operation.id());
+                    case SHOPPING_CART -> shoppingCartService.delete(operation.id());
+                    case PRODUCT_ORDER -> productOrderService.delete(operation.id());
+                }
+                yield BatchResultDTO.success(operation.index(), HttpStatus.NO_CONTENT.value(), operation.id(), null);
+            }
+        };
+    }
+
+    private Operation parse(int index, BatchOperationDTO dto) {
+        Target target = Target.BY_NAME.get(dto.getEntity());
+        if (target == null) {
+            throw new RejectedOperationException(
+                BatchResultDTO.failure(index, HttpStatus.BAD_REQUEST.value(), dto.getId(), "Unknown entity " + dto.getEntity())
+            );
+        }
+        Kind kind = Kind.of(dto.getMethod()).orElse(null);
+        if (kind == null) {
+            throw new RejectedOperationException(
+                BatchResultDTO.failure(index, HttpStatus.BAD_REQUEST.value(), dto.getId(), "Unsupported method " + dto.getMethod())
+            );
+        }
+        Operation operation = new Operation(index, target, kind, dto.getId(), dto.getBody(), null);
+        if (kind == Kind.CREATE && dto.getId() != null) {
+            throw rejected(operation, HttpStatus.BAD_REQUEST, "A new " + target.entityName + " cannot already have an ID");
+        }
+        if (kind != Kind.CREATE && dto.getId() == null) {
+            throw rejected(operation, HttpStatus.BAD_REQUEST, "Invalid id");
+        }
+        if (kind == Kind.DELETE) {
+            return operation;
+        }
+        Object entity = readEntity(operation, dto.getBody());
+        if (!Objects.equals(dto.getId(), idOf(entity))) {
+            throw rejected(operation, HttpStatus.BAD_REQUEST, "Invalid ID");
+        }
+        if (kind != Kind.PATCH) {
+            Set<ConstraintViolation<Object>> violations = validator.validate(entity);
+            if (!violations.isEmpty()) {
+                throw rejected(
+                    operation,
+                    HttpStatus.BAD_REQUEST,
+                    violations
+                        .stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "))
+                );
+            }
+        }
+        return new Operation(index, target, kind, dto.getId(), dto.getBody(), entity);
+    }
+
+    private Object readEntity(Operation operation, JsonNode body) {
+        if (body == null || !body.isObject()) {
+            throw rejected(operation, HttpStatus.BAD_REQUEST, "Missing body");
+        }
+        try {
+            return objectMapper.treeToValue(body, operation.target().type);
+        } catch (JsonProcessingException e) {
+            throw rejected(operation, HttpStatus.BAD_REQUEST, "Unreadable body: " + e.getOriginalMessage());
+        }
+    }
+
+    private static RejectedOperationException rejected(Operation operation, HttpStatus status, String error) {
+        return new RejectedOperationException(BatchResultDTO.failure(operation.index(), status.value(), operation.id(), error));
+    }
+
+    private static BatchResultDTO failure(Operation operation, RuntimeException e) {
+        LOG.debug("Batch operation {} {} {} failed", operation.kind(), operation.target(), operation.id(), e);
+        if (e instanceof ConcurrencyFailureException) {
+            return BatchResultDTO.failure(operation.index(), HttpStatus.CONFLICT.value(), operation.id(), "Concurrent modification");
+        }
+        if (e instanceof DataIntegrityViolationException) {
+            return BatchResultDTO.failure(operation.index(), HttpStatus.CONFLICT.value(), operation.id(), "Data integrity violation");
+        }
+        return BatchResultDTO.failure(operation.index(), HttpStatus.INTERNAL_SERVER_ERROR.value(), operation.id(), "Internal error");
+    }
+
+    private static Operation operation(List<Operation> operations, int index) {
+        return operations.stream().filter(operation -> operation.index() == index).findFirst().orElseThrow();
+    }
+
+    private static Long idOf(Object entity) {
+        if (entity instanceof ProductCategory productCategory) {
+            return productCategory.getId();
+        }
+        if (entity instanceof Product product) {
+            return product.getId();
+        }
+        if (entity instanceof ShoppingCart shoppingCart) {
+            return shoppingCart.getId();
+        }
+        return ((ProductOrder) entity).getId();
+    }
+
+    private static Long versionOf(Object entity) {
+        if (entity instanceof ProductCategory productCategory) {
+            return productCategory.getVersion();
+        }
+        if (entity instanceof Product product) {
+            return product.getVersion();
+        }
+        if (entity instanceof ShoppingCart shoppingCart) {
+            return shoppingCart.getVersion();
+        }
+        return ((ProductOrder) entity).getVersion();
+    }
+}
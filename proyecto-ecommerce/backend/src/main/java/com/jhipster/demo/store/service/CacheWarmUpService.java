@@ -0,0 +1,198 @@
+package com.jhipster.demo.store.service;
+
+import com.jhipster.demo.store.config.ApplicationProperties;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.User;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.repository.UserRepository;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Populates the second level cache regions of the catalog and the user caches right after startup, so that a freshly
+ * deployed node does not send its first minutes of catalog traffic to the database.
+ */
+@Service
+public class CacheWarmUpService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    public enum State {
+        DISABLED,
+        PENDING,
+        WARMING,
+        COMPLETED,
+        FAILED,
+    }
+
+    private final ProductRepository productRepository;
+
+    private final ProductCategoryRepository productCategoryRepository;
+
+    private final UserRepository userRepository;
+
+    private final CacheManager cacheManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Cache.WarmUp properties;
+
+    private volatile State state;
+
+    public CacheWarmUpService(
+        ProductRepository productRepository,
+        ProductCategoryRepository productCategoryRepository,
+        UserRepository userRepository,
+        CacheManager cacheManager,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.productRepository = productRepository;
+        this.productCategoryRepository = productCategoryRepository;
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.properties = applicationProperties.getCache().getWarmUp();
+        this.state = Boolean.TRUE.equals(properties.getEnabled()) ? State.PENDING : State.DISABLED;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Whether the node should still be kept out of rotation: the warm-up is enabled and has not finished yet.
+     */
+    public boolean isWarming() {
+        return state == State.PENDING || state == State.WARMING;
+    }
+
+    /**
+     * Loads products, categories and active users in parallel, each on its own thread and connection.
+     *
+     * @return a future completed when every loader has stopped, either exhausted, out of budget or failed.
+     */
+    public CompletableFuture<Void> warmUp() {
+        if (state != State.PENDING) {
+            return CompletableFuture.completedFuture(null);
+        }
+        state = State.WARMING;
+        LOG.info("Starting cache warm-up with a budget of {}", properties.getTimeout());
+        long start = System.currentTimeMillis();
+        Instant deadline = Instant.now().plus(properties.getTimeout());
+        // Dedicated short-lived threads so the warm-up neither queues behind nor starves the shared task executor
+        ExecutorService executor = Executors.newFixedThreadPool(3, runnable -> {
+            Thread thread = new Thread(runnable, "cache-warm-up-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<Void> warmUp = CompletableFuture.allOf(
+            CompletableFuture.runAsync(() -> warmUpProducts(deadline), executor),
+            CompletableFuture.runAsync(() -> warmUpProductCategories(deadline), executor),
+            CompletableFuture.runAsync(() -> warmUpUsers(deadline), executor)
+        );
+        return warmUp.whenComplete((result, throwable) -> {
+            executor.shutdown();
+            if (throwable != null) {
+                state = State.FAILED;
+                LOG.warn("Cache warm-up failed after {} ms", System.currentTimeMillis() - start, throwable);
+            } else {
+                state = State.COMPLETED;
+                LOG.info("Cache warm-up completed in {} ms", System.currentTimeMillis() - start);
+            }
+        });
+    }
+
+    private void warmUpProducts(Instant deadline) {
+        int loaded = pageThrough(
+            productRepository::findAllWithToOneRelationships,
+            (Product product) -> {},
+            properties.getMaxProducts(),
+            deadline
+        );
+        LOG.debug("Warmed up {} products", loaded);
+    }
+
+    private void warmUpProductCategories(Instant deadline) {
+        int loaded = pageThrough(
+            productCategoryRepository::findAll,
+            (ProductCategory productCategory) -> {},
+            properties.getMaxCategories(),
+            deadline
+        );
+        LOG.debug("Warmed up {} product categories", loaded);
+    }
+
+    private void warmUpUsers(Instant deadline) {
+        Cache usersByLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        Cache usersByEmail = cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE);
+        int loaded = pageThrough(
+            userRepository::findAllByIdNotNullAndActivatedIsTrue,
+            (User user) -> cacheUser(user, usersByLogin, usersByEmail),
+            properties.getMaxUsers(),
+            deadline
+        );
+        LOG.debug("Warmed up {} users", loaded);
+    }
+
+    /**
+     * Mirrors what {@link UserRepository#findOneWithAuthoritiesByLogin(String)} caches: the user with its authorities.
+     */
+    private void cacheUser(User user, Cache usersByLogin, Cache usersByEmail) {
+        Hibernate.initialize(user.getAuthorities());
+        if (usersByLogin != null) {
+            usersByLogin.putIfAbsent(user.getLogin(), user);
+        }
+        if (usersByEmail != null && user.getEmail() != null) {
+            usersByEmail.putIfAbsent(user.getEmail(), user);
+        }
+    }
+
+    /**
+     * Reads pages ordered by id, one read-only transaction per page, until the budget (rounded up to a whole page) or
+     * the deadline is reached. Loading an entity puts it in its second level cache region.
+     */
+    private <T> int pageThrough(Function<Pageable, Page<T>> pageLoader, Consumer<T> onLoaded, int budget, Instant deadline) {
+        int loaded = 0;
+        Pageable pageable = PageRequest.of(0, properties.getPageSize(), Sort.by("id"));
+        while (loaded < budget && Instant.now().isBefore(deadline)) {
+            Pageable currentPageable = pageable;
+            Page<T> page = transactionTemplate.execute(status -> {
+                Page<T> result = pageLoader.apply(currentPageable);
+                result.forEach(onLoaded);
+                return result;
+            });
+            if (page == null) {
+                break;
+            }
+            loaded += page.getNumberOfElements();
+            if (!page.hasNext()) {
+                break;
+            }
+            pageable = pageable.next();
+        }
+        return loaded;
+    }
+}
@@ -1,14 +1,23 @@
 package com.jhipster.demo.store.service;
 
 import com.jhipster.demo.store.domain.CustomerDetails;
+import com.jhipster.demo.store.domain.User;
 import com.jhipster.demo.store.repository.CustomerDetailsRepository;
+import com.jhipster.demo.store.repository.MultiGetRepository;
+import com.jhipster.demo.store.repository.SparseFieldsetRepository;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service Implementation for managing {@link com.jhipster.demo.store.domain.CustomerDetails}.
@@ -21,8 +30,28 @@ public class CustomerDetailsService {
 
     private final CustomerDetailsRepository customerDetailsRepository;
 
-    public CustomerDetailsService(CustomerDetailsRepository customerDetailsRepository) {
+    /**
+     * Coalesces concurrent {@link #findOne(Long)} calls, typically on a popular customer just evicted or updated.
+     */
+    private final SingleFlight<Long, Optional<CustomerDetails>> findOneFlights = new SingleFlight<>();
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final SparseFieldsetRepository sparseFieldsetRepository;
+
+    private final MultiGetRepository multiGetRepository;
+
+    public CustomerDetailsService(
+        CustomerDetailsRepository customerDetailsRepository,
+        SparseFieldsetRepository sparseFieldsetRepository,
+        MultiGetRepository multiGetRepository,
+        PlatformTransactionManager transactionManager
+    ) {
         this.customerDetailsRepository = customerDetailsRepository;
+        this.sparseFieldsetRepository = sparseFieldsetRepository;
+        this.multiGetRepository = multiGetRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     /**
@@ -38,13 +67,20 @@ public class CustomerDetailsService {
 
     /**
      * Update a customerDetails.
+     * <p>
+     * The customerDetails is first read into the persistence context, where the merge then finds it instead of selecting it
+     * again, so the existence check is the only read of the update.
      *
      * @param customerDetails the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    public CustomerDetails update(CustomerDetails customerDetails) {
+    public Optional<CustomerDetails> update(CustomerDetails customerDetails) {
         LOG.debug("Request to update CustomerDetails : {}", customerDetails);
-        return customerDetailsRepository.save(customerDetails);
+        findOneFlights.forgetAfterCommit(customerDetails.getId());
+
+        return customerDetailsRepository
+            .findById(customerDetails.getId())
+            .map(existingCustomerDetails -> customerDetailsRepository.save(customerDetails));
     }
 
     /**
@@ -55,6 +91,7 @@ public class CustomerDetailsService {
      */
     public Optional<CustomerDetails> partialUpdate(CustomerDetails customerDetails) {
         LOG.debug("Request to partially update CustomerDetails : {}", customerDetails);
+        findOneFlights.forgetAfterCommit(customerDetails.getId());
 
         return customerDetailsRepository
             .findById(customerDetails.getId())
@@ -95,6 +132,19 @@ public class CustomerDetailsService {
         return customerDetailsRepository.findAll(pageable);
     }
 
+    /**
+     * Get all the customerDetails, restricted to the requested fields.
+     *
+     * @param fields the comma separated fields to read.
+     * @param pageable the pagination information.
+     * @return the list of projected entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findAll(String fields, Pageable pageable) {
+        LOG.debug("Request to get all CustomerDetails with fields : {}", fields);
+        return sparseFieldsetRepository.findAll(CustomerDetails.class, fields, pageable);
+    }
+
     /**
      * Get all the customerDetails with eager load of many-to-many relationships.
      *
@@ -106,14 +156,51 @@ public class CustomerDetailsService {
 
     /**
      * Get one customerDetails by id.
+     * <p>
+     * Outside of a transaction, concurrent calls for the same id share one load, run in a read-only transaction of its
+     * own and committed before its result is shared; each caller then gets its own detached copy. Within a transaction,
+     * the customerDetails is read in that transaction, which may have changed it.
      *
      * @param id the id of the entity.
      * @return the entity.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<CustomerDetails> findOne(Long id) {
         LOG.debug("Request to get CustomerDetails : {}", id);
-        return customerDetailsRepository.findOneWithEagerRelationships(id);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return customerDetailsRepository.findOneWithEagerRelationships(id);
+        }
+        return findOneFlights
+            .load(id, () -> readOnlyTransaction.execute(status -> customerDetailsRepository.findOneWithEagerRelationships(id)))
+            .map(DetachedCopies::copy);
+    }
+
+    /**
+     * Get one customerDetails by id, restricted to the requested fields.
+     *
+     * @param id the id of the entity.
+     * @param fields the comma separated fields to read.
+     * @return the projected entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findOne(Long id, String fields) {
+        LOG.debug("Request to get CustomerDetails : {} with fields : {}", id, fields);
+        return sparseFieldsetRepository.findById(CustomerDetails.class, id, fields);
+    }
+
+    /**
+     * Get the customerDetails with the given ids.
+     *
+     * @param ids the ids of the entities, without duplicates.
+     * @return the entities in the order of {@code ids}, with {@code null} for the ids which do not exist.
+     */
+    @Transactional(readOnly = true)
+    public List<CustomerDetails> findAllById(List<Long> ids) {
+        LOG.debug("Request to get CustomerDetails : {}", ids);
+        List<CustomerDetails> customerDetails = multiGetRepository.findAllById(CustomerDetails.class, ids);
+        // Embedded in the response, as by findOne
+        multiGetRepository.initialize(customerDetails, CustomerDetails::getUser, User.class);
+        return customerDetails;
     }
 
     /**
@@ -123,6 +210,7 @@ public class CustomerDetailsService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete CustomerDetails : {}", id);
+        findOneFlights.forgetAfterCommit(id);
         customerDetailsRepository.deleteById(id);
     }
 }
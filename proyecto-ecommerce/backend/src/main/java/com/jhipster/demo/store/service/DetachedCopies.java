@@ -0,0 +1,31 @@
+package com.jhipster.demo.store.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.util.SerializationUtils;
+
+/**
+ * Deep copies of detached entities, so that the callers sharing a {@link SingleFlight} load each get their own.
+ * <p>
+ * The copy is made by serialization, which keeps the uninitialized lazy associations uninitialized. The classes are
+ * resolved with the class loader of the entity, which may not be the one of this class, e.g. with the devtools restart.
+ */
+final class DetachedCopies {
+
+    private DetachedCopies() {}
+
+    @SuppressWarnings("unchecked")
+    static <T extends Serializable> T copy(T entity) {
+        byte[] bytes = SerializationUtils.serialize(entity);
+        try (
+            ObjectInputStream input = new ConfigurableObjectInputStream(new ByteArrayInputStream(bytes), entity.getClass().getClassLoader())
+        ) {
+            return (T) input.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Could not copy " + entity.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.jhipster.demo.store.service;
+
+import com.jhipster.demo.store.config.ApplicationProperties;
+import com.jhipster.demo.store.config.Constants;
+import com.jhipster.demo.store.domain.ReplayedAction;
+import com.jhipster.demo.store.repository.ReplayedActionRepository;
+import com.jhipster.demo.store.security.SecurityUtils;
+import com.jhipster.demo.store.service.dto.BatchOperationDTO;
+import com.jhipster.demo.store.service.dto.BatchResultDTO;
+import com.jhipster.demo.store.service.dto.OfflineActionDTO;
+import com.jhipster.demo.store.service.dto.OfflineActionResultDTO;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Replays the writes queued by an offline client in one request, instead of one HTTP request and one transaction per
+ * queued write.
+ * <p>
+ * Actions are applied in client order, by timestamp then id; an action id sent twice is applied once, whether in the
+ * same request or in a retry: the id of each applied action is stored with its outcome in the transaction applying it,
+ * for {@code application.sync.replay-retention}, and the stored outcome is returned when the action is sent again,
+ * without its entity. The ids are chosen by the clients, so they are stored and looked up per user. Consecutive
+ * actions are applied together as a {@link BatchWriteService} batch in {@link BatchWriteService.Mode#BEST_EFFORT} mode,
+ * one transaction each, so each action still succeeds or fails on its own: a new batch is started every
+ * {@value #ACTIONS_PER_TRANSACTION} actions, and whenever an action targets an entity already written by the current
+ * batch, so that the writes of an entity keep their order. An update based on an outdated version is reported as a
+ * {@code 409 (Conflict)} with the current entity, for a full or a partial update.
+ */
+@Service
+public class OfflineReplayService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OfflineReplayService.class);
+
+    public static final int MAX_ACTIONS = BatchWriteService.MAX_OPERATIONS;
+
+    private static final int ACTIONS_PER_TRANSACTION = 100;
+
+    private static final Comparator<OfflineActionDTO> REPLAY_ORDER = Comparator.comparing(OfflineActionDTO::getTimestamp)
+        .thenComparing(OfflineActionDTO::getId);
+
+    /**
+     * {@code /api/<entities>} or {@code /api/<entities>/<id>}.
+     */
+    private static final Pattern ENTITY_PATH = Pattern.compile("/api/([a-z-]+)(?:/(\\d+))?/?");
+
+    /**
+     * Batch entity names, by REST path.
+     */
+    private static final Map<String, String> ENTITY_NAMES = Map.of(
+        "product-categories",
+        "productCategory",
+        "products",
+        "product",
+        "shopping-carts",
+        "shoppingCart",
+        "product-orders",
+        "productOrder"
+    );
+
+    private final BatchWriteService batchWriteService;
+
+    private final ReplayedActionRepository replayedActionRepository;
+
+    private final ApplicationProperties.Sync properties;
+
+    public OfflineReplayService(
+        BatchWriteService batchWriteService,
+        ReplayedActionRepository replayedActionRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.batchWriteService = batchWriteService;
+        this.replayedActionRepository = replayedActionRepository;
+        this.properties = applicationProperties.getSync();
+    }
+
+    /**
+     * Replay offline actions.
+     *
+     * @param actions the actions, at most {@link #MAX_ACTIONS}, in any order.
+     * @return the outcome of each distinct action, in replay order.
+     */
+    public List<OfflineActionResultDTO> replay(List<OfflineActionDTO> actions) {
+        Set<String> actionIds = new HashSet<>();
+        List<OfflineActionDTO> distinctActions = actions
+            .stream()
+            .sorted(REPLAY_ORDER)
+            .filter(action -> actionIds.add(action.getId()))
+            .toList();
+        LOG.debug("Request to replay {} offline actions, {} distinct", actions.size(), distinctActions.size());
+
+        String login = SecurityUtils.getCurrentUserLogin().orElse(Constants.SYSTEM);
+        Map<String, ReplayedAction> replayedActions = replayedActionRepository
+            .findAllByLoginAndActionIdIn(login, actionIds)
+            .stream()
+            .collect(Collectors.toMap(ReplayedAction::getActionId, Function.identity()));
+
+        OfflineActionResultDTO[] results = new OfflineActionResultDTO[distinctActions.size()];
+        Batch batch = new Batch();
+        for (int position = 0; position < distinctActions.size(); position++) {
+            OfflineActionDTO action = distinctActions.get(position);
+            ReplayedAction replayed = replayedActions.get(action.getId());
+            if (replayed != null) {
+                LOG.debug("Offline action {} already replayed", action.getId());
+                results[position] = OfflineActionResultDTO.replayed(action.getId(), replayed.getStatus(), replayed.getEntityId());
+                continue;
+            }
+            BatchOperationDTO operation;
+            try {
+                operation = toOperation(action);
+            } catch (IllegalArgumentException e) {
+                results[position] = OfflineActionResultDTO.failure(action.getId(), HttpStatus.BAD_REQUEST.value(), e.getMessage());
+                continue;
+            }
+            if (batch.positions.size() == ACTIONS_PER_TRANSACTION || !batch.canTarget(operation)) {
+                apply(batch, distinctActions, results, login);
+                batch = new Batch();
+            }
+            batch.add(position, operation);
+        }
+        apply(batch, distinctActions, results, login);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * The ids of the replayed actions older than the retention are purged every day, at 01:45 (am).
+     */
+    @Scheduled(cron = "0 45 1 * * ?")
+    @Transactional
+    public void purgeReplayedActions() {
+        int purged = replayedActionRepository.deleteByReplayedDateBefore(Instant.now().minus(properties.getReplayRetention()));
+        LOG.debug("Purged {} replayed actions", purged);
+    }
+
+    private void apply(Batch batch, List<OfflineActionDTO> actions, OfflineActionResultDTO[] results, String login) {
+        if (batch.operations.isEmpty()) {
+            return;
+        }
+        List<BatchResultDTO> batchResults = batchWriteService.execute(batch.operations, BatchWriteService.Mode.BEST_EFFORT, result ->
+            replayedActionRepository.save(
+                new ReplayedAction()
+                    .actionId(actions.get(batch.positions.get(result.getIndex())).getId())
+                    .login(login)
+                    .status(result.getStatus())
+                    .entityId(result.getId())
+                    .replayedDate(Instant.now())
+            )
+        );
+        for (int i = 0; i < batchResults.size(); i++) {
+            int position = batch.positions.get(i);
+            results[position] = OfflineActionResultDTO.of(actions.get(position).getId(), batchResults.get(i));
+        }
+    }
+
+    private static BatchOperationDTO toOperation(OfflineActionDTO action) {
+        String path;
+        try {
+            path = URI.create(action.getUrl()).getPath();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid url " + action.getUrl());
+        }
+        Matcher matcher = path != null ? ENTITY_PATH.matcher(path) : null;
+        String entityName = matcher != null && matcher.matches() ? ENTITY_NAMES.get(matcher.group(1)) : null;
+        if (entityName == null) {
+            throw new IllegalArgumentException("Unsupported url " + action.getUrl());
+        }
+        Long id = matcher.group(2) != null ? Long.valueOf(matcher.group(2)) : null;
+        return new BatchOperationDTO(entityName, action.getType().toUpperCase(Locale.ROOT), id, action.getData());
+    }
+
+    /**
+     * Consecutive actions applied in one transaction.
+     */
+    private static final class Batch {
+
+        private final List<Integer> positions = new ArrayList<>();
+
+        private final List<BatchOperationDTO> operations = new ArrayList<>();
+
+        private final Set<String> targets = new HashSet<>();
+
+        boolean canTarget(BatchOperationDTO operation) {
+            return operation.getId() == null || !targets.contains(operation.getEntity() + ":" + operation.getId());
+        }
+
+        void add(int position, BatchOperationDTO operation) {
+            positions.add(position);
+            operations.add(operation);
+            if (operation.getId() != null) {
+                targets.add(operation.getEntity() + ":" + operation.getId());
+            }
+        }
+    }
+}
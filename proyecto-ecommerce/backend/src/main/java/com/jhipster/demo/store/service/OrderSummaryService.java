@@ -0,0 +1,163 @@
+package com.jhipster.demo.store.service;
+
+import com.jhipster.demo.store.config.ApplicationProperties;
+import com.jhipster.demo.store.domain.OrderSummary;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.repository.OrderSummaryRepository;
+import com.jhipster.demo.store.repository.ShoppingCartRepository;
+import com.jhipster.demo.store.service.event.ShoppingCartsChangedEvent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service maintaining the {@link OrderSummary} read model.
+ * <p>
+ * The summaries of the changed carts are refreshed once their changes commit, in a transaction of their own: a failed
+ * refresh leaves them stale, without failing the change, until the next change of the cart or a {@link #rebuild()}.
+ */
+@Service
+@Transactional
+public class OrderSummaryService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrderSummaryService.class);
+
+    private final OrderSummaryRepository orderSummaryRepository;
+
+    private final ShoppingCartRepository shoppingCartRepository;
+
+    private final TransactionTemplate newTransaction;
+
+    private final ApplicationProperties.OrderSummary properties;
+
+    public OrderSummaryService(
+        OrderSummaryRepository orderSummaryRepository,
+        ShoppingCartRepository shoppingCartRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = applicationProperties.getOrderSummary();
+    }
+
+    /**
+     * Get a page of the order summaries, latest change first unless sorted otherwise.
+     *
+     * @param customerLogin the login of the customer whose carts to return, {@code null} for all the customers.
+     * @param status the status of the carts to return, {@code null} for all the statuses.
+     * @param pageable the pagination information.
+     * @return the page of summaries.
+     */
+    @Transactional(readOnly = true)
+    public Page<OrderSummary> findAll(String customerLogin, OrderStatus status, Pageable pageable) {
+        LOG.debug("Request to get a page of OrderSummaries of customer {} in status {}", customerLogin, status);
+        if (customerLogin != null && status != null) {
+            return orderSummaryRepository.findAllByCustomerLoginAndStatus(customerLogin, status, pageable);
+        }
+        if (customerLogin != null) {
+            return orderSummaryRepository.findAllByCustomerLogin(customerLogin, pageable);
+        }
+        if (status != null) {
+            return orderSummaryRepository.findAllByStatus(status, pageable);
+        }
+        return orderSummaryRepository.findAll(pageable);
+    }
+
+    /**
+     * Refresh the summaries of carts: created or updated from the carts which exist, deleted for the others.
+     *
+     * @param cartIds the ids of the carts.
+     */
+    public void refresh(Collection<Long> cartIds) {
+        if (cartIds.isEmpty()) {
+            return;
+        }
+        orderSummaryRepository.upsertByCartIdIn(cartIds);
+        orderSummaryRepository.deleteByCartIdInWithoutCart(cartIds);
+    }
+
+    /**
+     * Refreshes the summaries of the changed carts once the change commits; without a transaction, right away.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onShoppingCartsChanged(ShoppingCartsChangedEvent event) {
+        try {
+            newTransaction.executeWithoutResult(status -> refresh(event.getShoppingCartIds()));
+        } catch (RuntimeException e) {
+            LOG.warn("Could not refresh the order summaries of the carts {}, they are stale until rebuilt", event.getShoppingCartIds(), e);
+        }
+    }
+
+    /**
+     * Regenerate every summary from the carts and orders.
+     * <p>
+     * The cart ids are split in ranges of {@code application.order-summary.rebuild-batch-size}, summarized
+     * {@code application.order-summary.rebuild-parallelism} at a time, each in its own transaction; then the summaries
+     * of the deleted carts are removed. The summaries stay readable meanwhile, and the carts changed during the rebuild
+     * are refreshed as usual.
+     *
+     * @return the number of summaries.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public synchronized long rebuild() {
+        long start = System.nanoTime();
+        Long minId = shoppingCartRepository.findMinId();
+        Long maxId = shoppingCartRepository.findMaxId();
+        List<long[]> ranges = new ArrayList<>();
+        if (minId != null) {
+            for (long from = minId; from <= maxId; from += properties.getRebuildBatchSize()) {
+                ranges.add(new long[] { from, Math.min(from + properties.getRebuildBatchSize() - 1, maxId) });
+            }
+        }
+        LOG.info("Rebuilding the order summaries of the carts {} to {} in {} ranges", minId, maxId, ranges.size());
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getRebuildParallelism(), task -> {
+            Thread thread = new Thread(task, "order-summary-rebuild-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletableFuture.allOf(
+                ranges
+                    .stream()
+                    .map(range -> CompletableFuture.runAsync(() -> summarize(range[0], range[1]), executor))
+                    .toArray(CompletableFuture[]::new)
+            ).join();
+        } finally {
+            executor.shutdownNow();
+        }
+        Integer deleted = newTransaction.execute(status -> orderSummaryRepository.deleteAllWithoutCart());
+        long summaries = orderSummaryRepository.count();
+        LOG.info(
+            "Rebuilt {} order summaries in {} ms, removed {} of deleted carts",
+            summaries,
+            (System.nanoTime() - start) / 1_000_000,
+            deleted
+        );
+        return summaries;
+    }
+
+    private void summarize(long fromCartId, long toCartId) {
+        newTransaction.executeWithoutResult(status -> orderSummaryRepository.upsertByCartIdBetween(fromCartId, toCartId));
+    }
+}
@@ -1,14 +1,22 @@
 package com.jhipster.demo.store.service;
 
 import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.repository.MultiGetRepository;
 import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.service.event.EntityChangedEvent;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service Implementation for managing {@link com.jhipster.demo.store.domain.ProductCategory}.
@@ -21,8 +29,28 @@ public class ProductCategoryService {
 
     private final ProductCategoryRepository productCategoryRepository;
 
-    public ProductCategoryService(ProductCategoryRepository productCategoryRepository) {
+    /**
+     * Coalesces concurrent {@link #findOne(Long)} calls, typically on a popular category just evicted or updated.
+     */
+    private final SingleFlight<Long, Optional<ProductCategory>> findOneFlights = new SingleFlight<>();
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final MultiGetRepository multiGetRepository;
+
+    public ProductCategoryService(
+        ProductCategoryRepository productCategoryRepository,
+        MultiGetRepository multiGetRepository,
+        ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager
+    ) {
         this.productCategoryRepository = productCategoryRepository;
+        this.multiGetRepository = multiGetRepository;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     /**
@@ -33,18 +61,37 @@ public class ProductCategoryService {
      */
     public ProductCategory save(ProductCategory productCategory) {
         LOG.debug("Request to save ProductCategory : {}", productCategory);
-        return productCategoryRepository.save(productCategory);
+        ProductCategory result = productCategoryRepository.save(productCategory);
+        eventPublisher.publishEvent(EntityChangedEvent.created(ProductCategory.class, result.getId(), result));
+        return result;
     }
 
     /**
      * Update a productCategory.
+     * <p>
+     * The productCategory is first read into the persistence context, where the merge then finds it instead of selecting it
+     * again, so the existence check is the only read of the update.
      *
      * @param productCategory the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    public ProductCategory update(ProductCategory productCategory) {
+    public Optional<ProductCategory> update(ProductCategory productCategory) {
         LOG.debug("Request to update ProductCategory : {}", productCategory);
-        return productCategoryRepository.save(productCategory);
+        findOneFlights.forgetAfterCommit(productCategory.getId());
+
+        return productCategoryRepository
+            .findById(productCategory.getId())
+            .map(existingProductCategory -> {
+                if (productCategory.getVersion() == null) {
+                    // Clients not sending the version keep last-write-wins semantics instead of being taken for a creation
+                    productCategory.setVersion(existingProductCategory.getVersion());
+                }
+                return productCategoryRepository.save(productCategory);
+            })
+            .map(result -> {
+                eventPublisher.publishEvent(EntityChangedEvent.updated(ProductCategory.class, result.getId(), result));
+                return result;
+            });
     }
 
     /**
@@ -55,6 +102,7 @@ public class ProductCategoryService {
      */
     public Optional<ProductCategory> partialUpdate(ProductCategory productCategory) {
         LOG.debug("Request to partially update ProductCategory : {}", productCategory);
+        findOneFlights.forgetAfterCommit(productCategory.getId());
 
         return productCategoryRepository
             .findById(productCategory.getId())
@@ -68,7 +116,11 @@ public class ProductCategoryService {
 
                 return existingProductCategory;
             })
-            .map(productCategoryRepository::save);
+            .map(productCategoryRepository::save)
+            .map(result -> {
+                eventPublisher.publishEvent(EntityChangedEvent.updated(ProductCategory.class, result.getId(), result));
+                return result;
+            });
     }
 
     /**
@@ -85,14 +137,35 @@ public class ProductCategoryService {
 
     /**
      * Get one productCategory by id.
+     * <p>
+     * Outside of a transaction, concurrent calls for the same id share one load, run in a read-only transaction of its
+     * own and committed before its result is shared; each caller then gets its own detached copy. Within a transaction,
+     * the productCategory is read in that transaction, which may have changed it.
      *
      * @param id the id of the entity.
      * @return the entity.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<ProductCategory> findOne(Long id) {
         LOG.debug("Request to get ProductCategory : {}", id);
-        return productCategoryRepository.findById(id);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return productCategoryRepository.findById(id);
+        }
+        return findOneFlights
+            .load(id, () -> readOnlyTransaction.execute(status -> productCategoryRepository.findById(id)))
+            .map(DetachedCopies::copy);
+    }
+
+    /**
+     * Get the productCategories with the given ids.
+     *
+     * @param ids the ids of the entities, without duplicates.
+     * @return the entities in the order of {@code ids}, with {@code null} for the ids which do not exist.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductCategory> findAllById(List<Long> ids) {
+        LOG.debug("Request to get ProductCategories : {}", ids);
+        return multiGetRepository.findAllById(ProductCategory.class, ids);
     }
 
     /**
@@ -102,6 +175,8 @@ public class ProductCategoryService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete ProductCategory : {}", id);
+        findOneFlights.forgetAfterCommit(id);
         productCategoryRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(ProductCategory.class, id));
     }
 }
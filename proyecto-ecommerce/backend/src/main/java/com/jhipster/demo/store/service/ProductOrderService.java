@@ -1,13 +1,20 @@
 package com.jhipster.demo.store.service;
 
 import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.domain.ShoppingCart;
 import com.jhipster.demo.store.repository.ProductOrderRepository;
+import com.jhipster.demo.store.repository.SparseFieldsetRepository;
+import com.jhipster.demo.store.service.event.EntityChangedEvent;
+import com.jhipster.demo.store.service.event.ShoppingCartsChangedEvent;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,8 +29,18 @@ public class ProductOrderService {
 
     private final ProductOrderRepository productOrderRepository;
 
-    public ProductOrderService(ProductOrderRepository productOrderRepository) {
+    private final SparseFieldsetRepository sparseFieldsetRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductOrderService(
+        ProductOrderRepository productOrderRepository,
+        SparseFieldsetRepository sparseFieldsetRepository,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.productOrderRepository = productOrderRepository;
+        this.sparseFieldsetRepository = sparseFieldsetRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -34,18 +51,36 @@ public class ProductOrderService {
      */
     public ProductOrder save(ProductOrder productOrder) {
         LOG.debug("Request to save ProductOrder : {}", productOrder);
-        return productOrderRepository.save(productOrder);
+        ProductOrder result = productOrderRepository.save(productOrder);
+        publishChange(EntityChangedEvent.created(ProductOrder.class, result.getId(), result), null);
+        return result;
     }
 
     /**
      * Update a productOrder.
+     * <p>
+     * The productOrder is first read into the persistence context, where the merge then finds it instead of selecting it
+     * again, so the existence check is the only read of the update.
      *
      * @param productOrder the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    public ProductOrder update(ProductOrder productOrder) {
+    public Optional<ProductOrder> update(ProductOrder productOrder) {
         LOG.debug("Request to update ProductOrder : {}", productOrder);
-        return productOrderRepository.save(productOrder);
+
+        return productOrderRepository
+            .findById(productOrder.getId())
+            .map(existingProductOrder -> {
+                if (productOrder.getVersion() == null) {
+                    // Clients not sending the version keep last-write-wins semantics instead of being taken for a creation
+                    productOrder.setVersion(existingProductOrder.getVersion());
+                }
+                // Read before the merge overwrites it
+                Long previousCartId = existingProductOrder.getCart() != null ? existingProductOrder.getCart().getId() : null;
+                ProductOrder result = productOrderRepository.save(productOrder);
+                publishChange(EntityChangedEvent.updated(ProductOrder.class, result.getId(), result), previousCartId);
+                return result;
+            });
     }
 
     /**
@@ -69,7 +104,11 @@ public class ProductOrderService {
 
                 return existingProductOrder;
             })
-            .map(productOrderRepository::save);
+            .map(productOrderRepository::save)
+            .map(result -> {
+                publishChange(EntityChangedEvent.updated(ProductOrder.class, result.getId(), result), null);
+                return result;
+            });
     }
 
     /**
@@ -83,6 +122,18 @@ public class ProductOrderService {
         return productOrderRepository.findAll();
     }
 
+    /**
+     * Get all the productOrders, restricted to the requested fields.
+     *
+     * @param fields the comma separated fields to read.
+     * @return the list of projected entities.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAll(String fields) {
+        LOG.debug("Request to get all ProductOrders with fields : {}", fields);
+        return sparseFieldsetRepository.findAll(ProductOrder.class, fields, Sort.unsorted());
+    }
+
     /**
      * Get all the productOrders with eager load of many-to-many relationships.
      *
@@ -104,6 +155,19 @@ public class ProductOrderService {
         return productOrderRepository.findOneWithEagerRelationships(id);
     }
 
+    /**
+     * Get one productOrder by id, restricted to the requested fields.
+     *
+     * @param id the id of the entity.
+     * @param fields the comma separated fields to read.
+     * @return the projected entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findOne(Long id, String fields) {
+        LOG.debug("Request to get ProductOrder : {} with fields : {}", id, fields);
+        return sparseFieldsetRepository.findById(ProductOrder.class, id, fields);
+    }
+
     /**
      * Delete the productOrder by id.
      *
@@ -111,6 +175,23 @@ public class ProductOrderService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete ProductOrder : {}", id);
+        // Resolved while the productOrder still exists
+        String owner = productOrderRepository.findOwnerLoginById(id).orElse(null);
+        Long cartId = productOrderRepository.findCartIdById(id).orElse(null);
         productOrderRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(ProductOrder.class, id).ownedBy(owner));
+        eventPublisher.publishEvent(ShoppingCartsChangedEvent.of(cartId));
+    }
+
+    /**
+     * {@link ProductOrder} changes are private to the customer the productOrder belongs to, and change the content of its
+     * cart.
+     *
+     * @param previousCartId the cart the productOrder was moved from, if any, whose content changed as well.
+     */
+    private void publishChange(EntityChangedEvent event, Long previousCartId) {
+        eventPublisher.publishEvent(event.ownedBy(productOrderRepository.findOwnerLoginById(event.getId()).orElse(null)));
+        ShoppingCart cart = ((ProductOrder) event.getEntity()).getCart();
+        eventPublisher.publishEvent(ShoppingCartsChangedEvent.of(cart != null ? cart.getId() : null, previousCartId));
     }
 }
@@ -1,14 +1,25 @@
 package com.jhipster.demo.store.service;
 
 import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.repository.MultiGetRepository;
 import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.repository.SparseFieldsetRepository;
+import com.jhipster.demo.store.service.event.EntityChangedEvent;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service Implementation for managing {@link com.jhipster.demo.store.domain.Product}.
@@ -21,8 +32,32 @@ public class ProductService {
 
     private final ProductRepository productRepository;
 
-    public ProductService(ProductRepository productRepository) {
+    /**
+     * Coalesces concurrent {@link #findOne(Long)} calls, typically on a popular product just evicted or updated.
+     */
+    private final SingleFlight<Long, Optional<Product>> findOneFlights = new SingleFlight<>();
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final SparseFieldsetRepository sparseFieldsetRepository;
+
+    private final MultiGetRepository multiGetRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductService(
+        ProductRepository productRepository,
+        SparseFieldsetRepository sparseFieldsetRepository,
+        MultiGetRepository multiGetRepository,
+        ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager
+    ) {
         this.productRepository = productRepository;
+        this.sparseFieldsetRepository = sparseFieldsetRepository;
+        this.multiGetRepository = multiGetRepository;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     /**
@@ -33,18 +68,37 @@ public class ProductService {
      */
     public Product save(Product product) {
         LOG.debug("Request to save Product : {}", product);
-        return productRepository.save(product);
+        Product result = productRepository.save(product);
+        eventPublisher.publishEvent(EntityChangedEvent.created(Product.class, result.getId(), result));
+        return result;
     }
 
     /**
      * Update a product.
+     * <p>
+     * The product is first read into the persistence context, where the merge then finds it instead of selecting it
+     * again, so the existence check is the only read of the update.
      *
      * @param product the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    public Product update(Product product) {
+    public Optional<Product> update(Product product) {
         LOG.debug("Request to update Product : {}", product);
-        return productRepository.save(product);
+        findOneFlights.forgetAfterCommit(product.getId());
+
+        return productRepository
+            .findById(product.getId())
+            .map(existingProduct -> {
+                if (product.getVersion() == null) {
+                    // Clients not sending the version keep last-write-wins semantics instead of being taken for a creation
+                    product.setVersion(existingProduct.getVersion());
+                }
+                return productRepository.save(product);
+            })
+            .map(result -> {
+                eventPublisher.publishEvent(EntityChangedEvent.updated(Product.class, result.getId(), result));
+                return result;
+            });
     }
 
     /**
@@ -55,6 +109,7 @@ public class ProductService {
      */
     public Optional<Product> partialUpdate(Product product) {
         LOG.debug("Request to partially update Product : {}", product);
+        findOneFlights.forgetAfterCommit(product.getId());
 
         return productRepository
             .findById(product.getId())
@@ -80,7 +135,11 @@ public class ProductService {
 
                 return existingProduct;
             })
-            .map(productRepository::save);
+            .map(productRepository::save)
+            .map(result -> {
+                eventPublisher.publishEvent(EntityChangedEvent.updated(Product.class, result.getId(), result));
+                return result;
+            });
     }
 
     /**
@@ -95,6 +154,19 @@ public class ProductService {
         return productRepository.findAll(pageable);
     }
 
+    /**
+     * Get all the products, restricted to the requested fields.
+     *
+     * @param fields the comma separated fields to read.
+     * @param pageable the pagination information.
+     * @return the list of projected entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findAll(String fields, Pageable pageable) {
+        LOG.debug("Request to get all Products with fields : {}", fields);
+        return sparseFieldsetRepository.findAll(Product.class, fields, pageable);
+    }
+
     /**
      * Get all the products with eager load of many-to-many relationships.
      *
@@ -106,14 +178,51 @@ public class ProductService {
 
     /**
      * Get one product by id.
+     * <p>
+     * Outside of a transaction, concurrent calls for the same id share one load, run in a read-only transaction of its
+     * own and committed before its result is shared; each caller then gets its own detached copy. Within a transaction,
+     * the product is read in that transaction, which may have changed it.
      *
      * @param id the id of the entity.
      * @return the entity.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<Product> findOne(Long id) {
         LOG.debug("Request to get Product : {}", id);
-        return productRepository.findOneWithEagerRelationships(id);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return productRepository.findOneWithEagerRelationships(id);
+        }
+        return findOneFlights
+            .load(id, () -> readOnlyTransaction.execute(status -> productRepository.findOneWithEagerRelationships(id)))
+            .map(DetachedCopies::copy);
+    }
+
+    /**
+     * Get one product by id, restricted to the requested fields.
+     *
+     * @param id the id of the entity.
+     * @param fields the comma separated fields to read.
+     * @return the projected entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findOne(Long id, String fields) {
+        LOG.debug("Request to get Product : {} with fields : {}", id, fields);
+        return sparseFieldsetRepository.findById(Product.class, id, fields);
+    }
+
+    /**
+     * Get the products with the given ids.
+     *
+     * @param ids the ids of the entities, without duplicates.
+     * @return the entities in the order of {@code ids}, with {@code null} for the ids which do not exist.
+     */
+    @Transactional(readOnly = true)
+    public List<Product> findAllById(List<Long> ids) {
+        LOG.debug("Request to get Products : {}", ids);
+        List<Product> products = multiGetRepository.findAllById(Product.class, ids);
+        // Embedded in the response, as by findOne
+        multiGetRepository.initialize(products, Product::getProductCategory, ProductCategory.class);
+        return products;
     }
 
     /**
@@ -123,6 +232,8 @@ public class ProductService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Product : {}", id);
+        findOneFlights.forgetAfterCommit(id);
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(Product.class, id));
     }
 }
@@ -2,10 +2,16 @@ package com.jhipster.demo.store.service;
 
 import com.jhipster.demo.store.domain.ShoppingCart;
 import com.jhipster.demo.store.repository.ShoppingCartRepository;
+import com.jhipster.demo.store.repository.SparseFieldsetRepository;
+import com.jhipster.demo.store.service.event.EntityChangedEvent;
+import com.jhipster.demo.store.service.event.ShoppingCartsChangedEvent;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,8 +26,18 @@ public class ShoppingCartService {
 
     private final ShoppingCartRepository shoppingCartRepository;
 
-    public ShoppingCartService(ShoppingCartRepository shoppingCartRepository) {
+    private final SparseFieldsetRepository sparseFieldsetRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ShoppingCartService(
+        ShoppingCartRepository shoppingCartRepository,
+        SparseFieldsetRepository sparseFieldsetRepository,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.shoppingCartRepository = shoppingCartRepository;
+        this.sparseFieldsetRepository = sparseFieldsetRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -32,18 +48,36 @@ public class ShoppingCartService {
      */
     public ShoppingCart save(ShoppingCart shoppingCart) {
         LOG.debug("Request to save ShoppingCart : {}", shoppingCart);
-        return shoppingCartRepository.save(shoppingCart);
+        ShoppingCart result = shoppingCartRepository.save(shoppingCart);
+        publishChange(EntityChangedEvent.created(ShoppingCart.class, result.getId(), result));
+        return result;
     }
 
     /**
      * Update a shoppingCart.
+     * <p>
+     * The shoppingCart is first read into the persistence context, where the merge then finds it instead of selecting it
+     * again, so the existence check is the only read of the update.
      *
      * @param shoppingCart the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    public ShoppingCart update(ShoppingCart shoppingCart) {
+    public Optional<ShoppingCart> update(ShoppingCart shoppingCart) {
         LOG.debug("Request to update ShoppingCart : {}", shoppingCart);
-        return shoppingCartRepository.save(shoppingCart);
+
+        return shoppingCartRepository
+            .findById(shoppingCart.getId())
+            .map(existingShoppingCart -> {
+                if (shoppingCart.getVersion() == null) {
+                    // Clients not sending the version keep last-write-wins semantics instead of being taken for a creation
+                    shoppingCart.setVersion(existingShoppingCart.getVersion());
+                }
+                return shoppingCartRepository.save(shoppingCart);
+            })
+            .map(result -> {
+                publishChange(EntityChangedEvent.updated(ShoppingCart.class, result.getId(), result));
+                return result;
+            });
     }
 
     /**
@@ -76,7 +110,11 @@ public class ShoppingCartService {
 
                 return existingShoppingCart;
             })
-            .map(shoppingCartRepository::save);
+            .map(shoppingCartRepository::save)
+            .map(result -> {
+                publishChange(EntityChangedEvent.updated(ShoppingCart.class, result.getId(), result));
+                return result;
+            });
     }
 
     /**
@@ -90,6 +128,18 @@ public class ShoppingCartService {
         return shoppingCartRepository.findAll();
     }
 
+    /**
+     * Get all the shoppingCarts, restricted to the requested fields.
+     *
+     * @param fields the comma separated fields to read.
+     * @return the list of projected entities.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAll(String fields) {
+        LOG.debug("Request to get all ShoppingCarts with fields : {}", fields);
+        return sparseFieldsetRepository.findAll(ShoppingCart.class, fields, Sort.unsorted());
+    }
+
     /**
      * Get one shoppingCart by id.
      *
@@ -102,6 +152,19 @@ public class ShoppingCartService {
         return shoppingCartRepository.findById(id);
     }
 
+    /**
+     * Get one shoppingCart by id, restricted to the requested fields.
+     *
+     * @param id the id of the entity.
+     * @param fields the comma separated fields to read.
+     * @return the projected entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findOne(Long id, String fields) {
+        LOG.debug("Request to get ShoppingCart : {} with fields : {}", id, fields);
+        return sparseFieldsetRepository.findById(ShoppingCart.class, id, fields);
+    }
+
     /**
      * Delete the shoppingCart by id.
      *
@@ -109,6 +172,18 @@ public class ShoppingCartService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete ShoppingCart : {}", id);
+        // Resolved while the shoppingCart still exists
+        String owner = shoppingCartRepository.findOwnerLoginById(id).orElse(null);
         shoppingCartRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(ShoppingCart.class, id).ownedBy(owner));
+        eventPublisher.publishEvent(ShoppingCartsChangedEvent.of(id));
+    }
+
+    /**
+     * {@link ShoppingCart} changes are private to the customer the shoppingCart belongs to.
+     */
+    private void publishChange(EntityChangedEvent event) {
+        eventPublisher.publishEvent(event.ownedBy(shoppingCartRepository.findOwnerLoginById(event.getId()).orElse(null)));
+        eventPublisher.publishEvent(ShoppingCartsChangedEvent.of(event.getId()));
     }
 }
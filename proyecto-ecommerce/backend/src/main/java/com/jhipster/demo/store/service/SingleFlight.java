@@ -0,0 +1,103 @@
+package com.jhipster.demo.store.service;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader, callers arriving while it is in flight
+ * wait for and share its result (or its exception) instead of issuing the same query.
+ * <p>
+ * Nothing is kept once a load completes, this is not a cache. The loaded value is shared between threads: it must be
+ * loaded in a transaction of its own, committed before the value is shared, and be a value each caller copies, never a
+ * managed entity, which belongs to the persistence context of the thread which loaded it.
+ *
+ * @param <K> the key type.
+ * @param <V> the loaded value type.
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        loads.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Detaches the in-flight load of {@code key}, if any, once the current transaction commits: callers arriving after
+     * a write must not share a load which may have read the data before it.
+     */
+    public void forgetAfterCommit(K key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            inFlight.remove(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    inFlight.remove(key);
+                }
+            }
+        );
+    }
+
+    /**
+     * @return the number of loads actually run.
+     */
+    public long loads() {
+        return loads.sum();
+    }
+
+    /**
+     * @return the number of calls served by joining a load already in flight.
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for an in-flight load");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.jhipster.demo.store.service;
+
+import com.jhipster.demo.store.config.ApplicationProperties;
+import com.jhipster.demo.store.domain.EntityDeletion;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.domain.ShoppingCart;
+import com.jhipster.demo.store.repository.EntityDeletionRepository;
+import com.jhipster.demo.store.repository.MultiGetRepository;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductOrderRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.repository.ShoppingCartRepository;
+import com.jhipster.demo.store.service.dto.SyncDTO;
+import com.jhipster.demo.store.service.event.EntityChangedEvent;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service for the delta sync of the offline clients: the entities created or updated since a watermark are read from
+ * the {@code last_modified_date} indexes, and the deletions from the {@link EntityDeletion} log, which this service
+ * writes in the transaction of each deletion.
+ * <p>
+ * The catalog is shared; carts and orders are only returned to the customer they belong to.
+ */
+@Service
+public class SyncService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SyncService.class);
+
+    /**
+     * Entities loaded per query, bounding the {@code IN} lists of a full snapshot.
+     */
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private static final Map<Class<?>, String> ENTITY_NAMES = Map.of(
+        ProductCategory.class,
+        "productCategory",
+        Product.class,
+        "product",
+        ShoppingCart.class,
+        "shoppingCart",
+        ProductOrder.class,
+        "productOrder"
+    );
+
+    private final ProductCategoryRepository productCategoryRepository;
+
+    private final ProductRepository productRepository;
+
+    private final ShoppingCartRepository shoppingCartRepository;
+
+    private final ProductOrderRepository productOrderRepository;
+
+    private final EntityDeletionRepository entityDeletionRepository;
+
+    private final MultiGetRepository multiGetRepository;
+
+    private final ApplicationProperties.Sync properties;
+
+    public SyncService(
+        ProductCategoryRepository productCategoryRepository,
+        ProductRepository productRepository,
+        ShoppingCartRepository shoppingCartRepository,
+        ProductOrderRepository productOrderRepository,
+        EntityDeletionRepository entityDeletionRepository,
+        MultiGetRepository multiGetRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.productCategoryRepository = productCategoryRepository;
+        this.productRepository = productRepository;
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.productOrderRepository = productOrderRepository;
+        this.entityDeletionRepository = entityDeletionRepository;
+        this.multiGetRepository = multiGetRepository;
+        this.properties = applicationProperties.getSync();
+    }
+
+    /**
+     * Get the changes visible to a customer since a watermark.
+     * <p>
+     * The returned watermark lags by {@code application.sync.safety-window}: a change stamped before the sync but
+     * committed after it is returned by the next sync, at the cost of returning the last changes twice. A missing,
+     * future or expired watermark, older than the tombstone retention, gets a full snapshot.
+     *
+     * @param login the login of the customer.
+     * @param since the watermark returned by the previous sync, or {@code null}.
+     * @return the changes.
+     */
+    @Transactional(readOnly = true)
+    public SyncDTO sync(String login, Instant since) {
+        LOG.debug("Request to sync changes since {} for {}", since, login);
+        Instant now = Instant.now();
+        boolean reset = since == null || since.isAfter(now) || since.isBefore(now.minus(properties.getTombstoneRetention()));
+        Instant from = reset ? Instant.EPOCH : since;
+        SyncDTO sync = new SyncDTO(now.minus(properties.getSafetyWindow()), reset);
+
+        sync.getProductCategories().getUpserts().addAll(load(ProductCategory.class, productCategoryRepository.findIdsModifiedSince(from)));
+        List<Product> products = load(Product.class, productRepository.findIdsModifiedSince(from));
+        multiGetRepository.initialize(products, Product::getProductCategory, ProductCategory.class);
+        sync.getProducts().getUpserts().addAll(products);
+        if (login != null) {
+            sync.getShoppingCarts().getUpserts().addAll(load(ShoppingCart.class, shoppingCartRepository.findIdsModifiedSince(login, from)));
+            List<ProductOrder> productOrders = load(ProductOrder.class, productOrderRepository.findIdsModifiedSince(login, from));
+            multiGetRepository.initialize(productOrders, ProductOrder::getProduct, Product.class);
+            sync.getProductOrders().getUpserts().addAll(productOrders);
+        }
+
+        if (!reset) {
+            for (EntityDeletion deletion : entityDeletionRepository.findVisibleDeletedSince(login, from)) {
+                deletesOf(sync, deletion.getEntityName()).add(deletion.getEntityId());
+            }
+        }
+        return sync;
+    }
+
+    private <T> List<T> load(Class<T> type, List<Long> ids) {
+        List<T> entities = new ArrayList<>(ids.size());
+        for (int start = 0; start < ids.size(); start += LOAD_BATCH_SIZE) {
+            List<Long> batch = ids.subList(start, Math.min(start + LOAD_BATCH_SIZE, ids.size()));
+            // Deleted since their id was read: their tombstone comes with the next sync
+            multiGetRepository.findAllById(type, batch).stream().filter(Objects::nonNull).forEach(entities::add);
+        }
+        return entities;
+    }
+
+    private static List<Long> deletesOf(SyncDTO sync, String entityName) {
+        SyncDTO.Changes<? extends Serializable> changes =
+            switch (entityName) {
+                case "productCategory" -> sync.getProductCategories();
+                case "product" -> sync.getProducts();
+                case "shoppingCart" -> sync.getShoppingCarts();
+                case "productOrder" -> sync.getProductOrders();
+                default -> throw new IllegalStateException("Unexpected deleted entity: " + entityName);
+            };
+        return changes.getDeletes();
+    }
+
+    /**
+     * Logs the deletions of the synced entities, in the transaction deleting them.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        String entityName = ENTITY_NAMES.get(event.getEntityType());
+        if (entityName == null || event.getChangeType() != EntityChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+        entityDeletionRepository.save(
+            new EntityDeletion().entityName(entityName).entityId(event.getId()).ownerLogin(event.getOwner()).deletedDate(Instant.now())
+        );
+    }
+
+    /**
+     * Tombstones older than the retention are purged every day, at 01:30 (am); clients which did not sync since are
+     * sent a full snapshot.
+     */
+    @Scheduled(cron = "0 30 1 * * ?")
+    @Transactional
+    public void purgeDeletions() {
+        int purged = entityDeletionRepository.deleteByDeletedDateBefore(Instant.now().minus(properties.getTombstoneRetention()));
+        LOG.debug("Purged {} deletions", purged);
+    }
+}
@@ -21,7 +21,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -41,16 +45,27 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    /**
+     * Coalesces concurrent {@link #getAdminUserWithAuthoritiesByLogin(String)} misses of the {@code usersByLogin} cache,
+     * e.g. every request of a user right after their entry was evicted.
+     */
+    private final SingleFlight<String, Optional<AdminUserDTO>> findByLoginFlights = new SingleFlight<>();
+
+    private final TransactionTemplate readOnlyTransaction;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        PlatformTransactionManager transactionManager
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -287,7 +302,39 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public Optional<User> getUserWithAuthorities() {
-        return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
+        return SecurityUtils.getCurrentUserLogin().flatMap(this::getUserWithAuthoritiesByLogin);
+    }
+
+    /**
+     * Get a user with their authorities, as a DTO.
+     * <p>
+     * Outside of a transaction, concurrent calls for the same login share one load, run in a read-only transaction of
+     * its own and committed before its result is shared; each caller then gets its own copy of the DTO, never the
+     * entity. Within a transaction, the user is read in that transaction, which may have changed it.
+     *
+     * @param login the login of the user.
+     * @return the user, if found.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<AdminUserDTO> getAdminUserWithAuthoritiesByLogin(String login) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return findAdminUser(login);
+        }
+        return findByLoginFlights.load(login, () -> readOnlyTransaction.execute(status -> findAdminUser(login))).map(AdminUserDTO::new);
+    }
+
+    private Optional<AdminUserDTO> findAdminUser(String login) {
+        return userRepository.findOneWithAuthoritiesByLogin(login).map(AdminUserDTO::new);
+    }
+
+    /**
+     * Get the current user with their authorities, as a DTO, see {@link #getAdminUserWithAuthoritiesByLogin(String)}.
+     *
+     * @return the current user, if authenticated and found.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<AdminUserDTO> getAdminUserWithAuthorities() {
+        return SecurityUtils.getCurrentUserLogin().flatMap(this::getAdminUserWithAuthoritiesByLogin);
     }
 
     /**
@@ -317,6 +364,7 @@ public class UserService {
 
     private void clearUserCaches(User user) {
         Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evictIfPresent(user.getLogin());
+        findByLoginFlights.forgetAfterCommit(user.getLogin());
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(user.getEmail());
         }
@@ -6,6 +6,7 @@ import com.jhipster.demo.store.domain.User;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -71,6 +72,22 @@ public class AdminUserDTO implements Serializable {
         this.authorities = user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toSet());
     }
 
+    public AdminUserDTO(AdminUserDTO other) {
+        this.id = other.id;
+        this.login = other.login;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.email = other.email;
+        this.activated = other.activated;
+        this.imageUrl = other.imageUrl;
+        this.langKey = other.langKey;
+        this.createdBy = other.createdBy;
+        this.createdDate = other.createdDate;
+        this.lastModifiedBy = other.lastModifiedBy;
+        this.lastModifiedDate = other.lastModifiedDate;
+        this.authorities = other.authorities != null ? new HashSet<>(other.authorities) : null;
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,77 @@
+package com.jhipster.demo.store.service.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+
+/**
+ * A DTO representing one write of a batch: the {@code method} of the equivalent REST call ({@code POST}, {@code PUT},
+ * {@code PATCH} or {@code DELETE}), applied to the {@code entity} with the given {@code id} and JSON {@code body}.
+ */
+public class BatchOperationDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    private String entity;
+
+    @NotNull
+    private String method;
+
+    private Long id;
+
+    private transient JsonNode body;
+
+    public BatchOperationDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BatchOperationDTO(String entity, String method, Long id, JsonNode body) {
+        this.entity = entity;
+        this.method = method;
+        this.id = id;
+        this.body = body;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public void setEntity(String entity) {
+        this.entity = entity;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public JsonNode getBody() {
+        return body;
+    }
+
+    public void setBody(JsonNode body) {
+        this.body = body;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BatchOperationDTO{" +
+            "entity='" + entity + '\'' +
+            ", method='" + method + '\'' +
+            ", id=" + id +
+            "}";
+    }
+}
@@ -0,0 +1,83 @@
+package com.jhipster.demo.store.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+import org.springframework.http.HttpStatus;
+
+/**
+ * A DTO representing the outcome of one write of a batch, at the {@code index} of the operation in the request: the
+ * HTTP status the equivalent REST call would have answered, with the written entity or the error.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+
+    private final int status;
+
+    private final Long id;
+
+    private final transient Object body;
+
+    private final String error;
+
+    private BatchResultDTO(int index, int status, Long id, Object body, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.body = body;
+        this.error = error;
+    }
+
+    public static BatchResultDTO success(int index, int status, Long id, Object body) {
+        return new BatchResultDTO(index, status, id, body, null);
+    }
+
+    public static BatchResultDTO failure(int index, int status, Long id, String error) {
+        return new BatchResultDTO(index, status, id, null, error);
+    }
+
+    /**
+     * @param current the entity as currently stored, for the client to merge its change into.
+     */
+    public static BatchResultDTO conflict(int index, Long id, Object current) {
+        return new BatchResultDTO(index, HttpStatus.CONFLICT.value(), id, current, "Version conflict");
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Object getBody() {
+        return body;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isSuccessful() {
+        return status < 300;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BatchResultDTO{" +
+            "index=" + index +
+            ", status=" + status +
+            ", id=" + id +
+            ", error='" + error + '\'' +
+            "}";
+    }
+}
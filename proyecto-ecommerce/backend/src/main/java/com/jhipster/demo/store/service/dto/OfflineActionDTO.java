@@ -0,0 +1,94 @@
+package com.jhipster.demo.store.service.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+
+/**
+ * A DTO representing a write queued by an offline client: the REST call it would have made ({@code type} and
+ * {@code url}, e.g. {@code PUT /api/products/12}) with its JSON {@code data}, identified by the client-generated
+ * {@code id} and stamped with the client {@code timestamp}, in epoch milliseconds.
+ */
+public class OfflineActionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    @Size(max = 100)
+    private String id;
+
+    @NotNull
+    private String type;
+
+    @NotNull
+    private String url;
+
+    private transient JsonNode data;
+
+    @NotNull
+    private Long timestamp;
+
+    public OfflineActionDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public OfflineActionDTO(String id, String type, String url, JsonNode data, Long timestamp) {
+        this.id = id;
+        this.type = type;
+        this.url = url;
+        this.data = data;
+        this.timestamp = timestamp;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public JsonNode getData() {
+        return data;
+    }
+
+    public void setData(JsonNode data) {
+        this.data = data;
+    }
+
+    public Long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OfflineActionDTO{" +
+            "id='" + id + '\'' +
+            ", type='" + type + '\'' +
+            ", url='" + url + '\'' +
+            ", timestamp=" + timestamp +
+            "}";
+    }
+}
@@ -0,0 +1,83 @@
+package com.jhipster.demo.store.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+
+/**
+ * A DTO representing the outcome of a replayed offline action, identified by the client {@code actionId}: the HTTP
+ * status its REST call would have answered, with the written entity, or the error and, on a version conflict, the
+ * entity as currently stored.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OfflineActionResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String actionId;
+
+    private final int status;
+
+    private final Long id;
+
+    private final transient Object body;
+
+    private final String error;
+
+    private OfflineActionResultDTO(String actionId, int status, Long id, Object body, String error) {
+        this.actionId = actionId;
+        this.status = status;
+        this.id = id;
+        this.body = body;
+        this.error = error;
+    }
+
+    public static OfflineActionResultDTO of(String actionId, BatchResultDTO result) {
+        return new OfflineActionResultDTO(actionId, result.getStatus(), result.getId(), result.getBody(), result.getError());
+    }
+
+    /**
+     * The stored outcome of an action applied by an earlier replay.
+     */
+    public static OfflineActionResultDTO replayed(String actionId, int status, Long id) {
+        return new OfflineActionResultDTO(actionId, status, id, null, null);
+    }
+
+    public static OfflineActionResultDTO failure(String actionId, int status, String error) {
+        return new OfflineActionResultDTO(actionId, status, null, null, error);
+    }
+
+    public String getActionId() {
+        return actionId;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Object getBody() {
+        return body;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isSuccessful() {
+        return status < 300;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OfflineActionResultDTO{" +
+            "actionId='" + actionId + '\'' +
+            ", status=" + status +
+            ", id=" + id +
+            ", error='" + error + '\'' +
+            "}";
+    }
+}
@@ -0,0 +1,92 @@
+package com.jhipster.demo.store.service.dto;
+
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.domain.ShoppingCart;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the changes since a client's watermark: per entity, the entities created or updated, and the ids
+ * of the entities deleted. The client stores {@code watermark} and sends it back on its next sync.
+ * <p>
+ * When {@code reset} is set, the upserts are a full snapshot and the client drops what it holds before applying them.
+ */
+public class SyncDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Instant watermark;
+
+    private final boolean reset;
+
+    private final Changes<ProductCategory> productCategories = new Changes<>();
+
+    private final Changes<Product> products = new Changes<>();
+
+    private final Changes<ShoppingCart> shoppingCarts = new Changes<>();
+
+    private final Changes<ProductOrder> productOrders = new Changes<>();
+
+    public SyncDTO(Instant watermark, boolean reset) {
+        this.watermark = watermark;
+        this.reset = reset;
+    }
+
+    public Instant getWatermark() {
+        return watermark;
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+
+    public Changes<ProductCategory> getProductCategories() {
+        return productCategories;
+    }
+
+    public Changes<Product> getProducts() {
+        return products;
+    }
+
+    public Changes<ShoppingCart> getShoppingCarts() {
+        return shoppingCarts;
+    }
+
+    public Changes<ProductOrder> getProductOrders() {
+        return productOrders;
+    }
+
+    public static class Changes<T extends Serializable> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> upserts = new ArrayList<>();
+
+        private final List<Long> deletes = new ArrayList<>();
+
+        public List<T> getUpserts() {
+            return upserts;
+        }
+
+        public List<Long> getDeletes() {
+            return deletes;
+        }
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SyncDTO{" +
+            "watermark=" + watermark +
+            ", reset=" + reset +
+            ", productCategories=" + productCategories.upserts.size() + "/" + productCategories.deletes.size() +
+            ", products=" + products.upserts.size() + "/" + products.deletes.size() +
+            ", shoppingCarts=" + shoppingCarts.upserts.size() + "/" + shoppingCarts.deletes.size() +
+            ", productOrders=" + productOrders.upserts.size() + "/" + productOrders.deletes.size() +
+            "}";
+    }
+}
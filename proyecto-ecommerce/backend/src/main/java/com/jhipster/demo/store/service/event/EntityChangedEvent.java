@@ -0,0 +1,98 @@
+package com.jhipster.demo.store.service.event;
+
+import java.io.Serializable;
+
+/**
+ * Published by the entity services whenever an entity is created, updated or deleted.
+ * <p>
+ * Listeners that mirror the database (caches, change feeds, read models) should use
+ * {@code @TransactionalEventListener} so that they only observe committed changes.
+ */
+public class EntityChangedEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+    }
+
+    private final Class<?> entityType;
+
+    private final Long id;
+
+    private final ChangeType changeType;
+
+    private final transient Object entity;
+
+    private final String owner;
+
+    private EntityChangedEvent(Class<?> entityType, Long id, ChangeType changeType, Object entity, String owner) {
+        this.entityType = entityType;
+        this.id = id;
+        this.changeType = changeType;
+        this.entity = entity;
+        this.owner = owner;
+    }
+
+    public static EntityChangedEvent created(Class<?> entityType, Long id, Object entity) {
+        return new EntityChangedEvent(entityType, id, ChangeType.CREATED, entity, null);
+    }
+
+    public static EntityChangedEvent updated(Class<?> entityType, Long id, Object entity) {
+        return new EntityChangedEvent(entityType, id, ChangeType.UPDATED, entity, null);
+    }
+
+    public static EntityChangedEvent deleted(Class<?> entityType, Long id) {
+        return new EntityChangedEvent(entityType, id, ChangeType.DELETED, null, null);
+    }
+
+    /**
+     * @param owner the login of the customer the entity belongs to.
+     * @return the same change, about an entity private to that customer.
+     */
+    public EntityChangedEvent ownedBy(String owner) {
+        return new EntityChangedEvent(entityType, id, changeType, entity, owner);
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    /**
+     * @return the entity as saved, or {@code null} for deletions.
+     */
+    public Object getEntity() {
+        return entity;
+    }
+
+    /**
+     * @return the login of the customer the entity belongs to, or {@code null} for shared entities.
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    public boolean isAbout(Class<?> type) {
+        return type.equals(entityType);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityChangedEvent{" +
+            "entityType=" + entityType.getSimpleName() +
+            ", id=" + id +
+            ", changeType=" + changeType +
+            "}";
+    }
+}
@@ -0,0 +1,45 @@
+package com.jhipster.demo.store.service.event;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Published by the cart and order services whenever the content of shopping carts changes: the carts themselves, or
+ * the orders in them. An order moved to another cart changes both carts.
+ * <p>
+ * Unlike {@link EntityChangedEvent}, it names the carts of deleted orders, which the read models of the carts need.
+ */
+public class ShoppingCartsChangedEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Set<Long> shoppingCartIds;
+
+    private ShoppingCartsChangedEvent(Set<Long> shoppingCartIds) {
+        this.shoppingCartIds = shoppingCartIds;
+    }
+
+    /**
+     * @param shoppingCartIds the ids of the changed carts, {@code null} ids are ignored.
+     */
+    public static ShoppingCartsChangedEvent of(Long... shoppingCartIds) {
+        return new ShoppingCartsChangedEvent(
+            Arrays.stream(shoppingCartIds).filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet())
+        );
+    }
+
+    public Set<Long> getShoppingCartIds() {
+        return shoppingCartIds;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ShoppingCartsChangedEvent{" +
+            "shoppingCartIds=" + shoppingCartIds +
+            "}";
+    }
+}
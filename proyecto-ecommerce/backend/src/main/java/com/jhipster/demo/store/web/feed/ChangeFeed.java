@@ -0,0 +1,348 @@
+package com.jhipster.demo.store.web.feed;
+
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.domain.ShoppingCart;
+import com.jhipster.demo.store.service.event.EntityChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes the committed changes of the catalog and of the carts and orders to Server-Sent Events subscribers.
+ * <p>
+ * Connections are held by the servlet container in asynchronous mode: an idle subscriber costs its buffer, not a
+ * thread. Each subscriber has a bounded buffer, drained by a small shared dispatcher pool; when a slow subscriber's
+ * buffer is full its oldest changes are dropped, and it receives a {@code resync} event before the next ones so that
+ * it reloads its state instead of applying a partial history. The last changes are kept for the subscribers which
+ * reconnect with a {@code Last-Event-ID}; those which missed more also receive a {@code resync} event.
+ * <p>
+ * Changes to carts and orders are only sent to the customer they belong to, and to administrators. Sequence numbers
+ * are local to the node: a subscriber only sees the changes committed by the node it is connected to.
+ */
+public class ChangeFeed implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeFeed.class);
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    public static final String CHANGE_EVENT = "change";
+
+    public static final String RESYNC_EVENT = "resync";
+
+    public enum Topic {
+        /**
+         * Products and categories, visible to every subscriber.
+         */
+        CATALOG,
+        /**
+         * Carts and their orders, visible to their customer.
+         */
+        ORDERS,
+    }
+
+    /**
+     * A committed change, as sent to the subscribers.
+     */
+    public record Change(long sequence, Topic topic, String owner, Map<String, Object> data) {}
+
+    private final int bufferSize;
+
+    private final int replaySize;
+
+    private final ExecutorService dispatcher;
+
+    private final ScheduledExecutorService heartbeats;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ArrayDeque<Change> recentChanges;
+
+    private final AtomicLong droppedChanges = new AtomicLong();
+
+    private Counter publishedChanges;
+
+    public ChangeFeed(int bufferSize, int replaySize, int dispatcherThreads, Duration heartbeatInterval) {
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.recentChanges = new ArrayDeque<>(replaySize);
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, task -> newThread(task, "change-feed-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(task -> newThread(task, "change-feed-heartbeat-"));
+        long interval = heartbeatInterval.toMillis();
+        this.heartbeats.scheduleAtFixedRate(
+            () -> subscribers.forEach(Subscriber::heartbeat),
+            interval,
+            interval,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    private static Thread newThread(Runnable task, String prefix) {
+        Thread thread = new Thread(task, prefix + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("change.feed.subscribers", subscribers, Set::size)
+            .description("Server-Sent Events subscribers of the change feed")
+            .register(registry);
+        Gauge.builder("change.feed.dropped", droppedChanges, AtomicLong::get)
+            .description("Changes dropped from the buffer of slow subscribers")
+            .register(registry);
+        publishedChanges = Counter.builder("change.feed.published").description("Changes published to the feed").register(registry);
+    }
+
+    /**
+     * Registers a subscriber, which receives the changes committed from now on, preceded by the changes after
+     * {@code lastEventId} when given.
+     *
+     * @param login the login of the subscriber.
+     * @param admin whether the subscriber sees the changes of every customer.
+     * @param topics the topics to receive.
+     * @param lastEventId the sequence of the last change the subscriber received, or {@code null}.
+     * @param emitter the emitter of the subscriber's connection.
+     */
+    public void subscribe(String login, boolean admin, Set<Topic> topics, Long lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(login, admin, topics, emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        synchronized (recentChanges) {
+            // Registered under the lock, so that no change falls between the replayed ones and the live ones
+            subscribers.add(subscriber);
+            if (lastEventId != null) {
+                Change oldest = recentChanges.peekFirst();
+                long oldestReplayable = oldest != null ? oldest.sequence() : sequence.get() + 1;
+                if (lastEventId > sequence.get() || lastEventId < oldestReplayable - 1) {
+                    // Missed changes which are no longer kept, or reconnected from another node or run
+                    subscriber.markGap();
+                }
+                for (Change change : recentChanges) {
+                    if (change.sequence() > lastEventId && subscriber.accepts(change)) {
+                        subscriber.offer(change);
+                    }
+                }
+            }
+        }
+        subscriber.schedule();
+        LOG.debug("Change feed subscriber {} registered, {} subscribers", login, subscribers.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        Topic topic;
+        if (event.isAbout(Product.class) || event.isAbout(ProductCategory.class)) {
+            topic = Topic.CATALOG;
+        } else if (event.isAbout(ShoppingCart.class) || event.isAbout(ProductOrder.class)) {
+            topic = Topic.ORDERS;
+        } else {
+            return;
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("entity", entityName(event.getEntityType()));
+        data.put("id", event.getId());
+        data.put("change", event.getChangeType());
+        Object entity = event.getEntity();
+        if (entity instanceof Product product) {
+            data.put("version", product.getVersion());
+        } else if (entity instanceof ProductCategory productCategory) {
+            data.put("version", productCategory.getVersion());
+        } else if (entity instanceof ShoppingCart shoppingCart) {
+            data.put("status", shoppingCart.getStatus());
+        } else if (entity instanceof ProductOrder productOrder && productOrder.getCart() != null) {
+            data.put("cartId", productOrder.getCart().getId());
+        }
+        List<Subscriber> recipients = new ArrayList<>();
+        synchronized (recentChanges) {
+            Change change = new Change(sequence.incrementAndGet(), topic, event.getOwner(), data);
+            if (recentChanges.size() == replaySize) {
+                recentChanges.pollFirst();
+            }
+            recentChanges.addLast(change);
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.accepts(change)) {
+                    subscriber.offer(change);
+                    recipients.add(subscriber);
+                }
+            }
+        }
+        if (publishedChanges != null) {
+            publishedChanges.increment();
+        }
+        recipients.forEach(Subscriber::schedule);
+    }
+
+    private static String entityName(Class<?> type) {
+        String name = type.getSimpleName();
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private final class Subscriber {
+
+        private final String login;
+
+        private final boolean admin;
+
+        private final Set<Topic> topics;
+
+        private final SseEmitter emitter;
+
+        private final ArrayDeque<Change> buffer = new ArrayDeque<>();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /**
+         * Guarded by the buffer: changes were lost since the last drain.
+         */
+        private boolean gap;
+
+        /**
+         * Guarded by the buffer: nothing was sent since the last heartbeat.
+         */
+        private boolean heartbeatDue;
+
+        private volatile boolean closed;
+
+        Subscriber(String login, boolean admin, Set<Topic> topics, SseEmitter emitter) {
+            this.login = login;
+            this.admin = admin;
+            this.topics = topics;
+            this.emitter = emitter;
+        }
+
+        boolean accepts(Change change) {
+            if (!topics.contains(change.topic())) {
+                return false;
+            }
+            return change.topic() == Topic.CATALOG || admin || (change.owner() != null && change.owner().equals(login));
+        }
+
+        void offer(Change change) {
+            synchronized (buffer) {
+                if (buffer.size() == bufferSize) {
+                    buffer.pollFirst();
+                    gap = true;
+                    droppedChanges.incrementAndGet();
+                }
+                buffer.addLast(change);
+            }
+        }
+
+        void markGap() {
+            synchronized (buffer) {
+                gap = true;
+            }
+        }
+
+        void heartbeat() {
+            synchronized (buffer) {
+                heartbeatDue = true;
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RuntimeException e) {
+                    // Shutting down
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        /**
+         * Runs on one dispatcher thread at a time, until the buffer is empty.
+         */
+        private void drain() {
+            do {
+                List<Change> changes;
+                boolean resync;
+                boolean heartbeat;
+                synchronized (buffer) {
+                    changes = new ArrayList<>(buffer);
+                    buffer.clear();
+                    resync = gap;
+                    heartbeat = heartbeatDue && changes.isEmpty() && !resync;
+                    gap = false;
+                    heartbeatDue = false;
+                }
+                try {
+                    if (resync) {
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT).id(String.valueOf(sequence.get())).data("{}"));
+                    }
+                    for (Change change : changes) {
+                        emitter.send(
+                            SseEmitter.event()
+                                .name(CHANGE_EVENT)
+                                .id(String.valueOf(change.sequence()))
+                                .data(change.data(), MediaType.APPLICATION_JSON)
+                        );
+                    }
+                    if (heartbeat) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    LOG.debug("Change feed subscriber {} disconnected: {}", login, e.getMessage());
+                    close();
+                    return;
+                }
+                scheduled.set(false);
+            } while (!closed && hasPending() && scheduled.compareAndSet(false, true));
+        }
+
+        private boolean hasPending() {
+            synchronized (buffer) {
+                return !buffer.isEmpty() || gap || heartbeatDue;
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            synchronized (buffer) {
+                buffer.clear();
+            }
+            emitter.complete();
+        }
+    }
+}
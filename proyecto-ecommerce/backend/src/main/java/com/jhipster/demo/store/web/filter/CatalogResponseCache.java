@@ -0,0 +1,170 @@
+package com.jhipster.demo.store.web.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.service.event.EntityChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Serialized catalog responses keyed by normalized request, with a reverse index from surrogate key to the cached
+ * requests carrying it.
+ * <p>
+ * Purges happen after the commit of the write. A response computed while a purge was in flight is not stored, so a
+ * stale body read before the commit can never be cached after it.
+ * <p>
+ * The cache is local to each instance, and purged by the writes of that instance only: with several instances behind a
+ * load balancer, the others keep serving the responses a write made stale for up to
+ * {@code application.response-cache.time-to-live}.
+ */
+public class CatalogResponseCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CatalogResponseCache.class);
+
+    /**
+     * @param encodedBodies compressed variants of {@code body}, added on the first request accepting each encoding.
+     */
+    public record CachedResponse(
+        String contentType,
+        Map<String, List<String>> headers,
+        byte[] body,
+        Set<String> surrogateKeys,
+        Map<ResponseCompressor.Encoding, byte[]> encodedBodies
+    ) {
+        public CachedResponse(String contentType, Map<String, List<String>> headers, byte[] body, Set<String> surrogateKeys) {
+            this(contentType, headers, body, surrogateKeys, new ConcurrentHashMap<>());
+        }
+    }
+
+    private final Cache<String, CachedResponse> responses;
+
+    private final Map<String, Set<String>> requestsBySurrogateKey = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public CatalogResponseCache(long maxEntries, Duration timeToLive) {
+        this.responses = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .executor(Runnable::run)
+            .removalListener(this::unindex)
+            .build();
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responses, "catalogResponses");
+    }
+
+    public CachedResponse get(String requestKey) {
+        return responses.getIfPresent(requestKey);
+    }
+
+    /**
+     * To be read before the response is computed and handed back to {@link #put}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a response unless a purge happened since {@code generation} was read.
+     *
+     * @return whether the response was stored.
+     */
+    public boolean put(String requestKey, CachedResponse response, long generation) {
+        if (this.generation.get() != generation) {
+            return false;
+        }
+        // Indexed before the put, so a purge following the put always finds the entry
+        for (String surrogateKey : response.surrogateKeys()) {
+            requestsBySurrogateKey.computeIfAbsent(surrogateKey, key -> ConcurrentHashMap.newKeySet()).add(requestKey);
+        }
+        responses.put(requestKey, response);
+        // A purge racing with the put may have missed the entry: drop it rather than risk serving it
+        if (this.generation.get() != generation) {
+            responses.invalidate(requestKey);
+            unindex(requestKey, response.surrogateKeys());
+            return false;
+        }
+        return true;
+    }
+
+    public void purge(String... surrogateKeys) {
+        generation.incrementAndGet();
+        List<String> requestKeys = new ArrayList<>();
+        for (String surrogateKey : surrogateKeys) {
+            Set<String> tagged = requestsBySurrogateKey.remove(surrogateKey);
+            if (tagged != null) {
+                requestKeys.addAll(tagged);
+            }
+        }
+        LOG.debug("Purging {} cached responses for {}", requestKeys.size(), surrogateKeys);
+        responses.invalidateAll(requestKeys);
+    }
+
+    public void purgeAll() {
+        generation.incrementAndGet();
+        responses.invalidateAll();
+        requestsBySurrogateKey.clear();
+    }
+
+    /**
+     * Every write purges the entity's own key, which the detail responses showing it carry, and the paged listings:
+     * creations and deletions shift them, and an update can move the entity into a page which did not show it, e.g.
+     * one sorted by the updated field.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.isAbout(Product.class)) {
+            purge(SurrogateKeys.product(event.getId()), SurrogateKeys.CATALOG_LIST);
+        } else if (event.isAbout(ProductCategory.class)) {
+            purge(SurrogateKeys.category(event.getId()), SurrogateKeys.CATALOG_LIST);
+        }
+    }
+
+    public long size() {
+        return responses.estimatedSize();
+    }
+
+    /**
+     * Number of cached requests in the surrogate key index, counted once per surrogate key.
+     */
+    long indexSize() {
+        return requestsBySurrogateKey.values().stream().mapToLong(Set::size).sum();
+    }
+
+    private void unindex(String requestKey, CachedResponse response, RemovalCause cause) {
+        if (requestKey == null || response == null || cause == RemovalCause.REPLACED) {
+            return;
+        }
+        unindex(requestKey, response.surrogateKeys());
+    }
+
+    private void unindex(String requestKey, Collection<String> surrogateKeys) {
+        // Still cached by a concurrent put of the same request
+        if (responses.asMap().containsKey(requestKey)) {
+            return;
+        }
+        for (String surrogateKey : surrogateKeys) {
+            requestsBySurrogateKey.computeIfPresent(surrogateKey, (key, requestKeys) -> {
+                requestKeys.remove(requestKey);
+                return requestKeys.isEmpty() ? null : requestKeys;
+            });
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.jhipster.demo.store.web.filter;
+
+import com.jhipster.demo.store.web.rest.MultiGetUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Serves catalog GET requests from {@link CatalogResponseCache} without reaching the controllers, and stores the
+ * successful responses the controllers tagged through {@link SurrogateKeys}.
+ * <p>
+ * Registered after the Spring Security filter chain: authentication still applies to every request, and catalog
+ * responses do not depend on the caller. They do depend on the host the request was sent to, which the pagination
+ * {@code Link} headers embed, so the host is part of the cache key.
+ * <p>
+ * The responses it may store must be computed from up-to-date data: while a miss is computed,
+ * {@link #isFillingCache()} tells the read replica routing to read from the primary.
+ */
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    public static final String SURROGATE_KEY_HEADER = "Surrogate-Key";
+
+    private static final String FILLING_CACHE_ATTRIBUTE = CatalogResponseCacheFilter.class.getName() + ".FILLING_CACHE";
+
+    /**
+     * Response headers replayed on a hit, besides the content type.
+     */
+    private static final List<String> CACHED_HEADERS = List.of("X-Total-Count", HttpHeaders.LINK, MultiGetUtil.MISSING_IDS_HEADER);
+
+    private final CatalogResponseCache cache;
+
+    private final boolean debugHeaders;
+
+    private final ResponseCompressor compressor;
+
+    public CatalogResponseCacheFilter(CatalogResponseCache cache, boolean debugHeaders) {
+        this(cache, debugHeaders, null);
+    }
+
+    /**
+     * @param compressor when set, hits are written compressed and the encoded bytes are kept with the cached response.
+     */
+    public CatalogResponseCacheFilter(CatalogResponseCache cache, boolean debugHeaders, ResponseCompressor compressor) {
+        this.cache = cache;
+        this.debugHeaders = debugHeaders;
+        this.compressor = compressor;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        String requestKey = requestKey(request);
+        CatalogResponseCache.CachedResponse cached = cache.get(requestKey);
+        if (cached != null) {
+            writeCachedResponse(cached, request, response);
+            return;
+        }
+
+        long generation = cache.generation();
+        request.setAttribute(FILLING_CACHE_ATTRIBUTE, Boolean.TRUE);
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+
+        Set<String> surrogateKeys = SurrogateKeys.of(request);
+        if (responseWrapper.getStatus() == HttpServletResponse.SC_OK && !surrogateKeys.isEmpty()) {
+            cache.put(requestKey, toCachedResponse(responseWrapper, surrogateKeys), generation);
+            responseWrapper.setHeader(SURROGATE_KEY_HEADER, String.join(" ", surrogateKeys));
+            if (debugHeaders) {
+                responseWrapper.setHeader(CACHE_STATUS_HEADER, "MISS");
+            }
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Whether the current request computes a response to store in the cache, which must not be read from a replica
+     * lagging behind the purges.
+     */
+    public static boolean isFillingCache() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(FILLING_CACHE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    /**
+     * Scheme, host and port, as the absolute {@code Link} headers of the responses embed them, path, query parameters
+     * sorted by name with their values in request order, and the negotiated media type.
+     */
+    static String requestKey(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder()
+            .append(request.getScheme())
+            .append("://")
+            .append(request.getServerName())
+            .append(':')
+            .append(request.getServerPort())
+            .append(request.getRequestURI());
+        char separator = '?';
+        Map<String, String[]> parameters = request.getParameterMap();
+        String[] names = parameters.keySet().toArray(String[]::new);
+        Arrays.sort(names);
+        for (String name : names) {
+            for (String value : parameters.get(name)) {
+                key.append(separator).append(name).append('=').append(value);
+                separator = '&';
+            }
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null) {
+            key.append('|').append(accept);
+        }
+        return key.toString();
+    }
+
+    private static CatalogResponseCache.CachedResponse toCachedResponse(ContentCachingResponseWrapper response, Set<String> surrogateKeys) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : CACHED_HEADERS) {
+            Collection<String> values = response.getHeaders(name);
+            if (!values.isEmpty()) {
+                headers.put(name, List.copyOf(values));
+            }
+        }
+        return new CatalogResponseCache.CachedResponse(
+            response.getContentType(),
+            headers,
+            response.getContentAsByteArray(),
+            Set.copyOf(surrogateKeys)
+        );
+    }
+
+    private void writeCachedResponse(CatalogResponseCache.CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        cached.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(SURROGATE_KEY_HEADER, String.join(" ", cached.surrogateKeys()));
+        if (debugHeaders) {
+            response.setHeader(CACHE_STATUS_HEADER, "HIT");
+        }
+        byte[] body = encodedBody(cached, request, response);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private byte[] encodedBody(CatalogResponseCache.CachedResponse cached, HttpServletRequest request, HttpServletResponse response) {
+        if (compressor == null || !compressor.isCompressible(cached.contentType(), cached.body().length)) {
+            return cached.body();
+        }
+        ResponseCompressor.Encoding encoding = compressor.negotiate(request);
+        if (encoding == null) {
+            return cached.body();
+        }
+        byte[] encoded = cached.encodedBodies().get(encoding);
+        if (encoded == null) {
+            encoded = cached.encodedBodies().computeIfAbsent(encoding, key -> compressor.compress(cached.body(), key));
+        } else {
+            compressor.recordReuse(encoding, encoded.length);
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.token());
+        return encoded;
+    }
+}
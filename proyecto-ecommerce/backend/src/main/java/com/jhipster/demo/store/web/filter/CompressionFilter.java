@@ -0,0 +1,121 @@
+package com.jhipster.demo.store.web.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Compresses complete responses with the encoding negotiated by {@link ResponseCompressor}, when they are large
+ * enough and of a compressible type.
+ * <p>
+ * Responses which already carry a {@code Content-Encoding}, such as precompressed static assets or encoded catalog
+ * responses replayed by {@link CatalogResponseCacheFilter}, are written as is. Event streams are never buffered: the
+ * response is written through as soon as its content type is {@code text/event-stream}, and so is the rest of an
+ * asynchronous response once the request has started async processing.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final ResponseCompressor compressor;
+
+    public CompressionFilter(ResponseCompressor compressor) {
+        this.compressor = compressor;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return (
+            HttpMethod.HEAD.matches(request.getMethod()) ||
+            request.isAsyncStarted() ||
+            (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE))
+        );
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        ResponseCompressor.Encoding encoding = compressor.negotiate(request);
+        if (encoding == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        CompressibleResponseWrapper responseWrapper = new CompressibleResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+
+        if (request.isAsyncStarted()) {
+            // The rest of the response is written after this filter returned
+            responseWrapper.writeThrough();
+            return;
+        }
+        if (
+            responseWrapper.isWrittenThrough() ||
+            response.isCommitted() ||
+            responseWrapper.getStatus() != HttpServletResponse.SC_OK ||
+            responseWrapper.containsHeader(HttpHeaders.CONTENT_ENCODING) ||
+            !compressor.isCompressible(responseWrapper.getContentType(), responseWrapper.getContentSize())
+        ) {
+            responseWrapper.copyBodyToResponse();
+            return;
+        }
+        byte[] encoded = compressor.compress(responseWrapper.getContentAsByteArray(), encoding);
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.token());
+        response.setContentLength(encoded.length);
+        response.getOutputStream().write(encoded);
+    }
+
+    /**
+     * Buffers the response body to compress it once complete, unless it is written through to the response.
+     */
+    private static final class CompressibleResponseWrapper extends ContentCachingResponseWrapper {
+
+        private boolean writtenThrough;
+
+        CompressibleResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        /**
+         * Copies the body buffered so far to the response, and writes the rest of it directly.
+         */
+        void writeThrough() throws IOException {
+            copyBodyToResponse(false);
+            writtenThrough = true;
+        }
+
+        boolean isWrittenThrough() {
+            return writtenThrough || isEventStream();
+        }
+
+        private boolean isEventStream() {
+            String contentType = getContentType();
+            return contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return isWrittenThrough() ? getResponse().getOutputStream() : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return isWrittenThrough() ? getResponse().getWriter() : super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (isWrittenThrough()) {
+                getResponse().flushBuffer();
+            }
+        }
+    }
+}
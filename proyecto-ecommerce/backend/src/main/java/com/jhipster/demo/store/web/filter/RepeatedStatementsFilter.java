@@ -0,0 +1,43 @@
+package com.jhipster.demo.store.web.filter;
+
+import com.jhipster.demo.store.management.StatementRecording;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Records the statements of each request and warns about the statement shapes it executed at least
+ * {@code repeatThreshold} times, the usual sign of a lazy association loaded once per parent entity.
+ */
+public class RepeatedStatementsFilter extends OncePerRequestFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RepeatedStatementsFilter.class);
+
+    private final int repeatThreshold;
+
+    public RepeatedStatementsFilter(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        try (StatementRecording recording = StatementRecording.start()) {
+            filterChain.doFilter(request, response);
+            Map<String, Integer> repeatedShapes = recording.getRepeatedShapes(repeatThreshold);
+            String requestLine = request.getMethod() + " " + request.getRequestURI();
+            repeatedShapes.forEach((shape, count) ->
+                LOG.warn("Possible N+1 in {}, statement executed {} times: {}", requestLine, count, shape)
+            );
+            if (LOG.isDebugEnabled() && recording.total() > 0) {
+                LOG.debug("{}: {}", requestLine, recording);
+            }
+        }
+    }
+}
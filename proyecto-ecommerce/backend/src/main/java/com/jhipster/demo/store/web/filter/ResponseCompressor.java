@@ -0,0 +1,220 @@
+package com.jhipster.demo.store.web.filter;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+
+/**
+ * Negotiates and applies the content coding of compressible responses, and records what it costs and saves:
+ * <ul>
+ *     <li>{@code http.server.responses.compression}: CPU time spent compressing, per encoding;</li>
+ *     <li>{@code http.server.responses.compression.bytes}: bytes before ({@code stage=identity}) and after
+ *     ({@code stage=encoded}) compression, per encoding;</li>
+ *     <li>{@code http.server.responses.compression.reused.bytes}: encoded bytes served again from a cached response,
+ *     without compressing.</li>
+ * </ul>
+ * Brotli is offered only when its native encoder could be loaded on this platform.
+ */
+public class ResponseCompressor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResponseCompressor.class);
+
+    public enum Encoding {
+        BROTLI("br"),
+        GZIP("gzip");
+
+        private final String token;
+
+        Encoding(String token) {
+            this.token = token;
+        }
+
+        public String token() {
+            return token;
+        }
+    }
+
+    private final int minResponseSize;
+
+    private final List<MediaType> mimeTypes;
+
+    private final int brotliQuality;
+
+    private final int gzipLevel;
+
+    private final boolean brotliAvailable;
+
+    private final Map<Encoding, Meters> meters = new EnumMap<>(Encoding.class);
+
+    public ResponseCompressor(int minResponseSize, List<MediaType> mimeTypes, int brotliQuality, int gzipLevel, MeterRegistry registry) {
+        this.minResponseSize = minResponseSize;
+        this.mimeTypes = List.copyOf(mimeTypes);
+        this.brotliQuality = brotliQuality;
+        this.gzipLevel = gzipLevel;
+        this.brotliAvailable = loadBrotli();
+        for (Encoding encoding : Encoding.values()) {
+            meters.put(encoding, new Meters(encoding, registry));
+        }
+    }
+
+    private static boolean loadBrotli() {
+        try {
+            Brotli4jLoader.ensureAvailability();
+            return true;
+        } catch (Throwable e) {
+            LOG.warn("Brotli is not available on this platform, responses will only be compressed with gzip: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @return the preferred encoding accepted by the client, or {@code null} to send the response as is.
+     */
+    public Encoding negotiate(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return null;
+        }
+        boolean brotli = false;
+        boolean gzip = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String token = parts[0].trim();
+            if (parts.length > 1 && isRejected(parts[1].trim())) {
+                continue;
+            }
+            if ("*".equals(token)) {
+                brotli = gzip = true;
+            } else if (Encoding.BROTLI.token.equalsIgnoreCase(token)) {
+                brotli = true;
+            } else if (Encoding.GZIP.token.equalsIgnoreCase(token)) {
+                gzip = true;
+            }
+        }
+        if (brotli && brotliAvailable) {
+            return Encoding.BROTLI;
+        }
+        return gzip ? Encoding.GZIP : null;
+    }
+
+    private static boolean isRejected(String parameter) {
+        if (!parameter.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(parameter.substring(2)) <= 0;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Whether a response of this type and length is worth compressing.
+     */
+    public boolean isCompressible(String contentType, int length) {
+        if (length < minResponseSize || !StringUtils.hasText(contentType)) {
+            return false;
+        }
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return mimeTypes.stream().anyMatch(mimeType -> mimeType.includes(mediaType));
+    }
+
+    public byte[] compress(byte[] body, Encoding encoding) {
+        Meters encodingMeters = meters.get(encoding);
+        long start = System.nanoTime();
+        byte[] encoded = encoding == Encoding.BROTLI ? brotli(body) : gzip(body);
+        encodingMeters.cpu.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        encodingMeters.identityBytes.increment(body.length);
+        encodingMeters.encodedBytes.increment(encoded.length);
+        return encoded;
+    }
+
+    /**
+     * Records encoded bytes written from a cache instead of being compressed for this response.
+     */
+    public void recordReuse(Encoding encoding, int encodedLength) {
+        meters.get(encoding).reusedBytes.increment(encodedLength);
+    }
+
+    private byte[] brotli(byte[] body) {
+        try {
+            return Encoder.compress(body, new Encoder.Parameters().setQuality(brotliQuality));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] gzip(byte[] body) {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new LeveledGzipOutputStream(encoded, gzipLevel)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return encoded.toByteArray();
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        LeveledGzipOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level < 0 ? Deflater.DEFAULT_COMPRESSION : level);
+        }
+    }
+
+    private static final class Meters {
+
+        private final Timer cpu;
+
+        private final Counter identityBytes;
+
+        private final Counter encodedBytes;
+
+        private final Counter reusedBytes;
+
+        Meters(Encoding encoding, MeterRegistry registry) {
+            String token = encoding.token();
+            this.cpu = Timer.builder("http.server.responses.compression")
+                .description("Time spent compressing HTTP responses")
+                .tag("encoding", token)
+                .register(registry);
+            this.identityBytes = Counter.builder("http.server.responses.compression.bytes")
+                .baseUnit("bytes")
+                .tag("encoding", token)
+                .tag("stage", "identity")
+                .register(registry);
+            this.encodedBytes = Counter.builder("http.server.responses.compression.bytes")
+                .baseUnit("bytes")
+                .tag("encoding", token)
+                .tag("stage", "encoded")
+                .register(registry);
+            this.reusedBytes = Counter.builder("http.server.responses.compression.reused.bytes")
+                .description("Compressed bytes served from a cached response")
+                .baseUnit("bytes")
+                .tag("encoding", token)
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.jhipster.demo.store.web.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Surrogate keys attached by the catalog resources to the responses they produce, so that {@link CatalogResponseCache}
+ * can purge exactly the cached responses a write invalidates.
+ */
+public final class SurrogateKeys {
+
+    /**
+     * Tags every paged catalog listing, whose content may change with any write of a product or category.
+     */
+    public static final String CATALOG_LIST = "catalog:list";
+
+    private static final String REQUEST_ATTRIBUTE = SurrogateKeys.class.getName() + ".KEYS";
+
+    private SurrogateKeys() {}
+
+    public static String product(Long id) {
+        return "product:" + id;
+    }
+
+    public static String category(Long id) {
+        return "category:" + id;
+    }
+
+    /**
+     * Adds keys to the response of the current request; a no-op outside of a request.
+     */
+    public static void tag(String... keys) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> tags = (Set<String>) attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (tags == null) {
+            tags = new LinkedHashSet<>();
+            attributes.setAttribute(REQUEST_ATTRIBUTE, tags, RequestAttributes.SCOPE_REQUEST);
+        }
+        Collections.addAll(tags, keys);
+    }
+
+    /**
+     * @return the keys collected while handling the request, empty when the response must not be cached.
+     */
+    @SuppressWarnings("unchecked")
+    public static Set<String> of(HttpServletRequest request) {
+        Object tags = request.getAttribute(REQUEST_ATTRIBUTE);
+        return tags != null ? (Set<String>) tags : Collections.emptySet();
+    }
+}
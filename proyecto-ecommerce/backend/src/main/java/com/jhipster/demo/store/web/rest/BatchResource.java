@@ -0,0 +1,43 @@
+package com.jhipster.demo.store.web.rest;
+
+import com.jhipster.demo.store.service.BatchWriteService;
+import com.jhipster.demo.store.service.dto.BatchResultDTO;
+import com.jhipster.demo.store.web.rest.vm.BatchRequestVM;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller applying batches of writes to {@link com.jhipster.demo.store.domain.ProductCategory},
+ * {@link com.jhipster.demo.store.domain.Product}, {@link com.jhipster.demo.store.domain.ShoppingCart} and
+ * {@link com.jhipster.demo.store.domain.ProductOrder}.
+ */
+@RestController
+@RequestMapping("/api")
+public class BatchResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchResource.class);
+
+    private final BatchWriteService batchWriteService;
+
+    public BatchResource(BatchWriteService batchWriteService) {
+        this.batchWriteService = batchWriteService;
+    }
+
+    /**
+     * {@code POST  /_batch} : apply a batch of writes, each written as the equivalent REST call, e.g.
+     * {@code {"entity": "product", "method": "PATCH", "id": 12, "body": {"id": 12, "price": 9.5}}}.
+     *
+     * @param batch the operations, and whether they are applied all or nothing ({@code ATOMIC}, the default) or each on its own ({@code BEST_EFFORT}).
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each operation, in request order:
+     * its status, with the written entity or the error; in {@code ATOMIC} mode, when an operation fails, the others fail with status {@code 424 (Failed Dependency)}.
+     */
+    @PostMapping("/_batch")
+    public ResponseEntity<List<BatchResultDTO>> applyBatch(@Valid @RequestBody BatchRequestVM batch) {
+        LOG.debug("REST request to apply batch : {}", batch);
+        return ResponseEntity.ok(batchWriteService.execute(batch.getOperations(), batch.getMode()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.jhipster.demo.store.web.rest;
+
+import com.jhipster.demo.store.config.ApplicationProperties;
+import com.jhipster.demo.store.security.AuthoritiesConstants;
+import com.jhipster.demo.store.security.SecurityUtils;
+import com.jhipster.demo.store.web.feed.ChangeFeed;
+import java.util.EnumSet;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming the committed changes of the catalog and of the current user's carts and orders.
+ */
+@RestController
+@RequestMapping("/api")
+public class ChangeFeedResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeFeedResource.class);
+
+    private final ChangeFeed changeFeed;
+
+    private final long timeout;
+
+    public ChangeFeedResource(ChangeFeed changeFeed, ApplicationProperties applicationProperties) {
+        this.changeFeed = changeFeed;
+        this.timeout = applicationProperties.getChangeFeed().getTimeout().toMillis();
+    }
+
+    /**
+     * {@code GET  /changes} : subscribe to the changes as Server-Sent Events.
+     * <p>
+     * Each {@code change} event carries the entity name, id and change type, with the version of catalog entities and
+     * the status of carts; a {@code resync} event tells that changes were lost, and that the client should reload.
+     *
+     * @param topics the topics to receive, {@code CATALOG} and/or {@code ORDERS}; all by default.
+     * @param lastEventId the id of the last event received, sent by browsers when they reconnect.
+     * @return the event stream.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToChanges(
+        @RequestParam(name = "topics", required = false) Set<ChangeFeed.Topic> topics,
+        @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        String login = SecurityUtils.getCurrentUserLogin().orElseThrow();
+        LOG.debug("REST request to subscribe to changes : {} for {}", topics, login);
+        SseEmitter emitter = new SseEmitter(timeout);
+        changeFeed.subscribe(
+            login,
+            SecurityUtils.hasCurrentUserThisAuthority(AuthoritiesConstants.ADMIN),
+            topics == null || topics.isEmpty() ? EnumSet.allOf(ChangeFeed.Topic.class) : EnumSet.copyOf(topics),
+            lastEventId,
+            emitter
+        );
+        return emitter;
+    }
+}
@@ -1,7 +1,6 @@
 package com.jhipster.demo.store.web.rest;
 
 import com.jhipster.demo.store.domain.CustomerDetails;
-import com.jhipster.demo.store.repository.CustomerDetailsRepository;
 import com.jhipster.demo.store.service.CustomerDetailsService;
 import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
@@ -9,6 +8,7 @@ import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -40,11 +40,8 @@ public class CustomerDetailsResource {
 
     private final CustomerDetailsService customerDetailsService;
 
-    private final CustomerDetailsRepository customerDetailsRepository;
-
-    public CustomerDetailsResource(CustomerDetailsService customerDetailsService, CustomerDetailsRepository customerDetailsRepository) {
+    public CustomerDetailsResource(CustomerDetailsService customerDetailsService) {
         this.customerDetailsService = customerDetailsService;
-        this.customerDetailsRepository = customerDetailsRepository;
     }
 
     /**
@@ -90,11 +87,9 @@ public class CustomerDetailsResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!customerDetailsRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        customerDetails = customerDetailsService.update(customerDetails);
+        customerDetails = customerDetailsService
+            .update(customerDetails)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, customerDetails.getId().toString()))
             .body(customerDetails);
@@ -124,12 +119,11 @@ public class CustomerDetailsResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!customerDetailsRepository.existsById(id)) {
+        Optional<CustomerDetails> result = customerDetailsService.partialUpdate(customerDetails);
+        if (result.isEmpty()) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<CustomerDetails> result = customerDetailsService.partialUpdate(customerDetails);
-
         return ResponseUtil.wrapOrNotFound(
             result,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, customerDetails.getId().toString())
@@ -159,6 +153,38 @@ public class CustomerDetailsResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /customer-details?fields=...} : get a page of the customerDetails, restricted to the requested fields.
+     *
+     * @param fields the comma separated fields to return, e.g. {@code city,country,user.login}; the id is always returned.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of projected customerDetails in body.
+     */
+    @GetMapping(value = "", params = { "fields", "!ids" })
+    public ResponseEntity<List<Map<String, Object>>> getAllCustomerDetailsFields(
+        @RequestParam("fields") String fields,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a page of CustomerDetails with fields : {}", fields);
+        Page<Map<String, Object>> page = customerDetailsService.findAll(fields, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /customer-details?ids=...} : get the customerDetails with the given ids.
+     *
+     * @param ids the ids of the customerDetails to retrieve, at most {@value MultiGetUtil#MAX_IDS}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the found customerDetails in body, in the order of {@code ids};
+     * the ids which were not found are listed in the {@value MultiGetUtil#MISSING_IDS_HEADER} header.
+     */
+    @GetMapping(value = "", params = "ids")
+    public ResponseEntity<List<CustomerDetails>> getCustomerDetailsById(@RequestParam("ids") List<Long> ids) {
+        LOG.debug("REST request to get CustomerDetails : {}", ids);
+        List<Long> distinctIds = MultiGetUtil.distinctIds(ids, ENTITY_NAME);
+        return MultiGetUtil.wrap(distinctIds, customerDetailsService.findAllById(distinctIds));
+    }
+
     /**
      * {@code GET  /customer-details/:id} : get the "id" customerDetails.
      *
@@ -172,6 +198,23 @@ public class CustomerDetailsResource {
         return ResponseUtil.wrapOrNotFound(customerDetails);
     }
 
+    /**
+     * {@code GET  /customer-details/:id?fields=...} : get the "id" customerDetails, restricted to the requested fields.
+     *
+     * @param id the id of the customerDetails to retrieve.
+     * @param fields the comma separated fields to return, e.g. {@code city,country,user.login}; the id is always returned.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the projected customerDetails, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getCustomerDetailsFields(
+        @PathVariable("id") Long id,
+        @RequestParam("fields") String fields
+    ) {
+        LOG.debug("REST request to get CustomerDetails : {} with fields : {}", id, fields);
+        Optional<Map<String, Object>> customerDetails = customerDetailsService.findOne(id, fields);
+        return ResponseUtil.wrapOrNotFound(customerDetails);
+    }
+
     /**
      * {@code DELETE  /customer-details/:id} : delete the "id" customerDetails.
      *
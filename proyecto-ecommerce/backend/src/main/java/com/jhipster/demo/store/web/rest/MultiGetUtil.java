@@ -0,0 +1,63 @@
+package com.jhipster.demo.store.web.rest;
+
+import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Utility class for the multi-get endpoints, {@code GET /api/<entities>?ids=1,2,3}.
+ * <p>
+ * The body lists the entities found, in the order of the requested ids; the ids which do not exist are listed in the
+ * {@value #MISSING_IDS_HEADER} header.
+ */
+public final class MultiGetUtil {
+
+    public static final String MISSING_IDS_HEADER = "X-Missing-Ids";
+
+    /**
+     * Bounds the size of the {@code IN} query and of the response.
+     */
+    public static final int MAX_IDS = 100;
+
+    private MultiGetUtil() {}
+
+    /**
+     * @return the requested ids without duplicates, in request order.
+     * @throws BadRequestAlertException if more than {@link #MAX_IDS} distinct ids are requested.
+     */
+    public static List<Long> distinctIds(List<Long> ids, String entityName) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.removeIf(Objects::isNull);
+        if (distinctIds.size() > MAX_IDS) {
+            throw new BadRequestAlertException("At most " + MAX_IDS + " ids can be requested at once", entityName, "toomanyids");
+        }
+        return distinctIds;
+    }
+
+    /**
+     * @param ids the distinct requested ids.
+     * @param entities the entities loaded for {@code ids}, in the same order, {@code null} when not found.
+     */
+    public static <T> ResponseEntity<List<T>> wrap(List<Long> ids, List<T> entities) {
+        List<T> found = new ArrayList<>(entities.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            T entity = entities.get(i);
+            if (entity != null) {
+                found.add(entity);
+            } else {
+                missingIds.add(ids.get(i));
+            }
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (!missingIds.isEmpty()) {
+            headers.add(MISSING_IDS_HEADER, missingIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
+        return ResponseEntity.ok().headers(headers).body(found);
+    }
+}
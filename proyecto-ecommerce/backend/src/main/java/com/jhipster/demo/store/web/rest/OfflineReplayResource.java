@@ -0,0 +1,43 @@
+package com.jhipster.demo.store.web.rest;
+
+import com.jhipster.demo.store.service.OfflineReplayService;
+import com.jhipster.demo.store.service.dto.OfflineActionResultDTO;
+import com.jhipster.demo.store.web.rest.vm.OfflineReplayVM;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller replaying the writes queued by offline clients.
+ */
+@RestController
+@RequestMapping("/api")
+public class OfflineReplayResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OfflineReplayResource.class);
+
+    private final OfflineReplayService offlineReplayService;
+
+    public OfflineReplayResource(OfflineReplayService offlineReplayService) {
+        this.offlineReplayService = offlineReplayService;
+    }
+
+    /**
+     * {@code POST  /_replay} : replay the queued actions of an offline client, each written as the REST call it would
+     * have made, e.g. {@code {"id": "1718000000000-0.42", "type": "PUT", "url": "/api/products/12", "data": {...},
+     * "timestamp": 1718000000000}}.
+     *
+     * @param replay the queued actions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each distinct action, in replay order:
+     * its status, with the written entity or the error; an update of an entity modified since the version it carries fails with status
+     * {@code 409 (Conflict)} and the current entity.
+     */
+    @PostMapping("/_replay")
+    public ResponseEntity<List<OfflineActionResultDTO>> replayOfflineActions(@Valid @RequestBody OfflineReplayVM replay) {
+        LOG.debug("REST request to replay offline actions : {}", replay);
+        return ResponseEntity.ok(offlineReplayService.replay(replay.getActions()));
+    }
+}
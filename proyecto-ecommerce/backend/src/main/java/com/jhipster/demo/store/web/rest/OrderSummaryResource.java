@@ -0,0 +1,91 @@
+package com.jhipster.demo.store.web.rest;
+
+import com.jhipster.demo.store.domain.OrderSummary;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.security.AuthoritiesConstants;
+import com.jhipster.demo.store.security.SecurityUtils;
+import com.jhipster.demo.store.service.OrderSummaryService;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * REST controller for the {@link OrderSummary} read model of the order screens.
+ * <p>
+ * The pages are sorted by their indexed {@code lastModifiedDate}, latest first by default; customers only see their own
+ * carts.
+ */
+@RestController
+@RequestMapping("/api/order-summaries")
+public class OrderSummaryResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrderSummaryResource.class);
+
+    private static final List<String> ALLOWED_ORDERED_PROPERTIES = List.of("lastModifiedDate", "cartId");
+
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Order.desc("lastModifiedDate"), Sort.Order.desc("cartId"));
+
+    private final OrderSummaryService orderSummaryService;
+
+    public OrderSummaryResource(OrderSummaryService orderSummaryService) {
+        this.orderSummaryService = orderSummaryService;
+    }
+
+    /**
+     * {@code GET  /order-summaries} : get a page of the order summaries.
+     *
+     * @param status the status of the carts to return, all the statuses if omitted.
+     * @param customerLogin the login of the customer whose carts to return, for the administrators; the other users
+     * always get their own carts.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of summaries in body, or with status
+     * {@code 400 (Bad Request)} if sorted by a property which is not indexed.
+     */
+    @GetMapping("")
+    public ResponseEntity<List<OrderSummary>> getAllOrderSummaries(
+        @RequestParam(name = "status", required = false) OrderStatus status,
+        @RequestParam(name = "customerLogin", required = false) String customerLogin,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a page of OrderSummaries");
+        if (!onlyContainsAllowedProperties(pageable)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!SecurityUtils.hasCurrentUserThisAuthority(AuthoritiesConstants.ADMIN)) {
+            customerLogin = SecurityUtils.getCurrentUserLogin().orElseThrow();
+        }
+        if (pageable.getSort().isUnsorted()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), DEFAULT_SORT);
+        }
+        Page<OrderSummary> page = orderSummaryService.findAll(customerLogin, status, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    private boolean onlyContainsAllowedProperties(Pageable pageable) {
+        return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
+    }
+
+    /**
+     * {@code POST  /order-summaries/rebuild} : regenerate every order summary from the carts and orders.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the number of summaries in body.
+     */
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Map<String, Long>> rebuildOrderSummaries() {
+        LOG.debug("REST request to rebuild the OrderSummaries");
+        return ResponseEntity.ok(Map.of("summaries", orderSummaryService.rebuild()));
+    }
+}
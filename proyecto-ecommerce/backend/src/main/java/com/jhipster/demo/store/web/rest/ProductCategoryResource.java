@@ -1,8 +1,8 @@
 package com.jhipster.demo.store.web.rest;
 
 import com.jhipster.demo.store.domain.ProductCategory;
-import com.jhipster.demo.store.repository.ProductCategoryRepository;
 import com.jhipster.demo.store.service.ProductCategoryService;
+import com.jhipster.demo.store.web.filter.SurrogateKeys;
 import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -40,11 +40,8 @@ public class ProductCategoryResource {
 
     private final ProductCategoryService productCategoryService;
 
-    private final ProductCategoryRepository productCategoryRepository;
-
-    public ProductCategoryResource(ProductCategoryService productCategoryService, ProductCategoryRepository productCategoryRepository) {
+    public ProductCategoryResource(ProductCategoryService productCategoryService) {
         this.productCategoryService = productCategoryService;
-        this.productCategoryRepository = productCategoryRepository;
     }
 
     /**
@@ -90,11 +87,9 @@ public class ProductCategoryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!productCategoryRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        productCategory = productCategoryService.update(productCategory);
+        productCategory = productCategoryService
+            .update(productCategory)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, productCategory.getId().toString()))
             .body(productCategory);
@@ -124,12 +119,11 @@ public class ProductCategoryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!productCategoryRepository.existsById(id)) {
+        Optional<ProductCategory> result = productCategoryService.partialUpdate(productCategory);
+        if (result.isEmpty()) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<ProductCategory> result = productCategoryService.partialUpdate(productCategory);
-
         return ResponseUtil.wrapOrNotFound(
             result,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, productCategory.getId().toString())
@@ -148,10 +142,28 @@ public class ProductCategoryResource {
     ) {
         LOG.debug("REST request to get a page of ProductCategories");
         Page<ProductCategory> page = productCategoryService.findAll(pageable);
+        SurrogateKeys.tag(SurrogateKeys.CATALOG_LIST);
+        page.forEach(productCategory -> SurrogateKeys.tag(SurrogateKeys.category(productCategory.getId())));
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /product-categories?ids=...} : get the productCategories with the given ids.
+     *
+     * @param ids the ids of the productCategories to retrieve, at most {@value MultiGetUtil#MAX_IDS}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the found productCategories in body, in the order of {@code ids};
+     * the ids which were not found are listed in the {@value MultiGetUtil#MISSING_IDS_HEADER} header.
+     */
+    @GetMapping(value = "", params = "ids")
+    public ResponseEntity<List<ProductCategory>> getProductCategoriesById(@RequestParam("ids") List<Long> ids) {
+        LOG.debug("REST request to get ProductCategories : {}", ids);
+        List<Long> distinctIds = MultiGetUtil.distinctIds(ids, ENTITY_NAME);
+        // Found or missing, the response depends on each requested category
+        distinctIds.forEach(id -> SurrogateKeys.tag(SurrogateKeys.category(id)));
+        return MultiGetUtil.wrap(distinctIds, productCategoryService.findAllById(distinctIds));
+    }
+
     /**
      * {@code GET  /product-categories/:id} : get the "id" productCategory.
      *
@@ -162,6 +174,7 @@ public class ProductCategoryResource {
     public ResponseEntity<ProductCategory> getProductCategory(@PathVariable("id") Long id) {
         LOG.debug("REST request to get ProductCategory : {}", id);
         Optional<ProductCategory> productCategory = productCategoryService.findOne(id);
+        productCategory.ifPresent(found -> SurrogateKeys.tag(SurrogateKeys.category(found.getId())));
         return ResponseUtil.wrapOrNotFound(productCategory);
     }
 
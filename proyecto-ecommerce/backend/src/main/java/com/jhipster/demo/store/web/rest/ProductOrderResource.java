@@ -1,7 +1,6 @@
 package com.jhipster.demo.store.web.rest;
 
 import com.jhipster.demo.store.domain.ProductOrder;
-import com.jhipster.demo.store.repository.ProductOrderRepository;
 import com.jhipster.demo.store.service.ProductOrderService;
 import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
@@ -9,6 +8,7 @@ import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -35,11 +35,8 @@ public class ProductOrderResource {
 
     private final ProductOrderService productOrderService;
 
-    private final ProductOrderRepository productOrderRepository;
-
-    public ProductOrderResource(ProductOrderService productOrderService, ProductOrderRepository productOrderRepository) {
+    public ProductOrderResource(ProductOrderService productOrderService) {
         this.productOrderService = productOrderService;
-        this.productOrderRepository = productOrderRepository;
     }
 
     /**
@@ -84,11 +81,9 @@ public class ProductOrderResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!productOrderRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        productOrder = productOrderService.update(productOrder);
+        productOrder = productOrderService
+            .update(productOrder)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, productOrder.getId().toString()))
             .body(productOrder);
@@ -118,12 +113,11 @@ public class ProductOrderResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!productOrderRepository.existsById(id)) {
+        Optional<ProductOrder> result = productOrderService.partialUpdate(productOrder);
+        if (result.isEmpty()) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<ProductOrder> result = productOrderService.partialUpdate(productOrder);
-
         return ResponseUtil.wrapOrNotFound(
             result,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, productOrder.getId().toString())
@@ -144,6 +138,18 @@ public class ProductOrderResource {
         return productOrderService.findAll();
     }
 
+    /**
+     * {@code GET  /product-orders?fields=...} : get all the productOrders, restricted to the requested fields.
+     *
+     * @param fields the comma separated fields to return, e.g. {@code quantity,totalPrice,product.name}; the id is always returned.
+     * @return the list of projected productOrders in body.
+     */
+    @GetMapping(value = "", params = "fields")
+    public List<Map<String, Object>> getAllProductOrderFields(@RequestParam("fields") String fields) {
+        LOG.debug("REST request to get all ProductOrders with fields : {}", fields);
+        return productOrderService.findAll(fields);
+    }
+
     /**
      * {@code GET  /product-orders/:id} : get the "id" productOrder.
      *
@@ -157,6 +163,20 @@ public class ProductOrderResource {
         return ResponseUtil.wrapOrNotFound(productOrder);
     }
 
+    /**
+     * {@code GET  /product-orders/:id?fields=...} : get the "id" productOrder, restricted to the requested fields.
+     *
+     * @param id the id of the productOrder to retrieve.
+     * @param fields the comma separated fields to return, e.g. {@code quantity,totalPrice,product.name}; the id is always returned.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the projected productOrder, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getProductOrderFields(@PathVariable("id") Long id, @RequestParam("fields") String fields) {
+        LOG.debug("REST request to get ProductOrder : {} with fields : {}", id, fields);
+        Optional<Map<String, Object>> productOrder = productOrderService.findOne(id, fields);
+        return ResponseUtil.wrapOrNotFound(productOrder);
+    }
+
     /**
      * {@code DELETE  /product-orders/:id} : delete the "id" productOrder.
      *
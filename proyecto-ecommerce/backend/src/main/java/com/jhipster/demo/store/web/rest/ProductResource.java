@@ -1,14 +1,15 @@
 package com.jhipster.demo.store.web.rest;
 
 import com.jhipster.demo.store.domain.Product;
-import com.jhipster.demo.store.repository.ProductRepository;
 import com.jhipster.demo.store.service.ProductService;
+import com.jhipster.demo.store.web.filter.SurrogateKeys;
 import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -40,11 +41,8 @@ public class ProductResource {
 
     private final ProductService productService;
 
-    private final ProductRepository productRepository;
-
-    public ProductResource(ProductService productService, ProductRepository productRepository) {
+    public ProductResource(ProductService productService) {
         this.productService = productService;
-        this.productRepository = productRepository;
     }
 
     /**
@@ -89,11 +87,9 @@ public class ProductResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!productRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        product = productService.update(product);
+        product = productService
+            .update(product)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, product.getId().toString()))
             .body(product);
@@ -123,12 +119,11 @@ public class ProductResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!productRepository.existsById(id)) {
+        Optional<Product> result = productService.partialUpdate(product);
+        if (result.isEmpty()) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<Product> result = productService.partialUpdate(product);
-
         return ResponseUtil.wrapOrNotFound(
             result,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, product.getId().toString())
@@ -154,10 +149,50 @@ public class ProductResource {
         } else {
             page = productService.findAll(pageable);
         }
+        SurrogateKeys.tag(SurrogateKeys.CATALOG_LIST);
+        page.forEach(this::tagProduct);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /products?fields=...} : get a page of the products, restricted to the requested fields.
+     *
+     * @param fields the comma separated fields to return, e.g. {@code name,price,productCategory.name}; the id is always returned.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of projected products in body.
+     */
+    @GetMapping(value = "", params = { "fields", "!ids" })
+    public ResponseEntity<List<Map<String, Object>>> getAllProductFields(
+        @RequestParam("fields") String fields,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a page of Products with fields : {}", fields);
+        Page<Map<String, Object>> page = productService.findAll(fields, pageable);
+        SurrogateKeys.tag(SurrogateKeys.CATALOG_LIST);
+        page.forEach(this::tagProductFields);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /products?ids=...} : get the products with the given ids.
+     *
+     * @param ids the ids of the products to retrieve, at most {@value MultiGetUtil#MAX_IDS}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the found products in body, in the order of {@code ids};
+     * the ids which were not found are listed in the {@value MultiGetUtil#MISSING_IDS_HEADER} header.
+     */
+    @GetMapping(value = "", params = "ids")
+    public ResponseEntity<List<Product>> getProductsById(@RequestParam("ids") List<Long> ids) {
+        LOG.debug("REST request to get Products : {}", ids);
+        List<Long> distinctIds = MultiGetUtil.distinctIds(ids, ENTITY_NAME);
+        List<Product> products = productService.findAllById(distinctIds);
+        products.stream().filter(Objects::nonNull).forEach(this::tagProduct);
+        // A missing product, once created, must not stay reported as missing
+        distinctIds.forEach(id -> SurrogateKeys.tag(SurrogateKeys.product(id)));
+        return MultiGetUtil.wrap(distinctIds, products);
+    }
+
     /**
      * {@code GET  /products/:id} : get the "id" product.
      *
@@ -168,9 +203,45 @@ public class ProductResource {
     public ResponseEntity<Product> getProduct(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Product : {}", id);
         Optional<Product> product = productService.findOne(id);
+        product.ifPresent(this::tagProduct);
         return ResponseUtil.wrapOrNotFound(product);
     }
 
+    /**
+     * A product response embeds its category, so it depends on both.
+     */
+    private void tagProduct(Product product) {
+        SurrogateKeys.tag(SurrogateKeys.product(product.getId()));
+        if (product.getProductCategory() != null) {
+            SurrogateKeys.tag(SurrogateKeys.category(product.getProductCategory().getId()));
+        }
+    }
+
+    /**
+     * {@code GET  /products/:id?fields=...} : get the "id" product, restricted to the requested fields.
+     *
+     * @param id the id of the product to retrieve.
+     * @param fields the comma separated fields to return, e.g. {@code name,price,productCategory.name}; the id is always returned.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the projected product, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getProductFields(@PathVariable("id") Long id, @RequestParam("fields") String fields) {
+        LOG.debug("REST request to get Product : {} with fields : {}", id, fields);
+        Optional<Map<String, Object>> product = productService.findOne(id, fields);
+        product.ifPresent(this::tagProductFields);
+        return ResponseUtil.wrapOrNotFound(product);
+    }
+
+    /**
+     * A projected product depends on its category only when category fields were selected.
+     */
+    private void tagProductFields(Map<String, Object> product) {
+        SurrogateKeys.tag(SurrogateKeys.product((Long) product.get("id")));
+        if (product.get("productCategory") instanceof Map<?, ?> category) {
+            SurrogateKeys.tag(SurrogateKeys.category((Long) category.get("id")));
+        }
+    }
+
     /**
      * {@code DELETE  /products/:id} : delete the "id" product.
      *
@@ -1,7 +1,6 @@
 package com.jhipster.demo.store.web.rest;
 
 import com.jhipster.demo.store.domain.ShoppingCart;
-import com.jhipster.demo.store.repository.ShoppingCartRepository;
 import com.jhipster.demo.store.service.ShoppingCartService;
 import com.jhipster.demo.store.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
@@ -9,6 +8,7 @@ import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -35,11 +35,8 @@ public class ShoppingCartResource {
 
     private final ShoppingCartService shoppingCartService;
 
-    private final ShoppingCartRepository shoppingCartRepository;
-
-    public ShoppingCartResource(ShoppingCartService shoppingCartService, ShoppingCartRepository shoppingCartRepository) {
+    public ShoppingCartResource(ShoppingCartService shoppingCartService) {
         this.shoppingCartService = shoppingCartService;
-        this.shoppingCartRepository = shoppingCartRepository;
     }
 
     /**
@@ -84,11 +81,9 @@ public class ShoppingCartResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!shoppingCartRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        shoppingCart = shoppingCartService.update(shoppingCart);
+        shoppingCart = shoppingCartService
+            .update(shoppingCart)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoppingCart.getId().toString()))
             .body(shoppingCart);
@@ -118,12 +113,11 @@ public class ShoppingCartResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!shoppingCartRepository.existsById(id)) {
+        Optional<ShoppingCart> result = shoppingCartService.partialUpdate(shoppingCart);
+        if (result.isEmpty()) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<ShoppingCart> result = shoppingCartService.partialUpdate(shoppingCart);
-
         return ResponseUtil.wrapOrNotFound(
             result,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoppingCart.getId().toString())
@@ -141,6 +135,18 @@ public class ShoppingCartResource {
         return shoppingCartService.findAll();
     }
 
+    /**
+     * {@code GET  /shopping-carts?fields=...} : get all the shoppingCarts, restricted to the requested fields.
+     *
+     * @param fields the comma separated fields to return, e.g. {@code placedDate,status,totalPrice}; the id is always returned.
+     * @return the list of projected shoppingCarts in body.
+     */
+    @GetMapping(value = "", params = "fields")
+    public List<Map<String, Object>> getAllShoppingCartFields(@RequestParam("fields") String fields) {
+        LOG.debug("REST request to get all ShoppingCarts with fields : {}", fields);
+        return shoppingCartService.findAll(fields);
+    }
+
     /**
      * {@code GET  /shopping-carts/:id} : get the "id" shoppingCart.
      *
@@ -154,6 +160,20 @@ public class ShoppingCartResource {
         return ResponseUtil.wrapOrNotFound(shoppingCart);
     }
 
+    /**
+     * {@code GET  /shopping-carts/:id?fields=...} : get the "id" shoppingCart, restricted to the requested fields.
+     *
+     * @param id the id of the shoppingCart to retrieve.
+     * @param fields the comma separated fields to return, e.g. {@code placedDate,status,totalPrice}; the id is always returned.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the projected shoppingCart, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getShoppingCartFields(@PathVariable("id") Long id, @RequestParam("fields") String fields) {
+        LOG.debug("REST request to get ShoppingCart : {} with fields : {}", id, fields);
+        Optional<Map<String, Object>> shoppingCart = shoppingCartService.findOne(id, fields);
+        return ResponseUtil.wrapOrNotFound(shoppingCart);
+    }
+
     /**
      * {@code DELETE  /shopping-carts/:id} : delete the "id" shoppingCart.
      *
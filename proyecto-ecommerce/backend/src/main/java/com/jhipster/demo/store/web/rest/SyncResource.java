@@ -0,0 +1,40 @@
+package com.jhipster.demo.store.web.rest;
+
+import com.jhipster.demo.store.security.SecurityUtils;
+import com.jhipster.demo.store.service.SyncService;
+import com.jhipster.demo.store.service.dto.SyncDTO;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the delta sync of the offline clients.
+ */
+@RestController
+@RequestMapping("/api")
+public class SyncResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SyncResource.class);
+
+    private final SyncService syncService;
+
+    public SyncResource(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    /**
+     * {@code GET  /sync} : get the catalog and the current user's carts and orders changed since a watermark.
+     *
+     * @param since the {@code watermark} of the previous sync, as an ISO-8601 instant; omitted for a full snapshot.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the upserts and deletes per entity in body.
+     */
+    @GetMapping("/sync")
+    public ResponseEntity<SyncDTO> sync(@RequestParam(name = "since", required = false) Instant since) {
+        String login = SecurityUtils.getCurrentUserLogin().orElseThrow();
+        LOG.debug("REST request to sync changes since {} for {}", since, login);
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(syncService.sync(login, since));
+    }
+}
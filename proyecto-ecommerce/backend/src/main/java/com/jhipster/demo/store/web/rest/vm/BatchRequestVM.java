@@ -0,0 +1,47 @@
+package com.jhipster.demo.store.web.rest.vm;
+
+import com.jhipster.demo.store.service.BatchWriteService;
+import com.jhipster.demo.store.service.dto.BatchOperationDTO;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * View Model object for a batch of writes.
+ */
+public class BatchRequestVM {
+
+    @NotNull
+    private BatchWriteService.Mode mode = BatchWriteService.Mode.ATOMIC;
+
+    @NotEmpty
+    @Size(max = BatchWriteService.MAX_OPERATIONS)
+    private List<@Valid @NotNull BatchOperationDTO> operations;
+
+    public BatchWriteService.Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(BatchWriteService.Mode mode) {
+        this.mode = mode;
+    }
+
+    public List<BatchOperationDTO> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<BatchOperationDTO> operations) {
+        this.operations = operations;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BatchRequestVM{" +
+            "mode=" + mode +
+            ", operations=" + (operations != null ? operations.size() : 0) +
+            "}";
+    }
+}
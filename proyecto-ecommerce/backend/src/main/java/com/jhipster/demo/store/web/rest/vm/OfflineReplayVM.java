@@ -0,0 +1,35 @@
+package com.jhipster.demo.store.web.rest.vm;
+
+import com.jhipster.demo.store.service.OfflineReplayService;
+import com.jhipster.demo.store.service.dto.OfflineActionDTO;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * View Model object for the queue of actions of an offline client.
+ */
+public class OfflineReplayVM {
+
+    @NotEmpty
+    @Size(max = OfflineReplayService.MAX_ACTIONS)
+    private List<@Valid @NotNull OfflineActionDTO> actions;
+
+    public List<OfflineActionDTO> getActions() {
+        return actions;
+    }
+
+    public void setActions(List<OfflineActionDTO> actions) {
+        this.actions = actions;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OfflineReplayVM{" +
+            "actions=" + (actions != null ? actions.size() : 0) +
+            "}";
+    }
+}
@@ -10,6 +10,7 @@ export interface IProduct {
   imageContentType?: string | null;
   image?: string | null;
   productCategory?: IProductCategory;
+  version?: number;
 }
 
 export const defaultValue: Readonly<IProduct> = {};
@@ -0,0 +1,112 @@
+package com.jhipster.demo.store.aop.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+
+/**
+ * Unit tests for the {@link MethodMetricsInterceptor} and its {@link MethodMetricsPointcut}.
+ */
+class MethodMetricsInterceptorTest {
+
+    private static final String TARGET = Target.class.getName();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldTimeTheCallsByClassAndMethod() {
+        Target target = proxy(new MethodSampling(Map.of(), List.of()));
+
+        target.find();
+        target.find();
+
+        Timer timer = meterRegistry
+            .get(MethodMetricsInterceptor.METER_NAME)
+            .tags("class", TARGET, "method", "find", "exception", "none")
+            .timer();
+        assertThat(timer.count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldTimeTheFailedCallsByException() {
+        Target target = proxy(new MethodSampling(Map.of(), List.of()));
+
+        assertThatThrownBy(target::fail).isInstanceOf(IllegalStateException.class);
+
+        Timer timer = meterRegistry
+            .get(MethodMetricsInterceptor.METER_NAME)
+            .tags("class", TARGET, "method", "fail", "exception", "IllegalStateException")
+            .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotInterceptTheExcludedMethods() {
+        Target target = proxy(new MethodSampling(Map.of(), List.of(TARGET + ".find")));
+
+        target.find();
+
+        assertThat(meterRegistry.find(MethodMetricsInterceptor.METER_NAME).tag("method", "find").timers()).isEmpty();
+    }
+
+    @Test
+    void shouldSampleTheCallsAtTheRateOfTheLongestPrefix() {
+        Target target = proxy(new MethodSampling(Map.of(TARGET, 0.5, TARGET + ".fin", 0.0, TARGET + ".find", 0.25), List.of()));
+
+        for (int i = 0; i < 4000; i++) {
+            target.find();
+        }
+
+        Timer timer = meterRegistry.get(MethodMetricsInterceptor.METER_NAME).tag("method", "find").timer();
+        assertThat(timer.count()).isBetween(700L, 1300L);
+    }
+
+    @Test
+    void shouldResolveTheSampleRatesOfTheMethods() {
+        MethodSampling sampling = new MethodSampling(
+            Map.of("com.jhipster.demo.store.repository.", 0.1, "com.jhipster.demo.store.repository.UserRepository", 2.0),
+            List.of("com.jhipster.demo.store.service.mapper.")
+        );
+
+        assertThat(sampling.sampleRate("com.jhipster.demo.store.repository.ProductRepository.findAll")).isEqualTo(0.1);
+        assertThat(sampling.sampleRate("com.jhipster.demo.store.repository.UserRepository.findOneByLogin")).isEqualTo(1);
+        assertThat(sampling.sampleRate("com.jhipster.demo.store.service.mapper.UserMapper.userToUserDTO")).isZero();
+        assertThat(sampling.sampleRate("com.jhipster.demo.store.service.UserService.getUserWithAuthorities")).isEqualTo(1);
+    }
+
+    private Target proxy(MethodSampling sampling) {
+        ProxyFactory proxyFactory = new ProxyFactory(new Target());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(
+            new DefaultPointcutAdvisor(
+                new MethodMetricsPointcut("within(com.jhipster.demo.store.aop.metrics..*)", sampling),
+                new MethodMetricsInterceptor(meterRegistry, sampling)
+            )
+        );
+        return (Target) proxyFactory.getProxy();
+    }
+
+    static class Target {
+
+        public String find() {
+            return "found";
+        }
+
+        public void fail() {
+            throw new IllegalStateException("failed");
+        }
+    }
+}
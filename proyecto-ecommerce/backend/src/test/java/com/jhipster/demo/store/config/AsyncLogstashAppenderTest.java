@@ -0,0 +1,185 @@
+package com.jhipster.demo.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link AsyncLogstashAppender}, against a local TCP server standing in for Logstash.
+ */
+class AsyncLogstashAppenderTest {
+
+    private static final int TIMEOUT_MILLIS = 5000;
+
+    private final ObjectMapper om = new ObjectMapper();
+
+    private LoggerContext context;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ServerSocket logstash;
+
+    private AsyncLogstashAppender appender;
+
+    @BeforeEach
+    void setup() throws IOException {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        meterRegistry = new SimpleMeterRegistry();
+        logstash = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        logstash.setSoTimeout(TIMEOUT_MILLIS);
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        if (appender != null) {
+            appender.stop();
+        }
+        logstash.close();
+    }
+
+    @Test
+    void shouldShipTheEventsAsJsonLines() throws IOException {
+        appender = startAppender(512, logstash.getLocalPort());
+
+        appender.doAppend(event(Level.INFO, "first"));
+        appender.doAppend(event(Level.WARN, "second"));
+
+        try (Socket connection = logstash.accept(); BufferedReader lines = reader(connection)) {
+            JsonNode first = om.readTree(lines.readLine());
+            assertThat(first.get("message").asText()).isEqualTo("first");
+            assertThat(first.get("level").asText()).isEqualTo("INFO");
+            assertThat(first.get("app_name").asText()).isEqualTo("store");
+            assertThat(om.readTree(lines.readLine()).get("message").asText()).isEqualTo("second");
+        }
+    }
+
+    @Test
+    void shouldReconnectAfterLosingTheConnection() throws Exception {
+        appender = startAppender(512, logstash.getLocalPort());
+        logstash.accept().close();
+
+        AtomicBoolean logging = new AtomicBoolean(true);
+        CompletableFuture<Void> logger = CompletableFuture.runAsync(() -> {
+            for (int i = 0; logging.get(); i++) {
+                appender.doAppend(event(Level.INFO, "event-" + i));
+                sleep(Duration.ofMillis(10));
+            }
+        });
+        try (Socket connection = logstash.accept(); BufferedReader lines = reader(connection)) {
+            assertThat(om.readTree(lines.readLine()).get("message").asText()).startsWith("event-");
+        } finally {
+            logging.set(false);
+            logger.join();
+        }
+        assertThat(meterRegistry.get("logstash.appender.connections").functionCounter().count()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void shouldDropTheDiscardableEventsFirstWhileLogstashIsUnreachable() throws IOException {
+        int closedPort = logstash.getLocalPort();
+        logstash.close();
+        // A ring buffer of 8 events, half of it kept for INFO and above
+        appender = startAppender(8, closedPort);
+
+        IntStream.range(0, 6).forEach(i -> appender.doAppend(event(Level.DEBUG, "debug-" + i)));
+        IntStream.range(0, 6).forEach(i -> appender.doAppend(event(Level.ERROR, "error-" + i)));
+
+        assertThat(meterRegistry.get("logstash.appender.queue.size").gauge().value()).isEqualTo(8);
+        assertThat(meterRegistry.get("logstash.appender.dropped").tag("level", "DEBUG").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("logstash.appender.dropped").tag("level", "ERROR").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("logstash.appender.dropped").tag("level", "INFO").functionCounter().count()).isZero();
+    }
+
+    @Test
+    void shouldShipTheEventsOfConcurrentThreads() throws Exception {
+        appender = startAppender(4096, logstash.getLocalPort());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CompletableFuture.allOf(
+                IntStream.range(0, 4)
+                    .mapToObj(thread ->
+                        CompletableFuture.runAsync(
+                            () -> IntStream.range(0, 500).forEach(i -> appender.doAppend(event(Level.INFO, thread + "-" + i))),
+                            executor
+                        )
+                    )
+                    .toArray(CompletableFuture[]::new)
+            ).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        Set<String> messages = new HashSet<>();
+        try (Socket connection = logstash.accept(); BufferedReader lines = reader(connection)) {
+            while (messages.size() < 2000) {
+                messages.add(om.readTree(lines.readLine()).get("message").asText());
+            }
+        }
+        assertThat(messages).contains("0-0", "1-499", "2-250", "3-499");
+        assertThat(meterRegistry.get("logstash.appender.dropped").tag("level", "INFO").functionCounter().count()).isZero();
+    }
+
+    private AsyncLogstashAppender startAppender(int ringBufferSize, int port) {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.setCustomFields("{\"app_name\":\"store\"}");
+        encoder.start();
+
+        AsyncLogstashAppender logstashAppender = new AsyncLogstashAppender(ringBufferSize);
+        logstashAppender.setName("TEST_LOGSTASH");
+        logstashAppender.setContext(context);
+        logstashAppender.setEncoder(encoder);
+        logstashAppender.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+        logstashAppender.setPort(port);
+        logstashAppender.setDiscardingThreshold(0.5);
+        logstashAppender.setReconnectionMinDelay(Duration.ofMillis(10));
+        logstashAppender.setReconnectionMaxDelay(Duration.ofMillis(50));
+        logstashAppender.bindTo(meterRegistry);
+        logstashAppender.start();
+        return logstashAppender;
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("com.jhipster.demo.store"), level, message, null, null);
+    }
+
+    private static BufferedReader reader(Socket connection) throws IOException {
+        connection.setSoTimeout(TIMEOUT_MILLIS);
+        return new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.jhipster.demo.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.repository.UserRepository;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the per-region sizing of {@link CacheConfiguration}.
+ */
+class CacheConfigurationTest {
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        jHipsterProperties.getCache().getEhcache().setTimeToLiveSeconds(60);
+        applicationProperties = new ApplicationProperties();
+        cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName()).getCacheManager();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void shouldApplyJHipsterDefaultsToRegionsWithoutOverride() {
+        new CacheConfiguration(jHipsterProperties, applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+
+        var heap = runtimeConfiguration(ProductCategory.class.getName()).getResourcePools().getPoolForResource(ResourceType.Core.HEAP);
+        assertThat(heap.getSize()).isEqualTo(100);
+        assertThat(heap.getUnit()).isEqualTo(EntryUnit.ENTRIES);
+    }
+
+    @Test
+    void shouldApplyRegionOverrides() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setMaxEntries(5000L);
+        region.setOffHeapSize(DataSize.ofMegabytes(8));
+        region.setTimeToIdleSeconds(30L);
+        applicationProperties.getCache().getRegions().put(Product.class.getName(), region);
+
+        new CacheConfiguration(jHipsterProperties, applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+
+        var pools = runtimeConfiguration(Product.class.getName()).getResourcePools();
+        assertThat(pools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(5000);
+        assertThat(pools.getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(8 * 1024);
+        assertThat(pools.getPoolForResource(ResourceType.Core.OFFHEAP).getUnit()).isEqualTo(MemoryUnit.KB);
+        assertThat(runtimeConfiguration(ProductCategory.class.getName()).getResourcePools().getResourceTypeSet()).containsOnly(
+            ResourceType.Core.HEAP
+        );
+    }
+
+    @Test
+    void shouldRejectDiskTierWithoutDiskPath() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setDiskSize(DataSize.ofMegabytes(16));
+        applicationProperties.getCache().getRegions().put(Product.class.getName(), region);
+
+        CacheConfiguration cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+
+        assertThatThrownBy(() -> cacheConfiguration.cacheManagerCustomizer().customize(cacheManager))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("disk-path");
+    }
+
+    @Test
+    void shouldCreateEveryRegionWithCaffeineProvider() {
+        cacheManager.close();
+        cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        applicationProperties.getCache().setProvider(ApplicationProperties.Cache.Provider.CAFFEINE);
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setMaxEntries(5000L);
+        applicationProperties.getCache().getRegions().put(Product.class.getName(), region);
+
+        new CacheConfiguration(jHipsterProperties, applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+
+        assertThat(cacheManager.getCacheNames()).contains(UserRepository.USERS_BY_LOGIN_CACHE, UserRepository.USERS_BY_EMAIL_CACHE);
+        @SuppressWarnings("unchecked")
+        CaffeineConfiguration<Object, Object> configuration = cacheManager
+            .getCache(Product.class.getName())
+            .getConfiguration(CaffeineConfiguration.class);
+        assertThat(configuration.getMaximumSize()).hasValue(5000);
+        assertThat(configuration.getExpireAfterWrite()).hasValue(TimeUnit.SECONDS.toNanos(60));
+        assertThat(configuration.isStoreByValue()).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheRuntimeConfiguration<Object, Object> runtimeConfiguration(String cacheName) {
+        return cacheManager.getCache(cacheName).getConfiguration(Eh107Configuration.class).unwrap(CacheRuntimeConfiguration.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.jhipster.demo.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.enumeration.Size;
+import com.jhipster.demo.store.service.event.EntityChangedEvent;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Unit tests for {@link CatalogJsonCache} and {@link CachedJsonSerializer}.
+ */
+class CatalogJsonCacheTest {
+
+    private CatalogJsonCache cache;
+
+    private ObjectMapper standardMapper;
+
+    private ObjectMapper cachingMapper;
+
+    private ProductCategory category;
+
+    private Product product;
+
+    @BeforeEach
+    void setup() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        cache = new CatalogJsonCache(DataSize.ofMegabytes(1));
+        standardMapper = new ObjectMapper().registerModules(jacksonConfiguration.javaTimeModule(), jacksonConfiguration.hibernate6Module());
+        cachingMapper = new ObjectMapper()
+            .registerModules(
+                jacksonConfiguration.javaTimeModule(),
+                jacksonConfiguration.hibernate6Module(),
+                JacksonConfiguration.createCatalogJsonModule(cache)
+            );
+
+        category = new ProductCategory().name("shoes");
+        category.setId(1L);
+        category.setVersion(0L);
+        product = new Product().id(10L).name("runner").price(new BigDecimal("49.90")).productSize(Size.M).productCategory(category);
+        product.setVersion(0L);
+    }
+
+    @Test
+    void shouldWriteSameJsonAsStandardMapper() throws Exception {
+        String expected = standardMapper.writeValueAsString(List.of(product, product));
+
+        assertThat(cachingMapper.writeValueAsString(List.of(product, product))).isEqualTo(expected);
+        assertThat(cachingMapper.writeValueAsBytes(List.of(product, product))).isEqualTo(expected.getBytes());
+        assertThat(cache.get(product, CatalogJsonCache.revisionOf(product))).isNotNull();
+    }
+
+    @Test
+    void shouldReserializeWhenVersionChanges() throws Exception {
+        cachingMapper.writeValueAsBytes(product);
+
+        product.setName("trail runner");
+        product.setVersion(1L);
+
+        assertThat(new String(cachingMapper.writeValueAsBytes(product))).contains("trail runner");
+    }
+
+    @Test
+    void shouldReserializeWhenEmbeddedCategoryVersionChanges() throws Exception {
+        cachingMapper.writeValueAsBytes(product);
+
+        category.setName("sneakers");
+        category.setVersion(1L);
+
+        assertThat(new String(cachingMapper.writeValueAsBytes(product))).contains("sneakers");
+    }
+
+    @Test
+    void shouldNotCacheUnversionedEntity() throws Exception {
+        product.setVersion(null);
+
+        cachingMapper.writeValueAsBytes(product);
+
+        assertThat(CatalogJsonCache.revisionOf(product)).isNull();
+        assertThat(cache.get(product, "0/1@0")).isNull();
+    }
+
+    @Test
+    void shouldInvalidateOnWrite() throws Exception {
+        cachingMapper.writeValueAsBytes(product);
+
+        cache.onEntityChanging(EntityChangedEvent.updated(Product.class, product.getId(), product));
+
+        assertThat(cache.get(product, CatalogJsonCache.revisionOf(product))).isNull();
+    }
+}
@@ -0,0 +1,73 @@
+package com.jhipster.demo.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ConcurrencyLimitedDataSource}.
+ */
+class ConcurrencyLimitedDataSourceTest {
+
+    private DataSource targetDataSource;
+
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConcurrencyLimitedDataSource(targetDataSource, "test", 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void shouldRejectConnectionBeyondLimitUntilOneIsClosed() throws SQLException {
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    void shouldReleasePermitOnlyOnceWhenClosedTwice() throws SQLException {
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    void shouldReleasePermitWhenPoolFails() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        }
+    }
+
+    @Test
+    void shouldCloseTargetConnection() throws SQLException {
+        Connection target = mock(Connection.class);
+        when(targetDataSource.getConnection()).thenReturn(target);
+
+        dataSource.getConnection().close();
+
+        verify(target).close();
+    }
+}
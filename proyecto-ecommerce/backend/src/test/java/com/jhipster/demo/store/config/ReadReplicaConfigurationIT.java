@@ -0,0 +1,222 @@
+package com.jhipster.demo.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.sql.Connection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import javax.sql.DataSource;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link ReadReplicaConfiguration}: its pools, built from the properties, behind Hibernate and a
+ * {@link JpaTransactionManager} configured as in {@code application.yml}, on two embedded databases.
+ */
+class ReadReplicaConfigurationIT {
+
+    private final String primaryUrl = "jdbc:h2:mem:primary-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+
+    private final String replicaUrl = "jdbc:h2:mem:replica-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+
+    private ApplicationContextRunner contextRunner;
+
+    @BeforeEach
+    void setup() {
+        createDatabase(primaryUrl, "primary");
+        createDatabase(replicaUrl, "replica");
+        new JdbcTemplate(new DriverManagerDataSource(replicaUrl, "sa", "")).execute(
+            "CREATE TABLE replica_status AS SELECT 0 AS seconds_behind_source"
+        );
+        contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ReadReplicaConfiguration.class, JpaConfiguration.class)
+            .withPropertyValues(
+                "spring.datasource.url=" + primaryUrl,
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.hikari.auto-commit=false",
+                "spring.datasource.hikari.connection-timeout=2000",
+                "spring.datasource.hikari.maximum-pool-size=7",
+                "application.database.replica.url=" + replicaUrl,
+                "application.database.replica.lag-query=SELECT seconds_behind_source FROM replica_status",
+                "application.database.replica.lag-check-interval=PT1H",
+                "application.database.replica.hikari.maximum-pool-size=3"
+            );
+    }
+
+    @AfterEach
+    void shutdown() {
+        new JdbcTemplate(new DriverManagerDataSource(primaryUrl, "sa", "")).execute("SHUTDOWN");
+        new JdbcTemplate(new DriverManagerDataSource(replicaUrl, "sa", "")).execute("SHUTDOWN");
+    }
+
+    @Test
+    void shouldConfigureTheReplicaPoolFromThePrimaryOne() {
+        contextRunner.run(context -> {
+            HikariDataSource replica = context.getBean("replicaDataSource", HikariDataSource.class);
+
+            assertThat(replica.getPoolName()).isEqualTo("Hikari-replica");
+            assertThat(replica.getJdbcUrl()).isEqualTo(replicaUrl);
+            assertThat(replica.isAutoCommit()).isFalse();
+            assertThat(replica.isReadOnly()).isTrue();
+            assertThat(replica.getConnectionTimeout()).isEqualTo(2000);
+            assertThat(replica.getMaximumPoolSize()).isEqualTo(3);
+            assertThat(context.getBean("primaryDataSource", HikariDataSource.class).getMaximumPoolSize()).isEqualTo(7);
+        });
+    }
+
+    @Test
+    void shouldReadInReadOnlyJpaTransactionsFromTheReplica() {
+        contextRunner.run(context -> {
+            context.getBean(ReadReplicaDataSource.class).checkLag();
+
+            assertThat(inTransaction(context, true, ReadReplicaConfigurationIT::readName)).isEqualTo("replica");
+            assertThat(inTransaction(context, false, ReadReplicaConfigurationIT::readName)).isEqualTo("primary");
+        });
+    }
+
+    @Test
+    void shouldDisableAutoCommitOnTheConnectionsOfBothPools() {
+        contextRunner.run(context -> {
+            context.getBean(ReadReplicaDataSource.class).checkLag();
+
+            assertThat(inTransaction(context, true, ReadReplicaConfigurationIT::readAutoCommit)).isFalse();
+            assertThat(inTransaction(context, false, ReadReplicaConfigurationIT::readAutoCommit)).isFalse();
+        });
+    }
+
+    @Test
+    void shouldNotFillTheSecondLevelCacheFromTheReplica() {
+        contextRunner.run(context -> {
+            context.getBean(ReadReplicaDataSource.class).checkLag();
+
+            assertThat(inTransaction(context, true, ReadReplicaConfigurationIT::readCacheMode)).isEqualTo(CacheMode.GET);
+            assertThat(inTransaction(context, false, ReadReplicaConfigurationIT::readCacheMode)).isEqualTo(CacheMode.NORMAL);
+        });
+    }
+
+    @Test
+    void shouldCommitWritesToThePrimary() {
+        contextRunner.run(context -> {
+            context.getBean(ReadReplicaDataSource.class).checkLag();
+
+            inTransaction(context, false, entityManager -> {
+                entityManager.persist(new Node(2L, "written"));
+                return null;
+            });
+
+            assertThat(
+                new JdbcTemplate(new DriverManagerDataSource(primaryUrl, "sa", "")).queryForObject(
+                    "SELECT name FROM node WHERE id = 2",
+                    String.class
+                )
+            ).isEqualTo("written");
+            assertThat(inTransaction(context, true, entityManager -> entityManager.find(Node.class, 2L))).isNull();
+        });
+    }
+
+    private static String readName(EntityManager entityManager) {
+        return entityManager.find(Node.class, 1L).getName();
+    }
+
+    private static CacheMode readCacheMode(EntityManager entityManager) {
+        entityManager.find(Node.class, 1L);
+        return entityManager.unwrap(Session.class).getCacheMode();
+    }
+
+    private static boolean readAutoCommit(EntityManager entityManager) {
+        // Runs a statement first, so that the lazy connection proxy fetches the connection of the pool
+        entityManager.find(Node.class, 1L);
+        return entityManager.unwrap(Session.class).doReturningWork(Connection::getAutoCommit);
+    }
+
+    private static <T> T inTransaction(AssertableApplicationContext context, boolean readOnly, Function<EntityManager, T> work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(readOnly);
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        return transactionTemplate.execute(status -> work.apply(entityManager));
+    }
+
+    private static void createDatabase(String url, String name) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE node (id BIGINT PRIMARY KEY, name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (id, name) VALUES (1, ?)", name);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableConfigurationProperties({ ApplicationProperties.class, DataSourceProperties.class })
+    static class JpaConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+            entityManagerFactory.setDataSource(dataSource);
+            entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            entityManagerFactory.setManagedTypes(PersistenceManagedTypes.of(Node.class.getName()));
+            entityManagerFactory.setJpaPropertyMap(
+                Map.of("hibernate.connection.provider_disables_autocommit", "true", "hibernate.hbm2ddl.auto", "none")
+            );
+            return entityManagerFactory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+
+    @Entity
+    @Table(name = "node")
+    static class Node {
+
+        @Id
+        private Long id;
+
+        @Column(name = "name")
+        private String name;
+
+        protected Node() {}
+
+        Node(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.jhipster.demo.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Unit tests for {@link ReadReplicaDataSource}, routing between two embedded databases as {@link ReadReplicaConfiguration}
+ * does.
+ */
+class ReadReplicaDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private static final String LAG_QUERY = "SELECT seconds_behind_source FROM replica_status";
+
+    private EmbeddedDatabase primary;
+
+    private EmbeddedDatabase replica;
+
+    private ReadReplicaDataSource readReplicaDataSource;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        primary = createDatabase("primary");
+        replica = createDatabase("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_status (seconds_behind_source BIGINT)");
+        setReplicaLag(0L);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (readReplicaDataSource != null) {
+            readReplicaDataSource.destroy();
+        }
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToTheReplica() {
+        DataSource dataSource = routingDataSource(replica);
+
+        assertThat(readInTransaction(dataSource, true)).isEqualTo("replica");
+        assertThat(readInTransaction(dataSource, false)).isEqualTo("primary");
+        assertThat(meterRegistry.get("jdbc.replica.connections").tag("pool", "replica").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jdbc.replica.lag").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToThePrimaryWhileTheReplicaLags() {
+        DataSource dataSource = routingDataSource(replica);
+
+        setReplicaLag(MAX_LAG.toSeconds() + 1);
+        readReplicaDataSource.checkLag();
+        assertThat(readInTransaction(dataSource, true)).isEqualTo("primary");
+
+        setReplicaLag(MAX_LAG.toSeconds());
+        readReplicaDataSource.checkLag();
+        assertThat(readInTransaction(dataSource, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToThePrimaryWhenRequired() {
+        DataSource dataSource = routingDataSource(replica);
+        AtomicBoolean fillingCache = new AtomicBoolean(true);
+        readReplicaDataSource.setPrimaryRequired(fillingCache::get);
+
+        assertThat(readInTransaction(dataSource, true)).isEqualTo("primary");
+
+        fillingCache.set(false);
+        assertThat(readInTransaction(dataSource, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldConsiderAnUnknownLagTooHigh() {
+        DataSource dataSource = routingDataSource(replica);
+
+        // e.g. Seconds_Behind_Source with replication stopped
+        setReplicaLag(null);
+        readReplicaDataSource.checkLag();
+
+        assertThat(readReplicaDataSource.isReplicaUsable()).isFalse();
+        assertThat(readInTransaction(dataSource, true)).isEqualTo("primary");
+        assertThat(meterRegistry.get("jdbc.replica.lag").gauge().value()).isNaN();
+    }
+
+    @Test
+    void shouldFallBackToThePrimaryWhenTheReplicaPoolFails() throws Exception {
+        DataSource failingReplica = mock(DataSource.class);
+        when(failingReplica.getConnection())
+            .thenAnswer(invocation -> replica.getConnection())
+            .thenThrow(new SQLTransientConnectionException("replica pool exhausted"));
+        DataSource dataSource = routingDataSource(failingReplica);
+
+        assertThat(readInTransaction(dataSource, true)).isEqualTo("primary");
+        assertThat(readReplicaDataSource.isReplicaUsable()).isFalse();
+        assertThat(meterRegistry.get("jdbc.replica.connections").tag("pool", "primary").functionCounter().count()).isEqualTo(1);
+    }
+
+    private DataSource routingDataSource(DataSource replicaDataSource) {
+        readReplicaDataSource = new ReadReplicaDataSource(replicaDataSource, primary, MAX_LAG, LAG_QUERY);
+        readReplicaDataSource.bindTo(meterRegistry);
+        readReplicaDataSource.checkLag();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(readReplicaDataSource);
+        return dataSource;
+    }
+
+    private static String readInTransaction(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private void setReplicaLag(Long seconds) {
+        JdbcTemplate replicaTemplate = new JdbcTemplate(replica);
+        replicaTemplate.update("DELETE FROM replica_status");
+        replicaTemplate.update("INSERT INTO replica_status (seconds_behind_source) VALUES (?)", seconds);
+    }
+
+    private static EmbeddedDatabase createDatabase(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.H2).build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return database;
+    }
+}
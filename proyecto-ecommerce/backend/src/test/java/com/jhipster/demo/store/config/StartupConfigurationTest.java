@@ -0,0 +1,78 @@
+package com.jhipster.demo.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jhipster.demo.store.service.MailService;
+import com.jhipster.demo.store.web.rest.LoggingController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit tests for the lazy beans of {@link StartupConfiguration}.
+ */
+class StartupConfigurationTest {
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @BeforeEach
+    void setup() {
+        beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition(
+            "mailService",
+            BeanDefinitionBuilder.genericBeanDefinition(MailService.class).getBeanDefinition()
+        );
+        beanFactory.registerBeanDefinition(
+            "loggingController",
+            BeanDefinitionBuilder.genericBeanDefinition(LoggingController.class).getBeanDefinition()
+        );
+        beanFactory.registerBeanDefinition(
+            "connectionPoolConfiguration",
+            BeanDefinitionBuilder.genericBeanDefinition(ConnectionPoolConfiguration.class).getBeanDefinition()
+        );
+        beanFactory.registerBeanDefinition(
+            "connectionPoolMetrics",
+            BeanDefinitionBuilder.genericBeanDefinition()
+                .setFactoryMethodOnBean("connectionPoolMetrics", "connectionPoolConfiguration")
+                .getBeanDefinition()
+        );
+    }
+
+    @Test
+    void shouldDeferTheListedBeans() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("application.startup.lazy-beans[0]", MailService.class.getName())
+            .withProperty("application.startup.lazy-beans[1]", "com.jhipster.demo.store.web.");
+
+        StartupConfiguration.lazyBeansPostProcessor(environment).postProcessBeanFactory(beanFactory);
+
+        assertThat(beanFactory.getBeanDefinition("mailService").isLazyInit()).isTrue();
+        assertThat(beanFactory.getBeanDefinition("loggingController").isLazyInit()).isTrue();
+        assertThat(beanFactory.getBeanDefinition("connectionPoolConfiguration").isLazyInit()).isFalse();
+        assertThat(beanFactory.getBeanDefinition("connectionPoolMetrics").isLazyInit()).isFalse();
+    }
+
+    @Test
+    void shouldMatchTheBeanMethodsByTheirDeclaringClass() {
+        MockEnvironment environment = new MockEnvironment().withProperty(
+            "application.startup.lazy-beans[0]",
+            ConnectionPoolConfiguration.class.getName()
+        );
+
+        StartupConfiguration.lazyBeansPostProcessor(environment).postProcessBeanFactory(beanFactory);
+
+        assertThat(beanFactory.getBeanDefinition("connectionPoolMetrics").isLazyInit()).isTrue();
+        assertThat(beanFactory.getBeanDefinition("mailService").isLazyInit()).isFalse();
+    }
+
+    @Test
+    void shouldKeepEveryBeanEagerByDefault() {
+        StartupConfiguration.lazyBeansPostProcessor(new MockEnvironment()).postProcessBeanFactory(beanFactory);
+
+        assertThat(beanFactory.getBeanDefinitionNames()).allSatisfy(name ->
+            assertThat(beanFactory.getBeanDefinition(name).isLazyInit()).isFalse()
+        );
+    }
+}
@@ -57,6 +57,15 @@ class StaticResourcesWebConfigurerTest {
         verify(resourceHandlerRegistration, times(1)).addResourceLocations(RESOURCE_LOCATIONS);
     }
 
+    @Test
+    void shouldServePrecompressedVariants() {
+        ResourceHandlerRegistration resourceHandlerRegistration = spy(new ResourceHandlerRegistration(RESOURCE_PATHS));
+
+        staticResourcesWebConfiguration.initializeResourceHandler(resourceHandlerRegistration);
+
+        verify(resourceHandlerRegistration, times(1)).resourceChain(true);
+    }
+
     @Test
     void shouldCreateCacheControlBasedOnJhipsterDefaultProperties() {
         CacheControl cacheExpected = CacheControl.maxAge(JHipsterDefaults.Http.Cache.timeToLiveInDays, TimeUnit.DAYS).cachePublic();
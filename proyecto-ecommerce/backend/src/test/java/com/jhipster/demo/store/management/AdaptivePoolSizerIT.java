@@ -0,0 +1,86 @@
+package com.jhipster.demo.store.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Integration tests for {@link AdaptivePoolSizer}, on a Hikari pool of an embedded database.
+ */
+class AdaptivePoolSizerIT {
+
+    private static final String POOL = "Hikari-adaptive";
+
+    /**
+     * Read by Hikari when a pool starts, 30 seconds by default.
+     */
+    private static final String HOUSEKEEPING_PERIOD_PROPERTY = "com.zaxxer.hikari.housekeeping.periodMs";
+
+    private HikariDataSource dataSource;
+
+    private AdaptivePoolSizer sizer;
+
+    @BeforeEach
+    void setup() {
+        System.setProperty(HOUSEKEEPING_PERIOD_PROPERTY, "100");
+        ConnectionPoolMetrics connectionPoolMetrics = new ConnectionPoolMetrics(SimpleMeterRegistry::new, false);
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(POOL);
+        config.setJdbcUrl("jdbc:h2:mem:pool-" + UUID.randomUUID());
+        config.setUsername("sa");
+        config.setPassword("");
+        // A pool of fixed size, as configured by default
+        config.setMaximumPoolSize(10);
+        config.setMetricsTrackerFactory(connectionPoolMetrics);
+        dataSource = new HikariDataSource(config);
+        // Set once started, Hikari would raise a shorter one than 10 seconds to its default
+        dataSource.setIdleTimeout(100);
+        sizer = new AdaptivePoolSizer(
+            POOL,
+            dataSource.getHikariConfigMXBean(),
+            dataSource::getHikariPoolMXBean,
+            connectionPoolMetrics.load(POOL),
+            4,
+            10,
+            1.2,
+            0.1,
+            2.0,
+            2
+        );
+    }
+
+    @AfterEach
+    void shutdown() {
+        dataSource.close();
+        System.clearProperty(HOUSEKEEPING_PERIOD_PROPERTY);
+    }
+
+    @Test
+    void shouldCloseTheConnectionsAboveTheSizeOfAShrunkPool() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        assertThat(awaitTotalConnections(pool, total -> total == 10)).isEqualTo(10);
+
+        sizer.adjust(10);
+
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(8);
+        // Down to the minimum idle connections, as none is in use
+        assertThat(awaitTotalConnections(pool, total -> total == 4)).isEqualTo(4);
+    }
+
+    private static int awaitTotalConnections(HikariPoolMXBean pool, IntPredicate condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.test(pool.getTotalConnections()) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return pool.getTotalConnections();
+    }
+}
@@ -0,0 +1,125 @@
+package com.jhipster.demo.store.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AdaptivePoolSizer}, fed through the tracker of {@link ConnectionPoolMetrics}.
+ */
+class AdaptivePoolSizerTest {
+
+    private static final String POOL = "Hikari";
+
+    private static final double INTERVAL_SECONDS = 10;
+
+    private HikariConfig config;
+
+    private IMetricsTracker tracker;
+
+    private AdaptivePoolSizer sizer;
+
+    @BeforeEach
+    void setup() {
+        config = new HikariConfig();
+        config.setMaximumPoolSize(10);
+        ConnectionPoolMetrics connectionPoolMetrics = new ConnectionPoolMetrics(SimpleMeterRegistry::new, false);
+        tracker = connectionPoolMetrics.create(
+            POOL,
+            new PoolStats(0) {
+                @Override
+                protected void update() {
+                    // unused
+                }
+            }
+        );
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        sizer = new AdaptivePoolSizer(POOL, config, () -> pool, connectionPoolMetrics.load(POOL), 4, 40, 1.2, 0.1, 2.0, 2);
+    }
+
+    @Test
+    void shouldSizeThePoolToTheDemandWithHeadroom() {
+        // 100 acquisitions per second held 100 ms: 10 connections in use on average
+        borrow(1000, 0, 100);
+
+        sizer.adjust(INTERVAL_SECONDS);
+
+        assertThat(config.getMaximumPoolSize()).isEqualTo(12);
+        assertThat(config.getMinimumIdle()).isEqualTo(10);
+        assertThat(sizer.getLastAdjustment().demand()).isEqualTo(10.0);
+    }
+
+    @Test
+    void shouldGrowWhileCallersWaitLongerThanTheyHoldTheConnections() {
+        borrow(100, 50, 100);
+
+        sizer.adjust(INTERVAL_SECONDS);
+
+        assertThat(config.getMaximumPoolSize()).isEqualTo(12);
+        assertThat(sizer.getLastAdjustment().reason()).isEqualTo("waiting");
+    }
+
+    @Test
+    void shouldNotGrowWhileTheDatabaseSlowsDown() {
+        borrow(100, 0, 10);
+        sizer.adjust(INTERVAL_SECONDS);
+        int size = config.getMaximumPoolSize();
+
+        // Five times the baseline hold time, and callers waiting
+        borrow(1000, 200, 50);
+        sizer.adjust(INTERVAL_SECONDS);
+
+        assertThat(config.getMaximumPoolSize()).isLessThanOrEqualTo(size);
+        assertThat(sizer.getLastAdjustment().reason()).isEqualTo("database latency");
+    }
+
+    @Test
+    void shouldShrinkByAtMostAStepDownToTheMinimum() {
+        sizer.adjust(INTERVAL_SECONDS);
+        assertThat(config.getMaximumPoolSize()).isEqualTo(8);
+        assertThat(config.getMinimumIdle()).isEqualTo(4);
+
+        for (int i = 0; i < 5; i++) {
+            sizer.adjust(INTERVAL_SECONDS);
+        }
+        assertThat(config.getMaximumPoolSize()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldNotGrowBeyondTheMaximum() {
+        borrow(10_000, 0, 1000);
+
+        sizer.adjust(INTERVAL_SECONDS);
+
+        assertThat(config.getMaximumPoolSize()).isEqualTo(40);
+    }
+
+    @Test
+    void shouldKeepAnOverriddenSizeUntilCleared() {
+        sizer.override(30);
+        assertThat(config.getMaximumPoolSize()).isEqualTo(30);
+        assertThat(config.getMinimumIdle()).isEqualTo(10);
+
+        sizer.adjust(INTERVAL_SECONDS);
+        assertThat(config.getMaximumPoolSize()).isEqualTo(30);
+
+        sizer.override(null);
+        sizer.adjust(INTERVAL_SECONDS);
+        assertThat(config.getMaximumPoolSize()).isEqualTo(28);
+    }
+
+    private void borrow(int connections, long waitMillis, long usageMillis) {
+        for (int i = 0; i < connections; i++) {
+            tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(waitMillis));
+            tracker.recordConnectionUsageMillis(usageMillis);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.jhipster.demo.store.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Unit tests for {@link ConnectionPoolMetrics}.
+ */
+class ConnectionPoolMetricsTest {
+
+    private static final String POOL = "Hikari";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ConnectionPoolMetrics connectionPoolMetrics;
+
+    private IMetricsTracker tracker;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        connectionPoolMetrics = new ConnectionPoolMetrics(() -> meterRegistry, true);
+        tracker = connectionPoolMetrics.create(POOL, new FixedPoolStats(3));
+    }
+
+    @AfterEach
+    void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldTagTheConnectionsWithTheEndpointOfTheRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/products/{id}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        tracker.recordConnectionUsageMillis(20);
+
+        Timer acquire = endpointTimer(ConnectionPoolMetrics.ACQUIRE_METER_NAME, "GET", "/api/products/{id}");
+        Timer usage = endpointTimer(ConnectionPoolMetrics.USAGE_METER_NAME, "GET", "/api/products/{id}");
+        assertThat(acquire.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5);
+        assertThat(usage.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(20);
+        assertThat(
+            meterRegistry.get(ConnectionPoolMetrics.PENDING_METER_NAME).tag("uri", "/api/products/{id}").summary().totalAmount()
+        ).isEqualTo(3);
+    }
+
+    @Test
+    void shouldTagTheConnectionsOutsideOfARequestWithNone() {
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertThat(endpointTimer(ConnectionPoolMetrics.ACQUIRE_METER_NAME, "none", "none").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepTheStandardHikariMeters() {
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        tracker.recordConnectionTimeout();
+
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", POOL).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("hikaricp.connections.timeout").tag("pool", POOL).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSampleTheLoadSinceThePreviousSample() {
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(2));
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(4));
+        tracker.recordConnectionUsageMillis(10);
+        tracker.recordConnectionUsageMillis(30);
+        tracker.recordConnectionTimeout();
+
+        ConnectionPoolMetrics.Load.Sample sample = connectionPoolMetrics.load(POOL).sample();
+
+        assertThat(sample).isEqualTo(new ConnectionPoolMetrics.Load.Sample(2, 3.0, 20.0, 1));
+        assertThat(connectionPoolMetrics.load(POOL).sample()).isEqualTo(new ConnectionPoolMetrics.Load.Sample(0, 0, 0, 0));
+    }
+
+    @Test
+    void shouldOnlyTrackTheLoadWithoutEndpointMetrics() {
+        IMetricsTracker withoutEndpoints = new ConnectionPoolMetrics(() -> meterRegistry, false).create("other", new FixedPoolStats(0));
+
+        withoutEndpoints.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertThat(meterRegistry.find(ConnectionPoolMetrics.ACQUIRE_METER_NAME).meters()).isEmpty();
+    }
+
+    private Timer endpointTimer(String name, String method, String uri) {
+        return meterRegistry.get(name).tag("pool", POOL).tag("method", method).tag("uri", uri).timer();
+    }
+
+    private static final class FixedPoolStats extends PoolStats {
+
+        private FixedPoolStats(int pendingThreads) {
+            super(0);
+            this.pendingThreads = pendingThreads;
+        }
+
+        @Override
+        protected void update() {
+            // fixed
+        }
+    }
+}
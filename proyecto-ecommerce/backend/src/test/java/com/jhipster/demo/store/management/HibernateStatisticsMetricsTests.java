@@ -0,0 +1,114 @@
+package com.jhipster.demo.store.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class HibernateStatisticsMetricsTests {
+
+    @Test
+    void testLiteralsAreReplacedByPlaceholders() {
+        assertThat(
+            HibernateStatisticsMetrics.normalize(
+                "select p from Product p\n where p.name = 'it''s' and p.price > 10.5 and p.id in (1, 2,3)"
+            )
+        ).isEqualTo("select p from Product p where p.name = ? and p.price > ? and p.id in (?)");
+    }
+
+    @Test
+    void testParametersAndIdentifiersAreKept() {
+        assertThat(
+            HibernateStatisticsMetrics.normalize("select p from Product p where p.id = ?1 and p.name = :name2 and p.v2 = 3")
+        ).isEqualTo("select p from Product p where p.id = ?1 and p.name = :name2 and p.v2 = ?");
+    }
+
+    @Test
+    void testQueryTagsAreCapped() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(HibernateStatisticsMetrics.queryTagsFilter());
+
+        for (int i = 0; i < HibernateStatisticsMetrics.MAX_QUERY_TAGS + 10; i++) {
+            FunctionTimer.builder(HibernateStatisticsMetrics.QUERY_EXECUTIONS_METER_NAME, this, t -> 1, t -> 1, TimeUnit.MILLISECONDS)
+                .tag(HibernateStatisticsMetrics.QUERY_DIMENSION, "select " + i)
+                .register(meterRegistry);
+        }
+
+        assertThat(meterRegistry.find(HibernateStatisticsMetrics.QUERY_EXECUTIONS_METER_NAME).meters()).hasSize(
+            HibernateStatisticsMetrics.MAX_QUERY_TAGS
+        );
+    }
+
+    @Test
+    void testNormalizedQueriesTrackedAreCapped() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        HibernateStatisticsMetrics metrics = metricsOf(
+            meterRegistry,
+            queries(HibernateStatisticsMetrics.MAX_QUERY_TAGS + 50, i -> "select p.name" + i + " from Product p")
+        );
+
+        metrics.registerNewQueries();
+        metrics.registerNewQueries();
+
+        assertThat(registeredQueries(metrics)).hasSize(HibernateStatisticsMetrics.MAX_QUERY_TAGS);
+        assertThat(queriesByNormalizedQuery(metrics)).hasSize(HibernateStatisticsMetrics.MAX_QUERY_TAGS);
+        assertThat(meterRegistry.find(HibernateStatisticsMetrics.QUERY_EXECUTIONS_METER_NAME).meters()).hasSize(
+            HibernateStatisticsMetrics.MAX_QUERY_TAGS
+        );
+    }
+
+    @Test
+    void testQueriesTrackedAreCapped() {
+        HibernateStatisticsMetrics metrics = metricsOf(
+            new SimpleMeterRegistry(),
+            queries(HibernateStatisticsMetrics.MAX_TRACKED_QUERIES + 50, i -> "select p from Product p where p.id = " + i)
+        );
+
+        metrics.registerNewQueries();
+        metrics.registerNewQueries();
+
+        assertThat(registeredQueries(metrics)).hasSize(HibernateStatisticsMetrics.MAX_TRACKED_QUERIES);
+        assertThat(queriesByNormalizedQuery(metrics)).containsOnlyKeys("select p from Product p where p.id = ?");
+        assertThat(queriesByNormalizedQuery(metrics).get("select p from Product p where p.id = ?")).hasSize(
+            HibernateStatisticsMetrics.MAX_TRACKED_QUERIES
+        );
+    }
+
+    private static HibernateStatisticsMetrics metricsOf(MeterRegistry meterRegistry, String[] queries) {
+        Statistics statistics = mock(Statistics.class);
+        when(statistics.isStatisticsEnabled()).thenReturn(true);
+        when(statistics.getQueries()).thenReturn(queries);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        return new HibernateStatisticsMetrics(meterRegistry, entityManagerFactory);
+    }
+
+    private static String[] queries(int count, IntFunction<String> query) {
+        return IntStream.range(0, count).mapToObj(query).toArray(String[]::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> registeredQueries(HibernateStatisticsMetrics metrics) {
+        return (Set<String>) ReflectionTestUtils.getField(metrics, "registeredQueries");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Set<String>> queriesByNormalizedQuery(HibernateStatisticsMetrics metrics) {
+        return (Map<String, Set<String>>) ReflectionTestUtils.getField(metrics, "queriesByNormalizedQuery");
+    }
+}
@@ -0,0 +1,48 @@
+package com.jhipster.demo.store.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SessionStatementsListenerTests {
+
+    private static final String STATEMENTS_PER_SESSION_EXPECTED_NAME = "hibernate.session.statements";
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        SessionStatementsListener.bindTo(meterRegistry);
+    }
+
+    @Test
+    void testStatementsAreRecordedOncePerSession() {
+        SessionStatementsListener listener = new SessionStatementsListener();
+        listener.jdbcExecuteStatementEnd();
+        listener.jdbcExecuteStatementEnd();
+        listener.jdbcExecuteBatchEnd();
+
+        DistributionSummary summary = meterRegistry.get(STATEMENTS_PER_SESSION_EXPECTED_NAME).summary();
+        assertThat(summary.count()).isZero();
+
+        listener.end();
+
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void testSessionsServedFromCacheAreRecordedAsZero() {
+        new SessionStatementsListener().end();
+
+        DistributionSummary summary = meterRegistry.get(STATEMENTS_PER_SESSION_EXPECTED_NAME).summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isZero();
+    }
+}
@@ -0,0 +1,101 @@
+package com.jhipster.demo.store.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Unit tests for {@link StatementRecordingDataSource} and {@link StatementRecording}, on an embedded database.
+ */
+class StatementRecordingDataSourceTest {
+
+    private EmbeddedDatabase database;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        database = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.H2).build();
+        new JdbcTemplate(database).execute("CREATE TABLE item (id BIGINT PRIMARY KEY, name VARCHAR(20))");
+        jdbcTemplate = new JdbcTemplate(new StatementRecordingDataSource(database));
+    }
+
+    @AfterEach
+    void shutdown() {
+        database.shutdown();
+    }
+
+    @Test
+    void shouldCountStatementsByKind() {
+        try (StatementRecording recording = StatementRecording.start()) {
+            jdbcTemplate.update("INSERT INTO item (id, name) VALUES (?, ?)", 1L, "a");
+            jdbcTemplate.update("UPDATE item SET name = ? WHERE id = ?", "b", 1L);
+            jdbcTemplate.queryForList("SELECT name FROM item WHERE id = ?", String.class, 1L);
+            jdbcTemplate.execute("DELETE FROM item WHERE id = 1");
+
+            assertThat(recording.inserts()).isEqualTo(1);
+            assertThat(recording.updates()).isEqualTo(1);
+            assertThat(recording.selects()).isEqualTo(1);
+            assertThat(recording.deletes()).isEqualTo(1);
+            assertThat(recording.total()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void shouldCountEachEntryOfABatch() {
+        try (StatementRecording recording = StatementRecording.start()) {
+            List<Object[]> rows = List.of(new Object[] { 1L, "a" }, new Object[] { 2L, "b" });
+            jdbcTemplate.batchUpdate("INSERT INTO item (id, name) VALUES (?, ?)", rows);
+
+            assertThat(recording.inserts()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldOnlyRecordInsideARecording() {
+        jdbcTemplate.update("INSERT INTO item (id, name) VALUES (?, ?)", 1L, "a");
+
+        try (StatementRecording recording = StatementRecording.start()) {
+            assertThat(recording.total()).isZero();
+        }
+    }
+
+    @Test
+    void shouldCountInTheEnclosingRecordings() {
+        try (StatementRecording outer = StatementRecording.start()) {
+            try (StatementRecording inner = StatementRecording.start()) {
+                jdbcTemplate.queryForList("SELECT name FROM item", String.class);
+                assertThat(inner.selects()).isEqualTo(1);
+            }
+            jdbcTemplate.queryForList("SELECT name FROM item", String.class);
+
+            assertThat(outer.selects()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldGroupStatementsDifferingByTheirLiteralsOrInListsIntoOneShape() {
+        try (StatementRecording recording = StatementRecording.start()) {
+            for (long id = 1; id <= 5; id++) {
+                jdbcTemplate.queryForList("SELECT name FROM item WHERE id = " + id, String.class);
+            }
+            jdbcTemplate.queryForList("SELECT name FROM item WHERE id IN (?, ?)", String.class, 1L, 2L);
+            jdbcTemplate.queryForList("SELECT name FROM item WHERE id IN (?, ?, ?)", String.class, 1L, 2L, 3L);
+            jdbcTemplate.queryForList("SELECT name FROM item WHERE name = 'a'", String.class);
+
+            assertThat(recording.getRepeatedShapes(2)).containsOnly(
+                entry("SELECT name FROM item WHERE id = ?", 5),
+                entry("SELECT name FROM item WHERE id in (?)", 2)
+            );
+            assertThat(recording.getShapes()).containsEntry("SELECT name FROM item WHERE name = ?", 1);
+        }
+    }
+}
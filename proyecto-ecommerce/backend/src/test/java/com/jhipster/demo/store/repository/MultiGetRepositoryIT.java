@@ -0,0 +1,180 @@
+package com.jhipster.demo.store.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jhipster.demo.store.repository.SqlCapturingDataSource.CapturedStatement;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.SessionFactory;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link MultiGetRepository}, with the second level cache enabled, on an embedded database.
+ */
+class MultiGetRepositoryIT {
+
+    private final String url = "jdbc:h2:mem:multi-get-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+
+    private CacheManager cacheManager;
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private MultiGetRepository multiGetRepository;
+
+    @BeforeEach
+    void setup() {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        // A cache manager of its own, rather than the default one of the provider, which the application context uses
+        cacheManager = provider.getCacheManager(
+            URI.create("urn:multi-get-" + UUID.randomUUID()),
+            new DefaultConfiguration(provider.getDefaultClassLoader())
+        );
+
+        entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactoryBean.setDataSource(new SqlCapturingDataSource(new DriverManagerDataSource(url, "sa", "")));
+        entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactoryBean.setManagedTypes(PersistenceManagedTypes.of(Node.class.getName()));
+        entityManagerFactoryBean.setJpaPropertyMap(
+            Map.of(
+                "hibernate.hbm2ddl.auto",
+                "create-drop",
+                "hibernate.cache.use_second_level_cache",
+                "true",
+                "hibernate.cache.region.factory_class",
+                "jcache",
+                ConfigSettings.CACHE_MANAGER,
+                cacheManager,
+                ConfigSettings.MISSING_CACHE_STRATEGY,
+                "create",
+                "hibernate.generate_statistics",
+                "true"
+            )
+        );
+        entityManagerFactoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = entityManagerFactoryBean.getObject();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        multiGetRepository = new MultiGetRepository(entityManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (long id = 1; id <= 4; id++) {
+                entityManager.persist(new Node(id, "node-" + id));
+            }
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void shutdown() {
+        entityManagerFactoryBean.destroy();
+        cacheManager.close();
+        new JdbcTemplate(new DriverManagerDataSource(url, "sa", "")).execute("SHUTDOWN");
+    }
+
+    @Test
+    void shouldOnlySelectTheIdsMissingFromTheSecondLevelCache() {
+        // Puts the first two nodes in the second level cache
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.find(Node.class, 1L);
+            entityManager.find(Node.class, 2L);
+        });
+        statistics.clear();
+
+        List<String> names = new ArrayList<>();
+        List<CapturedStatement> statements = SqlCapturingDataSource.capture(() ->
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Node node : multiGetRepository.findAllById(Node.class, List.of(1L, 2L, 3L, 4L, 5L))) {
+                    names.add(node != null ? node.getName() : null);
+                }
+            })
+        );
+
+        assertThat(names).containsExactly("node-1", "node-2", "node-3", "node-4", null);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+        assertThat(statements).hasSize(1);
+        assertThat(flatten(statements.get(0).parameters())).containsExactlyInAnyOrder(3L, 4L, 5L);
+    }
+
+    @Test
+    void shouldNotSelectAnythingWhenEveryIdIsCached() {
+        transactionTemplate.executeWithoutResult(status -> multiGetRepository.findAllById(Node.class, List.of(1L, 2L)));
+        statistics.clear();
+
+        List<CapturedStatement> statements = SqlCapturingDataSource.capture(() ->
+            transactionTemplate.executeWithoutResult(status -> multiGetRepository.findAllById(Node.class, List.of(1L, 2L)))
+        );
+
+        assertThat(statements).isEmpty();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+    }
+
+    private static List<Object> flatten(List<Object> parameters) {
+        List<Object> values = new ArrayList<>();
+        for (Object parameter : parameters) {
+            if (parameter instanceof Collection<?> collection) {
+                values.addAll(collection);
+            } else {
+                values.add(parameter);
+            }
+        }
+        return values;
+    }
+
+    @Entity
+    @Table(name = "node")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    static class Node {
+
+        @Id
+        private Long id;
+
+        @Column(name = "name")
+        private String name;
+
+        protected Node() {}
+
+        Node(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+    }
+}
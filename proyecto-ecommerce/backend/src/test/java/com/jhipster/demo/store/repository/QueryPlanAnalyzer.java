@@ -0,0 +1,265 @@
+package com.jhipster.demo.store.repository;
+
+import com.jhipster.demo.store.repository.SqlCapturingDataSource.CapturedStatement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Runs MySQL's {@code EXPLAIN} on captured statements and reports, for the tables estimated to read at least
+ * {@code largeTableRows} rows, full table scans, filesorts and joins without an index, together with the index which
+ * would avoid each of them.
+ */
+public class QueryPlanAnalyzer {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+
+    private static final Pattern TABLE_ALIAS = Pattern.compile("\\b(?:from|join)\\s+(\\w+)\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern CLAUSE_END = Pattern.compile("\\s(?:order by|group by|limit|offset|fetch)\\s", Pattern.CASE_INSENSITIVE);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final long largeTableRows;
+
+    public QueryPlanAnalyzer(JdbcTemplate jdbcTemplate, long largeTableRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.largeTableRows = largeTableRows;
+    }
+
+    /**
+     * A plan row reading too much, with the index suggested to avoid it, or {@code null} when none could be derived.
+     */
+    public record Violation(String sql, String table, String problem, Map<String, Object> plan, Index suggestedIndex) {
+        @Override
+        public String toString() {
+            String violation = String.format(
+                "%s on %s (%s rows, key %s, %s)%n    %s",
+                problem,
+                table,
+                plan.get("rows"),
+                plan.get("key"),
+                plan.get("Extra"),
+                sql
+            );
+            return suggestedIndex != null ? violation + "\n    suggested index: " + suggestedIndex.name() : violation;
+        }
+    }
+
+    /**
+     * An index, whose key parts are either column names or expressions in parentheses.
+     */
+    public record Index(String table, List<String> keyParts) {
+        public String name() {
+            StringBuilder name = new StringBuilder("idx_").append(table);
+            keyParts.forEach(keyPart -> name.append('_').append(keyPart.replaceAll("\\W+", "_").replaceAll("^_|_$", "")));
+            return name.toString();
+        }
+
+        public boolean isFunctional() {
+            return keyParts.stream().anyMatch(keyPart -> keyPart.startsWith("("));
+        }
+    }
+
+    public List<Violation> analyze(List<CapturedStatement> statements) {
+        List<Violation> violations = new ArrayList<>();
+        for (CapturedStatement statement : statements) {
+            if (!statement.sql().stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+                continue;
+            }
+            String sql = inline(statement);
+            for (Map<String, Object> plan : jdbcTemplate.queryForList("EXPLAIN " + sql)) {
+                String problem = problemOf(plan);
+                if (problem != null) {
+                    String alias = String.valueOf(plan.get("table"));
+                    violations.add(new Violation(statement.sql(), tableOf(sql, alias), problem, plan, suggestIndex(sql, alias)));
+                }
+            }
+        }
+        return violations;
+    }
+
+    private String problemOf(Map<String, Object> plan) {
+        Object rows = plan.get("rows");
+        if (!(rows instanceof Number number) || number.longValue() < largeTableRows) {
+            return null;
+        }
+        String extra = plan.get("Extra") != null ? plan.get("Extra").toString() : "";
+        if ("ALL".equals(plan.get("type"))) {
+            return "Full table scan";
+        }
+        if (extra.contains("Using filesort")) {
+            return "Filesort";
+        }
+        if (extra.contains("Using join buffer")) {
+            return "Join without index";
+        }
+        return null;
+    }
+
+    /**
+     * Equality predicates of the table first, then its range predicates, then the columns it is ordered by.
+     */
+    Index suggestIndex(String sql, String alias) {
+        String table = tableOf(sql, alias);
+        if (table == null) {
+            return null;
+        }
+        String lowerSql = sql.toLowerCase(Locale.ROOT);
+        int whereStart = lowerSql.indexOf(" where ");
+        String predicates = "";
+        if (whereStart >= 0) {
+            Matcher end = CLAUSE_END.matcher(lowerSql);
+            predicates = lowerSql.substring(whereStart, end.find(whereStart) ? end.start() : lowerSql.length());
+        }
+        // The join conditions of the table: when it is read through a join buffer
+        Matcher join = Pattern.compile("join\\s+\\w+\\s+" + alias + "\\s+on\\s+(.*?)(?=\\s(?:left |inner |right )?join\\s|\\swhere\\s|$)")
+            .matcher(lowerSql);
+        if (join.find()) {
+            predicates = join.group(1) + " and " + predicates;
+        }
+
+        Set<String> equalities = new LinkedHashSet<>();
+        Set<String> ranges = new LinkedHashSet<>();
+        String column = "(upper\\(" + alias + "\\.(\\w+)\\)|\\b" + alias + "\\.(\\w+))";
+        Matcher predicate = Pattern.compile(column + "\\s*(=|<=|>=|<|>|\\s+between\\s|\\s+like\\s|\\s+in\\s*\\()?").matcher(predicates);
+        while (predicate.find()) {
+            String keyPart = predicate.group(2) != null ? "(upper(" + predicate.group(2) + "))" : predicate.group(3);
+            String operator = predicate.group(4) != null ? predicate.group(4).strip() : "";
+            if (operator.equals("=") || operator.startsWith("in")) {
+                equalities.add(keyPart);
+            } else if (!operator.isEmpty()) {
+                ranges.add(keyPart);
+            } else if (predicates.matches("(?s).*\\b" + Pattern.quote(alias + "." + keyPart) + "\\s*(?:and|or|\\)|$).*")) {
+                // Boolean column tested on its own
+                equalities.add(keyPart);
+            }
+        }
+        ranges.removeAll(equalities);
+
+        Set<String> keyParts = new LinkedHashSet<>(equalities);
+        keyParts.addAll(ranges);
+        Matcher orderBy = Pattern.compile("\\sorder by\\s+(.*?)(?=\\slimit\\s|\\soffset\\s|$)").matcher(lowerSql);
+        if (orderBy.find()) {
+            Matcher orderColumn = Pattern.compile("\\b" + alias + "\\.(\\w+)").matcher(orderBy.group(1));
+            while (orderColumn.find()) {
+                keyParts.add(orderColumn.group(1));
+            }
+        }
+        keyParts.remove("id");
+        return keyParts.isEmpty() ? null : new Index(table, List.copyOf(keyParts));
+    }
+
+    /**
+     * Liquibase changesets creating the suggested indexes.
+     */
+    public static String toChangeLog(Iterable<Index> indexes) {
+        StringBuilder changeLog = new StringBuilder()
+            .append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n")
+            .append("<databaseChangeLog\n")
+            .append("    xmlns=\"http://www.liquibase.org/xml/ns/dbchangelog\"\n")
+            .append("    xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n")
+            .append("    xsi:schemaLocation=\"http://www.liquibase.org/xml/ns/dbchangelog")
+            .append(" http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd\">\n");
+        int count = 0;
+        for (Index index : indexes) {
+            changeLog.append("\n    <changeSet id=\"query-plan-").append(++count).append("\" author=\"jhipster\">\n");
+            if (index.isFunctional()) {
+                changeLog
+                    .append("        <sql dbms=\"mysql\">CREATE INDEX ")
+                    .append(index.name())
+                    .append(" ON ")
+                    .append(index.table())
+                    .append(" (")
+                    .append(String.join(", ", index.keyParts()))
+                    .append(")</sql>\n")
+                    .append("        <rollback>\n")
+                    .append("            <dropIndex indexName=\"")
+                    .append(index.name())
+                    .append("\" tableName=\"")
+                    .append(index.table())
+                    .append("\"/>\n")
+                    .append("        </rollback>\n");
+            } else {
+                changeLog
+                    .append("        <createIndex indexName=\"")
+                    .append(index.name())
+                    .append("\" tableName=\"")
+                    .append(index.table())
+                    .append("\">\n");
+                index.keyParts().forEach(column -> changeLog.append("            <column name=\"").append(column).append("\"/>\n"));
+                changeLog.append("        </createIndex>\n");
+            }
+            changeLog.append("    </changeSet>\n");
+        }
+        return changeLog.append("</databaseChangeLog>\n").toString();
+    }
+
+    private static String tableOf(String sql, String alias) {
+        Matcher matcher = TABLE_ALIAS.matcher(sql);
+        while (matcher.find()) {
+            if (matcher.group(2).equalsIgnoreCase(alias)) {
+                return matcher.group(1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The statement with its parameters inlined as literals: {@code EXPLAIN} cannot be given the parameters of a
+     * statement prepared on the server.
+     */
+    static String inline(CapturedStatement statement) {
+        StringBuilder sql = new StringBuilder();
+        int parameter = 0;
+        boolean quoted = false;
+        for (char c : statement.sql().toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                sql.append(literal(statement.parameters().get(parameter++)));
+            } else {
+                sql.append(c);
+            }
+        }
+        return sql.toString();
+    }
+
+    private static String literal(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? "1" : "0";
+        }
+        if (value instanceof java.util.Date date) {
+            return quote(DATE_TIME.format(LocalDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC)));
+        }
+        if (value instanceof Instant instant) {
+            return quote(DATE_TIME.format(LocalDateTime.ofInstant(instant, ZoneOffset.UTC)));
+        }
+        if (value instanceof TemporalAccessor temporal) {
+            return quote(DATE_TIME.format(temporal));
+        }
+        return quote(value.toString());
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "''") + "'";
+    }
+}
@@ -0,0 +1,331 @@
+package com.jhipster.demo.store.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.repository.QueryPlanAnalyzer.Index;
+import com.jhipster.demo.store.repository.QueryPlanAnalyzer.Violation;
+import com.jhipster.demo.store.repository.SqlCapturingDataSource.CapturedStatement;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Query plan regression tests of the repository queries: each query runs against a scaled dataset, and the plan of
+ * every statement it executes must not scan, sort or join a large table without an index.
+ * <p>
+ * The indexes which would fix the failing queries are written as Liquibase changesets to
+ * {@code build/query-plans/suggested-indexes.xml}. The unpaged {@code findAll} variants read whole tables by design
+ * and are not checked.
+ */
+@IntegrationTest
+@Import(QueryPlanIT.SqlCaptureConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIT {
+
+    private static final int CATEGORIES = 50;
+
+    private static final int PRODUCTS = 20_000;
+
+    private static final int USERS = 5_000;
+
+    private static final int CARTS = 20_000;
+
+    private static final int ORDERS = 50_000;
+
+    private static final long LARGE_TABLE_ROWS = 1_000;
+
+    private static final String SEED_PREFIX = "plan-";
+
+    private static final Sort LATEST_CHANGE_FIRST = Sort.by(Sort.Order.desc("lastModifiedDate"), Sort.Order.desc("cartId"));
+
+    private static final Path SUGGESTED_INDEXES = Path.of("build", "query-plans", "suggested-indexes.xml");
+
+    @TestConfiguration
+    static class SqlCaptureConfiguration {
+
+        @Bean
+        static BeanPostProcessor sqlCapturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                        return new SqlCapturingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerDetailsRepository customerDetailsRepository;
+
+    @Autowired
+    private ProductOrderRepository productOrderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    private QueryPlanAnalyzer analyzer;
+
+    private final Set<Index> suggestedIndexes = new LinkedHashSet<>();
+
+    @BeforeAll
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET SESSION cte_max_recursion_depth = " + ORDERS);
+            jdbcTemplate.update(
+                "INSERT INTO product_category (name, version, last_modified_date)" +
+                " WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < " +
+                CATEGORIES +
+                ")" +
+                " SELECT CONCAT('plan-', n), 0, NOW(6) - INTERVAL n DAY FROM seq"
+            );
+            jdbcTemplate.update(
+                "INSERT INTO product (name, price, product_size, product_category_id, version, last_modified_date)" +
+                " WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < " +
+                PRODUCTS +
+                ")," +
+                " seeded_category AS (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS position" +
+                " FROM product_category WHERE name LIKE 'plan-%')" +
+                " SELECT CONCAT('plan-', n), 10, 'M', seeded_category.id, 0, NOW(6) - INTERVAL n MINUTE" +
+                " FROM seq JOIN seeded_category ON seeded_category.position = n % " +
+                CATEGORIES
+            );
+            // One user in a hundred not activated yet, one in fifty resetting their password
+            jdbcTemplate.update(
+                "INSERT INTO jhi_user (login, email, activated, activation_key, reset_key, created_by, created_date, lang_key)" +
+                " WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < " +
+                USERS +
+                ")" +
+                " SELECT CONCAT('plan-', n), CONCAT('plan-', n, '@localhost'), n % 100 <> 0," +
+                " IF(n % 100 = 0, CONCAT('plan-act-', n), NULL), IF(n % 50 = 0, CONCAT('plan-reset-', n), NULL)," +
+                " 'system', NOW(6) - INTERVAL n HOUR, 'en' FROM seq"
+            );
+            jdbcTemplate.update(
+                "INSERT INTO customer_details (gender, phone, address_line_1, city, country, user_id)" +
+                " SELECT 'OTHER', 'plan', 'plan', 'plan', 'plan', id FROM jhi_user WHERE login LIKE 'plan-%'"
+            );
+            jdbcTemplate.update(
+                "INSERT INTO shopping_cart" +
+                " (placed_date, status, total_price, payment_method, payment_reference, customer_details_id, version, last_modified_date)" +
+                " WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < " +
+                CARTS +
+                ")," +
+                " seeded_customer AS (SELECT customer_details.id, ROW_NUMBER() OVER (ORDER BY customer_details.id) - 1 AS position" +
+                " FROM customer_details JOIN jhi_user ON jhi_user.id = customer_details.user_id WHERE jhi_user.login LIKE 'plan-%')" +
+                " SELECT NOW(6) - INTERVAL n MINUTE, 'PENDING', 0, 'CREDIT_CARD', 'plan', seeded_customer.id," +
+                " 0, NOW(6) - INTERVAL n MINUTE" +
+                " FROM seq JOIN seeded_customer ON seeded_customer.position = n % " +
+                USERS
+            );
+            jdbcTemplate.update(
+                "INSERT INTO product_order (quantity, total_price, product_id, cart_id, version, last_modified_date)" +
+                " WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < " +
+                ORDERS +
+                ")," +
+                " seeded_cart AS (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS position" +
+                " FROM shopping_cart WHERE payment_reference = 'plan')," +
+                " seeded_product AS (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS position" +
+                " FROM product WHERE name LIKE 'plan-%')" +
+                " SELECT 1, 10, seeded_product.id, seeded_cart.id, 0, NOW(6) - INTERVAL n MINUTE" +
+                " FROM seq JOIN seeded_cart ON seeded_cart.position = n % " +
+                CARTS +
+                " JOIN seeded_product ON seeded_product.position = n % " +
+                PRODUCTS
+            );
+            jdbcTemplate.update(
+                OrderSummaryRepository.INSERT_SUMMARIES +
+                OrderSummaryRepository.SUMMARIES +
+                " WHERE shopping_cart.payment_reference = 'plan'" +
+                OrderSummaryRepository.GROUP_BY_CART +
+                OrderSummaryRepository.ON_DUPLICATE_CART_UPDATE
+            );
+        });
+        // The optimizer estimates from the index statistics, refreshed here instead of in the background
+        jdbcTemplate.execute(
+            "ANALYZE TABLE product_category, product, jhi_user, customer_details, shopping_cart, product_order, order_summary"
+        );
+        analyzer = new QueryPlanAnalyzer(jdbcTemplate, LARGE_TABLE_ROWS);
+    }
+
+    @AfterAll
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void cleanup() throws IOException {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM order_summary WHERE customer_login LIKE 'plan-%'");
+            jdbcTemplate.update(
+                "DELETE product_order FROM product_order JOIN shopping_cart ON shopping_cart.id = product_order.cart_id" +
+                " WHERE shopping_cart.payment_reference = 'plan'"
+            );
+            jdbcTemplate.update("DELETE FROM shopping_cart WHERE payment_reference = 'plan'");
+            jdbcTemplate.update(
+                "DELETE customer_details FROM customer_details JOIN jhi_user ON jhi_user.id = customer_details.user_id" +
+                " WHERE jhi_user.login LIKE 'plan-%'"
+            );
+            jdbcTemplate.update("DELETE FROM jhi_user WHERE login LIKE 'plan-%'");
+            jdbcTemplate.update("DELETE FROM product WHERE name LIKE 'plan-%'");
+            jdbcTemplate.update("DELETE FROM product_category WHERE name LIKE 'plan-%'");
+        });
+        if (!suggestedIndexes.isEmpty()) {
+            Files.createDirectories(SUGGESTED_INDEXES.getParent());
+            Files.writeString(SUGGESTED_INDEXES, QueryPlanAnalyzer.toChangeLog(suggestedIndexes));
+        }
+    }
+
+    @Test
+    void productPageIsIndexed() {
+        assertIndexed(() -> productRepository.findAllWithEagerRelationships(PageRequest.of(10, 20, Sort.by("id"))));
+    }
+
+    @Test
+    void productWithCategoryIsIndexed() {
+        Long id = seededId("SELECT MAX(id) FROM product WHERE name LIKE 'plan-%'");
+        assertIndexed(() -> productRepository.findOneWithEagerRelationships(id));
+    }
+
+    @Test
+    void productsModifiedSinceAreIndexed() {
+        assertIndexed(() -> productRepository.findIdsModifiedSince(Instant.now().minus(30, ChronoUnit.MINUTES)));
+    }
+
+    @Test
+    void customerDetailsPageIsIndexed() {
+        assertIndexed(() -> customerDetailsRepository.findAllWithEagerRelationships(PageRequest.of(10, 20, Sort.by("id"))));
+    }
+
+    @Test
+    void customerDetailsWithUserIsIndexed() {
+        Long id = seededId("SELECT MAX(id) FROM customer_details");
+        assertIndexed(() -> customerDetailsRepository.findOneWithEagerRelationships(id));
+    }
+
+    @Test
+    void productOrderPageIsIndexed() {
+        assertIndexed(() -> productOrderRepository.findAllWithEagerRelationships(PageRequest.of(10, 20, Sort.by("id"))));
+    }
+
+    @Test
+    void productOrderWithProductIsIndexed() {
+        Long id = seededId("SELECT MAX(id) FROM product_order");
+        assertIndexed(() -> productOrderRepository.findOneWithEagerRelationships(id));
+    }
+
+    @Test
+    void productOrderOwnerIsIndexed() {
+        Long id = seededId("SELECT MAX(id) FROM product_order");
+        assertIndexed(() -> productOrderRepository.findOwnerLoginById(id));
+    }
+
+    @Test
+    void productOrdersModifiedSinceAreIndexed() {
+        assertIndexed(() -> productOrderRepository.findIdsModifiedSince(SEED_PREFIX + 42, Instant.now().minus(1, ChronoUnit.DAYS)));
+    }
+
+    @Test
+    void userByLoginIsIndexed() {
+        assertIndexed(() -> userRepository.findOneByLogin(SEED_PREFIX + 42));
+    }
+
+    @Test
+    void userWithAuthoritiesByLoginIsIndexed() {
+        assertIndexed(() -> userRepository.findOneWithAuthoritiesByLogin(SEED_PREFIX + 43));
+    }
+
+    @Test
+    void userByEmailIgnoringCaseIsIndexed() {
+        assertIndexed(() -> userRepository.findOneByEmailIgnoreCase("PLAN-44@LOCALHOST"));
+    }
+
+    @Test
+    void userWithAuthoritiesByEmailIgnoringCaseIsIndexed() {
+        assertIndexed(() -> userRepository.findOneWithAuthoritiesByEmailIgnoreCase("Plan-45@localhost"));
+    }
+
+    @Test
+    void userByActivationKeyIsIndexed() {
+        assertIndexed(() -> userRepository.findOneByActivationKey("plan-act-100"));
+    }
+
+    @Test
+    void userByResetKeyIsIndexed() {
+        assertIndexed(() -> userRepository.findOneByResetKey("plan-reset-50"));
+    }
+
+    @Test
+    void notActivatedUsersToRemoveAreIndexed() {
+        assertIndexed(() ->
+            userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
+        );
+    }
+
+    @Test
+    void activatedUserPageIsIndexed() {
+        assertIndexed(() -> userRepository.findAllByIdNotNullAndActivatedIsTrue(PageRequest.of(10, 20, Sort.by("id"))));
+    }
+
+    @Test
+    void orderSummaryPageIsIndexed() {
+        assertIndexed(() -> orderSummaryRepository.findAll(PageRequest.of(10, 20, LATEST_CHANGE_FIRST)));
+    }
+
+    @Test
+    void orderSummariesOfACustomerAreIndexed() {
+        assertIndexed(() -> orderSummaryRepository.findAllByCustomerLogin(SEED_PREFIX + 42, PageRequest.of(0, 20, LATEST_CHANGE_FIRST)));
+    }
+
+    @Test
+    void orderSummariesInAStatusAreIndexed() {
+        assertIndexed(() -> orderSummaryRepository.findAllByStatus(OrderStatus.PENDING, PageRequest.of(10, 20, LATEST_CHANGE_FIRST)));
+    }
+
+    private Long seededId(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private void assertIndexed(Runnable query) {
+        List<CapturedStatement> statements = SqlCapturingDataSource.capture(query);
+        assertThat(statements).as("statements executed by the query").isNotEmpty();
+        List<Violation> violations = analyzer.analyze(statements);
+        violations.stream().map(Violation::suggestedIndex).filter(Objects::nonNull).forEach(suggestedIndexes::add);
+        assertThat(violations).as("plans reading a large table without an index, see " + SUGGESTED_INDEXES).isEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+package com.jhipster.demo.store.repository;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Records the prepared statements executed by the current thread, with their parameters, while {@link #capture} runs.
+ */
+public class SqlCapturingDataSource extends DelegatingDataSource {
+
+    /**
+     * An executed statement, with its parameters in order.
+     */
+    public record CapturedStatement(String sql, List<Object> parameters) {}
+
+    private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+    public SqlCapturingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    /**
+     * Runs an action and returns the statements it executed.
+     */
+    public static List<CapturedStatement> capture(Runnable action) {
+        List<CapturedStatement> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            action.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return capturing(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return capturing(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection capturing(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            SqlCapturingDataSource.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                    return capturing(statement, (String) args[0]);
+                }
+                return result;
+            }
+        );
+    }
+
+    private static PreparedStatement capturing(PreparedStatement statement, String sql) {
+        TreeMap<Integer, Object> parameters = new TreeMap<>();
+        return (PreparedStatement) Proxy.newProxyInstance(
+            SqlCapturingDataSource.class.getClassLoader(),
+            new Class<?>[] { PreparedStatement.class },
+            (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : parameterValue(args[1]));
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                    List<CapturedStatement> captured = CAPTURED.get();
+                    if (captured != null) {
+                        captured.add(new CapturedStatement(sql, new ArrayList<>(parameters.values())));
+                    }
+                }
+                return invoke(statement, method, args);
+            }
+        );
+    }
+
+    /**
+     * Reads the arrays, e.g. of the ids a multi-load binds as one parameter on H2, while they are still readable.
+     */
+    private static Object parameterValue(Object value) throws SQLException {
+        return value instanceof Array array ? List.of((Object[]) array.getArray()) : value;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
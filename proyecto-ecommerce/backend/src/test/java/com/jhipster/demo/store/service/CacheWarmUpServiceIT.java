@@ -0,0 +1,91 @@
+package com.jhipster.demo.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.config.ApplicationProperties;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.repository.UserRepository;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Integration tests for {@link CacheWarmUpService}.
+ */
+@IntegrationTest
+class CacheWarmUpServiceIT {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheWarmUpService cacheWarmUpService;
+
+    @AfterEach
+    void clearUserCaches() {
+        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).clear();
+        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).clear();
+    }
+
+    @Test
+    void warmUpIsDisabledByDefault() {
+        assertThat(cacheWarmUpService.getState()).isEqualTo(CacheWarmUpService.State.DISABLED);
+        assertThat(cacheWarmUpService.isWarming()).isFalse();
+    }
+
+    @Test
+    void warmUpPopulatesUserCaches() throws Exception {
+        CacheWarmUpService enabledWarmUp = warmUpService(true);
+        assertThat(enabledWarmUp.isWarming()).isTrue();
+
+        enabledWarmUp.warmUp().get(30, TimeUnit.SECONDS);
+
+        assertThat(enabledWarmUp.getState()).isEqualTo(CacheWarmUpService.State.COMPLETED);
+        assertThat(enabledWarmUp.isWarming()).isFalse();
+        assertThat(Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).get("admin")).isNotNull();
+        assertThat(Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).get("admin@localhost")).isNotNull();
+    }
+
+    @Test
+    void warmUpRunsOnlyOnce() throws Exception {
+        CacheWarmUpService enabledWarmUp = warmUpService(true);
+        enabledWarmUp.warmUp().get(30, TimeUnit.SECONDS);
+        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).clear();
+
+        enabledWarmUp.warmUp().get(30, TimeUnit.SECONDS);
+
+        assertThat(Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).get("admin")).isNull();
+    }
+
+    private CacheWarmUpService warmUpService(boolean enabled) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getWarmUp().setEnabled(enabled);
+        applicationProperties.getCache().getWarmUp().setPageSize(2);
+        return new CacheWarmUpService(
+            productRepository,
+            productCategoryRepository,
+            userRepository,
+            cacheManager,
+            transactionManager,
+            applicationProperties
+        );
+    }
+}
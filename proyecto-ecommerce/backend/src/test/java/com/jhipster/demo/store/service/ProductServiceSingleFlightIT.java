@@ -0,0 +1,162 @@
+package com.jhipster.demo.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.enumeration.Size;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.web.rest.ProductCategoryResourceIT;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Integration tests for the coalesced loads of {@link ProductService#findOne(Long)}: concurrent misses on one product
+ * are one query.
+ * <p>
+ * Not transactional: the coalesced loads only apply to the callers outside of a transaction.
+ */
+@IntegrationTest
+class ProductServiceSingleFlightIT {
+
+    private static final int CALLERS = 1000;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Statistics statistics;
+
+    private ProductCategory productCategory;
+
+    private Product product;
+
+    @BeforeEach
+    void initTest() {
+        productCategory = productCategoryRepository.saveAndFlush(ProductCategoryResourceIT.createEntity());
+        product = productRepository.saveAndFlush(
+            new Product().name("AAAAAAAAAA").price(BigDecimal.ONE).productSize(Size.S).productCategory(productCategory)
+        );
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void cleanup() {
+        statistics.setStatisticsEnabled(false);
+        productRepository.deleteById(product.getId());
+        productCategoryRepository.deleteById(productCategory.getId());
+    }
+
+    @Test
+    void concurrentMissesOnAProductAreOneSelect() throws Exception {
+        Long id = product.getId();
+        SingleFlight<?, ?> findOneFlights = (SingleFlight<?, ?>) ReflectionTestUtils.getField(
+            AopTestUtils.getTargetObject(productService),
+            "findOneFlights"
+        );
+        long coalesced = findOneFlights.coalesced();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<Product> products = new ArrayList<>();
+        // With the pool exhausted, the first caller waits for a connection, its load in flight, until the others joined it
+        List<Connection> heldConnections = holdAllConnections();
+        try {
+            List<Future<Product>> results = new ArrayList<>();
+            statistics.clear();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(
+                    executor.submit(() -> {
+                        start.await();
+                        return productService.findOne(id).orElseThrow();
+                    })
+                );
+            }
+            start.countDown();
+            awaitCoalesced(findOneFlights, coalesced + CALLERS - 1);
+            release(heldConnections);
+            for (Future<Product> result : results) {
+                products.add(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            release(heldConnections);
+            executor.shutdownNow();
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Set<Product> distinctProducts = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinctProducts.addAll(products);
+        assertThat(distinctProducts).hasSize(CALLERS);
+        assertThat(products).allSatisfy(loaded -> {
+            assertThat(loaded.getName()).isEqualTo("AAAAAAAAAA");
+            assertThat(loaded.getProductCategory().getId()).isEqualTo(productCategory.getId());
+        });
+    }
+
+    @Test
+    void callersAfterAnUpdateReadTheUpdatedProduct() {
+        Product loaded = productService.findOne(product.getId()).orElseThrow();
+        loaded.setName("BBBBBBBBBB");
+
+        productService.partialUpdate(loaded);
+
+        assertThat(productService.findOne(product.getId()).orElseThrow().getName()).isEqualTo("BBBBBBBBBB");
+    }
+
+    private List<Connection> holdAllConnections() throws Exception {
+        HikariDataSource pool = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+        List<Connection> connections = new ArrayList<>();
+        for (int i = 0; i < pool.getMaximumPoolSize(); i++) {
+            connections.add(pool.getConnection());
+        }
+        return connections;
+    }
+
+    private static void release(List<Connection> connections) throws Exception {
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    private static void awaitCoalesced(SingleFlight<?, ?> findOneFlights, long expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (findOneFlights.coalesced() < expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
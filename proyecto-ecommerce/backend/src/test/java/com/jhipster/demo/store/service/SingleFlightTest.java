@@ -0,0 +1,105 @@
+package com.jhipster.demo.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SingleFlight}.
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 1000;
+
+    private static final int KEYS = 10;
+
+    @Test
+    void shouldRunOneQueryPerKeyUnderConcurrentMisses() throws Exception {
+        SingleFlight<Long, Optional<String>> singleFlight = new SingleFlight<>();
+        Map<Long, AtomicInteger> queriesPerKey = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<Optional<String>>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                long key = i % KEYS;
+                results.add(
+                    executor.submit(() -> {
+                        start.await();
+                        return singleFlight.load(key, () -> {
+                            queriesPerKey.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                            // Simulates a slow query, held until every other caller has joined a flight
+                            awaitCoalesced(singleFlight, CALLERS - KEYS);
+                            return Optional.of("product-" + key);
+                        });
+                    })
+                );
+            }
+            start.countDown();
+
+            for (int i = 0; i < CALLERS; i++) {
+                assertThat(results.get(i).get(30, TimeUnit.SECONDS)).contains("product-" + (i % KEYS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(queriesPerKey).hasSize(KEYS);
+        assertThat(queriesPerKey.values()).allSatisfy(queries -> assertThat(queries).hasValue(1));
+        assertThat(singleFlight.loads()).isEqualTo(KEYS);
+        assertThat(singleFlight.coalesced()).isEqualTo(CALLERS - KEYS);
+    }
+
+    @Test
+    void shouldShareLoaderFailureWithWaitingCallers() throws Exception {
+        SingleFlight<Long, Optional<String>> singleFlight = new SingleFlight<>();
+        CountDownLatch loading = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> leader = executor.submit(() ->
+                singleFlight.load(1L, () -> {
+                    loading.countDown();
+                    awaitCoalesced(singleFlight, 1);
+                    throw new IllegalStateException("database unavailable");
+                })
+            );
+            loading.await();
+
+            assertThatThrownBy(() -> singleFlight.load(1L, Optional::empty))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("database unavailable");
+            assertThatThrownBy(leader::get).hasCauseInstanceOf(IllegalStateException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldNotKeepValueOnceLoaded() {
+        SingleFlight<Long, Optional<String>> singleFlight = new SingleFlight<>();
+
+        singleFlight.load(1L, () -> Optional.of("first"));
+
+        assertThat(singleFlight.load(1L, () -> Optional.of("second"))).contains("second");
+        assertThat(singleFlight.loads()).isEqualTo(2);
+    }
+
+    private static void awaitCoalesced(SingleFlight<?, ?> singleFlight, long expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (singleFlight.coalesced() < expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
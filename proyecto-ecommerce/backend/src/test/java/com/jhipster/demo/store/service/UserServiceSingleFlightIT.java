@@ -0,0 +1,132 @@
+package com.jhipster.demo.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.domain.User;
+import com.jhipster.demo.store.repository.AuthorityRepository;
+import com.jhipster.demo.store.repository.UserRepository;
+import com.jhipster.demo.store.security.AuthoritiesConstants;
+import com.jhipster.demo.store.service.dto.AdminUserDTO;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Integration tests for the coalesced user loads of {@link UserService}, called concurrently through JPA.
+ * <p>
+ * Not transactional: the coalesced loads only apply to the callers outside of a transaction.
+ */
+@IntegrationTest
+class UserServiceSingleFlightIT {
+
+    private static final String LOGIN = "single-flight-user";
+
+    private static final int CALLERS = 32;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void initTest() {
+        User user = new User();
+        user.setLogin(LOGIN);
+        user.setPassword(RandomStringUtils.insecure().nextAlphanumeric(60));
+        user.setActivated(true);
+        user.setEmail(LOGIN + "@localhost");
+        user.setFirstName("john");
+        user.setLangKey("en");
+        user.setAuthorities(new HashSet<>(authorityRepository.findAllById(List.of(AuthoritiesConstants.USER))));
+        userRepository.saveAndFlush(user);
+        clearCaches();
+    }
+
+    @AfterEach
+    void cleanup() {
+        userService.deleteUser(LOGIN);
+        clearCaches();
+    }
+
+    @Test
+    void concurrentCallersGetTheirOwnCopyWithTheAuthoritiesLoaded() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<AdminUserDTO> users = new ArrayList<>();
+        try {
+            List<Future<AdminUserDTO>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                String firstName = "caller-" + i;
+                results.add(
+                    executor.submit(() -> {
+                        start.await();
+                        AdminUserDTO user = userService.getAdminUserWithAuthoritiesByLogin(LOGIN).orElseThrow();
+                        // Must not be seen by the other callers
+                        user.setFirstName(firstName);
+                        user.getAuthorities().add(firstName);
+                        return user;
+                    })
+                );
+            }
+            start.countDown();
+            for (Future<AdminUserDTO> result : results) {
+                users.add(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Set<AdminUserDTO> distinctUsers = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinctUsers.addAll(users);
+        assertThat(distinctUsers).hasSize(CALLERS);
+        for (int i = 0; i < CALLERS; i++) {
+            AdminUserDTO user = users.get(i);
+            assertThat(user.getLogin()).isEqualTo(LOGIN);
+            assertThat(user.getFirstName()).isEqualTo("caller-" + i);
+            assertThat(user.getAuthorities()).containsExactlyInAnyOrder(AuthoritiesConstants.USER, "caller-" + i);
+        }
+        assertThat(userService.getAdminUserWithAuthoritiesByLogin(LOGIN).orElseThrow().getFirstName()).isEqualTo("john");
+    }
+
+    @Test
+    void callersAfterAnUpdateReadTheUpdatedUser() {
+        AdminUserDTO user = userService.getAdminUserWithAuthoritiesByLogin(LOGIN).orElseThrow();
+        user.setFirstName("jane");
+
+        userService.updateUser(user);
+
+        assertThat(userService.getAdminUserWithAuthoritiesByLogin(LOGIN).orElseThrow().getFirstName()).isEqualTo("jane");
+    }
+
+    private void clearCaches() {
+        cacheManager
+            .getCacheNames()
+            .stream()
+            .map(cacheManager::getCache)
+            .filter(Objects::nonNull)
+            .forEach(Cache::clear);
+    }
+}
@@ -0,0 +1,156 @@
+package com.jhipster.demo.store.web.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ShoppingCart;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.service.event.EntityChangedEvent;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Unit tests for {@link ChangeFeed}.
+ */
+class ChangeFeedTest {
+
+    private ChangeFeed changeFeed;
+
+    @AfterEach
+    void shutdown() {
+        changeFeed.destroy();
+    }
+
+    @Test
+    void shouldOnlySendOrderChangesToTheirCustomer() throws Exception {
+        changeFeed = new ChangeFeed(16, 16, 2, Duration.ofHours(1));
+        RecordingEmitter alice = subscribe("alice", false, null);
+        RecordingEmitter bob = subscribe("bob", false, null);
+        RecordingEmitter admin = subscribe("admin", true, null);
+
+        changeFeed.onEntityChanged(EntityChangedEvent.updated(Product.class, 1L, new Product().id(1L)));
+        changeFeed.onEntityChanged(
+            EntityChangedEvent.updated(ShoppingCart.class, 2L, new ShoppingCart().id(2L).status(OrderStatus.PAID)).ownedBy("alice")
+        );
+
+        assertThat(alice.next()).isEqualTo("change:1");
+        assertThat(alice.next()).isEqualTo("change:2");
+        assertThat(admin.next()).isEqualTo("change:1");
+        assertThat(admin.next()).isEqualTo("change:2");
+        assertThat(bob.next()).isEqualTo("change:1");
+        assertThat(bob.events.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void shouldDropTheOldestChangesOfASlowSubscriberAndAskItToResync() throws Exception {
+        changeFeed = new ChangeFeed(2, 16, 1, Duration.ofHours(1));
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = subscribe("alice", false, release);
+
+        publishProductChange(1L);
+        // Held in the first send, so the next changes pile up in its buffer
+        assertThat(slow.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        publishProductChange(2L);
+        publishProductChange(3L);
+        publishProductChange(4L);
+        release.countDown();
+
+        assertThat(slow.next()).isEqualTo("change:1");
+        assertThat(slow.next()).isEqualTo("resync:4");
+        assertThat(slow.next()).isEqualTo("change:3");
+        assertThat(slow.next()).isEqualTo("change:4");
+    }
+
+    @Test
+    void shouldReplayTheChangesMissedSinceTheLastEventId() throws Exception {
+        changeFeed = new ChangeFeed(16, 16, 2, Duration.ofHours(1));
+        publishProductChange(1L);
+        publishProductChange(2L);
+        publishProductChange(3L);
+
+        RecordingEmitter reconnected = subscribe("alice", false, null, 1L);
+
+        assertThat(reconnected.next()).isEqualTo("change:2");
+        assertThat(reconnected.next()).isEqualTo("change:3");
+    }
+
+    @Test
+    void shouldAskToResyncWhenTheLastEventIdIsUnknown() throws Exception {
+        changeFeed = new ChangeFeed(16, 16, 2, Duration.ofHours(1));
+        publishProductChange(1L);
+
+        // e.g. an id from before a restart
+        RecordingEmitter reconnected = subscribe("alice", false, null, 42L);
+
+        assertThat(reconnected.next()).isEqualTo("resync:1");
+    }
+
+    private void publishProductChange(Long id) {
+        changeFeed.onEntityChanged(EntityChangedEvent.updated(Product.class, id, new Product().id(id)));
+    }
+
+    private RecordingEmitter subscribe(String login, boolean admin, CountDownLatch release) {
+        return subscribe(login, admin, release, null);
+    }
+
+    private RecordingEmitter subscribe(String login, boolean admin, CountDownLatch release, Long lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter(release);
+        changeFeed.subscribe(login, admin, EnumSet.allOf(ChangeFeed.Topic.class), lastEventId, emitter);
+        return emitter;
+    }
+
+    /**
+     * Records the sent events as {@code name:id}.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+
+        private final CountDownLatch release;
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            String name = null;
+            String id = null;
+            for (String line : text.toString().split("\n")) {
+                if (line.startsWith("event:")) {
+                    name = line.substring("event:".length());
+                } else if (line.startsWith("id:")) {
+                    id = line.substring("id:".length());
+                }
+            }
+            if (name != null) {
+                events.add(name + ":" + id);
+            }
+        }
+
+        String next() throws InterruptedException {
+            return events.poll(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.jhipster.demo.store.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.service.event.EntityChangedEvent;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Unit tests for {@link CatalogResponseCache} and {@link CatalogResponseCacheFilter}.
+ */
+class CatalogResponseCacheTest {
+
+    private CatalogResponseCache cache;
+
+    @BeforeEach
+    void setup() {
+        cache = new CatalogResponseCache(100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldPurgeOnlyResponsesTaggedWithUpdatedProduct() {
+        cache.put("/api/products/1", response(SurrogateKeys.product(1L), SurrogateKeys.category(10L)), cache.generation());
+        cache.put("/api/products/2", response(SurrogateKeys.product(2L), SurrogateKeys.category(10L)), cache.generation());
+        cache.put("/api/products", response(SurrogateKeys.CATALOG_LIST, SurrogateKeys.product(1L)), cache.generation());
+
+        cache.onEntityChanged(EntityChangedEvent.updated(Product.class, 1L, null));
+
+        assertThat(cache.get("/api/products/1")).isNull();
+        assertThat(cache.get("/api/products")).isNull();
+        assertThat(cache.get("/api/products/2")).isNotNull();
+    }
+
+    @Test
+    void shouldPurgeSortedPageGainingTheUpdatedProduct() {
+        // The first page by price shows products 2 and 3, product 1 is on the second one until its price drops
+        cache.put(
+            "/api/products?page=0&size=2&sort=price",
+            response(SurrogateKeys.CATALOG_LIST, SurrogateKeys.product(2L), SurrogateKeys.product(3L)),
+            cache.generation()
+        );
+        cache.put("/api/products/2", response(SurrogateKeys.product(2L), SurrogateKeys.category(10L)), cache.generation());
+
+        cache.onEntityChanged(EntityChangedEvent.updated(Product.class, 1L, null));
+
+        assertThat(cache.get("/api/products?page=0&size=2&sort=price")).isNull();
+        assertThat(cache.get("/api/products/2")).isNotNull();
+    }
+
+    @Test
+    void shouldPurgeListingsWhenCategoryIsCreated() {
+        cache.put("/api/product-categories", response(SurrogateKeys.CATALOG_LIST), cache.generation());
+        cache.put("/api/products/2", response(SurrogateKeys.product(2L), SurrogateKeys.category(10L)), cache.generation());
+
+        cache.onEntityChanged(EntityChangedEvent.created(ProductCategory.class, 11L, null));
+
+        assertThat(cache.get("/api/product-categories")).isNull();
+        assertThat(cache.get("/api/products/2")).isNotNull();
+    }
+
+    @Test
+    void shouldNotStoreResponseComputedDuringPurge() {
+        long generation = cache.generation();
+        cache.purge(SurrogateKeys.product(1L));
+
+        boolean stored = cache.put("/api/products/1", response(SurrogateKeys.product(1L)), generation);
+
+        assertThat(stored).isFalse();
+        assertThat(cache.get("/api/products/1")).isNull();
+        assertThat(cache.indexSize()).isZero();
+    }
+
+    @Test
+    void shouldUnindexEvictedResponses() {
+        cache.put("/api/products/1", response(SurrogateKeys.product(1L), SurrogateKeys.CATALOG_LIST), cache.generation());
+        assertThat(cache.indexSize()).isEqualTo(2);
+
+        cache.purge(SurrogateKeys.product(1L));
+
+        assertThat(cache.indexSize()).isZero();
+    }
+
+    @Test
+    void shouldServeHitWithoutCallingController() throws Exception {
+        CatalogResponseCacheFilter filter = new CatalogResponseCacheFilter(cache, true);
+        AtomicInteger controllerCalls = new AtomicInteger();
+
+        HttpServlet controller = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                controllerCalls.incrementAndGet();
+                RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+                SurrogateKeys.tag(SurrogateKeys.CATALOG_LIST, SurrogateKeys.product(1L));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setHeader("X-Total-Count", "1");
+                response.getOutputStream().write("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8));
+            }
+        };
+
+        MockHttpServletResponse miss = new MockHttpServletResponse();
+        filter.doFilter(productsRequest(), miss, new MockFilterChain(controller));
+        RequestContextHolder.resetRequestAttributes();
+
+        MockHttpServletResponse hit = new MockHttpServletResponse();
+        filter.doFilter(productsRequest(), hit, new MockFilterChain());
+
+        assertThat(controllerCalls).hasValue(1);
+        assertThat(miss.getHeader(CatalogResponseCacheFilter.CACHE_STATUS_HEADER)).isEqualTo("MISS");
+        assertThat(hit.getHeader(CatalogResponseCacheFilter.CACHE_STATUS_HEADER)).isEqualTo("HIT");
+        assertThat(hit.getHeader("X-Total-Count")).isEqualTo("1");
+        assertThat(hit.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(hit.getContentAsString()).isEqualTo("[{\"id\":1}]");
+    }
+
+    @Test
+    void shouldTellWhileAResponseToCacheIsComputed() throws Exception {
+        CatalogResponseCacheFilter filter = new CatalogResponseCacheFilter(cache, false);
+        AtomicBoolean fillingCache = new AtomicBoolean();
+
+        HttpServlet controller = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+                RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+                fillingCache.set(CatalogResponseCacheFilter.isFillingCache());
+            }
+        };
+        filter.doFilter(productsRequest(), new MockHttpServletResponse(), new MockFilterChain(controller));
+        RequestContextHolder.resetRequestAttributes();
+
+        assertThat(fillingCache).isTrue();
+        assertThat(CatalogResponseCacheFilter.isFillingCache()).isFalse();
+    }
+
+    @Test
+    void shouldNormalizeQueryParameterOrder() {
+        MockHttpServletRequest first = productsRequest();
+        first.addParameter("page", "0");
+        first.addParameter("size", "20");
+        MockHttpServletRequest second = productsRequest();
+        second.addParameter("size", "20");
+        second.addParameter("page", "0");
+
+        assertThat(CatalogResponseCacheFilter.requestKey(first)).isEqualTo(CatalogResponseCacheFilter.requestKey(second));
+    }
+
+    @Test
+    void shouldKeyResponsesByHost() {
+        MockHttpServletRequest internal = productsRequest();
+        MockHttpServletRequest external = productsRequest();
+        external.setScheme("https");
+        external.setServerName("store.example.com");
+        external.setServerPort(443);
+
+        assertThat(CatalogResponseCacheFilter.requestKey(internal)).isNotEqualTo(CatalogResponseCacheFilter.requestKey(external));
+    }
+
+    private static MockHttpServletRequest productsRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Accept", MediaType.APPLICATION_JSON_VALUE);
+        return request;
+    }
+
+    private static CatalogResponseCache.CachedResponse response(String... surrogateKeys) {
+        return new CatalogResponseCache.CachedResponse(
+            MediaType.APPLICATION_JSON_VALUE,
+            Map.of("X-Total-Count", List.of("1")),
+            "[]".getBytes(StandardCharsets.UTF_8),
+            Set.of(surrogateKeys)
+        );
+    }
+}
@@ -0,0 +1,200 @@
+package com.jhipster.demo.store.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Unit tests for {@link CompressionFilter} and {@link ResponseCompressor}.
+ */
+class CompressionFilterTest {
+
+    private static final String LARGE_JSON = "[" + "{\"id\":1,\"name\":\"runner\"},".repeat(100) + "{\"id\":2}]";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ResponseCompressor compressor;
+
+    private CompressionFilter filter;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        compressor = new ResponseCompressor(1024, List.of(MediaType.APPLICATION_JSON, MediaType.TEXT_HTML), 5, -1, meterRegistry);
+        filter = new CompressionFilter(compressor);
+    }
+
+    @Test
+    void shouldGzipLargeJsonResponse() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("gzip, deflate"), response, new MockFilterChain(servlet(MediaType.APPLICATION_JSON_VALUE, LARGE_JSON)));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getContentLength()).isEqualTo(response.getContentAsByteArray().length).isLessThan(LARGE_JSON.length());
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(LARGE_JSON);
+        assertThat(meterRegistry.get("http.server.responses.compression").tag("encoding", "gzip").timer().count()).isEqualTo(1);
+        assertThat(
+            meterRegistry.get("http.server.responses.compression.bytes").tags("encoding", "gzip", "stage", "identity").counter().count()
+        ).isEqualTo(LARGE_JSON.length());
+    }
+
+    @Test
+    void shouldNotCompressBelowThreshold() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("gzip"), response, new MockFilterChain(servlet(MediaType.APPLICATION_JSON_VALUE, "[]")));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+    }
+
+    @Test
+    void shouldNotCompressOtherMediaTypes() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("gzip"), response, new MockFilterChain(servlet(MediaType.APPLICATION_CBOR_VALUE, LARGE_JSON)));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(LARGE_JSON);
+    }
+
+    @Test
+    void shouldNotCompressWhenEncodingIsRefused() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("gzip;q=0, identity"), response, new MockFilterChain(servlet(MediaType.APPLICATION_JSON_VALUE, LARGE_JSON)));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(LARGE_JSON);
+    }
+
+    @Test
+    void shouldWriteAlreadyEncodedResponseAsIs() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet precompressed = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "br");
+                response.getOutputStream().write(LARGE_JSON.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+
+        filter.doFilter(request("br, gzip"), response, new MockFilterChain(precompressed));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+        assertThat(response.getContentAsString()).isEqualTo(LARGE_JSON);
+    }
+
+    @Test
+    void shouldWriteEventStreamThrough() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet eventStream = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+                response.getOutputStream().write(LARGE_JSON.getBytes(StandardCharsets.UTF_8));
+                response.flushBuffer();
+            }
+        };
+
+        filter.doFilter(request("gzip"), response, new MockFilterChain(eventStream));
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(LARGE_JSON);
+    }
+
+    @Test
+    void shouldWriteAsyncResponseThrough() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockHttpServletRequest request = request("gzip");
+        request.setAsyncSupported(true);
+        HttpServlet async = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getOutputStream().write("[".getBytes(StandardCharsets.UTF_8));
+                request.startAsync(request, response);
+            }
+        };
+
+        filter.doFilter(request, response, new MockFilterChain(async));
+        request.getAsyncContext().getResponse().getOutputStream().write(LARGE_JSON.substring(1).getBytes(StandardCharsets.UTF_8));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(LARGE_JSON);
+    }
+
+    @Test
+    void shouldReuseEncodedBodyOfCachedResponse() throws Exception {
+        CatalogResponseCache cache = new CatalogResponseCache(10, Duration.ofMinutes(1));
+        CatalogResponseCacheFilter cacheFilter = new CatalogResponseCacheFilter(cache, false, compressor);
+        MockHttpServletRequest request = request("gzip");
+        cache.put(
+            CatalogResponseCacheFilter.requestKey(request),
+            new CatalogResponseCache.CachedResponse(
+                MediaType.APPLICATION_JSON_VALUE,
+                Map.of(),
+                LARGE_JSON.getBytes(StandardCharsets.UTF_8),
+                Set.of(SurrogateKeys.CATALOG_LIST)
+            ),
+            cache.generation()
+        );
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request, first, new MockFilterChain(new HttpServlet() {}, cacheFilter));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(request("gzip"), second, new MockFilterChain(new HttpServlet() {}, cacheFilter));
+
+        assertThat(gunzip(first.getContentAsByteArray())).isEqualTo(LARGE_JSON);
+        assertThat(second.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+        assertThat(meterRegistry.get("http.server.responses.compression").tag("encoding", "gzip").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.responses.compression.reused.bytes").tag("encoding", "gzip").counter().count()).isEqualTo(
+            first.getContentAsByteArray().length
+        );
+    }
+
+    private static MockHttpServletRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return request;
+    }
+
+    private static HttpServlet servlet(String contentType, String body) {
+        return new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setContentType(contentType);
+                response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    private static String gunzip(byte[] encoded) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.jhipster.demo.store.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.enumeration.Size;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link BatchResource} REST controller.
+ * <p>
+ * Not transactional: each batch commits or rolls back its own transaction.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class BatchResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/_batch";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MockMvc restBatchMockMvc;
+
+    private ProductCategory productCategory;
+
+    private Product product;
+
+    private final List<Long> createdProductCategoryIds = new ArrayList<>();
+
+    @BeforeEach
+    void initTest() {
+        productCategory = productCategoryRepository.saveAndFlush(ProductCategoryResourceIT.createEntity());
+        product = productRepository.saveAndFlush(
+            new Product().name("AAAAAAAAAA").price(BigDecimal.ONE).productSize(Size.S).productCategory(productCategory)
+        );
+    }
+
+    @AfterEach
+    void cleanup() {
+        productRepository.deleteById(product.getId());
+        productCategoryRepository.deleteById(productCategory.getId());
+        createdProductCategoryIds.forEach(productCategoryRepository::deleteById);
+    }
+
+    @Test
+    void applyAtomicBatch() throws Exception {
+        ProductCategory deletedProductCategory = productCategoryRepository.saveAndFlush(ProductCategoryResourceIT.createEntity());
+        ArrayNode operations = om.createArrayNode();
+        operations.add(operation("product", "PATCH", product.getId(), om.createObjectNode().put("id", product.getId()).put("price", 9.5)));
+        operations.add(operation("productCategory", "POST", null, om.createObjectNode().put("name", "BBBBBBBBBB")));
+        operations.add(operation("productCategory", "DELETE", deletedProductCategory.getId(), null));
+
+        JsonNode results = applyBatch("ATOMIC", operations);
+
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(200);
+        assertThat(results.get(1).get("status").asInt()).isEqualTo(201);
+        assertThat(results.get(2).get("status").asInt()).isEqualTo(204);
+        createdProductCategoryIds.add(results.get(1).get("id").asLong());
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getPrice()).isEqualByComparingTo("9.5");
+        assertThat(productCategoryRepository.findById(results.get(1).get("id").asLong())).isPresent();
+        assertThat(productCategoryRepository.existsById(deletedProductCategory.getId())).isFalse();
+    }
+
+    @Test
+    void atomicBatchIsRolledBackWhenAnOperationFails() throws Exception {
+        long databaseSizeBefore = productCategoryRepository.count();
+        ArrayNode operations = om.createArrayNode();
+        operations.add(operation("productCategory", "POST", null, om.createObjectNode().put("name", "BBBBBBBBBB")));
+        operations.add(operation("product", "PATCH", Long.MAX_VALUE, om.createObjectNode().put("id", Long.MAX_VALUE).put("price", 1)));
+
+        JsonNode results = applyBatch("ATOMIC", operations);
+
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(424);
+        assertThat(results.get(1).get("status").asInt()).isEqualTo(404);
+        assertThat(productCategoryRepository.count()).isEqualTo(databaseSizeBefore);
+    }
+
+    @Test
+    void bestEffortBatchAppliesTheValidOperations() throws Exception {
+        ArrayNode operations = om.createArrayNode();
+        operations.add(operation("productCategory", "POST", null, om.createObjectNode().put("description", "no name")));
+        operations.add(operation("productCategory", "POST", null, om.createObjectNode().put("name", "BBBBBBBBBB")));
+        operations.add(operation("product", "DELETE", product.getId(), null));
+        ObjectNode patch = om.createObjectNode().put("id", product.getId()).put("name", "CCCCCCCCCC");
+        operations.add(operation("product", "PATCH", product.getId(), patch));
+
+        JsonNode results = applyBatch("BEST_EFFORT", operations);
+
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(400);
+        assertThat(results.get(1).get("status").asInt()).isEqualTo(201);
+        assertThat(results.get(2).get("status").asInt()).isEqualTo(204);
+        // The same product cannot be the target of two operations
+        assertThat(results.get(3).get("status").asInt()).isEqualTo(400);
+        createdProductCategoryIds.add(results.get(1).get("id").asLong());
+        assertThat(productRepository.existsById(product.getId())).isFalse();
+    }
+
+    @Test
+    void batchWithUnknownEntityIsReported() throws Exception {
+        ArrayNode operations = om.createArrayNode();
+        operations.add(operation("authority", "DELETE", 1L, null));
+
+        JsonNode results = applyBatch("BEST_EFFORT", operations);
+
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(400);
+    }
+
+    private ObjectNode operation(String entity, String method, Long id, JsonNode body) {
+        ObjectNode operation = om.createObjectNode().put("entity", entity).put("method", method);
+        if (id != null) {
+            operation.put("id", id);
+        }
+        if (body != null) {
+            operation.set("body", body);
+        }
+        return operation;
+    }
+
+    private JsonNode applyBatch(String mode, ArrayNode operations) throws Exception {
+        ObjectNode batch = om.createObjectNode().put("mode", mode);
+        batch.set("operations", operations);
+        return om.readTree(
+            restBatchMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(operations.size()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+    }
+}
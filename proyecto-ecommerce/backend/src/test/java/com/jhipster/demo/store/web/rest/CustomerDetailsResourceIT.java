@@ -333,6 +333,35 @@ class CustomerDetailsResourceIT {
         restCustomerDetailsMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getCustomerDetailsWithFields() throws Exception {
+        // Initialize the database
+        insertedCustomerDetails = customerDetailsRepository.saveAndFlush(customerDetails);
+
+        // Get the selected fields of the customerDetails, including a field of its user
+        restCustomerDetailsMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?fields=city,user.login", customerDetails.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(customerDetails.getId().intValue()))
+            .andExpect(jsonPath("$.city").value(DEFAULT_CITY))
+            .andExpect(jsonPath("$.user.id").value(customerDetails.getUser().getId().intValue()))
+            .andExpect(jsonPath("$.user.login").value(customerDetails.getUser().getLogin()))
+            .andExpect(jsonPath("$.phone").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getCustomerDetailsWithHiddenFieldsIsRejected() throws Exception {
+        // Initialize the database
+        insertedCustomerDetails = customerDetailsRepository.saveAndFlush(customerDetails);
+
+        restCustomerDetailsMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?fields=user.password", customerDetails.getId()))
+            .andExpect(status().isBadRequest());
+        restCustomerDetailsMockMvc.perform(get(ENTITY_API_URL + "?fields=carts")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void putExistingCustomerDetails() throws Exception {
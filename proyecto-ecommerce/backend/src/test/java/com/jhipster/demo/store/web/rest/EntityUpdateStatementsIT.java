@@ -0,0 +1,144 @@
+package com.jhipster.demo.store.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.enumeration.Size;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Counts the JDBC statements of the PUT and PATCH requests: with the second-level cache disabled, as in the tests,
+ * an update is at most one select, reused by the merge, and one update of the changed columns; it used to be an
+ * existence check, the select of the merge and an update of every column.
+ * <p>
+ * Not transactional: the statements of each request are counted when its transaction commits.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class EntityUpdateStatementsIT {
+
+    private static final int UPDATES = 10;
+
+    private static final long STATEMENTS_PER_UPDATE = 2;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    private Statistics statistics;
+
+    private ProductCategory productCategory;
+
+    private Product product;
+
+    @BeforeEach
+    void initTest() {
+        productCategory = productCategoryRepository.saveAndFlush(ProductCategoryResourceIT.createEntity());
+        product = productRepository.saveAndFlush(
+            new Product().name("AAAAAAAAAA").price(BigDecimal.ONE).productSize(Size.S).productCategory(productCategory)
+        );
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void cleanup() {
+        statistics.setStatisticsEnabled(false);
+        productRepository.deleteById(product.getId());
+        productCategoryRepository.deleteById(productCategory.getId());
+    }
+
+    @Test
+    void putProductIsOneSelectAndOneUpdate() throws Exception {
+        for (int i = 0; i < UPDATES; i++) {
+            ObjectNode update = productBody().put("name", "BBBBBBBBBB" + i);
+            assertThat(statementsOf(put("/api/products/{id}", product.getId()), update)).isLessThanOrEqualTo(STATEMENTS_PER_UPDATE);
+        }
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getName()).isEqualTo("BBBBBBBBBB" + (UPDATES - 1));
+    }
+
+    @Test
+    void patchProductIsOneSelectAndOneUpdate() throws Exception {
+        for (int i = 0; i < UPDATES; i++) {
+            ObjectNode update = om.createObjectNode().put("id", product.getId()).put("name", "BBBBBBBBBB" + i);
+            assertThat(statementsOf(patch("/api/products/{id}", product.getId()), update)).isLessThanOrEqualTo(STATEMENTS_PER_UPDATE);
+        }
+        Product patched = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(patched.getName()).isEqualTo("BBBBBBBBBB" + (UPDATES - 1));
+        assertThat(patched.getProductSize()).isEqualTo(Size.S);
+    }
+
+    @Test
+    void putProductCategoryIsOneSelectAndOneUpdate() throws Exception {
+        for (int i = 0; i < UPDATES; i++) {
+            ObjectNode update = om.createObjectNode().put("id", productCategory.getId()).put("name", "BBBBBBBBBB" + i);
+            assertThat(statementsOf(put("/api/product-categories/{id}", productCategory.getId()), update)).isLessThanOrEqualTo(
+                STATEMENTS_PER_UPDATE
+            );
+        }
+    }
+
+    @Test
+    void putUnknownProductIsOneSelect() throws Exception {
+        ObjectNode update = productBody().put("id", Long.MAX_VALUE);
+        statistics.clear();
+        restMockMvc
+            .perform(
+                put("/api/products/{id}", Long.MAX_VALUE).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(update))
+            )
+            .andExpect(status().isBadRequest());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private ObjectNode productBody() {
+        ObjectNode body = om
+            .createObjectNode()
+            .put("id", product.getId())
+            .put("name", product.getName())
+            .put("price", 1)
+            .put("productSize", Size.S.name());
+        body.set("productCategory", om.createObjectNode().put("id", productCategory.getId()));
+        return body;
+    }
+
+    private long statementsOf(MockHttpServletRequestBuilder request, ObjectNode body) throws Exception {
+        statistics.clear();
+        restMockMvc
+            .perform(request.contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(body)))
+            .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+}
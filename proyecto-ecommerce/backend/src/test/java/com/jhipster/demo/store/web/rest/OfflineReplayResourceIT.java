@@ -0,0 +1,221 @@
+package com.jhipster.demo.store.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.enumeration.Size;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.repository.ReplayedActionRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+/**
+ * Integration tests for the {@link OfflineReplayResource} REST controller.
+ * <p>
+ * Not transactional: each batch of actions commits or rolls back its own transaction.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class OfflineReplayResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/_replay";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReplayedActionRepository replayedActionRepository;
+
+    @Autowired
+    private MockMvc restOfflineReplayMockMvc;
+
+    private ProductCategory productCategory;
+
+    private Product product;
+
+    private final List<Long> createdProductCategoryIds = new ArrayList<>();
+
+    @BeforeEach
+    void initTest() {
+        productCategory = productCategoryRepository.saveAndFlush(ProductCategoryResourceIT.createEntity());
+        product = productRepository.saveAndFlush(
+            new Product().name("AAAAAAAAAA").price(BigDecimal.ONE).productSize(Size.S).productCategory(productCategory)
+        );
+    }
+
+    @AfterEach
+    void cleanup() {
+        replayedActionRepository.deleteAll();
+        productRepository.deleteById(product.getId());
+        productCategoryRepository.deleteById(productCategory.getId());
+        createdProductCategoryIds.forEach(productCategoryRepository::deleteById);
+    }
+
+    @Test
+    void replayAppliesDistinctActionsInClientOrder() throws Exception {
+        ArrayNode actions = om.createArrayNode();
+        actions.add(action("b", "PUT", "http://localhost:8081/api/products/" + product.getId(), productUpdate("BBBBBBBBBB"), 2));
+        actions.add(action("c", "PUT", "/api/products/" + product.getId(), productUpdate("CCCCCCCCCC"), 3));
+        actions.add(action("a", "POST", "/api/product-categories", om.createObjectNode().put("name", "BBBBBBBBBB"), 1));
+        // Sent again after a lost response
+        actions.add(action("b", "PUT", "/api/products/" + product.getId(), productUpdate("BBBBBBBBBB"), 2));
+
+        JsonNode results = replay(actions);
+
+        assertThat(results.size()).isEqualTo(3);
+        assertThat(results.get(0).get("actionId").asText()).isEqualTo("a");
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(201);
+        createdProductCategoryIds.add(results.get(0).get("id").asLong());
+        assertThat(results.get(1).get("actionId").asText()).isEqualTo("b");
+        assertThat(results.get(1).get("status").asInt()).isEqualTo(200);
+        assertThat(results.get(2).get("actionId").asText()).isEqualTo("c");
+        assertThat(results.get(2).get("status").asInt()).isEqualTo(200);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getName()).isEqualTo("CCCCCCCCCC");
+    }
+
+    @Test
+    void replayReportsUpdatesOfOutdatedVersionsAsConflicts() throws Exception {
+        ArrayNode actions = om.createArrayNode();
+        ObjectNode outdated = productUpdate("BBBBBBBBBB").put("version", product.getVersion() + 1);
+        actions.add(action("a", "PUT", "/api/products/" + product.getId(), outdated, 1));
+
+        JsonNode results = replay(actions);
+
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(409);
+        assertThat(results.get(0).get("body").get("name").asText()).isEqualTo("AAAAAAAAAA");
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getName()).isEqualTo("AAAAAAAAAA");
+    }
+
+    @Test
+    void replayReportsPartialUpdatesOfOutdatedVersionsAsConflicts() throws Exception {
+        ArrayNode actions = om.createArrayNode();
+        ObjectNode outdated = om
+            .createObjectNode()
+            .put("id", product.getId())
+            .put("name", "BBBBBBBBBB")
+            .put("version", product.getVersion() + 1);
+        actions.add(action("a", "PATCH", "/api/products/" + product.getId(), outdated, 1));
+
+        JsonNode results = replay(actions);
+
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(409);
+        assertThat(results.get(0).get("body").get("name").asText()).isEqualTo("AAAAAAAAAA");
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getName()).isEqualTo("AAAAAAAAAA");
+    }
+
+    @Test
+    void replayDoesNotApplyActionSentAgainInAnotherRequest() throws Exception {
+        ArrayNode actions = om.createArrayNode();
+        actions.add(action("a", "POST", "/api/product-categories", om.createObjectNode().put("name", "BBBBBBBBBB"), 1));
+        actions.add(action("b", "PUT", "/api/products/" + product.getId(), productUpdate("BBBBBBBBBB"), 2));
+        JsonNode results = replay(actions);
+        createdProductCategoryIds.add(results.get(0).get("id").asLong());
+        // Modified by another client before the first response, lost, is retried
+        Product modified = productRepository.findById(product.getId()).orElseThrow();
+        productRepository.saveAndFlush(modified.name("CCCCCCCCCC"));
+        long productCategoryCount = productCategoryRepository.count();
+
+        JsonNode retried = replay(actions);
+
+        assertThat(retried.get(0).get("status").asInt()).isEqualTo(201);
+        assertThat(retried.get(0).get("id").asLong()).isEqualTo(results.get(0).get("id").asLong());
+        assertThat(retried.get(1).get("status").asInt()).isEqualTo(200);
+        assertThat(productCategoryRepository.count()).isEqualTo(productCategoryCount);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getName()).isEqualTo("CCCCCCCCCC");
+    }
+
+    @Test
+    void replayAppliesSameActionIdOfAnotherUser() throws Exception {
+        ArrayNode actions = om.createArrayNode();
+        actions.add(action("a", "POST", "/api/product-categories", om.createObjectNode().put("name", "BBBBBBBBBB"), 1));
+        JsonNode results = replay(actions);
+        createdProductCategoryIds.add(results.get(0).get("id").asLong());
+        long productCategoryCount = productCategoryRepository.count();
+
+        JsonNode otherResults = replay(actions, user("other-user"));
+        createdProductCategoryIds.add(otherResults.get(0).get("id").asLong());
+        JsonNode retried = replay(actions, user("other-user"));
+
+        assertThat(otherResults.get(0).get("status").asInt()).isEqualTo(201);
+        assertThat(otherResults.get(0).get("id").asLong()).isNotEqualTo(results.get(0).get("id").asLong());
+        assertThat(retried.get(0).get("status").asInt()).isEqualTo(201);
+        assertThat(retried.get(0).get("id").asLong()).isEqualTo(otherResults.get(0).get("id").asLong());
+        assertThat(productCategoryRepository.count()).isEqualTo(productCategoryCount + 1);
+    }
+
+    @Test
+    void replayReportsUnsupportedUrls() throws Exception {
+        ArrayNode actions = om.createArrayNode();
+        actions.add(action("a", "POST", "/api/authorities", om.createObjectNode().put("name", "ROLE_TEST"), 1));
+        actions.add(action("b", "DELETE", "/api/products/" + product.getId(), null, 2));
+
+        JsonNode results = replay(actions);
+
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(400);
+        assertThat(results.get(1).get("status").asInt()).isEqualTo(204);
+        assertThat(productRepository.existsById(product.getId())).isFalse();
+    }
+
+    private ObjectNode productUpdate(String name) {
+        ObjectNode update = om
+            .createObjectNode()
+            .put("id", product.getId())
+            .put("name", name)
+            .put("price", 1)
+            .put("productSize", Size.S.name());
+        update.set("productCategory", om.createObjectNode().put("id", productCategory.getId()));
+        return update;
+    }
+
+    private ObjectNode action(String id, String type, String url, JsonNode data, long timestamp) {
+        ObjectNode action = om.createObjectNode().put("id", id).put("type", type).put("url", url).put("timestamp", timestamp);
+        if (data != null) {
+            action.set("data", data);
+        }
+        return action;
+    }
+
+    private JsonNode replay(ArrayNode actions) throws Exception {
+        return replay(actions, request -> request);
+    }
+
+    private JsonNode replay(ArrayNode actions, RequestPostProcessor asUser) throws Exception {
+        ObjectNode replay = om.createObjectNode();
+        replay.set("actions", actions);
+        return om.readTree(
+            restOfflineReplayMockMvc
+                .perform(post(ENTITY_API_URL).with(asUser).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(replay)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+    }
+}
@@ -0,0 +1,277 @@
+package com.jhipster.demo.store.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.domain.CustomerDetails;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.ProductOrder;
+import com.jhipster.demo.store.domain.ShoppingCart;
+import com.jhipster.demo.store.domain.User;
+import com.jhipster.demo.store.domain.enumeration.Gender;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.domain.enumeration.PaymentMethod;
+import com.jhipster.demo.store.domain.enumeration.Size;
+import com.jhipster.demo.store.repository.CustomerDetailsRepository;
+import com.jhipster.demo.store.repository.EntityDeletionRepository;
+import com.jhipster.demo.store.repository.OrderSummaryRepository;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductOrderRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.repository.ShoppingCartRepository;
+import com.jhipster.demo.store.repository.UserRepository;
+import com.jhipster.demo.store.security.AuthoritiesConstants;
+import com.jhipster.demo.store.service.ProductOrderService;
+import com.jhipster.demo.store.service.ShoppingCartService;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Integration tests for the {@link OrderSummaryResource} REST controller.
+ * <p>
+ * Not transactional: the summaries are refreshed when the changes of the carts and orders commit.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(OrderSummaryResourceIT.LOGIN)
+class OrderSummaryResourceIT {
+
+    static final String LOGIN = "summary-user";
+
+    private static final String ENTITY_API_URL = "/api/order-summaries";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerDetailsRepository customerDetailsRepository;
+
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Autowired
+    private ProductOrderRepository productOrderRepository;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    private EntityDeletionRepository entityDeletionRepository;
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    @Autowired
+    private ProductOrderService productOrderService;
+
+    @Autowired
+    private MockMvc restOrderSummaryMockMvc;
+
+    private ProductCategory productCategory;
+
+    private Product product;
+
+    private final List<CustomerDetails> customers = new ArrayList<>();
+
+    private final List<ShoppingCart> shoppingCarts = new ArrayList<>();
+
+    private final List<ProductOrder> productOrders = new ArrayList<>();
+
+    @BeforeEach
+    void initTest() {
+        productCategory = productCategoryRepository.saveAndFlush(ProductCategoryResourceIT.createEntity());
+        product = productRepository.saveAndFlush(
+            new Product().name("AAAAAAAAAA").price(BigDecimal.TEN).productSize(Size.S).productCategory(productCategory)
+        );
+    }
+
+    @AfterEach
+    void cleanup() {
+        productOrders
+            .stream()
+            .map(ProductOrder::getId)
+            .filter(productOrderRepository::existsById)
+            .forEach(productOrderRepository::deleteById);
+        List<Long> cartIds = shoppingCarts.stream().map(ShoppingCart::getId).toList();
+        cartIds.stream().filter(shoppingCartRepository::existsById).forEach(shoppingCartRepository::deleteById);
+        cartIds.stream().filter(orderSummaryRepository::existsById).forEach(orderSummaryRepository::deleteById);
+        customers.forEach(customer -> {
+            customerDetailsRepository.deleteById(customer.getId());
+            userRepository.deleteById(customer.getUser().getId());
+        });
+        productRepository.deleteById(product.getId());
+        productCategoryRepository.deleteById(productCategory.getId());
+        entityDeletionRepository.deleteAll();
+    }
+
+    @Test
+    void summaryFollowsTheChangesOfTheCartAndItsOrders() throws Exception {
+        ShoppingCart shoppingCart = createShoppingCart(createCustomer(LOGIN));
+        ProductOrder productOrder = createProductOrder(shoppingCart, 2);
+        createProductOrder(shoppingCart, 3);
+
+        JsonNode summary = summaries(get(ENTITY_API_URL)).get(0);
+        assertThat(summary.get("cartId").asLong()).isEqualTo(shoppingCart.getId());
+        assertThat(summary.get("customerLogin").asText()).isEqualTo(LOGIN);
+        assertThat(summary.get("status").asText()).isEqualTo("PENDING");
+        assertThat(summary.get("itemCount").asInt()).isEqualTo(5);
+        assertThat(summary.get("totalPrice").decimalValue()).isEqualByComparingTo("50");
+
+        productOrderService.delete(productOrder.getId());
+        shoppingCartService.partialUpdate(new ShoppingCart().id(shoppingCart.getId()).status(OrderStatus.PAID));
+
+        summary = summaries(get(ENTITY_API_URL)).get(0);
+        assertThat(summary.get("status").asText()).isEqualTo("PAID");
+        assertThat(summary.get("itemCount").asInt()).isEqualTo(3);
+        assertThat(summary.get("totalPrice").decimalValue()).isEqualByComparingTo("30");
+    }
+
+    @Test
+    void summaryIsDeletedWithTheCart() throws Exception {
+        ShoppingCart shoppingCart = createShoppingCart(createCustomer(LOGIN));
+        assertThat(orderSummaryRepository.existsById(shoppingCart.getId())).isTrue();
+
+        shoppingCartService.delete(shoppingCart.getId());
+
+        assertThat(orderSummaryRepository.existsById(shoppingCart.getId())).isFalse();
+    }
+
+    @Test
+    void customersOnlySeeTheirOwnCarts() throws Exception {
+        ShoppingCart ownCart = createShoppingCart(createCustomer(LOGIN));
+        createShoppingCart(createCustomer("other-summary-user"));
+
+        assertThat(cartIds(summaries(get(ENTITY_API_URL).param("customerLogin", "other-summary-user")))).containsExactly(
+            ownCart.getId()
+        );
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void administratorsFilterTheCartsByCustomerAndStatus() throws Exception {
+        ShoppingCart pendingCart = createShoppingCart(createCustomer(LOGIN));
+        ShoppingCart otherCart = createShoppingCart(createCustomer("other-summary-user"));
+
+        assertThat(cartIds(summaries(get(ENTITY_API_URL).param("customerLogin", "other-summary-user")))).containsExactly(
+            otherCart.getId()
+        );
+        assertThat(cartIds(summaries(get(ENTITY_API_URL).param("status", "PENDING"))))
+            .contains(pendingCart.getId(), otherCart.getId())
+            .containsSubsequence(otherCart.getId(), pendingCart.getId());
+    }
+
+    @Test
+    void sortingByAPropertyWhichIsNotIndexedIsRejected() throws Exception {
+        restOrderSummaryMockMvc.perform(get(ENTITY_API_URL).param("sort", "totalPrice,desc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void rebuildRegeneratesTheSummaries() throws Exception {
+        // Saved without the service: no summary
+        ShoppingCart shoppingCart = shoppingCartRepository.saveAndFlush(newShoppingCart(createCustomer(LOGIN)));
+        shoppingCarts.add(shoppingCart);
+        assertThat(orderSummaryRepository.existsById(shoppingCart.getId())).isFalse();
+
+        restOrderSummaryMockMvc
+            .perform(post(ENTITY_API_URL + "/rebuild"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.summaries").isNumber());
+
+        assertThat(orderSummaryRepository.findById(shoppingCart.getId())).hasValueSatisfying(summary -> {
+            assertThat(summary.getCustomerLogin()).isEqualTo(LOGIN);
+            assertThat(summary.getItemCount()).isZero();
+        });
+    }
+
+    @Test
+    void rebuildIsReservedToTheAdministrators() throws Exception {
+        restOrderSummaryMockMvc.perform(post(ENTITY_API_URL + "/rebuild")).andExpect(status().isForbidden());
+    }
+
+    private JsonNode summaries(MockHttpServletRequestBuilder request) throws Exception {
+        return om.readTree(
+            restOrderSummaryMockMvc
+                .perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Total-Count"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+    }
+
+    private static List<Long> cartIds(JsonNode summaries) {
+        List<Long> ids = new ArrayList<>();
+        summaries.forEach(summary -> ids.add(summary.get("cartId").asLong()));
+        return ids;
+    }
+
+    private CustomerDetails createCustomer(String login) {
+        User user = UserResourceIT.createEntity();
+        user.setLogin(login);
+        CustomerDetails customer = customerDetailsRepository.saveAndFlush(
+            new CustomerDetails()
+                .gender(Gender.MALE)
+                .phone("AAAAAAAAAA")
+                .addressLine1("AAAAAAAAAA")
+                .city("AAAAAAAAAA")
+                .country("AAAAAAAAAA")
+                .user(userRepository.saveAndFlush(user))
+        );
+        customers.add(customer);
+        return customer;
+    }
+
+    private static ShoppingCart newShoppingCart(CustomerDetails customer) {
+        return new ShoppingCart()
+            .placedDate(Instant.now())
+            .status(OrderStatus.PENDING)
+            .totalPrice(BigDecimal.ZERO)
+            .paymentMethod(PaymentMethod.CREDIT_CARD)
+            .customerDetails(customer);
+    }
+
+    private ShoppingCart createShoppingCart(CustomerDetails customer) {
+        ShoppingCart shoppingCart = shoppingCartService.save(newShoppingCart(customer));
+        shoppingCarts.add(shoppingCart);
+        return shoppingCart;
+    }
+
+    private ProductOrder createProductOrder(ShoppingCart shoppingCart, int quantity) {
+        ProductOrder productOrder = productOrderService.save(
+            new ProductOrder()
+                .quantity(quantity)
+                .totalPrice(BigDecimal.TEN.multiply(BigDecimal.valueOf(quantity)))
+                .product(product)
+                .cart(shoppingCart)
+        );
+        productOrders.add(productOrder);
+        return productOrder;
+    }
+}
@@ -9,7 +9,9 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.jhipster.demo.store.IntegrationTest;
 import com.jhipster.demo.store.domain.Product;
 import com.jhipster.demo.store.domain.ProductCategory;
@@ -22,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,6 +35,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -265,6 +269,29 @@ class ProductResourceIT {
             .andExpect(jsonPath("$.[*].image").value(hasItem(Base64.getEncoder().encodeToString(DEFAULT_IMAGE))));
     }
 
+    @Test
+    @Transactional
+    void getAllProductsAsCbor() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        // Get all the productList in the binary format negotiated by the PWA
+        byte[] body = restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(header().exists(HttpHeaders.LINK))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        JsonNode products = new CBORMapper().readTree(body);
+        assertThat(products.get(0).get("id").asLong()).isEqualTo(product.getId());
+        assertThat(products.get(0).get("name").asText()).isEqualTo(DEFAULT_NAME);
+        assertThat(products.get(0).get("productCategory").get("id").asLong()).isEqualTo(product.getProductCategory().getId());
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllProductsWithEagerRelationshipsIsEnabled() throws Exception {
         when(productServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
@@ -309,6 +336,87 @@ class ProductResourceIT {
         restProductMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getAllProductsWithFields() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        // Get the selected fields of all the products
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&fields=name,price,productCategory.name"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[0].id").value(product.getId().intValue()))
+            .andExpect(jsonPath("$.[0].name").value(DEFAULT_NAME))
+            .andExpect(jsonPath("$.[0].price").value(sameNumber(DEFAULT_PRICE)))
+            .andExpect(jsonPath("$.[0].productCategory.id").value(product.getProductCategory().getId().intValue()))
+            .andExpect(jsonPath("$.[0].productCategory.name").value(product.getProductCategory().getName()))
+            .andExpect(jsonPath("$.[0].description").doesNotExist())
+            .andExpect(jsonPath("$.[0].image").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getProductWithFields() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        // Get the selected fields of the product, the category as its id only
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?fields=productSize,productCategory", product.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(product.getId().intValue()))
+            .andExpect(jsonPath("$.productSize").value(DEFAULT_PRODUCT_SIZE.toString()))
+            .andExpect(jsonPath("$.productCategory.id").value(product.getProductCategory().getId().intValue()))
+            .andExpect(jsonPath("$.productCategory.name").doesNotExist())
+            .andExpect(jsonPath("$.name").doesNotExist());
+
+        restProductMockMvc.perform(get(ENTITY_API_URL_ID + "?fields=name", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getProductWithUnknownFieldsIsRejected() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+
+        restProductMockMvc.perform(get(ENTITY_API_URL + "?fields=name,weight")).andExpect(status().isBadRequest());
+        restProductMockMvc.perform(get(ENTITY_API_URL + "?fields=productCategory.products")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getProductsByIds() throws Exception {
+        // Initialize the database
+        insertedProduct = productRepository.saveAndFlush(product);
+        Product otherProduct = productRepository.saveAndFlush(createUpdatedEntity(em));
+
+        // Duplicates are returned once, in the order of their first occurrence
+        String ids = otherProduct.getId() + "," + Long.MAX_VALUE + "," + product.getId() + "," + otherProduct.getId();
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?ids=" + ids))
+            .andExpect(status().isOk())
+            .andExpect(header().string(MultiGetUtil.MISSING_IDS_HEADER, String.valueOf(Long.MAX_VALUE)))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].id").value(otherProduct.getId().intValue()))
+            .andExpect(jsonPath("$[0].name").value(UPDATED_NAME))
+            .andExpect(jsonPath("$[1].id").value(product.getId().intValue()))
+            .andExpect(jsonPath("$[1].name").value(DEFAULT_NAME));
+
+        productRepository.delete(otherProduct);
+    }
+
+    @Test
+    @Transactional
+    void getProductsByTooManyIdsIsRejected() throws Exception {
+        String ids = String.join(
+            ",",
+            LongStream.rangeClosed(1, MultiGetUtil.MAX_IDS + 1).mapToObj(String::valueOf).toList()
+        );
+        restProductMockMvc.perform(get(ENTITY_API_URL + "?ids=" + ids)).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void putExistingProduct() throws Exception {
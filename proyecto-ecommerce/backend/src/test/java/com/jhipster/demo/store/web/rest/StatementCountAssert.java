@@ -0,0 +1,72 @@
+package com.jhipster.demo.store.web.rest;
+
+import com.jhipster.demo.store.management.StatementRecording;
+import java.util.Map;
+import org.assertj.core.api.AbstractAssert;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+
+/**
+ * Assertions on the JDBC statements of a call, typically a {@code MockMvc} request, which runs on the test thread:
+ * <pre>
+ * assertThatStatementsOf(() -&gt; restMockMvc.perform(get("/api/shopping-carts")).andExpect(status().isOk()))
+ *     .hasSelects(1)
+ *     .hasNoStatementRepeatedMoreThan(1);
+ * </pre>
+ * Requires {@code application.database.statement-recording.enabled}, set in the test {@code application.yml}. With the
+ * second-level cache disabled in the tests, and the persistence context cleared before the call, the counts are those
+ * of a cold request.
+ */
+public class StatementCountAssert extends AbstractAssert<StatementCountAssert, StatementRecording> {
+
+    private StatementCountAssert(StatementRecording recording) {
+        super(recording, StatementCountAssert.class);
+    }
+
+    public static StatementCountAssert assertThatStatementsOf(ThrowingCallable call) {
+        StatementRecording recording = StatementRecording.start();
+        try (recording) {
+            call.call();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new AssertionError("The recorded call failed", e);
+        }
+        return new StatementCountAssert(recording);
+    }
+
+    public StatementCountAssert hasSelects(int expected) {
+        return hasCount(StatementRecording.Kind.SELECT, expected);
+    }
+
+    public StatementCountAssert hasInserts(int expected) {
+        return hasCount(StatementRecording.Kind.INSERT, expected);
+    }
+
+    public StatementCountAssert hasUpdates(int expected) {
+        return hasCount(StatementRecording.Kind.UPDATE, expected);
+    }
+
+    public StatementCountAssert hasDeletes(int expected) {
+        return hasCount(StatementRecording.Kind.DELETE, expected);
+    }
+
+    /**
+     * Fails on an N+1: a statement shape, its literals and {@code IN} lists aside, executed more than {@code times}.
+     */
+    public StatementCountAssert hasNoStatementRepeatedMoreThan(int times) {
+        isNotNull();
+        Map<String, Integer> repeated = actual.getRepeatedShapes(times + 1);
+        if (!repeated.isEmpty()) {
+            failWithMessage("Expected no statement executed more than %d times, but got %s", times, repeated);
+        }
+        return this;
+    }
+
+    private StatementCountAssert hasCount(StatementRecording.Kind kind, int expected) {
+        isNotNull();
+        if (actual.count(kind) != expected) {
+            failWithMessage("Expected %d %s statements but got %d: %s", expected, kind, actual.count(kind), actual);
+        }
+        return this;
+    }
+}
@@ -0,0 +1,101 @@
+package com.jhipster.demo.store.web.rest;
+
+import static com.jhipster.demo.store.web.rest.StatementCountAssert.assertThatStatementsOf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.domain.CustomerDetails;
+import com.jhipster.demo.store.domain.ShoppingCart;
+import com.jhipster.demo.store.domain.User;
+import com.jhipster.demo.store.security.AuthoritiesConstants;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Statement counts of the REST calls reading lazy or eager associations, which regress into N+1 selects unnoticed by
+ * the functional tests.
+ * <p>
+ * The persistence context is cleared before each call, so that it reads from the database what a request of its own
+ * would.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class StatementCountIT {
+
+    private static final int ENTITIES = 25;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    @Test
+    void getAllShoppingCartsReadsTheirCustomersInTheSameSelect() {
+        for (int i = 0; i < ENTITIES; i++) {
+            CustomerDetails customerDetails = CustomerDetailsResourceIT.createEntity(em);
+            em.persist(customerDetails);
+            ShoppingCart shoppingCart = ShoppingCartResourceIT.createEntity(em);
+            shoppingCart.setCustomerDetails(customerDetails);
+            em.persist(shoppingCart);
+        }
+        em.flush();
+        em.clear();
+
+        assertThatStatementsOf(() -> restMockMvc.perform(get("/api/shopping-carts")).andExpect(status().isOk()))
+            .hasSelects(1)
+            .hasInserts(0)
+            .hasUpdates(0);
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void getAllUsersReadsTheirAuthoritiesInOneBatch() {
+        for (int i = 0; i < ENTITIES; i++) {
+            User user = UserResourceIT.createEntity();
+            user.setLogin(user.getLogin() + i);
+            em.persist(user);
+        }
+        em.flush();
+        em.clear();
+
+        // The page, its count and the authorities of its 20 users, @BatchSize(size = 20)
+        assertThatStatementsOf(() ->
+            restMockMvc
+                .perform(get("/api/admin/users?page=0&size=20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(20))
+        )
+            .hasSelects(3)
+            .hasNoStatementRepeatedMoreThan(1);
+    }
+
+    @Test
+    void createProductCategoryIsOneInsert() throws Exception {
+        byte[] productCategory = om.writeValueAsBytes(ProductCategoryResourceIT.createEntity());
+
+        assertThatStatementsOf(() ->
+            restMockMvc
+                .perform(post("/api/product-categories").contentType(MediaType.APPLICATION_JSON).content(productCategory))
+                .andExpect(status().isCreated())
+        )
+            .hasSelects(0)
+            .hasInserts(1)
+            .hasUpdates(0);
+    }
+}
@@ -0,0 +1,215 @@
+package com.jhipster.demo.store.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jhipster.demo.store.IntegrationTest;
+import com.jhipster.demo.store.domain.CustomerDetails;
+import com.jhipster.demo.store.domain.Product;
+import com.jhipster.demo.store.domain.ProductCategory;
+import com.jhipster.demo.store.domain.ShoppingCart;
+import com.jhipster.demo.store.domain.User;
+import com.jhipster.demo.store.domain.enumeration.Gender;
+import com.jhipster.demo.store.domain.enumeration.OrderStatus;
+import com.jhipster.demo.store.domain.enumeration.PaymentMethod;
+import com.jhipster.demo.store.domain.enumeration.Size;
+import com.jhipster.demo.store.repository.CustomerDetailsRepository;
+import com.jhipster.demo.store.repository.EntityDeletionRepository;
+import com.jhipster.demo.store.repository.ProductCategoryRepository;
+import com.jhipster.demo.store.repository.ProductRepository;
+import com.jhipster.demo.store.repository.ShoppingCartRepository;
+import com.jhipster.demo.store.repository.UserRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link SyncResource} REST controller.
+ * <p>
+ * Not transactional: deletions are logged when their transaction commits.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(SyncResourceIT.LOGIN)
+class SyncResourceIT {
+
+    static final String LOGIN = "sync-user";
+
+    private static final String ENTITY_API_URL = "/api/sync";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerDetailsRepository customerDetailsRepository;
+
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Autowired
+    private EntityDeletionRepository entityDeletionRepository;
+
+    @Autowired
+    private MockMvc restSyncMockMvc;
+
+    private ProductCategory productCategory;
+
+    private final List<Product> products = new ArrayList<>();
+
+    private final List<CustomerDetails> customers = new ArrayList<>();
+
+    private final List<ShoppingCart> shoppingCarts = new ArrayList<>();
+
+    @BeforeEach
+    void initTest() {
+        productCategory = productCategoryRepository.saveAndFlush(ProductCategoryResourceIT.createEntity());
+    }
+
+    @AfterEach
+    void cleanup() {
+        shoppingCarts
+            .stream()
+            .map(ShoppingCart::getId)
+            .filter(shoppingCartRepository::existsById)
+            .forEach(shoppingCartRepository::deleteById);
+        customers.forEach(customer -> {
+            customerDetailsRepository.deleteById(customer.getId());
+            userRepository.deleteById(customer.getUser().getId());
+        });
+        products.stream().map(Product::getId).filter(productRepository::existsById).forEach(productRepository::deleteById);
+        productCategoryRepository.deleteById(productCategory.getId());
+        entityDeletionRepository.deleteAll();
+    }
+
+    @Test
+    void syncWithoutWatermarkReturnsASnapshot() throws Exception {
+        Product product = createProduct();
+
+        JsonNode sync = sync(null);
+
+        assertThat(sync.get("reset").asBoolean()).isTrue();
+        assertThat(ids(sync.get("products").get("upserts"))).contains(product.getId());
+        assertThat(ids(sync.get("productCategories").get("upserts"))).contains(productCategory.getId());
+        assertThat(Instant.parse(sync.get("watermark").asText())).isBefore(Instant.now());
+    }
+
+    @Test
+    void syncReturnsTheChangesAndDeletionsSinceTheWatermark() throws Exception {
+        Product unchangedProduct = createProduct();
+        Product deletedProduct = createProduct();
+        Instant since = Instant.now();
+        Product createdProduct = createProduct();
+        restSyncMockMvc.perform(delete("/api/products/{id}", deletedProduct.getId())).andExpect(status().isNoContent());
+
+        JsonNode sync = sync(since);
+
+        assertThat(sync.get("reset").asBoolean()).isFalse();
+        assertThat(ids(sync.get("products").get("upserts"))).contains(createdProduct.getId()).doesNotContain(unchangedProduct.getId());
+        assertThat(ids(sync.get("products").get("deletes"))).containsExactly(deletedProduct.getId());
+        assertThat(ids(sync.get("productCategories").get("upserts"))).doesNotContain(productCategory.getId());
+    }
+
+    @Test
+    void syncOnlyReturnsTheCartsOfTheCurrentUser() throws Exception {
+        Instant since = Instant.now();
+        ShoppingCart ownCart = createShoppingCart(createCustomer(LOGIN));
+        ShoppingCart deletedCart = createShoppingCart(customers.get(0));
+        ShoppingCart otherCart = createShoppingCart(createCustomer("other-sync-user"));
+        ShoppingCart otherDeletedCart = createShoppingCart(customers.get(1));
+        restSyncMockMvc.perform(delete("/api/shopping-carts/{id}", deletedCart.getId())).andExpect(status().isNoContent());
+        restSyncMockMvc.perform(delete("/api/shopping-carts/{id}", otherDeletedCart.getId())).andExpect(status().isNoContent());
+
+        JsonNode sync = sync(since);
+
+        assertThat(ids(sync.get("shoppingCarts").get("upserts"))).containsExactly(ownCart.getId()).doesNotContain(otherCart.getId());
+        assertThat(ids(sync.get("shoppingCarts").get("deletes"))).containsExactly(deletedCart.getId());
+    }
+
+    @Test
+    void syncWithExpiredWatermarkReturnsASnapshot() throws Exception {
+        JsonNode sync = sync(Instant.parse("2000-01-01T00:00:00Z"));
+
+        assertThat(sync.get("reset").asBoolean()).isTrue();
+        assertThat(ids(sync.get("productCategories").get("upserts"))).contains(productCategory.getId());
+    }
+
+    private JsonNode sync(Instant since) throws Exception {
+        var request = get(ENTITY_API_URL);
+        if (since != null) {
+            request.param("since", since.toString());
+        }
+        return om.readTree(
+            restSyncMockMvc
+                .perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+    }
+
+    private static List<Long> ids(JsonNode nodes) {
+        List<Long> ids = new ArrayList<>();
+        nodes.forEach(node -> ids.add(node.isNumber() ? node.asLong() : node.get("id").asLong()));
+        return ids;
+    }
+
+    private Product createProduct() {
+        Product product = productRepository.saveAndFlush(
+            new Product().name("AAAAAAAAAA").price(BigDecimal.ONE).productSize(Size.S).productCategory(productCategory)
+        );
+        products.add(product);
+        return product;
+    }
+
+    private CustomerDetails createCustomer(String login) {
+        User user = UserResourceIT.createEntity();
+        user.setLogin(login);
+        CustomerDetails customer = customerDetailsRepository.saveAndFlush(
+            new CustomerDetails()
+                .gender(Gender.MALE)
+                .phone("AAAAAAAAAA")
+                .addressLine1("AAAAAAAAAA")
+                .city("AAAAAAAAAA")
+                .country("AAAAAAAAAA")
+                .user(userRepository.saveAndFlush(user))
+        );
+        customers.add(customer);
+        return customer;
+    }
+
+    private ShoppingCart createShoppingCart(CustomerDetails customer) {
+        ShoppingCart shoppingCart = shoppingCartRepository.saveAndFlush(
+            new ShoppingCart()
+                .placedDate(Instant.now())
+                .status(OrderStatus.PENDING)
+                .totalPrice(BigDecimal.ZERO)
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .customerDetails(customer)
+        );
+        shoppingCarts.add(shoppingCart);
+        return shoppingCart;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Catalog browsing and checkout load test, used to compare platform and virtual thread request execution.
+ *
+ * Run the application twice, with spring.threads.virtual.enabled=false then true, and the same scenario:
+ *
+ *   k6 run -e BASE_URL=http://localhost:8080 -e CUSTOMER_DETAILS_ID=1 src/test/k6/catalog-checkout.js
+ *
+ * Compare http_req_duration percentiles and http_req_failed per scenario, together with the
+ * jdbc.connections.limiter.* and jvm.threads.virtual.pinned meters on /management/prometheus.
+ */
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const CUSTOMER_DETAILS_ID = Number(__ENV.CUSTOMER_DETAILS_ID || 1);
+const PRODUCT_COUNT = Number(__ENV.PRODUCT_COUNT || 20);
+
+export const options = {
+  scenarios: {
+    catalog: {
+      executor: 'ramping-vus',
+      exec: 'catalog',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: 200 },
+        { duration: '2m', target: 1000 },
+        { duration: '30s', target: 0 },
+      ],
+    },
+    checkout: {
+      executor: 'constant-arrival-rate',
+      exec: 'checkout',
+      rate: 50,
+      timeUnit: '1s',
+      duration: '3m',
+      preAllocatedVUs: 100,
+      maxVUs: 500,
+    },
+  },
+  thresholds: {
+    'http_req_duration{scenario:catalog}': ['p(95)<500'],
+    'http_req_duration{scenario:checkout}': ['p(95)<1000'],
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+export function setup() {
+  const response = http.post(`${BASE_URL}/api/authenticate`, JSON.stringify({ username: 'admin', password: 'admin' }), {
+    headers: { 'Content-Type': 'application/json' },
+  });
+  check(response, { authenticated: r => r.status === 200 });
+  return { token: response.json('id_token') };
+}
+
+function params(data) {
+  return { headers: { Authorization: `Bearer ${data.token}`, 'Content-Type': 'application/json' } };
+}
+
+export function catalog(data) {
+  const page = Math.floor(Math.random() * 5);
+  check(http.get(`${BASE_URL}/api/products?page=${page}&size=20`, params(data)), { 'products listed': r => r.status === 200 });
+  const id = 1 + Math.floor(Math.random() * PRODUCT_COUNT);
+  check(http.get(`${BASE_URL}/api/products/${id}`, params(data)), { 'product read': r => r.status === 200 || r.status === 404 });
+  check(http.get(`${BASE_URL}/api/product-categories`, params(data)), { 'categories listed': r => r.status === 200 });
+}
+
+export function checkout(data) {
+  const cart = http.post(
+    `${BASE_URL}/api/shopping-carts`,
+    JSON.stringify({
+      placedDate: new Date().toISOString(),
+      status: 'PENDING',
+      totalPrice: 10,
+      paymentMethod: 'CREDIT_CARD',
+      customerDetails: { id: CUSTOMER_DETAILS_ID },
+    }),
+    params(data),
+  );
+  if (!check(cart, { 'cart created': r => r.status === 201 })) {
+    return;
+  }
+  const order = http.post(
+    `${BASE_URL}/api/product-orders`,
+    JSON.stringify({
+      quantity: 1,
+      totalPrice: 10,
+      product: { id: 1 + Math.floor(Math.random() * PRODUCT_COUNT) },
+      cart: { id: cart.json('id') },
+    }),
+    params(data),
+  );
+  check(order, { 'order placed': r => r.status === 201 });
+}
@@ -5,12 +5,52 @@ const WorkboxPlugin = require('workbox-webpack-plugin');
 const TerserPlugin = require('terser-webpack-plugin');
 const CssMinimizerPlugin = require('css-minimizer-webpack-plugin');
 const sass = require('sass');
+const zlib = require('zlib');
 
 const utils = require('./utils.js');
 const commonConfig = require('./webpack.common.js');
 
 const ENV = 'production';
 
+/**
+ * Emits .br and .gz variants of the text assets, served by the backend in place of the original
+ * when the browser accepts their encoding (see StaticResourcesWebConfiguration).
+ */
+class PrecompressPlugin {
+  constructor({ test = /\.(js|css|html|svg|json|txt|map)$/, threshold = 1024 } = {}) {
+    this.test = test;
+    this.threshold = threshold;
+  }
+
+  apply(compiler) {
+    compiler.hooks.thisCompilation.tap('PrecompressPlugin', compilation => {
+      compilation.hooks.processAssets.tap(
+        { name: 'PrecompressPlugin', stage: webpack.Compilation.PROCESS_ASSETS_STAGE_OPTIMIZE_TRANSFER },
+        assets => {
+          for (const name of Object.keys(assets)) {
+            if (!this.test.test(name)) {
+              continue;
+            }
+            const source = compilation.getAsset(name).source.buffer();
+            if (source.length < this.threshold) {
+              continue;
+            }
+            const brotli = zlib.brotliCompressSync(source, {
+              params: {
+                [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+                [zlib.constants.BROTLI_PARAM_SIZE_HINT]: source.length,
+              },
+            });
+            const gzip = zlib.gzipSync(source, { level: zlib.constants.Z_BEST_COMPRESSION });
+            compilation.emitAsset(`${name}.br`, new webpack.sources.RawSource(brotli));
+            compilation.emitAsset(`${name}.gz`, new webpack.sources.RawSource(gzip));
+          }
+        },
+      );
+    });
+  }
+}
+
 module.exports = async () =>
   webpackMerge(await commonConfig({ env: ENV }), {
     // devtool: 'source-map', // Enable source maps. Please note that this will slow down the build
@@ -103,10 +143,11 @@ module.exports = async () =>
         minimize: true,
         debug: false,
       }),
+      new PrecompressPlugin(),
       new WorkboxPlugin.GenerateSW({
         clientsClaim: true,
         skipWaiting: true,
-        exclude: [/swagger-ui/],
+        exclude: [/swagger-ui/, /\.(br|gz)$/],
       }),
     ],
   });
@@ -1,4 +1,5 @@
 import { useState, useEffect, useCallback } from 'react';
+import { syncService } from '../services/api';
 
 interface OfflineAction {
   id: string;
@@ -18,6 +19,10 @@ interface UseOfflineStorageReturn {
 
 const OFFLINE_ACTIONS_KEY = 'offline_actions';
 const OFFLINE_DATA_KEY = 'offline_data';
+const SYNC_WATERMARK_KEY = 'sync_watermark';
+
+// Entities kept in offline_data by the delta sync, under the keys of the /api/sync response
+const SYNCED_ENTITIES = ['productCategories', 'products', 'shoppingCarts', 'productOrders'] as const;
 
 export const useOfflineStorage = (): UseOfflineStorageReturn => {
   const [isOnline, setIsOnline] = useState(navigator.onLine);
@@ -83,7 +88,12 @@ export const useOfflineStorage = (): UseOfflineStorageReturn => {
 
   // Sync offline data when connection is restored
   const syncOfflineData = useCallback(async () => {
-    if (!isOnline || pendingActions.length === 0) {
+    if (!isOnline) {
+      return;
+    }
+
+    if (pendingActions.length === 0) {
+      await syncDeltaData();
       return;
     }
 
@@ -92,28 +102,27 @@ export const useOfflineStorage = (): UseOfflineStorageReturn => {
     const successfulActions: string[] = [];
     const failedActions: OfflineAction[] = [];
 
-    for (const action of pendingActions) {
-      try {
-        const response = await fetch(action.url, {
-          method: action.type,
-          headers: {
-            'Content-Type': 'application/json',
-            'Authorization': `Bearer ${localStorage.getItem('authToken')}`
-          },
-          body: action.data ? JSON.stringify(action.data) : undefined
-        });
-
-        if (response.ok) {
+    try {
+      // The whole queue in one request: the server orders, deduplicates and applies it in batched transactions
+      const { data: results } = await syncService.replay(pendingActions);
+      const resultsById = new Map(results.map(result => [result.actionId, result]));
+
+      for (const action of pendingActions) {
+        const result = resultsById.get(action.id);
+        if (result && result.status < 300) {
           successfulActions.push(action.id);
           console.log(`Successfully synced action: ${action.type} ${action.url}`);
+        } else if (result && result.status < 500) {
+          // Rejected for good (invalid, not found, or based on an outdated version): retrying would fail again
+          console.warn(`Discarded action: ${action.type} ${action.url}`, result.status, result.error);
         } else {
           failedActions.push(action);
-          console.error(`Failed to sync action: ${action.type} ${action.url}`, response.status);
+          console.error(`Failed to sync action: ${action.type} ${action.url}`, result?.status);
         }
-      } catch (error) {
-        failedActions.push(action);
-        console.error(`Error syncing action: ${action.type} ${action.url}`, error);
       }
+    } catch (error) {
+      failedActions.push(...pendingActions);
+      console.error('Error syncing offline actions', error);
     }
 
     // Remove successful actions and keep failed ones for retry
@@ -126,6 +135,9 @@ export const useOfflineStorage = (): UseOfflineStorageReturn => {
     if (failedActions.length > 0) {
       console.log(`${failedActions.length} actions failed to sync and will be retried`);
     }
+
+    // Fetch what changed on the server, including the effects of the replayed actions
+    await syncDeltaData();
   }, [isOnline, pendingActions]);
 
   return {
@@ -161,8 +173,32 @@ export const getOfflineData = (key: string) => {
   }
 };
 
+// Download only what changed since the last sync: upserts replace the stored entities by id, deletes remove them
+export const syncDeltaData = async () => {
+  try {
+    const since = localStorage.getItem(SYNC_WATERMARK_KEY) || undefined;
+    const { data: changes } = await syncService.getChanges(since);
+    for (const entity of SYNCED_ENTITIES) {
+      const { upserts, deletes } = changes[entity];
+      const stored: any[] = changes.reset ? [] : getOfflineData(entity) || [];
+      const byId = new Map(stored.map(item => [item.id, item]));
+      upserts.forEach((item: any) => byId.set(item.id, item));
+      deletes.forEach(id => byId.delete(id));
+      saveOfflineData(entity, Array.from(byId.values()));
+    }
+    localStorage.setItem(SYNC_WATERMARK_KEY, changes.watermark);
+    console.log(`Delta sync done${changes.reset ? ' (full snapshot)' : ''}, watermark ${changes.watermark}`);
+  } catch (error) {
+    console.error('Error syncing offline data:', error);
+  }
+};
+
 export const clearOfflineData = (key?: string) => {
   try {
+    if (!key || (SYNCED_ENTITIES as readonly string[]).includes(key)) {
+      // The next sync must download a full snapshot again
+      localStorage.removeItem(SYNC_WATERMARK_KEY);
+    }
     if (key) {
       const offlineData = JSON.parse(localStorage.getItem(OFFLINE_DATA_KEY) || '{}');
       delete offlineData[key];
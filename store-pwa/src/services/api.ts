@@ -124,6 +124,21 @@ export interface ShoppingCart {
   orders?: ProductOrder[];
 }
 
+// Cambios devueltos por /api/sync desde la marca de agua del cliente
+export interface SyncChanges<T> {
+  upserts: T[];
+  deletes: number[];
+}
+
+export interface SyncResponse {
+  watermark: string;
+  reset: boolean;
+  productCategories: SyncChanges<ProductCategory>;
+  products: SyncChanges<Product>;
+  shoppingCarts: SyncChanges<ShoppingCart>;
+  productOrders: SyncChanges<ProductOrder>;
+}
+
 // Servicios de API actualizados
 export const productService = {
   getAll: () => api.get<Product[]>('/products'),
@@ -165,4 +180,26 @@ export const categoryService = {
   delete: (id: number) => api.delete(`/product-categories/${id}`),
 };
 
+// Acción encolada sin conexión, reenviada a /api/_replay
+export interface OfflineActionRequest {
+  id: string;
+  type: string;
+  url: string;
+  data?: any;
+  timestamp: number;
+}
+
+export interface OfflineActionResult {
+  actionId: string;
+  status: number;
+  id?: number;
+  body?: any;
+  error?: string;
+}
+
+export const syncService = {
+  getChanges: (since?: string) => api.get<SyncResponse>('/sync', { params: since ? { since } : {} }),
+  replay: (actions: OfflineActionRequest[]) => api.post<OfflineActionResult[]>('/_replay', { actions }),
+};
+
 export default api; 
\ No newline at end of file